@@ -27,6 +27,10 @@ import java.util.List;
 @Slf4j
 public class HttpTracer implements org.springframework.boot.actuate.trace.http.HttpTraceRepository {
 
+  // Thread-safe once configured, so it is shared by all traces.
+  private static final ObjectMapper mapper =
+      new ObjectMapper().registerModule(new JavaTimeModule());
+
   @Autowired
   public HttpTracer(
       @Value("${" + SpringAppPropNames.HTTPTRACES_TO_KEEP + ":3}") int numberOfTracesToKeep,
@@ -87,8 +91,6 @@ public class HttpTracer implements org.springframework.boot.actuate.trace.http.H
           trace.getResponse().getStatus());
       if (log.isDebugEnabled()) {
         try {
-          ObjectMapper mapper = new ObjectMapper();
-          mapper.registerModule(new JavaTimeModule());
           String jsonString = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(trace);
           log.debug(jsonString);
         } catch (Exception e) {
@@ -114,8 +116,6 @@ public class HttpTracer implements org.springframework.boot.actuate.trace.http.H
     if (isSystemCall(trace)) {
       return;
     }
-    ObjectMapper mapper = new ObjectMapper();
-    mapper.registerModule(new JavaTimeModule());
     ObjectNode node = mapper.convertValue(trace, ObjectNode.class);
     node.put("@type", "taurus_httptrace");
     node.put("deployment_mode", String.join(",", environment.getActiveProfiles()));
@@ -137,7 +137,7 @@ public class HttpTracer implements org.springframework.boot.actuate.trace.http.H
     if (null != team) {
       node.put("team", team);
     }
-    String json = node.toPrettyString();
+    String json = node.toString();
     this.telemetryClient.sendAsync(json);
   }
 }
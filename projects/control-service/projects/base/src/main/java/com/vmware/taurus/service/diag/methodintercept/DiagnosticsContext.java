@@ -7,7 +7,6 @@ package com.vmware.taurus.service.diag.methodintercept;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.util.StopWatch;
 
 /** Class encapsulating diagnostic context data. */
 public class DiagnosticsContext {
@@ -16,7 +15,8 @@ public class DiagnosticsContext {
   public String userName;
   public JoinPoint joinPoint;
   public MethodSignature signature;
-  public StopWatch stopWatch;
+  public long startNanos;
+  public long executionTimeNanos;
   // when this == this.methodResult then this value was not initialized (method threw an exception?)
   public Object methodResult;
   public Exception error;
@@ -5,8 +5,8 @@
 
 package com.vmware.taurus.service.diag.methodintercept;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.vmware.taurus.SpringAppPropNames;
 import com.vmware.taurus.base.EnableComponents;
 import com.vmware.taurus.base.SCCPProperties;
@@ -19,10 +19,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 
 @Component
@@ -33,6 +34,9 @@ import java.util.function.Consumer;
 public class DiagnosticsPublisher implements Consumer<DiagnosticsContext> {
   private final Logger log = LoggerFactory.getLogger(this.getClass());
 
+  // Thread-safe once configured, so it is shared by all events.
+  private static final ObjectMapper mapper = new ObjectMapper();
+
   @Autowired
   public DiagnosticsPublisher(ITelemetry telemetryClient, SCCPProperties properties) {
     this.telemetryClient = telemetryClient;
@@ -62,11 +66,7 @@ public class DiagnosticsPublisher implements Consumer<DiagnosticsContext> {
       }
       metrics.put(Metrics.cp_svc_name, properties.getSpringProperty(SpringAppPropNames.SVC_NAME));
 
-      ObjectMapper mapper = new ObjectMapper();
-      ObjectNode node = mapper.convertValue(metrics, ObjectNode.class);
-      node.put("@table", "taurus_api_call");
-      node.put("@id", opId);
-      String json = node.toPrettyString();
+      String json = toJson(metrics, opId);
       log.trace("Sending telemetry: {}", json);
       this.telemetryClient.sendAsync(json);
 
@@ -76,7 +76,7 @@ public class DiagnosticsPublisher implements Consumer<DiagnosticsContext> {
   }
 
   public Map<Metrics, Object> contextToMetrics(DiagnosticsContext context) {
-    Map<Metrics, Object> metrics = new TreeMap<>();
+    Map<Metrics, Object> metrics = new EnumMap<>(Metrics.class);
     MethodSignature signature = (MethodSignature) context.joinPoint.getSignature();
     helper.signatureToMetricsAboutJavaMethod(signature, metrics);
     helper.joinPointToMetricsAboutMeasurable(context.joinPoint, metrics);
@@ -87,7 +87,7 @@ public class DiagnosticsPublisher implements Consumer<DiagnosticsContext> {
   public void diagContextToMetricsAboutExecution(
       DiagnosticsContext context, Map<Metrics, Object> metrics) {
     metrics.put(Metrics.op_id, context.opId);
-    metrics.put(Metrics.method_execution_time_nanos, context.stopWatch.getTotalTimeNanos());
+    metrics.put(Metrics.method_execution_time_nanos, context.executionTimeNanos);
     metrics.put(Metrics.method_execution_end_timestamp, System.currentTimeMillis());
     boolean hasError = null != context.error;
     metrics.put(Metrics.call_failed, hasError);
@@ -108,4 +108,19 @@ public class DiagnosticsPublisher implements Consumer<DiagnosticsContext> {
       }
     }
   }
+
+  /** Writes the metrics as compact JSON, without building an intermediate JSON tree. */
+  private static String toJson(Map<Metrics, Object> metrics, String opId) throws IOException {
+    StringWriter writer = new StringWriter(512);
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+      generator.writeStartObject();
+      for (Map.Entry<Metrics, Object> metric : metrics.entrySet()) {
+        generator.writeObjectField(metric.getKey().name(), metric.getValue());
+      }
+      generator.writeStringField("@table", "taurus_api_call");
+      generator.writeStringField("@id", opId);
+      generator.writeEndObject();
+    }
+    return writer.toString();
+  }
 }
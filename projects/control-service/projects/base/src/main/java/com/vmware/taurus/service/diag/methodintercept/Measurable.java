@@ -30,4 +30,11 @@ public @interface Measurable {
    * List of tags - these are just passed through - to make reporting easier.
    */
   String[] tags() default {};
+
+  /*
+   * The fraction of the invocations, between 0 and 1, for which diagnostics are collected.
+   * Lower it for hot methods, whose diagnostics would otherwise flood the telemetry.
+   * When a method has several Measurable annotations, the highest rate is used.
+   */
+  double sampleRate() default 1.0;
 }
@@ -11,14 +11,16 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 /**
@@ -28,6 +30,9 @@ import java.util.function.Consumer;
  *
  * <p>About AOP: the instrumentation/injection (weaving) is done at runtime using proxies (Spring
  * AOP).
+ *
+ * <p>Only a sample of the invocations is recorded, as set by {@link Measurable#sampleRate()}. The
+ * invocations which are not sampled are passed through without collecting any diagnostics.
  */
 @Aspect
 @Component
@@ -41,16 +46,13 @@ public class MethodInterceptor {
   @Autowired
   public MethodInterceptor(
       OperationContext operationContext, Consumer<DiagnosticsContext> diagsConsumer) {
-    this.diagnosticsExecutor = Executors.newFixedThreadPool(5);
-    // this.phUtil = phoneHomeUtil;
     this.operationContext = operationContext;
     this.diagsConsumer = diagsConsumer;
   }
 
   private final OperationContext operationContext;
   private final Consumer<DiagnosticsContext> diagsConsumer;
-
-  private Executor diagnosticsExecutor;
+  private final Map<Method, Double> sampleRates = new ConcurrentHashMap<>();
 
   @Pointcut("within(@com.vmware.taurus.service.diag.methodintercept.Measurable *)")
   public void beanAnnotatedWithMeasurable() {}
@@ -76,13 +78,16 @@ public class MethodInterceptor {
       "methodAnnotatedWithMeasurable() || beanAnnotatedWithMeasurable() "
           + "|| methodAnnotatedWithMeasurableContainer() || beanAnnotatedWithMeasurableContainer()")
   public Object aroundMethod(final ProceedingJoinPoint pjp) throws Throwable {
+    if (!isSampled(pjp)) {
+      operationContext.setJoinPoint(pjp);
+      return pjp.proceed();
+    }
     Object res;
     DiagnosticsContext diagContext = new DiagnosticsContext();
     diagContext.methodResult = diagContext;
     try {
       diagContext.joinPoint = pjp;
-      diagContext.stopWatch = new StopWatch();
-      diagContext.stopWatch.start();
+      diagContext.startNanos = System.nanoTime();
       diagContext.methodResult = res = pjp.proceed();
     } catch (Exception e) {
       diagContext.error = e;
@@ -95,7 +100,7 @@ public class MethodInterceptor {
 
   private void after(DiagnosticsContext diagnosticsContext) {
     try {
-      diagnosticsContext.stopWatch.stop();
+      diagnosticsContext.executionTimeNanos = System.nanoTime() - diagnosticsContext.startNanos;
       diagnosticsContext.opId = this.operationContext.getOpId();
       operationContext.setJoinPoint(diagnosticsContext.joinPoint);
       this.diagsConsumer.accept(diagnosticsContext);
@@ -103,4 +108,23 @@ public class MethodInterceptor {
       log.warn("Failed gathering metrics. Continuing.", e);
     }
   }
+
+  private boolean isSampled(ProceedingJoinPoint pjp) {
+    double sampleRate =
+        sampleRates.computeIfAbsent(
+            ((MethodSignature) pjp.getSignature()).getMethod(), MethodInterceptor::getSampleRate);
+    return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+  private static double getSampleRate(Method method) {
+    Measurable[] measurables = method.getAnnotationsByType(Measurable.class);
+    if (measurables.length == 0) {
+      measurables = method.getDeclaringClass().getAnnotationsByType(Measurable.class);
+    }
+    double sampleRate = measurables.length == 0 ? 1.0 : 0.0;
+    for (Measurable measurable : measurables) {
+      sampleRate = Math.max(sampleRate, measurable.sampleRate());
+    }
+    return sampleRate;
+  }
 }
@@ -18,7 +18,8 @@ import java.util.*;
 @Slf4j
 public class MetricsHelper {
 
-  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final ObjectMapper mapper =
+      new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
   public void signatureToMetricsAboutJavaMethod(
       MethodSignature signature, Map<Metrics, Object> metrics) {
@@ -51,7 +52,7 @@ public class MetricsHelper {
     }
   }
 
-  private static List<Measurable> getMeasurables(MethodSignature signature) {
+  static List<Measurable> getMeasurables(MethodSignature signature) {
     MeasurableContainer measurableContainer =
         signature.getMethod().getAnnotation(MeasurableContainer.class);
     Measurable measurableAnnotation = signature.getMethod().getAnnotation(Measurable.class);
@@ -71,7 +72,6 @@ public class MetricsHelper {
     }
     String result = "";
     try {
-      mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
       result = mapper.writeValueAsString(obj);
     } catch (JsonProcessingException e) {
       log.debug("Failed to convert object to json: {}: {}", obj.getClass(), e.getMessage());
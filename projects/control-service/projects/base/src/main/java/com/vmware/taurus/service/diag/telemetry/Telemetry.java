@@ -5,89 +5,282 @@
 
 package com.vmware.taurus.service.diag.telemetry;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.vmware.taurus.base.EnableComponents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Sends the telemetry events to the telemetry webhook.
+ *
+ * <p>The events are buffered in memory and sent by a pool of background threads, so that a slow or
+ * unavailable webhook holds up at most as many requests as there are threads. By default each event
+ * is sent in its own request as a JSON object. When batching is enabled, the events are sent as a
+ * JSON array, once a batch is full or the flush interval passes; the webhook must accept arrays. A
+ * request which fails with a server error or an I/O error is retried with exponential backoff,
+ * while a request rejected with a client error is dropped. When the buffer is full, the oldest
+ * events are dropped to make room for the new ones. The dropped events are counted by the reason
+ * they were dropped for.
+ */
 @Component
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
     value = EnableComponents.DIAGNOSTICS,
     havingValue = "true",
     matchIfMissing = true)
-public class Telemetry implements ITelemetry {
+public class Telemetry implements ITelemetry, DisposableBean {
   private static final Logger log = LoggerFactory.getLogger(Telemetry.class);
 
-  public Telemetry(@Value("${datajobs.telemetry.webhook.endpoint:}") String telemetryEndpoint) {
+  public static final String QUEUE_DEPTH_GAUGE_NAME = "vdk.telemetry.queue.depth";
+  public static final String BATCH_SIZE_SUMMARY_NAME = "vdk.telemetry.batch.size";
+  public static final String SEND_LATENCY_TIMER_NAME = "vdk.telemetry.send.latency";
+  public static final String DROPPED_COUNTER_NAME = "vdk.telemetry.dropped.counter";
+  public static final String FAILED_BATCHES_COUNTER_NAME = "vdk.telemetry.failed.batches.counter";
+
+  static final String DROPPED_REASON_BUFFER_FULL = "buffer_full";
+  static final String DROPPED_REASON_SEND_FAILED = "send_failed";
+
+  private static final long MAX_RETRY_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final String telemetryEndpoint;
+  private final HttpClient client;
+  private final boolean batchEnabled;
+  private final int batchSize;
+  private final int bufferCapacity;
+  private final int retries;
+  private final long retryBackoffMillis;
+  private final int senderThreads;
+
+  // Guarded by itself.
+  private final Deque<String> buffer = new ArrayDeque<>();
+  // The number of requested flushes which have not started yet, at most one per sender thread.
+  private final AtomicInteger requestedFlushes = new AtomicInteger();
+  private final ScheduledExecutorService flushExecutor;
+
+  private final DistributionSummary batchSizeSummary;
+  private final Timer sendLatencyTimer;
+  private final Counter bufferFullDroppedCounter;
+  private final Counter sendFailedDroppedCounter;
+  private final Counter failedBatchesCounter;
+
+  Telemetry(String telemetryEndpoint) {
+    this(telemetryEndpoint, false, 100, 1000, 10_000, 3, 1000, 8, new SimpleMeterRegistry());
+  }
+
+  @Autowired
+  public Telemetry(
+      @Value("${datajobs.telemetry.webhook.endpoint:}") String telemetryEndpoint,
+      @Value("${datajobs.telemetry.batch.enabled:false}") boolean batchEnabled,
+      @Value("${datajobs.telemetry.batch.size:100}") int batchSize,
+      @Value("${datajobs.telemetry.flush.interval.millis:1000}") long flushIntervalMillis,
+      @Value("${datajobs.telemetry.buffer.capacity:10000}") int bufferCapacity,
+      @Value("${datajobs.telemetry.retries:3}") int retries,
+      @Value("${datajobs.telemetry.retry.backoff.millis:1000}") long retryBackoffMillis,
+      @Value("${datajobs.telemetry.sender.threads:8}") int senderThreads,
+      MeterRegistry meterRegistry) {
     this.client = HttpClient.newHttpClient();
     this.telemetryEndpoint = telemetryEndpoint;
+    this.batchEnabled = batchEnabled;
+    this.batchSize = batchEnabled ? batchSize : 1;
+    this.bufferCapacity = bufferCapacity;
+    this.retries = retries;
+    this.retryBackoffMillis = retryBackoffMillis;
+    this.senderThreads = senderThreads;
+
+    Gauge.builder(QUEUE_DEPTH_GAUGE_NAME, this, Telemetry::getQueueDepth)
+        .description("The number of telemetry events waiting to be sent.")
+        .register(meterRegistry);
+    this.batchSizeSummary =
+        DistributionSummary.builder(BATCH_SIZE_SUMMARY_NAME)
+            .description("The number of telemetry events sent in a single request.")
+            .register(meterRegistry);
+    this.sendLatencyTimer =
+        Timer.builder(SEND_LATENCY_TIMER_NAME)
+            .description("The time it takes to send a batch of telemetry events.")
+            .register(meterRegistry);
+    this.bufferFullDroppedCounter =
+        Counter.builder(DROPPED_COUNTER_NAME)
+            .description("Counts the telemetry events which were dropped and not sent.")
+            .tag("reason", DROPPED_REASON_BUFFER_FULL)
+            .register(meterRegistry);
+    this.sendFailedDroppedCounter =
+        Counter.builder(DROPPED_COUNTER_NAME)
+            .description("Counts the telemetry events which were dropped and not sent.")
+            .tag("reason", DROPPED_REASON_SEND_FAILED)
+            .register(meterRegistry);
+    this.failedBatchesCounter =
+        Counter.builder(FAILED_BATCHES_COUNTER_NAME)
+            .description(
+                "Counts the requests with telemetry events dropped after all re-tries failed.")
+            .register(meterRegistry);
+
     if (StringUtils.isBlank(this.telemetryEndpoint)) {
       log.info("Telemetry endpoint is empty and sending telemetry is skipped");
+      this.flushExecutor = null;
+    } else {
+      this.flushExecutor =
+          Executors.newScheduledThreadPool(
+              senderThreads,
+              new ThreadFactoryBuilder()
+                  .setNameFormat("telemetry-sender-%d")
+                  .setDaemon(true)
+                  .build());
+      this.flushExecutor.scheduleWithFixedDelay(
+          this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
     }
   }
-  // TODO: add support for buffering, re-tries (with back-off)
-  private final String telemetryEndpoint;
-  private final HttpClient client;
 
-  private static <T> CompletableFuture<HttpResponse<T>> handleResponseWithRetry(
-      HttpClient client,
-      HttpRequest request,
-      HttpResponse.BodyHandler<T> handler,
-      HttpResponse<T> response) {
-    if (response == null || response.statusCode() >= 500) {
-      return client
-          .sendAsync(request, handler)
-          .thenApplyAsync(
-              (r) -> {
-                if (r.statusCode() >= 400) {
-                  log.warn(
-                      "Failed to send telemetry after re-try:"
-                          + "telemetry webhook returned HTTP client error: "
-                          + r.statusCode()
-                          + " and content: "
-                          + r.body());
-                }
-                return r;
-              });
-    } else {
-      if (response.statusCode() >= 400 && response.statusCode() < 500) {
-        log.warn(
-            "Failed to send telemetry: telemetry webhook returned HTTP client error: "
-                + response.statusCode()
-                + " and content: "
-                + response.body());
+  @Override
+  public void sendAsync(String payload) {
+    if (StringUtils.isBlank(this.telemetryEndpoint)) {
+      return;
+    }
+    boolean batchFull;
+    synchronized (buffer) {
+      if (buffer.size() >= bufferCapacity) {
+        buffer.pollFirst();
+        bufferFullDroppedCounter.increment();
       }
-      return CompletableFuture.completedFuture(response);
+      buffer.addLast(payload);
+      batchFull = buffer.size() >= batchSize;
+    }
+    if (batchFull
+        && requestedFlushes.getAndUpdate(n -> n < senderThreads ? n + 1 : n) < senderThreads) {
+      flushExecutor.execute(this::flushRequested);
     }
   }
 
   @Override
-  public void sendAsync(String payload) {
-    if (StringUtils.isBlank(this.telemetryEndpoint)) {
+  public void destroy() throws InterruptedException {
+    if (flushExecutor == null) {
       return;
     }
-    log.debug("Sending streaming telemetry to {}", telemetryEndpoint);
-    HttpResponse.BodyHandler<String> handler = HttpResponse.BodyHandlers.ofString();
+    // Sends the buffered events before stopping, but does not wait for retries for too long.
+    flushExecutor.execute(this::flushQuietly);
+    flushExecutor.shutdown();
+    if (!flushExecutor.awaitTermination(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+      log.warn("The telemetry sender did not stop in time, some telemetry events are lost");
+      flushExecutor.shutdownNow();
+    }
+  }
 
+  int getQueueDepth() {
+    synchronized (buffer) {
+      return buffer.size();
+    }
+  }
+
+  private void flushRequested() {
+    requestedFlushes.decrementAndGet();
+    flushQuietly();
+  }
+
+  private void flushQuietly() {
+    try {
+      List<String> batch;
+      while (!(batch = takeBatch()).isEmpty()) {
+        send(batch);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Failed to send telemetry", e);
+    }
+  }
+
+  private List<String> takeBatch() {
+    synchronized (buffer) {
+      List<String> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+      while (batch.size() < batchSize && !buffer.isEmpty()) {
+        batch.add(buffer.pollFirst());
+      }
+      return batch;
+    }
+  }
+
+  private void send(List<String> batch) throws InterruptedException {
+    log.debug("Sending {} telemetry events to {}", batch.size(), telemetryEndpoint);
+    batchSizeSummary.record(batch.size());
     HttpRequest request =
         HttpRequest.newBuilder()
             .setHeader("accept", "application/json")
             .setHeader("content-type", "application/json")
             .uri(URI.create(this.telemetryEndpoint))
-            .POST(HttpRequest.BodyPublishers.ofString(payload))
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.ofString(toPayload(batch)))
             .build();
-    // we re-try once. We assume that most errors are resolved on first re-try.
-    // For better robustness though we should consider more sophisticated re-tries with back off
-    client
-        .sendAsync(request, handler)
-        .thenComposeAsync(r -> handleResponseWithRetry(client, request, handler, r));
+
+    for (int attempt = 0; ; attempt++) {
+      long startNanos = System.nanoTime();
+      String error;
+      try {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() < 400) {
+          return;
+        }
+        if (response.statusCode() < 500) {
+          log.warn(
+              "Failed to send telemetry: telemetry webhook returned HTTP client error: "
+                  + response.statusCode()
+                  + " and content: "
+                  + response.body());
+          sendFailedDroppedCounter.increment(batch.size());
+          return;
+        }
+        error = "HTTP server error: " + response.statusCode() + " and content: " + response.body();
+      } catch (IOException e) {
+        error = e.toString();
+      } finally {
+        sendLatencyTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+
+      if (attempt >= retries) {
+        log.warn(
+            "Failed to send {} telemetry events after {} re-tries: telemetry webhook returned {}",
+            batch.size(),
+            retries,
+            error);
+        failedBatchesCounter.increment();
+        sendFailedDroppedCounter.increment(batch.size());
+        return;
+      }
+      long backoffMillis =
+          Math.min(retryBackoffMillis << Math.min(attempt, 20), MAX_RETRY_BACKOFF_MILLIS);
+      log.debug("Failed to send telemetry: {}, will re-try in {} ms", error, backoffMillis);
+      Thread.sleep(backoffMillis);
+    }
+  }
+
+  private String toPayload(List<String> batch) {
+    if (!batchEnabled) {
+      return batch.get(0);
+    }
+    return "[" + String.join(",", batch) + "]";
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.diag.methodintercept;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.vmware.taurus.base.SCCPProperties;
+import com.vmware.taurus.service.diag.OperationContext;
+import com.vmware.taurus.service.diag.telemetry.ITelemetry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Measures the overhead the diagnostics interceptor adds to each call of a Measurable method, as
+ * seen by the caller, through the same Spring AOP proxy the service uses.
+ *
+ * <p>Run with: -Dbenchmark=true -Dtest=MethodInterceptorBenchmarkTest
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MethodInterceptorBenchmarkTest {
+
+  private static final int WARMUP_CALLS = 200_000;
+  private static final int MEASURED_CALLS = 500_000;
+  private static final int ROUNDS = 5;
+
+  @BeforeAll
+  public static void setupLogging() {
+    ((Logger) LoggerFactory.getLogger(MethodInterceptor.class)).setLevel(Level.WARN);
+    ((Logger) LoggerFactory.getLogger(DiagnosticsPublisher.class)).setLevel(Level.WARN);
+  }
+
+  @Test
+  public void benchmarkPerCallOverhead() {
+    AtomicLong published = new AtomicLong();
+    MeasuredService target = new MeasuredService();
+    MeasuredService proxy = newProxy(target, payload -> published.incrementAndGet());
+
+    long directNanos = measure("direct call", target::measured);
+    long measuredNanos = measure("measured call", proxy::measured);
+    long sampledOutNanos = measure("sampled out call", proxy::neverSampled);
+
+    log.info(
+        "Interceptor overhead per call: measured {} ns, sampled out {} ns",
+        measuredNanos - directNanos,
+        sampledOutNanos - directNanos);
+    Assertions.assertEquals(WARMUP_CALLS + (long) ROUNDS * MEASURED_CALLS, published.get());
+  }
+
+  private static long measure(String name, IntUnaryOperator call) {
+    long sink = 0;
+    for (int i = 0; i < WARMUP_CALLS; i++) {
+      sink += call.applyAsInt(i);
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < MEASURED_CALLS; i++) {
+        sink += call.applyAsInt(i);
+      }
+      best = Math.min(best, (System.nanoTime() - start) / MEASURED_CALLS);
+    }
+    log.info("{}: {} ns/call (best of {} rounds, checksum {})", name, best, ROUNDS, sink);
+    return best;
+  }
+
+  private static MeasuredService newProxy(MeasuredService target, ITelemetry telemetry) {
+    // Not a mock, since a mock would record each of the millions of invocations.
+    SCCPProperties properties =
+        new SCCPProperties() {
+          @Override
+          public String getSpringProperty(String name) {
+            return "benchmark-service";
+          }
+        };
+    OperationContext operationContext = new OperationContext();
+    operationContext.setId("benchmark-op-id");
+
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(
+        new MethodInterceptor(operationContext, new DiagnosticsPublisher(telemetry, properties)));
+    return factory.getProxy();
+  }
+
+  public static class MeasuredService {
+
+    @Measurable(includeArg = 0, argName = "value", tags = "benchmark")
+    public int measured(int value) {
+      return value & 1;
+    }
+
+    @Measurable(sampleRate = 0)
+    public int neverSampled(int value) {
+      return value & 1;
+    }
+  }
+}
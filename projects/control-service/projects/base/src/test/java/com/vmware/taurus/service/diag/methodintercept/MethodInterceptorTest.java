@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.diag.methodintercept;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.taurus.base.SCCPProperties;
+import com.vmware.taurus.service.diag.OperationContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodInterceptorTest {
+
+  private final List<String> sentTelemetry = new ArrayList<>();
+
+  private MethodInterceptor interceptor;
+
+  @BeforeEach
+  public void setup() {
+    SCCPProperties properties = mock(SCCPProperties.class);
+    when(properties.getSpringProperty(any())).thenReturn("test-service");
+    OperationContext operationContext = new OperationContext();
+    operationContext.setId("test-op-id");
+    interceptor =
+        new MethodInterceptor(
+            operationContext, new DiagnosticsPublisher(sentTelemetry::add, properties));
+  }
+
+  @Test
+  public void test_measurable_method_is_sent_as_compact_json() throws Throwable {
+    var result = interceptor.aroundMethod(joinPoint("measured", () -> "result", "argument"));
+
+    Assertions.assertEquals("result", result);
+    Assertions.assertEquals(1, sentTelemetry.size());
+    Assertions.assertFalse(sentTelemetry.get(0).contains("\n"));
+    JsonNode json = new ObjectMapper().readTree(sentTelemetry.get(0));
+    Assertions.assertEquals("measured", json.get("method_name").asText());
+    Assertions.assertEquals("{\"name\":\"argument\"}", json.get("measurable_args").asText());
+    Assertions.assertEquals("[tag]", json.get("measurable_tags").asText());
+    Assertions.assertEquals("result", json.get("method_result").asText());
+    Assertions.assertFalse(json.get("call_failed").asBoolean());
+    Assertions.assertTrue(json.get("method_execution_time_nanos").asLong() >= 0);
+    Assertions.assertEquals("test-service", json.get("cp_svc_name").asText());
+    Assertions.assertEquals("taurus_api_call", json.get("@table").asText());
+    Assertions.assertEquals("test-op-id", json.get("@id").asText());
+  }
+
+  @Test
+  public void test_failed_method_is_sent_with_error() {
+    Assertions.assertThrows(
+        IllegalStateException.class,
+        () ->
+            interceptor.aroundMethod(
+                joinPoint(
+                    "measured",
+                    () -> {
+                      throw new IllegalStateException("failure");
+                    },
+                    "argument")));
+
+    Assertions.assertEquals(1, sentTelemetry.size());
+    Assertions.assertTrue(sentTelemetry.get(0).contains("\"call_failed\":true"));
+    Assertions.assertTrue(
+        sentTelemetry.get(0).contains("\"error_class\":\"java.lang.IllegalStateException\""));
+  }
+
+  @Test
+  public void test_sampled_out_method_is_not_sent() throws Throwable {
+    var result = interceptor.aroundMethod(joinPoint("neverSampled", () -> "result", "argument"));
+
+    Assertions.assertEquals("result", result);
+    Assertions.assertTrue(sentTelemetry.isEmpty());
+  }
+
+  private static ProceedingJoinPoint joinPoint(String methodName, Invocation invocation, Object arg)
+      throws Throwable {
+    MethodSignature signature = mock(MethodSignature.class);
+    when(signature.getMethod())
+        .thenReturn(MeasuredMethods.class.getDeclaredMethod(methodName, String.class));
+    when(signature.getName()).thenReturn(methodName);
+    when(signature.getDeclaringType()).thenReturn(MeasuredMethods.class);
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(joinPoint.getArgs()).thenReturn(new Object[] {arg});
+    when(joinPoint.proceed()).thenAnswer(invocationOnMock -> invocation.invoke());
+    return joinPoint;
+  }
+
+  private interface Invocation {
+    Object invoke() throws Exception;
+  }
+
+  private static class MeasuredMethods {
+
+    @Measurable(includeArg = 0, argName = "name", tags = "tag")
+    void measured(String name) {}
+
+    @Measurable(includeArg = 0, argName = "name", sampleRate = 0)
+    void neverSampled(String name) {}
+  }
+}
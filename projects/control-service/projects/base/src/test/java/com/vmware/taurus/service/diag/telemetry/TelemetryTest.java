@@ -6,7 +6,9 @@
 package com.vmware.taurus.service.diag.telemetry;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -64,7 +66,17 @@ public class TelemetryTest {
             .whenScenarioStateIs("request succeeds")
             .willReturn(aResponse().withStatus(500)));
 
-    var telemetry = new Telemetry(wireMockServer.url("/test"));
+    var telemetry =
+        new Telemetry(
+            wireMockServer.url("/test"),
+            false,
+            100,
+            100,
+            100,
+            1,
+            100,
+            1,
+            new SimpleMeterRegistry());
     telemetry.sendAsync("{'key': 'value'}");
 
     await()
@@ -79,6 +91,61 @@ public class TelemetryTest {
                         .withRequestBody(containing("{'key': 'value'}"))));
   }
 
+  @Test
+  public void test_telemetry_counts_failed_batch_after_retries() {
+    stubFor(post(urlEqualTo("/test")).willReturn(aResponse().withStatus(500)));
+
+    var meterRegistry = new SimpleMeterRegistry();
+    var telemetry =
+        new Telemetry(wireMockServer.url("/test"), false, 100, 100, 100, 1, 100, 1, meterRegistry);
+    telemetry.sendAsync("{'key': 'value'}");
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .with()
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(
+            () ->
+                Assertions.assertEquals(
+                    1.0,
+                    meterRegistry.get(Telemetry.FAILED_BATCHES_COUNTER_NAME).counter().count()));
+    verify(exactly(2), postRequestedFor(urlEqualTo("/test")));
+    Assertions.assertEquals(
+        1.0,
+        meterRegistry
+            .get(Telemetry.DROPPED_COUNTER_NAME)
+            .tag("reason", Telemetry.DROPPED_REASON_SEND_FAILED)
+            .counter()
+            .count());
+  }
+
+  @Test
+  public void test_telemetry_being_send_concurrently_by_default() {
+    stubFor(post(urlEqualTo("/test")).willReturn(aResponse().withBody("OK").withFixedDelay(3000)));
+
+    var telemetry =
+        new Telemetry(
+            wireMockServer.url("/test"),
+            false,
+            100,
+            60_000,
+            100,
+            0,
+            100,
+            4,
+            new SimpleMeterRegistry());
+    for (int i = 0; i < 4; i++) {
+      telemetry.sendAsync("{\"key\": " + i + "}");
+    }
+
+    // Each request takes 3 seconds, so the requests must be in flight at the same time.
+    await()
+        .atMost(2, TimeUnit.SECONDS)
+        .with()
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(() -> verify(exactly(4), postRequestedFor(urlEqualTo("/test"))));
+  }
+
   @Test
   public void test_telemetry_being_send_failed_client_error() {
     stubFor(post(urlEqualTo("/test")).willReturn(aResponse().withStatus(401)));
@@ -96,4 +163,74 @@ public class TelemetryTest {
                     postRequestedFor(urlEqualTo("/test"))
                         .withRequestBody(containing("{'key': 'value'}"))));
   }
+
+  @Test
+  public void test_telemetry_being_send_one_event_per_request_by_default() {
+    stubFor(post(urlEqualTo("/test")).willReturn(aResponse().withBody("OK")));
+
+    var telemetry = new Telemetry(wireMockServer.url("/test"));
+    telemetry.sendAsync("{\"key\": 1}");
+    telemetry.sendAsync("{\"key\": 2}");
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .with()
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(
+            () -> {
+              verify(
+                  exactly(1),
+                  postRequestedFor(urlEqualTo("/test"))
+                      .withRequestBody(equalToJson("{\"key\": 1}")));
+              verify(
+                  exactly(1),
+                  postRequestedFor(urlEqualTo("/test"))
+                      .withRequestBody(equalToJson("{\"key\": 2}")));
+            });
+  }
+
+  @Test
+  public void test_telemetry_being_send_in_batch() {
+    stubFor(post(urlEqualTo("/test")).willReturn(aResponse().withBody("OK")));
+
+    var meterRegistry = new SimpleMeterRegistry();
+    var telemetry =
+        new Telemetry(wireMockServer.url("/test"), true, 2, 60_000, 100, 0, 100, 1, meterRegistry);
+    telemetry.sendAsync("{\"key\": 1}");
+    telemetry.sendAsync("{\"key\": 2}");
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .with()
+        .pollInterval(100, TimeUnit.MILLISECONDS)
+        .untilAsserted(
+            () ->
+                verify(
+                    exactly(1),
+                    postRequestedFor(urlEqualTo("/test"))
+                        .withRequestBody(equalToJson("[{\"key\": 1}, {\"key\": 2}]"))));
+    Assertions.assertEquals(
+        2.0, meterRegistry.get(Telemetry.BATCH_SIZE_SUMMARY_NAME).summary().totalAmount());
+  }
+
+  @Test
+  public void test_telemetry_drops_oldest_when_buffer_full() {
+    var meterRegistry = new SimpleMeterRegistry();
+    var telemetry =
+        new Telemetry(wireMockServer.url("/test"), true, 100, 60_000, 2, 0, 100, 1, meterRegistry);
+    telemetry.sendAsync("{\"key\": 1}");
+    telemetry.sendAsync("{\"key\": 2}");
+    telemetry.sendAsync("{\"key\": 3}");
+
+    Assertions.assertEquals(2, telemetry.getQueueDepth());
+    Assertions.assertEquals(
+        1.0,
+        meterRegistry
+            .get(Telemetry.DROPPED_COUNTER_NAME)
+            .tag("reason", Telemetry.DROPPED_REASON_BUFFER_FULL)
+            .counter()
+            .count());
+    Assertions.assertEquals(
+        2.0, meterRegistry.get(Telemetry.QUEUE_DEPTH_GAUGE_NAME).gauge().value());
+  }
 }
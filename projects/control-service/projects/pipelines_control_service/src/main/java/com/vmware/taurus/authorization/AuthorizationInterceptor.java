@@ -7,6 +7,7 @@ package com.vmware.taurus.authorization;
 
 import com.vmware.taurus.authorization.provider.AuthorizationProvider;
 import com.vmware.taurus.authorization.webhook.AuthorizationBody;
+import com.vmware.taurus.authorization.webhook.AuthorizationDecisionCache;
 import com.vmware.taurus.authorization.webhook.AuthorizationWebHookProvider;
 import com.vmware.taurus.base.FeatureFlags;
 import com.vmware.taurus.service.diag.OperationContext;
@@ -29,7 +30,8 @@ import java.io.IOException;
  * <p>If a service does not need authorization it can be disabled with feature flag:
  * featureflag.authorization.disabled=true 1. If the HTTP method is GET - allowed if the user is
  * authenticated 2. Other methods create {@link AuthorizationBody} and delegate authorization
- * decision to {@link AuthorizationWebHookProvider}
+ * decision to {@link AuthorizationWebHookProvider}, whose decisions are kept for a while by {@link
+ * AuthorizationDecisionCache}
  */
 @Component
 @RequiredArgsConstructor
@@ -39,7 +41,7 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
 
   private final FeatureFlags featureFlags;
 
-  private final AuthorizationWebHookProvider webhookProvider;
+  private final AuthorizationDecisionCache decisionCache;
 
   private final AuthorizationProvider authorizationProvider;
 
@@ -69,7 +71,7 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
   private boolean isRequestAuthorized(
       HttpServletRequest request, HttpServletResponse response, AuthorizationBody body)
       throws IOException {
-    WebHookResult decision = this.webhookProvider.invokeWebHook(body).get();
+    WebHookResult decision = this.decisionCache.getDecision(body);
     response.setStatus(decision.getStatus().value());
     if (!decision.getMessage().isBlank()) {
       response.getWriter().write(decision.getMessage());
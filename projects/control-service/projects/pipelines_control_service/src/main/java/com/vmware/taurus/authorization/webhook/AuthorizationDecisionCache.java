@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.authorization.webhook;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.vmware.taurus.service.webhook.WebHookResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the decisions of the authorization webhook, so that the repeated requests of a user, such
+ * as the polling of the UI and the CLI, do not call the authorization server every time.
+ *
+ * <p>The decisions are keyed by the whole {@link AuthorizationBody}, i.e. by the user, the team,
+ * the requested permission, the HTTP method and path, and the data job. Allowed and denied
+ * decisions expire after separate TTLs, and a TTL of 0 disables the caching of the respective
+ * decisions. Concurrent identical checks wait for a single call to the webhook.
+ */
+@Component
+@Slf4j
+public class AuthorizationDecisionCache {
+
+  public static final String CACHE_HITS_COUNTER_NAME =
+      "vdk.authorization.decision.cache.hits.counter";
+  public static final String CACHE_MISSES_COUNTER_NAME =
+      "vdk.authorization.decision.cache.misses.counter";
+  public static final String WEBHOOK_LATENCY_TIMER_NAME = "vdk.authorization.webhook.latency";
+
+  private final AuthorizationWebHookProvider webHookProvider;
+  private final long allowTtlMillis;
+  private final long denyTtlMillis;
+  private final Clock clock;
+  private final Cache<AuthorizationBody, Decision> decisions;
+  private final Counter hitsCounter;
+  private final Counter missesCounter;
+  private final Timer webHookLatencyTimer;
+
+  @Autowired
+  public AuthorizationDecisionCache(
+      AuthorizationWebHookProvider webHookProvider,
+      MeterRegistry meterRegistry,
+      @Value("${datajobs.authorization.webhook.cache.allow.ttl.seconds:60}") long allowTtlSeconds,
+      @Value("${datajobs.authorization.webhook.cache.deny.ttl.seconds:10}") long denyTtlSeconds,
+      @Value("${datajobs.authorization.webhook.cache.max.size:10000}") long maxSize) {
+    this(
+        webHookProvider,
+        meterRegistry,
+        TimeUnit.SECONDS.toMillis(allowTtlSeconds),
+        TimeUnit.SECONDS.toMillis(denyTtlSeconds),
+        maxSize,
+        Clock.systemUTC());
+  }
+
+  AuthorizationDecisionCache(
+      AuthorizationWebHookProvider webHookProvider,
+      MeterRegistry meterRegistry,
+      long allowTtlMillis,
+      long denyTtlMillis,
+      long maxSize,
+      Clock clock) {
+    this.webHookProvider = webHookProvider;
+    this.allowTtlMillis = allowTtlMillis;
+    this.denyTtlMillis = denyTtlMillis;
+    this.clock = clock;
+    this.decisions =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(
+                Math.max(1, Math.max(allowTtlMillis, denyTtlMillis)), TimeUnit.MILLISECONDS)
+            .build();
+    this.hitsCounter =
+        Counter.builder(CACHE_HITS_COUNTER_NAME)
+            .description("Counts the authorization decisions served from memory.")
+            .register(meterRegistry);
+    this.missesCounter =
+        Counter.builder(CACHE_MISSES_COUNTER_NAME)
+            .description("Counts the authorization decisions requested from the webhook.")
+            .register(meterRegistry);
+    this.webHookLatencyTimer =
+        Timer.builder(WEBHOOK_LATENCY_TIMER_NAME)
+            .description("The time it takes the authorization webhook to make a decision.")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Gets the decision of the authorization webhook for a request, from memory if it has not expired
+   * yet.
+   *
+   * @param body the authorization request, which must not be changed afterwards
+   * @return the decision
+   */
+  public WebHookResult getDecision(AuthorizationBody body) {
+    Decision decision = decisions.getIfPresent(body);
+    if (decision != null && decision.isExpired(clock.millis())) {
+      decisions.asMap().remove(body, decision);
+      decision = null;
+    }
+    if (decision != null) {
+      hitsCounter.increment();
+      return decision.result;
+    }
+
+    try {
+      // Only one of the concurrent identical checks loads the decision, the rest wait for it.
+      return decisions.get(body, () -> loadDecision(body)).result;
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Removes all decisions, e.g. after the permissions of the teams have changed. */
+  public void invalidateAll() {
+    decisions.invalidateAll();
+  }
+
+  /**
+   * Removes the decisions of a user, e.g. after the user has joined or left a team.
+   *
+   * @param userId the id of the user, as sent to the webhook
+   */
+  public void invalidateUser(String userId) {
+    decisions.asMap().keySet().removeIf(body -> userId.equals(body.getRequesterUserId()));
+  }
+
+  private Decision loadDecision(AuthorizationBody body) {
+    missesCounter.increment();
+    WebHookResult result =
+        webHookLatencyTimer.record(() -> webHookProvider.invokeWebHook(body).get());
+    long ttlMillis = result.getStatus().is2xxSuccessful() ? allowTtlMillis : denyTtlMillis;
+    log.debug(
+        "Authorization webhook returned {}, the decision is kept for {} ms",
+        result.getStatus(),
+        ttlMillis);
+    return new Decision(result, clock.millis() + ttlMillis);
+  }
+
+  private static class Decision {
+
+    private final WebHookResult result;
+    private final long expiresAtMillis;
+
+    private Decision(WebHookResult result, long expiresAtMillis) {
+      this.result = result;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    private boolean isExpired(long nowMillis) {
+      return nowMillis >= expiresAtMillis;
+    }
+  }
+}
@@ -10,15 +10,22 @@ import com.vmware.taurus.controlplane.model.data.DataJobExecution;
 import com.vmware.taurus.controlplane.model.data.DataJobExecutionLogs;
 import com.vmware.taurus.controlplane.model.data.DataJobExecutionRequest;
 import com.vmware.taurus.service.JobsService;
+import com.vmware.taurus.service.execution.JobExecutionLogsResource;
 import com.vmware.taurus.service.execution.JobExecutionService;
 import io.swagger.annotations.Api;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -30,6 +37,7 @@ import java.util.function.Supplier;
  *
  * @see DataJobsController
  */
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @Api(tags = {"Data Jobs Execution"})
@@ -98,4 +106,42 @@ public class DataJobsExecutionController implements DataJobsExecutionApi {
         executionService.getJobExecutionLogs(teamName, jobName, executionId, tailLines);
     return ResponseEntity.ok(logs);
   }
+
+  @Override
+  public ResponseEntity<Resource> dataJobLogsStream(
+      String teamName,
+      String jobName,
+      String executionId,
+      Integer tailLines,
+      Long limitBytes,
+      OffsetDateTime sinceTime,
+      Long offsetBytes,
+      Boolean follow) {
+    JobExecutionLogsResource logs =
+        executionService.streamJobExecutionLogs(
+            teamName,
+            jobName,
+            executionId,
+            tailLines,
+            limitBytes,
+            sinceTime,
+            offsetBytes,
+            Boolean.TRUE.equals(follow));
+    // The logs are closed once they are sent, the callback closes them when they are not sent,
+    // e.g. for a range request, so that the log stream is released.
+    RequestContextHolder.currentRequestAttributes()
+        .registerDestructionCallback(
+            JobExecutionLogsResource.class.getName(),
+            () -> closeLogs(logs),
+            RequestAttributes.SCOPE_REQUEST);
+    return ResponseEntity.ok().body(logs);
+  }
+
+  private static void closeLogs(JobExecutionLogsResource logs) {
+    try {
+      logs.close();
+    } catch (IOException e) {
+      log.warn("Failed to close {}", logs.getDescription(), e);
+    }
+  }
 }
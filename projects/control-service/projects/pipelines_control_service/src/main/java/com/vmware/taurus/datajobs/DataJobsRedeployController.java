@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.datajobs;
+
+import com.vmware.taurus.base.FeatureFlags;
+import com.vmware.taurus.controlplane.model.api.DataJobsRedeployApi;
+import com.vmware.taurus.controlplane.model.data.DataJobRedeployStart;
+import com.vmware.taurus.controlplane.model.data.DataJobRedeployStatus;
+import com.vmware.taurus.exception.DataJobRedeployForbiddenException;
+import com.vmware.taurus.service.deploy.BulkRedeployService;
+import com.vmware.taurus.service.diag.OperationContext;
+import com.vmware.taurus.service.model.DataJobRedeploy;
+import io.swagger.annotations.Api;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for the redeployment of all deployed data jobs, used by the operators of the
+ * service e.g. to roll out a new VDK version.
+ *
+ * <p>The data jobs of all teams are redeployed, so the team based authorization does not apply. The
+ * operations are allowed only to the users with one of the configured administrator authorities,
+ * and are not available when the security is disabled.
+ */
+@RestController
+@Api(tags = {"Data Jobs Redeploy"})
+public class DataJobsRedeployController implements DataJobsRedeployApi {
+
+  private final BulkRedeployService bulkRedeployService;
+  private final OperationContext operationContext;
+  private final FeatureFlags featureFlags;
+  private final Set<String> adminAuthorities;
+
+  public DataJobsRedeployController(
+      BulkRedeployService bulkRedeployService,
+      OperationContext operationContext,
+      FeatureFlags featureFlags,
+      @Value("${datajobs.deployment.redeploy.admin.authorities:}") String adminAuthorities) {
+    this.bulkRedeployService = bulkRedeployService;
+    this.operationContext = operationContext;
+    this.featureFlags = featureFlags;
+    this.adminAuthorities =
+        Arrays.stream(adminAuthorities.split(","))
+            .map(String::trim)
+            .filter(authority -> !authority.isEmpty())
+            .collect(Collectors.toSet());
+  }
+
+  @Override
+  public ResponseEntity<DataJobRedeployStart> dataJobsRedeploy(String vdkVersion) {
+    checkAdmin();
+    String redeployId = bulkRedeployService.redeployAll(vdkVersion, operationContext.getUser());
+    return ResponseEntity.accepted().body(new DataJobRedeployStart().redeployId(redeployId));
+  }
+
+  @Override
+  public ResponseEntity<List<DataJobRedeployStatus>> dataJobsRedeployRead(String redeployId) {
+    checkAdmin();
+    List<DataJobRedeploy> redeploys = bulkRedeployService.getRedeploy(redeployId);
+    if (redeploys.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(
+        redeploys.stream()
+            .map(ToApiModelConverter::toDataJobRedeployStatus)
+            .collect(Collectors.toList()));
+  }
+
+  private void checkAdmin() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (!featureFlags.isSecurityEnabled()
+        || authentication == null
+        || !authentication.isAuthenticated()
+        || authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .noneMatch(adminAuthorities::contains)) {
+      throw new DataJobRedeployForbiddenException();
+    }
+  }
+}
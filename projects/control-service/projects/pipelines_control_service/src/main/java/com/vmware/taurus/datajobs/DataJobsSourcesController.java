@@ -9,6 +9,7 @@ import com.vmware.taurus.controlplane.model.api.DataJobsSourcesApi;
 import com.vmware.taurus.controlplane.model.data.DataJobVersion;
 import com.vmware.taurus.exception.ExternalSystemError;
 import com.vmware.taurus.service.JobsService;
+import com.vmware.taurus.service.upload.DataJobSourceResource;
 import com.vmware.taurus.service.upload.JobUpload;
 import io.swagger.annotations.Api;
 import lombok.AllArgsConstructor;
@@ -61,11 +62,16 @@ public class DataJobsSourcesController implements DataJobsSourcesApi {
     return ResponseEntity.notFound().build();
   }
 
+  /**
+   * The response is tagged with the version of the data job source, so Spring answers the requests
+   * with a matching If-None-Match header with 304 Not Modified, without writing the source.
+   */
+  @Override
   public ResponseEntity<Resource> dataJobSourcesDownload(String teamName, String jobName) {
     if (jobsService.jobWithTeamExists(jobName, teamName)) {
-      Optional<Resource> jobSource = jobUpload.getDataJob(jobName);
+      Optional<DataJobSourceResource> jobSource = jobUpload.getDataJob(jobName);
       if (jobSource.isPresent()) {
-        return ResponseEntity.ok(jobSource.get());
+        return ResponseEntity.ok().eTag(jobSource.get().getVersion()).body(jobSource.get());
       }
     }
     return ResponseEntity.notFound().build();
@@ -252,6 +252,17 @@ public class ToApiModelConverter {
     }
   }
 
+  public static DataJobRedeployStatus toDataJobRedeployStatus(DataJobRedeploy redeploy) {
+    return new DataJobRedeployStatus()
+        .jobName(redeploy.getJobName())
+        .status(DataJobRedeployStatus.StatusEnum.valueOf(redeploy.getStatus().name()))
+        .vdkVersion(redeploy.getVdkVersion())
+        .message(redeploy.getMessage())
+        .queuedAt(redeploy.getQueuedAt())
+        .startedAt(redeploy.getStartedAt())
+        .finishedAt(redeploy.getFinishedAt());
+  }
+
   private static DataJobResources getJobResources(
       com.vmware.taurus.service.model.DataJobExecution job) {
     DataJobResources dataJobResources = new DataJobResources();
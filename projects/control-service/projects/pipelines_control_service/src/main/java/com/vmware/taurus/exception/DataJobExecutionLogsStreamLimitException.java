@@ -0,0 +1,27 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DataJobExecutionLogsStreamLimitException extends DomainError
+    implements UserFacingError {
+
+  public DataJobExecutionLogsStreamLimitException(String executionId, int maxConcurrentStreams) {
+    super(
+        String.format("Cannot stream the logs of the Data Job execution '%s'.", executionId),
+        String.format(
+            "The limit of %d concurrent log streams has been reached.", maxConcurrentStreams),
+        "The logs will not be streamed.",
+        "Wait for some of the ongoing log streams to complete and try again.",
+        null);
+  }
+
+  @Override
+  public HttpStatus getHttpStatus() {
+    return HttpStatus.TOO_MANY_REQUESTS;
+  }
+}
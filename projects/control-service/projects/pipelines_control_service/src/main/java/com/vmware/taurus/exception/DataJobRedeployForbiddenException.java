@@ -0,0 +1,25 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DataJobRedeployForbiddenException extends DomainError implements UserFacingError {
+
+  public DataJobRedeployForbiddenException() {
+    super(
+        "Cannot redeploy all Data Jobs.",
+        "The redeployment of all Data Jobs is allowed only to the administrators of the service.",
+        "The Data Jobs will not be redeployed.",
+        "Ask an administrator of the service to redeploy the Data Jobs.",
+        null);
+  }
+
+  @Override
+  public HttpStatus getHttpStatus() {
+    return HttpStatus.FORBIDDEN;
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.model.DataJobRedeploy;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data / JPA Repository for {@link DataJobRedeploy} objects.
+ *
+ * <p>Spring Data automatically creates an implementation of this interface at runtime, provided
+ * {@link DataJobRedeploy} is a valid JPA entity.
+ */
+@Repository
+public interface DataJobRedeployRepository extends CrudRepository<DataJobRedeploy, String> {
+
+  List<DataJobRedeploy> findAllByRedeployIdOrderByJobName(String redeployId);
+
+  List<DataJobRedeploy> findAllByStatusIn(Collection<DataJobRedeploy.Status> statuses);
+
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query(
+      "update DataJobRedeploy r set r.heartbeatAt = :heartbeatAt where r.owner = :owner"
+          + " and r.status in :statuses")
+  int updateHeartbeatAtByOwnerAndStatusIn(
+      @Param(value = "owner") String owner,
+      @Param(value = "statuses") Collection<DataJobRedeploy.Status> statuses,
+      @Param(value = "heartbeatAt") OffsetDateTime heartbeatAt);
+}
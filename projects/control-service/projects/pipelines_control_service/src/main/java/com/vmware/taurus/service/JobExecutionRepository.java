@@ -28,7 +28,9 @@ import java.util.Optional;
  * <p>JobExecutionRepositoryIT validates some aspects of the behavior
  */
 public interface JobExecutionRepository
-    extends JpaRepository<DataJobExecution, String>, JpaSpecificationExecutor<DataJobExecution> {
+    extends JpaRepository<DataJobExecution, String>,
+        JpaSpecificationExecutor<DataJobExecution>,
+        JobExecutionRepositoryCustom {
 
   List<DataJobExecution> findDataJobExecutionsByDataJobName(String jobName);
 
@@ -39,9 +41,6 @@ public interface JobExecutionRepository
   List<DataJobExecution> findDataJobExecutionsByDataJobNameAndStatusIn(
       String jobName, List<ExecutionStatus> statuses);
 
-  List<DataJobExecutionIdAndEndTime> findByDataJobNameAndStatusNotInOrderByEndTime(
-      String jobName, List<ExecutionStatus> statuses);
-
   List<DataJobExecution> findDataJobExecutionsByStatusInAndStartTimeBefore(
       List<ExecutionStatus> statuses, OffsetDateTime startTime);
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.graphql.model.DataJobExecutionFilter;
+import com.vmware.taurus.service.model.DataJobExecution;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Custom queries of data job executions which cannot be expressed with Spring Data query methods or
+ * specifications.
+ *
+ * <p>Implemented by {@link JobExecutionRepositoryCustomImpl}.
+ */
+public interface JobExecutionRepositoryCustom {
+
+  /**
+   * Finds the same page of executions of each of the specified data jobs at once, instead of
+   * querying the executions of each data job separately. The executions are ranked within each data
+   * job with a window function, so only the executions of the requested page are loaded. The total
+   * number of executions is not counted.
+   *
+   * @param dataJobNames The names of the data jobs.
+   * @param filter The filter the executions must match, ignored if null.
+   * @param sort The sort of the executions of each data job. When it is unsorted, the most recently
+   *     started executions come first.
+   * @param pageable The page of the executions of each data job, or {@link Pageable#unpaged()} for
+   *     all of them. Its sort is ignored.
+   * @return The executions, grouped by data job name in the order of the requested sort.
+   */
+  List<DataJobExecution> findPageOfEachDataJob(
+      Collection<String> dataJobNames, DataJobExecutionFilter filter, Sort sort, Pageable pageable);
+
+  /**
+   * Deletes the finished executions of the specified data jobs which are past their retention with
+   * a single statement, instead of loading the executions of each data job. An execution is past
+   * its retention if it is not among the newest executions of its data job, or if it ended before
+   * the cutoff. The executions are ranked within each data job by end time with a window function,
+   * the ones without end time are considered the newest. Running and submitted executions are
+   * neither ranked nor deleted.
+   *
+   * @param dataJobNames The names of the data jobs.
+   * @param executionsToKeep The number of the newest finished executions kept for each data job.
+   * @param endTimeCutoff The executions which ended before it are deleted.
+   * @return The number of deleted executions.
+   */
+  int deleteExecutionsPastRetention(
+      Collection<String> dataJobNames, int executionsToKeep, OffsetDateTime endTimeCutoff);
+
+  /**
+   * Sets the status of the submitted and running executions which started before the cutoff and are
+   * not among the specified running executions, with bulk updates instead of loading and saving
+   * each execution. Only the ids of the candidate executions are loaded. The updates are chunked
+   * and check the status and start time again, so the executions completed concurrently are not
+   * overwritten.
+   *
+   * @param runningExecutionIds The ids of the executions which are still running.
+   * @param startTimeCutoff Only the executions which started before it are updated.
+   * @param status The new status of the executions.
+   * @param message The new message of the executions.
+   * @param endTime The new end time of the executions.
+   * @return The ids of the updated executions.
+   */
+  List<String> updateStatusOfActiveExecutionsNotIn(
+      Set<String> runningExecutionIds,
+      OffsetDateTime startTimeCutoff,
+      ExecutionStatus status,
+      String message,
+      OffsetDateTime endTime);
+}
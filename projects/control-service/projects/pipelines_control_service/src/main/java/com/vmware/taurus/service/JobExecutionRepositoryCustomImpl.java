@@ -0,0 +1,267 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.graphql.model.DataJobExecutionFilter;
+import com.vmware.taurus.service.model.DataJobExecution;
+import com.vmware.taurus.service.model.DataJobExecution_;
+import com.vmware.taurus.service.model.DataJob_;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.model.JobConfig_;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Implements {@link JobExecutionRepositoryCustom}. Spring Data picks it up by its name and adds its
+ * methods to {@link JobExecutionRepository}.
+ */
+public class JobExecutionRepositoryCustomImpl implements JobExecutionRepositoryCustom {
+
+  // Keeps the number of bind parameters of a query well below the limits of the databases.
+  private static final int MAX_IDS_PER_QUERY = 1000;
+
+  private static final Pattern PROPERTY_PATTERN = Pattern.compile("[a-zA-Z]+");
+  private static final Pattern CAMEL_CASE_PATTERN = Pattern.compile("([a-z])([A-Z])");
+
+  private static final Map<String, String> PROPERTY_TO_COLUMN_MAP =
+      Map.of(
+          DataJobExecution_.DATA_JOB + "." + DataJob_.NAME,
+          "e.job_name",
+          DataJobExecution_.DATA_JOB + "." + DataJob_.JOB_CONFIG + "." + JobConfig_.TEAM,
+          "j.team");
+
+  private static final Sort DEFAULT_SORT =
+      Sort.by(Sort.Direction.DESC, DataJobExecution_.START_TIME);
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<DataJobExecution> findPageOfEachDataJob(
+      Collection<String> dataJobNames,
+      DataJobExecutionFilter filter,
+      Sort sort,
+      Pageable pageable) {
+    if (dataJobNames.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("jobNames", dataJobNames);
+    StringBuilder sql =
+        new StringBuilder("select ranked.id from (select e.id, e.job_name, row_number() over (")
+            .append("partition by e.job_name order by ")
+            .append(toOrderBy(sort.isSorted() ? sort : DEFAULT_SORT))
+            .append(") as execution_rank from data_job_execution e")
+            .append(" join data_job j on j.name = e.job_name")
+            .append(" where e.job_name in (:jobNames)");
+    appendFilter(sql, parameters, filter);
+    sql.append(") ranked");
+    if (pageable.isPaged()) {
+      sql.append(" where ranked.execution_rank > :offset and ranked.execution_rank <= :limit");
+      parameters.put("offset", pageable.getOffset());
+      parameters.put("limit", pageable.getOffset() + pageable.getPageSize());
+    }
+    sql.append(" order by ranked.job_name, ranked.execution_rank");
+
+    var idsQuery = entityManager.createNativeQuery(sql.toString());
+    parameters.forEach(idsQuery::setParameter);
+    List<String> ids =
+        ((List<?>) idsQuery.getResultList())
+            .stream().map(String::valueOf).collect(Collectors.toList());
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      positions.put(ids.get(i), i);
+    }
+    List<DataJobExecution> executions = new ArrayList<>();
+    for (List<String> idsChunk : ListUtils.partition(ids, MAX_IDS_PER_QUERY)) {
+      executions.addAll(
+          entityManager
+              .createQuery(
+                  "select e from DataJobExecution e join fetch e.dataJob where e.id in (:ids)",
+                  DataJobExecution.class)
+              .setParameter("ids", idsChunk)
+              .getResultList());
+    }
+    executions.sort(Comparator.comparing(execution -> positions.get(execution.getId())));
+    return executions;
+  }
+
+  @Override
+  @Transactional
+  public int deleteExecutionsPastRetention(
+      Collection<String> dataJobNames, int executionsToKeep, OffsetDateTime endTimeCutoff) {
+    if (dataJobNames.isEmpty()) {
+      return 0;
+    }
+
+    return entityManager
+        .createNativeQuery(
+            "delete from data_job_execution where id in (select ranked.id from (select e.id,"
+                + " e.end_time, row_number() over (partition by e.job_name order by e.end_time"
+                + " desc nulls first, e.id desc) as execution_rank from data_job_execution e"
+                + " where e.job_name in (:jobNames) and e.status not in (:activeStatuses)) ranked"
+                + " where ranked.execution_rank > :executionsToKeep or ranked.end_time < :cutoff)")
+        .setParameter("jobNames", dataJobNames)
+        .setParameter(
+            "activeStatuses",
+            List.of(ExecutionStatus.RUNNING.getDbValue(), ExecutionStatus.SUBMITTED.getDbValue()))
+        .setParameter("executionsToKeep", executionsToKeep)
+        .setParameter("cutoff", endTimeCutoff)
+        .executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public List<String> updateStatusOfActiveExecutionsNotIn(
+      Set<String> runningExecutionIds,
+      OffsetDateTime startTimeCutoff,
+      ExecutionStatus status,
+      String message,
+      OffsetDateTime endTime) {
+    List<ExecutionStatus> activeStatuses =
+        List.of(ExecutionStatus.SUBMITTED, ExecutionStatus.RUNNING);
+    List<String> ids =
+        entityManager
+            .createQuery(
+                "select e.id from DataJobExecution e"
+                    + " where e.status in (:activeStatuses) and e.startTime < :cutoff",
+                String.class)
+            .setParameter("activeStatuses", activeStatuses)
+            .setParameter("cutoff", startTimeCutoff)
+            .getResultStream()
+            .filter(id -> !runningExecutionIds.contains(id))
+            .collect(Collectors.toList());
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    // The executions updated by the statement bypass the persistence context, so the pending
+    // changes are flushed before it and the stale entities are detached after it.
+    entityManager.flush();
+    List<String> updatedIds = new ArrayList<>();
+    for (List<String> idsChunk : ListUtils.partition(ids, MAX_IDS_PER_QUERY)) {
+      int updated =
+          entityManager
+              .createQuery(
+                  "update DataJobExecution e"
+                      + " set e.status = :status, e.message = :message, e.endTime = :endTime"
+                      + " where e.id in (:ids) and e.status in (:activeStatuses)"
+                      + " and e.startTime < :cutoff")
+              .setParameter("status", status)
+              .setParameter("message", message)
+              .setParameter("endTime", endTime)
+              .setParameter("ids", idsChunk)
+              .setParameter("activeStatuses", activeStatuses)
+              .setParameter("cutoff", startTimeCutoff)
+              .executeUpdate();
+      if (updated == idsChunk.size()) {
+        updatedIds.addAll(idsChunk);
+      } else if (updated > 0) {
+        // Some executions completed concurrently, find out which ones were updated.
+        updatedIds.addAll(
+            entityManager
+                .createQuery(
+                    "select e.id from DataJobExecution e where e.id in (:ids)"
+                        + " and e.status = :status and e.message = :message",
+                    String.class)
+                .setParameter("ids", idsChunk)
+                .setParameter("status", status)
+                .setParameter("message", message)
+                .getResultList());
+      }
+    }
+    entityManager.clear();
+    return updatedIds;
+  }
+
+  private static void appendFilter(
+      StringBuilder sql, Map<String, Object> parameters, DataJobExecutionFilter filter) {
+    if (filter == null) {
+      return;
+    }
+
+    if (filter.getStartTimeGte() != null) {
+      sql.append(" and e.start_time >= :startTimeGte");
+      parameters.put("startTimeGte", filter.getStartTimeGte());
+    }
+
+    if (filter.getStartTimeLte() != null) {
+      sql.append(" and e.start_time <= :startTimeLte");
+      parameters.put("startTimeLte", filter.getStartTimeLte());
+    }
+
+    if (filter.getEndTimeGte() != null) {
+      sql.append(" and e.end_time >= :endTimeGte");
+      parameters.put("endTimeGte", filter.getEndTimeGte());
+    }
+
+    if (filter.getEndTimeLte() != null) {
+      sql.append(" and e.end_time <= :endTimeLte");
+      parameters.put("endTimeLte", filter.getEndTimeLte());
+    }
+
+    if (CollectionUtils.isNotEmpty(filter.getStatusIn())) {
+      sql.append(" and e.status in (:statusIn)");
+      parameters.put(
+          "statusIn",
+          filter.getStatusIn().stream()
+              .map(ExecutionStatus::getDbValue)
+              .collect(Collectors.toList()));
+    }
+
+    if (CollectionUtils.isNotEmpty(filter.getJobNameIn())) {
+      sql.append(" and e.job_name in (:jobNameIn)");
+      parameters.put("jobNameIn", filter.getJobNameIn());
+    }
+
+    if (CollectionUtils.isNotEmpty(filter.getTeamNameIn())) {
+      sql.append(" and j.team in (:teamNameIn)");
+      parameters.put("teamNameIn", filter.getTeamNameIn());
+    }
+  }
+
+  private static String toOrderBy(Sort sort) {
+    List<String> orders = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      orders.add(toColumn(order.getProperty()) + (order.isAscending() ? " asc" : " desc"));
+    }
+    // Keeps the rank stable among executions with equal sort values.
+    orders.add("e.id asc");
+    return String.join(", ", orders);
+  }
+
+  private static String toColumn(String property) {
+    String column = PROPERTY_TO_COLUMN_MAP.get(property);
+    if (column != null) {
+      return column;
+    }
+    if (!PROPERTY_PATTERN.matcher(property).matches()) {
+      throw new IllegalArgumentException("Unsupported data job execution property: " + property);
+    }
+    return "e." + CAMEL_CASE_PATTERN.matcher(property).replaceAll("$1_$2").toLowerCase();
+  }
+}
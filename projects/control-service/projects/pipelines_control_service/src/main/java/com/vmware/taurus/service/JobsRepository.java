@@ -9,6 +9,7 @@ import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DeploymentStatus;
 import com.vmware.taurus.service.model.ExecutionStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -32,23 +33,33 @@ import java.util.Optional;
  * <p>JobsRepositoryIT validates some aspects of the behavior
  */
 @Repository
-public interface JobsRepository extends PagingAndSortingRepository<DataJob, String> {
+public interface JobsRepository
+    extends PagingAndSortingRepository<DataJob, String>,
+        JpaSpecificationExecutor<DataJob>,
+        JobsRepositoryCustom {
   List<DataJob> findAllByJobConfigTeam(String team, Pageable pageable);
 
   Optional<DataJob> findDataJobByNameAndJobConfigTeam(String jobName, String teamName);
 
+  @Query("select j.name from DataJob j order by j.name")
+  List<String> findAllNames();
+
+  List<DataJob> findAllByUpdatedAtAfter(OffsetDateTime updatedAt);
+
   @Transactional
   @Modifying(clearAutomatically = true)
   @Query(
-      "update DataJob j set j.latestJobDeploymentStatus = :latestJobDeploymentStatus where j.name ="
-          + " :name")
+      "update DataJob j set j.latestJobDeploymentStatus = :latestJobDeploymentStatus,"
+          + " j.updatedAt = current_timestamp where j.name = :name")
   int updateDataJobLatestJobDeploymentStatusByName(
       @Param(value = "name") String name,
       @Param(value = "latestJobDeploymentStatus") DeploymentStatus latestJobDeploymentStatus);
 
   @Transactional
   @Modifying(clearAutomatically = true)
-  @Query("update DataJob j set j.enabled = :enabled where j.name = :name")
+  @Query(
+      "update DataJob j set j.enabled = :enabled, j.updatedAt = current_timestamp where j.name ="
+          + " :name")
   int updateDataJobEnabledByName(
       @Param(value = "name") String name, @Param(value = "enabled") Boolean enabled);
 
@@ -56,7 +67,8 @@ public interface JobsRepository extends PagingAndSortingRepository<DataJob, Stri
   @Modifying(clearAutomatically = true)
   @Query(
       "update DataJob j set j.lastExecutionStatus = :status, j.lastExecutionEndTime = :endTime,"
-          + " j.lastExecutionDuration = :duration where j.name = :name")
+          + " j.lastExecutionDuration = :duration, j.updatedAt = current_timestamp where j.name ="
+          + " :name")
   int updateDataJobLastExecutionByName(
       @Param(value = "name") String name,
       @Param(value = "status") ExecutionStatus status,
@@ -66,8 +78,8 @@ public interface JobsRepository extends PagingAndSortingRepository<DataJob, Stri
   @Transactional
   @Modifying(clearAutomatically = true)
   @Query(
-      "update DataJob j set j.latestJobTerminationStatus = :status, j.latestJobExecutionId = :id"
-          + " where j.name = :name")
+      "update DataJob j set j.latestJobTerminationStatus = :status, j.latestJobExecutionId = :id,"
+          + " j.updatedAt = current_timestamp where j.name = :name")
   int updateDataJobLatestTerminationStatusByName(
       @Param(value = "name") String name,
       @Param(value = "status") ExecutionStatus status,
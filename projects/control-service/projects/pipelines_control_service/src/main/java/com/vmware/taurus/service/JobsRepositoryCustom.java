@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.model.DataJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Custom queries of data jobs which cannot be expressed with Spring Data query methods or
+ * specifications.
+ *
+ * <p>Implemented by {@link JobsRepositoryCustomImpl}.
+ */
+public interface JobsRepositoryCustom {
+
+  /**
+   * Finds a page of the data jobs which match the specification, like {@link
+   * org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(Specification,
+   * Pageable)}, but also honours the null handling of the sort orders, which Spring Data ignores in
+   * the queries it builds from specifications.
+   *
+   * @param specification The specification the data jobs must match, matches all if null.
+   * @param pageable The page of the data jobs and their sort.
+   * @return The page of data jobs.
+   */
+  Page<DataJob> findPage(Specification<DataJob> specification, Pageable pageable);
+}
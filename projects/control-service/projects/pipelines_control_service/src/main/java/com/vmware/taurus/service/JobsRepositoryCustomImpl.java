@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.model.DataJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implements {@link JobsRepositoryCustom}. Spring Data picks it up by its name and adds its methods
+ * to {@link JobsRepository}.
+ */
+public class JobsRepositoryCustomImpl implements JobsRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<DataJob> findPage(Specification<DataJob> specification, Pageable pageable) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<DataJob> query = builder.createQuery(DataJob.class);
+    Root<DataJob> root = query.from(DataJob.class);
+    Predicate predicate = toPredicate(specification, root, query, builder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.select(root).orderBy(toOrders(pageable.getSort(), root, builder));
+
+    TypedQuery<DataJob> typedQuery = entityManager.createQuery(query);
+    if (pageable.isPaged()) {
+      typedQuery.setFirstResult((int) pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    return PageableExecutionUtils.getPage(
+        typedQuery.getResultList(), pageable, () -> count(specification));
+  }
+
+  private long count(Specification<DataJob> specification) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = builder.createQuery(Long.class);
+    Root<DataJob> root = query.from(DataJob.class);
+    Predicate predicate = toPredicate(specification, root, query, builder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.select(builder.count(root));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private static Predicate toPredicate(
+      Specification<DataJob> specification,
+      Root<DataJob> root,
+      CriteriaQuery<?> query,
+      CriteriaBuilder builder) {
+    return specification != null ? specification.toPredicate(root, query, builder) : null;
+  }
+
+  /**
+   * Converts the sort to criteria orders. The orders with explicit null handling are preceded by an
+   * order of whether the property is null, since the databases differ in where they put the nulls.
+   */
+  private static List<Order> toOrders(Sort sort, Root<DataJob> root, CriteriaBuilder builder) {
+    List<Order> orders = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      if (order.getNullHandling() != Sort.NullHandling.NATIVE) {
+        Path<?> property = root;
+        for (String attribute : order.getProperty().split("\\.")) {
+          property = property.get(attribute);
+        }
+        int nullRank = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST ? 0 : 1;
+        orders.add(
+            builder.asc(
+                builder
+                    .selectCase()
+                    .when(builder.isNull(property), nullRank)
+                    .otherwise(1 - nullRank)));
+      }
+      orders.addAll(QueryUtils.toOrders(Sort.by(order), root, builder));
+    }
+    return orders;
+  }
+}
@@ -15,6 +15,7 @@ import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -27,6 +28,7 @@ import com.vmware.taurus.service.deploy.DeploymentService;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DataJobExecution;
 import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.monitoring.DataJobChangedEvent;
 import com.vmware.taurus.service.monitoring.DataJobMetrics;
 import com.vmware.taurus.service.webhook.WebHookRequestBody;
 import com.vmware.taurus.service.webhook.WebHookRequestBodyProvider;
@@ -38,6 +40,8 @@ import com.vmware.taurus.service.webhook.WebHookResult;
  *
  * <p>Methods throw {@link org.springframework.dao.DataAccessException} in case of issues of writing
  * to the database. Operations are synchronous unless otherwise specified in javadoc.
+ *
+ * <p>The operations which change a data job publish a {@link DataJobChangedEvent}.
  */
 @Service
 @AllArgsConstructor
@@ -52,6 +56,7 @@ public class JobsService {
   private final PostCreateWebHookProvider postCreateWebHookProvider;
   private final PostDeleteWebHookProvider postDeleteWebHookProvider;
   private final DataJobMetrics dataJobMetrics;
+  private final ApplicationEventPublisher eventPublisher;
 
   public JobOperationResult deleteJob(String name) {
     if (!jobsRepository.existsById(name)) {
@@ -66,6 +71,7 @@ public class JobsService {
       deploymentService.deleteDeployment(name);
       jobsRepository.deleteById(name);
       dataJobMetrics.clearGauges(name);
+      eventPublisher.publishEvent(new DataJobChangedEvent(name));
 
       return JobOperationResult.builder().completed(true).build();
     } else {
@@ -106,6 +112,7 @@ public class JobsService {
       }
       var dataJob = jobsRepository.save(jobInfo);
       dataJobMetrics.updateInfoGauges(dataJob);
+      eventPublisher.publishEvent(new DataJobChangedEvent(dataJob.getName()));
 
       return JobOperationResult.builder().completed(true).build();
     } else {
@@ -141,6 +148,9 @@ public class JobsService {
     var dataJob =
         jobsRepository.existsById(jobInfo.getName()) ? jobsRepository.save(jobInfo) : null;
     dataJobMetrics.updateInfoGauges(dataJob);
+    if (dataJob != null) {
+      eventPublisher.publishEvent(new DataJobChangedEvent(dataJob.getName()));
+    }
     return dataJob != null;
   }
 
@@ -291,6 +301,7 @@ public class JobsService {
 
     jobsRepository.updateDataJobLatestTerminationStatusByName(
         dataJob.getName(), executionStatus, executionId);
+    eventPublisher.publishEvent(new DataJobChangedEvent(dataJob.getName()));
 
     return true;
   }
@@ -17,6 +17,9 @@ import com.vmware.taurus.exception.DataJobExecutionCannotBeCancelledException;
 import com.vmware.taurus.exception.ExecutionCancellationFailureReason;
 import com.vmware.taurus.service.deploy.DockerImageName;
 import com.vmware.taurus.service.deploy.JobCommandProvider;
+import com.vmware.taurus.service.kubernetes.DeploymentStatusCache;
+import com.vmware.taurus.service.kubernetes.JobCompletionTracker;
+import com.vmware.taurus.service.kubernetes.KubernetesInformerCache;
 import com.vmware.taurus.service.model.JobAnnotation;
 import com.vmware.taurus.service.model.JobDeploymentStatus;
 import com.vmware.taurus.service.model.JobLabel;
@@ -24,6 +27,7 @@ import com.vmware.taurus.service.threads.ThreadPoolConf;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.Configuration;
+import io.kubernetes.client.openapi.JSON;
 import io.kubernetes.client.PodLogs;
 import io.kubernetes.client.openapi.apis.BatchV1Api;
 import io.kubernetes.client.openapi.apis.BatchV1beta1Api;
@@ -36,11 +40,14 @@ import io.kubernetes.client.util.ClientBuilder;
 import io.kubernetes.client.util.KubeConfig;
 import io.kubernetes.client.util.Watch;
 import io.kubernetes.client.util.Yaml;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.*;
 import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
@@ -51,10 +58,12 @@ import java.io.*;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -79,11 +88,17 @@ import static java.util.function.Predicate.not;
  * @see com.vmware.taurus.service.kubernetes.DataJobsKubernetesService
  */
 @Service
-public abstract class KubernetesService implements InitializingBean {
+public abstract class KubernetesService implements InitializingBean, DisposableBean {
 
   public static final String LABEL_PREFIX = "com.vmware.taurus";
-  private static final int WATCH_JOBS_TIMEOUT_SECONDS = 300;
+  public static final String POD_LIST_CALLS_SAVED_COUNTER_NAME =
+      "vdk.k8s.pod.list.calls.saved.counter";
+  public static final String DATAJOB_TEMPLATE_RELOADS_COUNTER_NAME =
+      "vdk.k8s.datajob.template.reloads.counter";
+  public static final int WATCH_JOBS_TIMEOUT_SECONDS = 300;
   private static final String K8S_DATA_JOB_TEMPLATE_RESOURCE = "k8s-data-job-template.yaml";
+  private static final JSON K8S_JSON = new JSON();
+  private static final String JOB_NAME_LABEL = "job-name";
 
   private static int fromInteger(Integer value) {
     return Optional.ofNullable(value).orElse(0);
@@ -96,25 +111,6 @@ public abstract class KubernetesService implements InitializingBean {
         .orElse(0L);
   }
 
-  @Value
-  @AllArgsConstructor
-  public static class JobStatus {
-    private final int active;
-    private final int failed;
-    private final int succeeded;
-    private final long started;
-    private final long completed;
-
-    JobStatus(V1JobStatus status) {
-      this(
-          KubernetesService.fromInteger(status.getActive()),
-          KubernetesService.fromInteger(status.getFailed()),
-          KubernetesService.fromInteger(status.getSucceeded()),
-          KubernetesService.fromDateTime(status.getStartTime()),
-          KubernetesService.fromDateTime(status.getCompletionTime()));
-    }
-  }
-
   @Value
   public static class JobStatusCondition {
     private final boolean success;
@@ -178,14 +174,42 @@ public abstract class KubernetesService implements InitializingBean {
       "${datajobs.control.k8s.jobTTLAfterFinishedSeconds}")
   private int jobTTLAfterFinishedSeconds;
 
+  @org.springframework.beans.factory.annotation.Value(
+      "${datajobs.control.k8s.informers.enabled:false}")
+  private boolean informersEnabled;
+
+  @org.springframework.beans.factory.annotation.Value(
+      "${datajobs.control.k8s.informers.resyncPeriodSeconds:0}")
+  private long informersResyncPeriodSeconds;
+
+  @org.springframework.beans.factory.annotation.Value(
+      "${datajobs.control.k8s.deploymentStatuses.maxStalenessSeconds:30}")
+  private long deploymentStatusesMaxStalenessSeconds;
+
+  @org.springframework.beans.factory.annotation.Value(
+      "${datajobs.control.k8s.jobCompletion.pollPeriodSeconds:1}")
+  private long jobCompletionPollPeriodSeconds;
+
   private String namespace;
   private String kubeconfig;
   private Logger log;
   private boolean k8sSupportsV1CronJob;
   private ApiClient client;
+  private KubernetesInformerCache informerCache;
+  private DeploymentStatusCache deploymentStatusCache;
+  private JobCompletionTracker jobCompletionTracker;
+  private Counter podListCallsSavedCounter;
+  private Counter datajobTemplateReloadsCounter;
+
+  // The datajob templates parsed and merged with the internal template, see getV1CronjobTemplate.
+  private volatile ParsedTemplate<V1CronJob> v1CronjobTemplate;
+  private volatile ParsedTemplate<V1beta1CronJob> v1beta1CronjobTemplate;
 
   @Autowired private UserAgentService userAgentService;
 
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
   @Autowired private JobCommandProvider jobCommandProvider;
 
   /**
@@ -207,6 +231,14 @@ public abstract class KubernetesService implements InitializingBean {
     return this.k8sSupportsV1CronJob;
   }
 
+  /**
+   * Whether the informers also keep the cron jobs of the namespace in memory. The cron jobs are
+   * read from the API server otherwise.
+   */
+  protected boolean getCronJobsCached() {
+    return true;
+  }
+
   @Override
   public void afterPropertiesSet() throws Exception {
     log.info("Configuration used: kubeconfig: {}, namespace: {}", kubeconfig, namespace);
@@ -269,6 +301,160 @@ public abstract class KubernetesService implements InitializingBean {
         }
       }
     }
+
+    if (meterRegistry != null) {
+      podListCallsSavedCounter =
+          Counter.builder(POD_LIST_CALLS_SAVED_COUNTER_NAME)
+              .description(
+                  "Counts the per job pod list calls saved by a single list of the pods of all"
+                      + " jobs, less that list call.")
+              .tag("service", getClass().getSimpleName())
+              .register(meterRegistry);
+      datajobTemplateReloadsCounter =
+          Counter.builder(DATAJOB_TEMPLATE_RELOADS_COUNTER_NAME)
+              .description("Counts the times the datajob template was read and parsed.")
+              .tag("service", getClass().getSimpleName())
+              .register(meterRegistry);
+    }
+
+    // Step 3 - create the informers which keep the jobs, pods and, if cached, the cron jobs of
+    // the namespace in memory. Reads fall back to the API server until the informers have synced.
+    if (informersEnabled) {
+      informerCache =
+          new KubernetesInformerCache(
+              client,
+              namespace,
+              getCronJobsCached(),
+              getK8sSupportsV1CronJob(),
+              TimeUnit.SECONDS.toMillis(informersResyncPeriodSeconds),
+              meterRegistry,
+              getClass().getSimpleName());
+    }
+
+    // Step 4 - keep the deployment statuses in memory, the CronJobs changed by this service
+    // or reported by the informers are read again individually. Then start the informers.
+    deploymentStatusCache =
+        new DeploymentStatusCache(
+            this::listJobDeploymentStatuses,
+            this::loadCronJob,
+            TimeUnit.SECONDS.toMillis(deploymentStatusesMaxStalenessSeconds),
+            Clock.systemUTC(),
+            meterRegistry,
+            getClass().getSimpleName());
+    // Step 5 - complete the waits for jobs to finish or to be deleted from the jobs informer,
+    // with a periodic list of the jobs as a fallback.
+    jobCompletionTracker =
+        new JobCompletionTracker(
+            this::listAllJobs,
+            this::getJobCondition,
+            TimeUnit.SECONDS.toMillis(jobCompletionPollPeriodSeconds),
+            meterRegistry,
+            getClass().getSimpleName());
+    if (informerCache != null) {
+      informerCache.addCronJobChangeListener(deploymentStatusCache::invalidate);
+      informerCache.addJobEventHandler(jobCompletionTracker);
+      informerCache.start();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (jobCompletionTracker != null) {
+      jobCompletionTracker.stop();
+    }
+    if (informerCache != null) {
+      informerCache.stop();
+    }
+  }
+
+  /**
+   * Returns the informer cache if it is enabled and has completed its initial sync, otherwise empty
+   * in which case the caller should read from the API server.
+   */
+  private Optional<KubernetesInformerCache> getSyncedInformerCache() {
+    return Optional.ofNullable(informerCache).filter(KubernetesInformerCache::hasSynced);
+  }
+
+  /**
+   * Returns the informer cache if it is enabled, caches the cron jobs and has completed its initial
+   * sync, otherwise empty in which case the caller should read the cron jobs from the API server.
+   */
+  private Optional<KubernetesInformerCache> getSyncedCronJobsInformerCache() {
+    return getSyncedInformerCache().filter(KubernetesInformerCache::hasCronJobs);
+  }
+
+  /**
+   * A datajob template parsed from its file and completed with the entries of the internal
+   * template. It is never changed, the deployments use copies of it.
+   */
+  @AllArgsConstructor
+  private static class ParsedTemplate<T> {
+    private final T prototype;
+    // The modification time of the configurable datajob template file it was parsed from.
+    private final long lastModified;
+  }
+
+  /**
+   * Returns the datajob template, completed with the entries of the internal template.
+   *
+   * <p>The template is parsed once and parsed again only when the modification time of the
+   * configurable datajob template file changes, e.g. when its config map is updated. Checking the
+   * modification time is much cheaper than reading and parsing the YAML on every deployment.
+   */
+  private V1CronJob getV1CronjobTemplate() {
+    long lastModified = getDatajobTemplateLastModified();
+    ParsedTemplate<V1CronJob> template = v1CronjobTemplate;
+    if (template == null || template.lastModified != lastModified) {
+      synchronized (this) {
+        template = v1CronjobTemplate;
+        if (template == null || template.lastModified != lastModified) {
+          V1CronJob cronjob = loadV1CronjobTemplate();
+          v1checkForMissingEntries(cronjob);
+          template = new ParsedTemplate<>(cronjob, lastModified);
+          v1CronjobTemplate = template;
+          onDatajobTemplateReloaded();
+        }
+      }
+    }
+    return copyOf(template.prototype, V1CronJob.class);
+  }
+
+  /** The V1beta1CronJob variant of {@link #getV1CronjobTemplate()}. */
+  private V1beta1CronJob getV1beta1CronjobTemplate() {
+    long lastModified = getDatajobTemplateLastModified();
+    ParsedTemplate<V1beta1CronJob> template = v1beta1CronjobTemplate;
+    if (template == null || template.lastModified != lastModified) {
+      synchronized (this) {
+        template = v1beta1CronjobTemplate;
+        if (template == null || template.lastModified != lastModified) {
+          V1beta1CronJob cronjob = loadV1beta1CronjobTemplate();
+          v1beta1checkForMissingEntries(cronjob);
+          template = new ParsedTemplate<>(cronjob, lastModified);
+          v1beta1CronjobTemplate = template;
+          onDatajobTemplateReloaded();
+        }
+      }
+    }
+    return copyOf(template.prototype, V1beta1CronJob.class);
+  }
+
+  private long getDatajobTemplateLastModified() {
+    // Returns 0 when the file does not exist.
+    return StringUtils.isEmpty(datajobTemplateFileLocation)
+        ? 0
+        : new File(datajobTemplateFileLocation).lastModified();
+  }
+
+  private void onDatajobTemplateReloaded() {
+    log.info("Loaded the datajob template.");
+    if (datajobTemplateReloadsCounter != null) {
+      datajobTemplateReloadsCounter.increment();
+    }
+  }
+
+  // A JSON round trip makes a deep copy and is much cheaper than parsing the YAML again.
+  private static <T> T copyOf(T template, Class<T> type) {
+    return K8S_JSON.deserialize(K8S_JSON.serialize(template), type);
   }
 
   private V1CronJob loadV1CronjobTemplate() {
@@ -444,22 +630,58 @@ public abstract class KubernetesService implements InitializingBean {
 
   public Set<String> listJobs() throws ApiException {
     log.debug("Listing k8s jobs");
-    var jobs =
-        new BatchV1Api(client)
-            .listNamespacedJob(
-                namespace, null, null, null, null, null, null, null, null, null, null);
     var set =
-        jobs.getItems().stream().map(j -> j.getMetadata().getName()).collect(Collectors.toSet());
+        listAllJobs().stream().map(j -> j.getMetadata().getName()).collect(Collectors.toSet());
     log.debug("K8s jobs: {}", set);
     return set;
   }
 
+  private List<V1Job> listAllJobs() throws ApiException {
+    var cache = getSyncedInformerCache();
+    return cache.isPresent()
+        ? cache.get().listJobs()
+        : new BatchV1Api(client)
+            .listNamespacedJob(
+                namespace, null, null, null, null, null, null, null, null, null, null)
+            .getItems();
+  }
+
   public Optional<JobDeploymentStatus> readCronJob(String cronJobName) {
     return getK8sSupportsV1CronJob() ? readV1CronJob(cronJobName) : readV1beta1CronJob(cronJobName);
   }
 
+  /**
+   * Same as {@link #readCronJob(String)}, but throws when the cron job cannot be read, so that the
+   * deployment status cache keeps the previous status. Empty only if the cron job does not exist.
+   */
+  private Optional<JobDeploymentStatus> loadCronJob(String cronJobName) {
+    if (getSyncedCronJobsInformerCache().isPresent()) {
+      return readCronJob(cronJobName);
+    }
+    log.debug("Reading k8s cron job: {}", cronJobName);
+    try {
+      return getK8sSupportsV1CronJob()
+          ? mapV1CronJobToDeploymentStatus(
+              new BatchV1Api(client).readNamespacedCronJob(cronJobName, namespace, null),
+              cronJobName)
+          : mapV1beta1CronJobToDeploymentStatus(
+              new BatchV1beta1Api(client).readNamespacedCronJob(cronJobName, namespace, null),
+              cronJobName);
+    } catch (ApiException e) {
+      if (e.getCode() == 404) {
+        return Optional.empty();
+      }
+      throw new KubernetesException(String.format("Cannot read cron job %s", cronJobName), e);
+    }
+  }
+
   public Optional<JobDeploymentStatus> readV1beta1CronJob(String cronJobName) {
     log.debug("Reading k8s cron job: {}", cronJobName);
+    var cache = getSyncedCronJobsInformerCache();
+    if (cache.isPresent()) {
+      return mapV1beta1CronJobToDeploymentStatus(
+          cache.get().getV1beta1CronJob(cronJobName).orElse(null), cronJobName);
+    }
     V1beta1CronJob cronJob = null;
     try {
       cronJob = new BatchV1beta1Api(client).readNamespacedCronJob(cronJobName, namespace, null);
@@ -475,6 +697,11 @@ public abstract class KubernetesService implements InitializingBean {
 
   public Optional<JobDeploymentStatus> readV1CronJob(String cronJobName) {
     log.debug("Reading k8s cron job: {}", cronJobName);
+    var cache = getSyncedCronJobsInformerCache();
+    if (cache.isPresent()) {
+      return mapV1CronJobToDeploymentStatus(
+          cache.get().getV1CronJob(cronJobName).orElse(null), cronJobName);
+    }
     V1CronJob cronJob = null;
     try {
       cronJob = new BatchV1Api(client).readNamespacedCronJob(cronJobName, namespace, null);
@@ -489,55 +716,88 @@ public abstract class KubernetesService implements InitializingBean {
   }
 
   /**
-   * Fetch all deployment statuses from Kubernetes
+   * Fetch all deployment statuses from Kubernetes. The statuses are served from memory, see {@link
+   * DeploymentStatusCache}.
    *
    * @return List of {@link JobDeploymentStatus} or empty list if there is an error while fetching
    *     data
    */
   public List<JobDeploymentStatus> readJobDeploymentStatuses() {
-    return getK8sSupportsV1CronJob()
-        ? readV1CronJobDeploymentStatuses()
-        : readV1beta1CronJobDeploymentStatuses();
+    if (deploymentStatusCache == null) {
+      return getK8sSupportsV1CronJob()
+          ? readV1CronJobDeploymentStatuses()
+          : readV1beta1CronJobDeploymentStatuses();
+    }
+    try {
+      return deploymentStatusCache.getAll();
+    } catch (KubernetesException e) {
+      log.warn("Failed to read k8s cron jobs: ", e);
+      return Collections.emptyList();
+    }
   }
 
   public List<JobDeploymentStatus> readV1beta1CronJobDeploymentStatuses() {
-    log.debug("Reading all k8s cron jobs");
-    V1beta1CronJobList cronJobs = null;
     try {
-      cronJobs =
-          new BatchV1beta1Api(client)
-              .listNamespacedCronJob(
-                  namespace, null, null, null, null, null, null, null, null, null, null);
+      return listV1beta1CronJobDeploymentStatuses();
     } catch (ApiException e) {
       log.warn("Failed to read k8s cron jobs: ", e);
+      return Collections.emptyList();
     }
-
-    return cronJobs == null
-        ? Collections.emptyList()
-        : cronJobs.getItems().stream()
-            .map(cronJob -> mapV1beta1CronJobToDeploymentStatus(cronJob, null))
-            .flatMap(Optional::stream)
-            .collect(Collectors.toList());
   }
 
   public List<JobDeploymentStatus> readV1CronJobDeploymentStatuses() {
-    log.debug("Reading all k8s cron jobs");
-    V1CronJobList cronJobs = null;
     try {
-      cronJobs =
-          new BatchV1Api(client)
-              .listNamespacedCronJob(
-                  namespace, null, null, null, null, null, null, null, null, null, null);
+      return listV1CronJobDeploymentStatuses();
     } catch (ApiException e) {
       log.warn("Failed to read k8s cron jobs: ", e);
+      return Collections.emptyList();
     }
+  }
 
-    return cronJobs == null
-        ? Collections.emptyList()
-        : cronJobs.getItems().stream()
-            .map(cronJob -> mapV1CronJobToDeploymentStatus(cronJob, null))
-            .flatMap(Optional::stream)
-            .collect(Collectors.toList());
+  /**
+   * Same as {@link #readJobDeploymentStatuses()} without the deployment status cache, but throws
+   * when the cron jobs cannot be read, so that the cache keeps its previous view.
+   */
+  private List<JobDeploymentStatus> listJobDeploymentStatuses() {
+    try {
+      return getK8sSupportsV1CronJob()
+          ? listV1CronJobDeploymentStatuses()
+          : listV1beta1CronJobDeploymentStatuses();
+    } catch (ApiException e) {
+      throw new KubernetesException("Cannot read k8s cron jobs", e);
+    }
+  }
+
+  private List<JobDeploymentStatus> listV1beta1CronJobDeploymentStatuses() throws ApiException {
+    log.debug("Reading all k8s cron jobs");
+    var cache = getSyncedCronJobsInformerCache();
+    List<V1beta1CronJob> cronJobs =
+        cache.isPresent()
+            ? cache.get().listV1beta1CronJobs()
+            : new BatchV1beta1Api(client)
+                .listNamespacedCronJob(
+                    namespace, null, null, null, null, null, null, null, null, null, null)
+                .getItems();
+    return cronJobs.stream()
+        .map(cronJob -> mapV1beta1CronJobToDeploymentStatus(cronJob, null))
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
+  }
+
+  private List<JobDeploymentStatus> listV1CronJobDeploymentStatuses() throws ApiException {
+    log.debug("Reading all k8s cron jobs");
+    var cache = getSyncedCronJobsInformerCache();
+    List<V1CronJob> cronJobs =
+        cache.isPresent()
+            ? cache.get().listV1CronJobs()
+            : new BatchV1Api(client)
+                .listNamespacedCronJob(
+                    namespace, null, null, null, null, null, null, null, null, null, null)
+                .getItems();
+    return cronJobs.stream()
+        .map(cronJob -> mapV1CronJobToDeploymentStatus(cronJob, null))
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
   }
 
   public void startNewCronJobExecution(
@@ -765,6 +1025,16 @@ public abstract class KubernetesService implements InitializingBean {
 
   public Set<String> listCronJobs() throws ApiException {
     log.debug("Listing k8s cron jobs");
+    var cache = getSyncedCronJobsInformerCache();
+    if (cache.isPresent()) {
+      var cronJobMetadata =
+          getK8sSupportsV1CronJob()
+              ? cache.get().listV1CronJobs().stream().map(V1CronJob::getMetadata)
+              : cache.get().listV1beta1CronJobs().stream().map(V1beta1CronJob::getMetadata);
+      var set = cronJobMetadata.map(V1ObjectMeta::getName).collect(Collectors.toSet());
+      log.debug("K8s cron jobs: {}", set);
+      return set;
+    }
     var cronJobs =
         new BatchV1beta1Api(client)
             .listNamespacedCronJob(
@@ -923,6 +1193,7 @@ public abstract class KubernetesService implements InitializingBean {
             imagePullSecrets);
     V1beta1CronJob nsJob =
         new BatchV1beta1Api(client).createNamespacedCronJob(namespace, cronJob, null, null, null);
+    invalidateDeploymentStatus(name);
     log.debug("Created k8s cron job: {}", nsJob);
     log.debug(
         "Created k8s cron job name: {}, uid:{}, link:{}",
@@ -967,6 +1238,7 @@ public abstract class KubernetesService implements InitializingBean {
             imagePullSecrets);
     V1CronJob nsJob =
         new BatchV1Api(client).createNamespacedCronJob(namespace, cronJob, null, null, null);
+    invalidateDeploymentStatus(name);
     log.debug("Created k8s cron job: {}", nsJob);
     log.debug(
         "Created k8s cron job name: {}, uid:{}, link:{}",
@@ -1119,6 +1391,7 @@ public abstract class KubernetesService implements InitializingBean {
     V1beta1CronJob nsJob =
         new BatchV1beta1Api(client)
             .replaceNamespacedCronJob(name, namespace, cronJob, null, null, null);
+    invalidateDeploymentStatus(name);
     log.debug(
         "Updated k8s cron job status for name:{}, image:{}, uid:{}, link:{}",
         name,
@@ -1160,6 +1433,7 @@ public abstract class KubernetesService implements InitializingBean {
             imagePullSecrets);
     V1CronJob nsJob =
         new BatchV1Api(client).replaceNamespacedCronJob(name, namespace, cronJob, null, null, null);
+    invalidateDeploymentStatus(name);
     log.debug(
         "Updated k8s cron job status for name:{}, image:{}, uid:{}, link:{}",
         name,
@@ -1185,9 +1459,16 @@ public abstract class KubernetesService implements InitializingBean {
         else throw e;
       } else throw e;
     }
+    invalidateDeploymentStatus(name);
     log.debug("Deleted k8s cron job: {}", name);
   }
 
+  private void invalidateDeploymentStatus(String cronJobName) {
+    if (deploymentStatusCache != null) {
+      deploymentStatusCache.invalidate(cronJobName);
+    }
+  }
+
   public void createJob(
       String name,
       String image,
@@ -1278,8 +1559,38 @@ public abstract class KubernetesService implements InitializingBean {
         .findFirst();
   }
 
+  /**
+   * Lists the pods of all jobs in the namespace with a single call and groups them by job name.
+   *
+   * @return The pods mapped by job name, or null if the pods are served from the informer cache or
+   *     could not be listed.
+   */
+  Map<String, List<V1Pod>> listPodsByJobName() {
+    if (getSyncedInformerCache().isPresent()) {
+      return null;
+    }
+    // Only the job (and not the pod template) carries the data job labels, so the pods are
+    // selected by the presence of the label set by Kubernetes on the pods of a job.
+    log.debug("Getting pods with label {}", JOB_NAME_LABEL);
+    try {
+      return initCoreV1Api()
+          .listNamespacedPod(
+              namespace, null, null, null, null, JOB_NAME_LABEL, null, null, null, null, null)
+          .getItems().stream()
+          .filter(pod -> pod.getMetadata().getLabels() != null)
+          .collect(Collectors.groupingBy(pod -> pod.getMetadata().getLabels().get(JOB_NAME_LABEL)));
+    } catch (ApiException ex) {
+      log.info("Could not list the pods of the jobs, will list them per job", ex);
+      return null;
+    }
+  }
+
   private List<V1Pod> listJobPods(V1Job job) throws ApiException {
-    var labelsToSelect = Map.of("job-name", job.getMetadata().getName());
+    var cache = getSyncedInformerCache();
+    if (cache.isPresent()) {
+      return cache.get().listJobPods(job.getMetadata().getName());
+    }
+    var labelsToSelect = Map.of(JOB_NAME_LABEL, job.getMetadata().getName());
     log.debug("Getting pods with labels {}", labelsToSelect);
     String labelSelector = buildLabelSelector(labelsToSelect);
     var pods =
@@ -1292,12 +1603,18 @@ public abstract class KubernetesService implements InitializingBean {
   }
 
   public boolean isRunningJob(String dataJobName) throws ApiException {
-    var labelsToSelect = Map.of(JobLabel.NAME.getValue(), dataJobName);
-    String labelSelector = buildLabelSelector(labelsToSelect);
-    V1JobList v1JobList =
-        initBatchV1Api()
-            .listNamespacedJob(
-                namespace, null, null, null, null, labelSelector, null, null, null, null, null);
+    var cache = getSyncedInformerCache();
+    V1JobList v1JobList;
+    if (cache.isPresent()) {
+      v1JobList = new V1JobList().items(cache.get().listJobsByDataJobName(dataJobName));
+    } else {
+      var labelsToSelect = Map.of(JobLabel.NAME.getValue(), dataJobName);
+      String labelSelector = buildLabelSelector(labelsToSelect);
+      v1JobList =
+          initBatchV1Api()
+              .listNamespacedJob(
+                  namespace, null, null, null, null, labelSelector, null, null, null, null, null);
+    }
 
     // In this case we use getConditions() instead of getActive()
     // because if the job is in init state the active flag is zero.
@@ -1361,24 +1678,113 @@ public abstract class KubernetesService implements InitializingBean {
     return Optional.empty();
   }
 
-  public JobStatusCondition watchJob(
-      String jobName, int timeoutSeconds, Consumer<JobStatus> watcher)
-      throws ApiException, IOException, InterruptedException {
-    log.debug("Watch job {}; timeoutSeconds: {}", jobName, timeoutSeconds);
-    JobStatusCondition condition = null;
-    // we may have started watching too soon
-    // TODO: set resourceVersion when watching to optimize waits or even avoid the loop here ?
-    // https://kubernetes.io/docs/reference/using-api/api-concepts/#resource-versions
-    // https://kubernetes.io/docs/reference/using-api/api-concepts/#efficient-detection-of-changes
-    int counter = timeoutSeconds;
-    while (condition == null && --counter > 0) {
-      Thread.sleep(1000);
-      condition = watchJobInternal(jobName, timeoutSeconds, watcher);
+  /**
+   * Opens a stream of the logs of the latest pod of the job, with a timestamp at the start of each
+   * line. Unlike {@link #getJobLogs(String, Integer)} the logs are not read in memory, the caller
+   * reads them from the stream and must close it.
+   *
+   * @param jobName the name of the job
+   * @param tailLines if not null, the number of lines from the end of the logs to return
+   * @param sinceSeconds if not null, return only the logs written in the last sinceSeconds seconds
+   * @param limitBytes if not null, the maximum number of bytes to return
+   * @param follow whether the stream should be kept open for the new logs until the pod completes
+   * @return the stream of the logs or empty if the job or its pod does not exist
+   */
+  public Optional<InputStream> streamJobLogs(
+      String jobName, Integer tailLines, Integer sinceSeconds, Integer limitBytes, boolean follow)
+      throws ApiException, IOException {
+    var job = getJob(jobName);
+    if (job.isEmpty()) {
+      return Optional.empty();
     }
-    if (condition == null) {
-      condition = new JobStatusCondition(false, null, "Cannot determine job status", "", 0);
+    var pods = listJobPods(job.get());
+    if (pods.isEmpty()) {
+      return Optional.empty();
+    }
+    var pod = pods.get(pods.size() - 1);
+    log.debug(
+        "Stream logs of pod {}; tailLines: {}, sinceSeconds: {}, limitBytes: {}, follow: {}",
+        pod.getMetadata().getName(),
+        tailLines,
+        sinceSeconds,
+        limitBytes,
+        follow);
+    // PodLogs always follows the logs, so the call is built directly.
+    var response =
+        new CoreV1Api(client)
+            .readNamespacedPodLogCall(
+                pod.getMetadata().getName(),
+                pod.getMetadata().getNamespace(),
+                pod.getSpec().getContainers().get(0).getName(),
+                follow,
+                null,
+                limitBytes,
+                null,
+                false,
+                sinceSeconds,
+                tailLines,
+                true,
+                null)
+            .execute();
+    if (!response.isSuccessful()) {
+      response.close();
+      throw new ApiException(response.code(), "Logs request failed: " + response.code());
+    }
+    return Optional.of(response.body().byteStream());
+  }
+
+  /**
+   * Returns a future which completes with the final condition of the job once it finishes. The
+   * future is completed by the jobs informer or by a list of the jobs shared by all waiting
+   * callers, so no thread is held while waiting. If the job is deleted before it finishes or the
+   * timeout passes, the future completes with an unsuccessful condition.
+   *
+   * <p>The future may be completed on the informer thread, dependent actions which call Kubernetes
+   * should be run asynchronously.
+   *
+   * @param jobName the name of the job
+   * @param timeoutSeconds the maximum time to wait for the job to finish
+   */
+  public CompletableFuture<JobStatusCondition> awaitJobCompletion(
+      String jobName, int timeoutSeconds) {
+    log.debug("Await completion of job {}; timeoutSeconds: {}", jobName, timeoutSeconds);
+    return jobCompletionTracker.awaitCompletion(jobName, timeoutSeconds);
+  }
+
+  /**
+   * Returns a future which completes with true once the job does not exist anymore, or with false
+   * if the timeout passes first. See {@link #awaitJobCompletion(String, int)}.
+   *
+   * @param jobName the name of the job
+   * @param timeoutSeconds the maximum time to wait for the job to be deleted
+   */
+  public CompletableFuture<Boolean> awaitJobDeletion(String jobName, int timeoutSeconds) {
+    log.debug("Await deletion of job {}; timeoutSeconds: {}", jobName, timeoutSeconds);
+    return jobCompletionTracker.awaitDeletion(jobName, timeoutSeconds);
+  }
+
+  /**
+   * Counts the pod list calls saved by listing the pods of all jobs at once: the jobs whose pods
+   * were found in the list, less the list call itself. The jobs missing from the list fall back to
+   * their own pod list call, so they save nothing.
+   *
+   * @param jobs The jobs whose termination status is resolved.
+   * @param podsByJobName The pods of the jobs mapped by job name, or null if they were not listed.
+   */
+  void countSavedPodListCalls(List<V1Job> jobs, Map<String, List<V1Pod>> podsByJobName) {
+    if (podListCallsSavedCounter == null || podsByJobName == null) {
+      return;
+    }
+    long servedJobs =
+        jobs.stream().filter(job -> podsByJobName.containsKey(job.getMetadata().getName())).count();
+    if (servedJobs > 1) {
+      podListCallsSavedCounter.increment(servedJobs - 1);
     }
-    return condition;
+  }
+
+  // Default for testing purposes
+  CoreV1Api initCoreV1Api() {
+    return new CoreV1Api(client);
   }
 
   // Default for testing purposes
@@ -1391,48 +1797,6 @@ public abstract class KubernetesService implements InitializingBean {
     return new BatchV1beta1Api(client);
   }
 
-  private JobStatusCondition watchJobInternal(
-      String jobName, int timeoutSeconds, Consumer<JobStatus> watcher)
-      throws IOException, ApiException {
-    String fieldSelector = String.format("metadata.name=%s", jobName);
-    try (Watch<V1Job> watch =
-        Watch.createWatch(
-            Configuration.getDefaultApiClient(),
-            new BatchV1Api(client)
-                .listNamespacedJobCall(
-                    namespace,
-                    null,
-                    null,
-                    null,
-                    fieldSelector,
-                    null,
-                    null,
-                    null,
-                    null,
-                    timeoutSeconds,
-                    true,
-                    null),
-            new TypeToken<Watch.Response<V1Job>>() {}.getType())) {
-      for (var response : watch) {
-        log.debug("watch k8s response type: {}", response.type);
-        var job = response.object;
-
-        var status = new JobStatus(job.getStatus());
-        log.debug("watch k8s status: {}", status);
-        watcher.accept(status);
-
-        return getJobCondition(job);
-      }
-    } catch (RuntimeException e) {
-      log.info(
-          "Could not get status of a job. " + " Error was: " + e.getMessage(),
-          " Will try to get status again from kubernetes if the job exists");
-      var job = getJob(jobName);
-      return getJobCondition(job.get());
-    }
-    return null;
-  }
-
   private static String buildLabelSelector(Map<String, String> labels) {
     if (labels == null) {
       return null;
@@ -1492,6 +1856,29 @@ public abstract class KubernetesService implements InitializingBean {
       return Optional.empty();
     }
 
+    return getLastTerminatedPodState(job, jobPods);
+  }
+
+  /**
+   * Returns the termination status of the specified job using the pods of the map, if the map
+   * contains the pods of the job, otherwise falls back to listing the pods of the job.
+   *
+   * @param job The job whose status to return.
+   * @param podsByJobName The pods of the jobs mapped by job name, or null.
+   */
+  private Optional<V1ContainerStateTerminated> getTerminationStatus(
+      V1Job job, Map<String, List<V1Pod>> podsByJobName) {
+    List<V1Pod> jobPods =
+        podsByJobName == null ? null : podsByJobName.get(job.getMetadata().getName());
+    if (jobPods == null) {
+      return getTerminationStatus(job);
+    }
+
+    return getLastTerminatedPodState(job, jobPods);
+  }
+
+  private Optional<V1ContainerStateTerminated> getLastTerminatedPodState(
+      V1Job job, List<V1Pod> jobPods) {
     var lastTerminatedPodState =
         jobPods.stream()
             .map(KubernetesService::getTerminatedState)
@@ -1513,11 +1900,25 @@ public abstract class KubernetesService implements InitializingBean {
    * @return A {@link JobExecution} object representing the Data Job execution status.
    */
   Optional<JobExecution> getJobExecutionStatus(V1Job job, JobStatusCondition jobStatusCondition) {
+    return getJobExecutionStatus(job, jobStatusCondition, null);
+  }
+
+  /**
+   * Returns the Data Job execution status of the specified job
+   *
+   * @param job The job whose status to return.
+   * @param podsByJobName The pods of the jobs mapped by job name, or null, to list the pods of the
+   *     job.
+   * @return A {@link JobExecution} object representing the Data Job execution status.
+   */
+  private Optional<JobExecution> getJobExecutionStatus(
+      V1Job job, JobStatusCondition jobStatusCondition, Map<String, List<V1Pod>> podsByJobName) {
     JobExecution.JobExecutionBuilder jobExecutionStatusBuilder = JobExecution.builder();
     // jobCondition = null means that the K8S Job is still running
     if (jobStatusCondition != null) {
       // Job termination status
-      Optional<V1ContainerStateTerminated> lastTerminatedPodState = getTerminationStatus(job);
+      Optional<V1ContainerStateTerminated> lastTerminatedPodState =
+          getTerminationStatus(job, podsByJobName);
       // If the job completed but its pod did not produce a termination message, we infer the
       // termination
       // status later, based on the status of the job itself.
@@ -1703,50 +2104,119 @@ public abstract class KubernetesService implements InitializingBean {
       Integer timeoutSeconds)
       throws ApiException, IOException {
 
+    watchJobs(
+        labelsToWatch,
+        watcher,
+        runningJobExecutionsConsumer,
+        lastWatchTime,
+        null,
+        resourceVersion -> {},
+        timeoutSeconds);
+  }
+
+  /**
+   * Initiates a watch for the jobs with labels specified by {@code labelsToWatch} which resumes
+   * from the specified {@code resourceVersion}. The jobs are listed (and the watcher is invoked for
+   * the jobs completed after {@code lastWatchTime}) only if there is no resource version to resume
+   * from. The watch will be active for no longer than the number of seconds specified by {@code
+   * timeoutSeconds}. The specified watcher is invoked whenever a job is completed and has an
+   * associated pod with a termination message.
+   *
+   * @param labelsToWatch The labels for the jobs to watch, or null, to watch all jobs.
+   * @param watcher A {@link Consumer} to receive notifications about completed jobs.
+   * @param runningJobExecutionsConsumer A {@link Consumer} to receive the ids of the running job
+   *     executions, invoked once per watch unless the jobs cannot be listed.
+   * @param lastWatchTime The time of the last completed job watch, expressed in millis since Epoch.
+   * @param resourceVersion The resource version to resume the watch from, or null, to list the jobs
+   *     first.
+   * @param resourceVersionConsumer A {@link Consumer} to receive the resource version reached so
+   *     far, invoked after the jobs are listed and whenever the API server sends a watch bookmark.
+   * @param timeoutSeconds The maximum number of seconds that the watch should be active, or null,
+   *     to watch using the default timeout configured on the server (usually 5 minutes).
+   * @return The resource version to resume the next watch from, or null if the jobs should be
+   *     listed again, because the resource version is no longer available (410 Gone) or the list
+   *     has failed.
+   * @throws ApiException
+   * @throws IOException
+   */
+  public String watchJobs(
+      Map<String, String> labelsToWatch,
+      Consumer<JobExecution> watcher,
+      Consumer<List<String>> runningJobExecutionsConsumer,
+      long lastWatchTime,
+      String resourceVersion,
+      Consumer<String> resourceVersionConsumer,
+      Integer timeoutSeconds)
+      throws ApiException, IOException {
+
     Objects.requireNonNull(watcher, "The watcher cannot be null");
-    log.info("Start watching jobs with labels: {}", labelsToWatch);
+    log.info(
+        "Start watching jobs with labels: {} from resource version: {}",
+        labelsToWatch,
+        resourceVersion);
 
     // Job change detection implementation:
     // https://kubernetes.io/docs/reference/using-api/api-concepts/#efficient-detection-of-changes
     String labelSelector = buildLabelSelector(labelsToWatch);
-    String resourceVersion;
-    try {
-      var jobList =
-          new BatchV1Api(client)
-              .listNamespacedJob(
-                  namespace,
-                  "false",
-                  null,
-                  null,
-                  null,
-                  labelSelector,
-                  null,
-                  null,
-                  null,
-                  null,
-                  null);
-      List<String> runningExecutionIds = new ArrayList<>();
-
-      jobList
-          .getItems()
-          .forEach(
-              job -> {
-                var condition = getJobCondition(job);
-
-                if (condition == null) {
-                  Optional.ofNullable(job.getMetadata())
-                      .map(V1ObjectMeta::getName)
-                      .ifPresent(executionId -> runningExecutionIds.add(executionId));
-                } else if (condition.getCompletionTime() > lastWatchTime) {
-                  getJobExecutionStatus(job, condition).ifPresent(watcher);
-                }
-              });
-
-      runningJobExecutionsConsumer.accept(runningExecutionIds);
-      resourceVersion = jobList.getMetadata().getResourceVersion();
-    } catch (ApiException ex) {
-      log.info("Failed to list jobs for watching. Error was: {}", ex.getMessage());
-      return;
+    if (resourceVersion == null) {
+      try {
+        var jobList =
+            getSyncedInformerCache().isPresent()
+                ? listCachedJobs(labelsToWatch)
+                : new BatchV1Api(client)
+                    .listNamespacedJob(
+                        namespace,
+                        "false",
+                        null,
+                        null,
+                        null,
+                        labelSelector,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null);
+        List<String> runningExecutionIds = new ArrayList<>();
+        List<Pair<V1Job, JobStatusCondition>> completedJobs = new ArrayList<>();
+
+        jobList
+            .getItems()
+            .forEach(
+                job -> {
+                  var condition = getJobCondition(job);
+
+                  if (condition == null) {
+                    Optional.ofNullable(job.getMetadata())
+                        .map(V1ObjectMeta::getName)
+                        .ifPresent(executionId -> runningExecutionIds.add(executionId));
+                  } else if (condition.getCompletionTime() > lastWatchTime) {
+                    completedJobs.add(Pair.of(job, condition));
+                  }
+                });
+
+        // Resolve the termination status of the completed jobs with a single pod list instead
+        // of one pod list per job.
+        var podsByJobName = completedJobs.size() > 1 ? listPodsByJobName() : null;
+        countSavedPodListCalls(
+            completedJobs.stream().map(Pair::getLeft).collect(Collectors.toList()), podsByJobName);
+        completedJobs.forEach(
+            completedJob ->
+                getJobExecutionStatus(
+                        completedJob.getLeft(), completedJob.getRight(), podsByJobName)
+                    .ifPresent(watcher));
+
+        runningJobExecutionsConsumer.accept(runningExecutionIds);
+        resourceVersion = jobList.getMetadata().getResourceVersion();
+        resourceVersionConsumer.accept(resourceVersion);
+      } catch (ApiException ex) {
+        log.info("Failed to list jobs for watching. Error was: {}", ex.getMessage());
+        return null;
+      }
+    } else {
+      // Resuming the watch does not replay the jobs, but the running executions are still
+      // reconciled on every watch.
+      listRunningJobExecutions(labelsToWatch, labelSelector)
+          .ifPresent(runningJobExecutionsConsumer);
     }
 
     try (Watch<V1Job> watch =
@@ -1756,7 +2226,7 @@ public abstract class KubernetesService implements InitializingBean {
                 .listNamespacedJobCall(
                     namespace,
                     null,
-                    null,
+                    true,
                     null,
                     null,
                     labelSelector,
@@ -1769,7 +2239,12 @@ public abstract class KubernetesService implements InitializingBean {
             new TypeToken<Watch.Response<V1Job>>() {}.getType())) {
       for (var response : watch) {
         if (response.status != null) {
-          // Watch failed, possibly due to the specified resource version no longer present
+          if (Integer.valueOf(410).equals(response.status.getCode())) {
+            log.info(
+                "Resource version {} is no longer available, the jobs will be listed again.",
+                resourceVersion);
+            return null;
+          }
           log.info("Failed to watch jobs. Error was: {}", response.status.getMessage());
           break;
         }
@@ -1781,6 +2256,14 @@ public abstract class KubernetesService implements InitializingBean {
           break;
         }
 
+        if ("BOOKMARK".equals(response.type)) {
+          // Bookmarks only carry the resource version the watch has reached.
+          resourceVersion = job.getMetadata().getResourceVersion();
+          log.debug("Jobs watch reached resource version {}", resourceVersion);
+          resourceVersionConsumer.accept(resourceVersion);
+          continue;
+        }
+
         log.debug("Job {} is {}", job.getMetadata().getName(), response.type);
 
         if (!"DELETED".equals(response.type)) {
@@ -1801,17 +2284,90 @@ public abstract class KubernetesService implements InitializingBean {
             log.debug(job.toString());
           }
         }
+        resourceVersion = job.getMetadata().getResourceVersion();
       }
+    } catch (ApiException e) {
+      if (e.getCode() == 410) {
+        log.info(
+            "Resource version {} is no longer available, the jobs will be listed again.",
+            resourceVersion);
+        return null;
+      }
+      throw e;
     } catch (RuntimeException e) {
       log.info("Failed to watch jobs. Error was: {}", e.getMessage(), e);
     }
 
-    log.info("Finish watching jobs with labels: {}", labelsToWatch);
+    log.info(
+        "Finish watching jobs with labels: {} at resource version: {}",
+        labelsToWatch,
+        resourceVersion);
+    return resourceVersion;
+  }
+
+  /**
+   * Lists the names of the running jobs from the informer cache if it has synced, otherwise from
+   * the watch cache of the API server. The watch cache may lag slightly behind, which is tolerated
+   * by the reconciliation of the running executions, since it only completes executions started
+   * minutes ago.
+   *
+   * @return The names of the running jobs, or empty if they could not be listed.
+   */
+  private Optional<List<String>> listRunningJobExecutions(
+      Map<String, String> labels, String labelSelector) {
+    V1JobList jobList;
+    if (getSyncedInformerCache().isPresent()) {
+      jobList = listCachedJobs(labels);
+    } else {
+      try {
+        jobList =
+            new BatchV1Api(client)
+                .listNamespacedJob(
+                    namespace,
+                    "false",
+                    null,
+                    null,
+                    null,
+                    labelSelector,
+                    null,
+                    "0",
+                    null,
+                    null,
+                    null);
+      } catch (ApiException ex) {
+        log.info("Failed to list the running jobs. Error was: {}", ex.getMessage());
+        return Optional.empty();
+      }
+    }
+    return Optional.of(
+        jobList.getItems().stream()
+            .filter(job -> getJobCondition(job) == null)
+            .map(job -> job.getMetadata().getName())
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * Lists the jobs matching the specified labels from the informer cache. The returned resource
+   * version is the one the informer has last observed; events that are still being applied to the
+   * cache at that moment are replayed by the next watch through its {@code lastWatchTime}.
+   */
+  private V1JobList listCachedJobs(Map<String, String> labels) {
+    String resourceVersion = informerCache.getJobsResourceVersion();
+    var jobs =
+        informerCache.listJobs().stream()
+            .filter(
+                job ->
+                    labels == null
+                        || Optional.ofNullable(job.getMetadata().getLabels())
+                            .map(jobLabels -> jobLabels.entrySet().containsAll(labels.entrySet()))
+                            .orElse(labels.isEmpty()))
+            .collect(Collectors.toList());
+    return new V1JobList().items(jobs).metadata(new V1ListMeta().resourceVersion(resourceVersion));
   }
 
   private JobStatusCondition getJobCondition(V1Job job) {
     V1JobStatus jobStatus = job.getStatus();
-    if (jobStatus.getConditions() != null) {
+    if (jobStatus != null && jobStatus.getConditions() != null) {
       if (jobStatus.getConditions().size() > 1) {
         log.warn("More than one Job conditions found, returning first only. Job: {}", job);
       }
@@ -1900,6 +2456,10 @@ public abstract class KubernetesService implements InitializingBean {
   }
 
   private Optional<V1Job> getJob(String jobName) throws ApiException {
+    var cache = getSyncedInformerCache();
+    if (cache.isPresent()) {
+      return cache.get().getJob(jobName);
+    }
     String fieldSelector = String.format("metadata.name=%s", jobName);
     try {
       var jobs =
@@ -2049,8 +2609,7 @@ public abstract class KubernetesService implements InitializingBean {
       Map<String, String> jobAnnotations,
       Map<String, String> jobLabels,
       List<String> imagePullSecrets) {
-    V1beta1CronJob cronjob = loadV1beta1CronjobTemplate();
-    v1beta1checkForMissingEntries(cronjob);
+    V1beta1CronJob cronjob = getV1beta1CronjobTemplate();
     cronjob.getMetadata().setName(name);
     cronjob.getSpec().setSchedule(schedule);
     cronjob.getSpec().setSuspend(suspend);
@@ -2115,8 +2674,7 @@ public abstract class KubernetesService implements InitializingBean {
       Map<String, String> jobAnnotations,
       Map<String, String> jobLabels,
       List<String> imagePullSecrets) {
-    V1CronJob cronjob = loadV1CronjobTemplate();
-    v1checkForMissingEntries(cronjob);
+    V1CronJob cronjob = getV1CronjobTemplate();
     cronjob.getMetadata().setName(name);
     cronjob.getSpec().setSchedule(schedule);
     cronjob.getSpec().setSuspend(suspend);
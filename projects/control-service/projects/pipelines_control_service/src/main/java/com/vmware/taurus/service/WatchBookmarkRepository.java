@@ -0,0 +1,19 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.service.model.WatchBookmark;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data / JPA Repository for {@link WatchBookmark} objects.
+ *
+ * <p>Spring Data automatically creates an implementation of this interface at runtime, provided
+ * {@link WatchBookmark} is a valid JPA entity.
+ */
+@Repository
+public interface WatchBookmarkRepository extends CrudRepository<WatchBookmark, String> {}
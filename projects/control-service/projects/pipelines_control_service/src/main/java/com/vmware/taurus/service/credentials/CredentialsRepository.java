@@ -6,6 +6,7 @@
 package com.vmware.taurus.service.credentials;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,6 +24,16 @@ public interface CredentialsRepository {
    */
   void createPrincipal(String principal, Optional<File> keytabLocation);
 
+  /**
+   * Create many principals at once, e.g. when onboarding many data jobs. Implementations may send
+   * the principals to the backing service in batches.
+   *
+   * @param keytabLocations the names of the principals mapped to where to export their credentials
+   */
+  default void createPrincipals(Map<String, Optional<File>> keytabLocations) {
+    keytabLocations.forEach(this::createPrincipal);
+  }
+
   /**
    * Check if principle already exists
    *
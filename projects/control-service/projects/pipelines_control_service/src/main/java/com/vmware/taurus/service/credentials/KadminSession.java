@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.credentials;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-lived interactive kadmin process which authenticates once and then runs any number of
+ * kadmin commands read from its standard input.
+ *
+ * <p>kadmin does not mark the end of the output of a command, so each command is followed by an
+ * unknown request with a unique name, and the output of the command is read until kadmin reports
+ * that request as unknown. Several commands can be written before their output is read.
+ *
+ * <p>The session is not thread safe, it is used by a single thread at a time, see {@link
+ * KerberosCredentialsRepository}.
+ */
+@Slf4j
+class KadminSession implements AutoCloseable {
+
+  private static final String END_MARKER_PREFIX = "vdk_end_of_command_";
+
+  private final Process process;
+  private final Writer input;
+  private final BufferedReader output;
+  private final long createdAtMillis;
+  private final ScheduledExecutorService watchdog;
+  private long commandSequence;
+  private boolean broken;
+
+  /**
+   * Starts the kadmin process.
+   *
+   * @param command the kadmin command with its authentication arguments
+   * @param watchdog the executor used to kill the process if a command takes too long
+   */
+  KadminSession(List<String> command, ScheduledExecutorService watchdog) throws IOException {
+    this.process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    this.input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+    this.output =
+        new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    this.createdAtMillis = System.currentTimeMillis();
+    this.watchdog = watchdog;
+  }
+
+  /**
+   * Runs the commands in a single round trip and returns the output of each command. If the session
+   * fails or the timeout passes, the process is killed and an IOException is thrown.
+   */
+  List<String> execute(List<String> commands, long timeoutMillis) throws IOException {
+    if (broken) {
+      throw new IOException("The kadmin session is closed");
+    }
+    ScheduledFuture<?> kill =
+        watchdog.schedule(process::destroyForcibly, timeoutMillis, TimeUnit.MILLISECONDS);
+    try {
+      List<String> markers = new ArrayList<>(commands.size());
+      for (String command : commands) {
+        String marker = END_MARKER_PREFIX + commandSequence++;
+        markers.add(marker);
+        input.write(command);
+        input.write('\n');
+        input.write(marker);
+        input.write('\n');
+      }
+      input.flush();
+
+      List<String> results = new ArrayList<>(commands.size());
+      for (String marker : markers) {
+        results.add(readUntil('"' + marker + '"'));
+      }
+      return results;
+    } catch (IOException e) {
+      close();
+      throw e;
+    } finally {
+      kill.cancel(false);
+    }
+  }
+
+  boolean isUsable(long maxAgeMillis) {
+    return !broken
+        && process.isAlive()
+        && System.currentTimeMillis() - createdAtMillis < maxAgeMillis;
+  }
+
+  @Override
+  public void close() {
+    broken = true;
+    try {
+      input.close();
+    } catch (IOException e) {
+      log.debug("Failed to close the input of the kadmin session", e);
+    }
+    process.destroy();
+  }
+
+  private String readUntil(String endMarker) throws IOException {
+    StringBuilder result = new StringBuilder();
+    String line;
+    while ((line = output.readLine()) != null) {
+      if (line.contains(endMarker)) {
+        return result.toString();
+      }
+      log.debug("kadmin: {}", line);
+      result.append(line).append('\n');
+    }
+    throw new IOException("The kadmin session ended unexpectedly, output: " + result);
+  }
+}
@@ -5,29 +5,50 @@
 
 package com.vmware.taurus.service.credentials;
 
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.vmware.taurus.ServiceAppPropNames;
 import com.vmware.taurus.exception.ExternalSystemError;
 import com.vmware.taurus.exception.ExternalSystemError.MainExternalSystem;
-import lombok.SneakyThrows;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.zeroturnaround.exec.ProcessExecutor;
 import org.zeroturnaround.exec.ProcessResult;
-import org.zeroturnaround.exec.stream.slf4j.Slf4jStream;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * CRUD operations on principals and keytab files.
  *
  * <p>It requires to have kadmin installed locally and in PATH and /bin/sh .
  *
+ * <p>The kadmin commands are run over a small pool of long-lived kadmin sessions, see {@link
+ * KadminSession}, so that kadmin is started and authenticated once per session and not once per
+ * command. The commands of an operation are sent to the session together, e.g. creating a principal
+ * and exporting its keytab takes a single round trip. Sessions are replaced after a maximum age, so
+ * that they do not outlive the kadmin service ticket.
+ *
  * <p>NOTE: KerberosCredentialsServiceTestManual is currently manual test, use it when making
  * changes to test.
  */
@@ -37,17 +58,72 @@ import java.util.Optional;
     value = ServiceAppPropNames.CREDENTIALS_REPOSITORY_TYPE,
     havingValue = "KERBEROS",
     matchIfMissing = false)
-public class KerberosCredentialsRepository implements CredentialsRepository {
+public class KerberosCredentialsRepository implements CredentialsRepository, DisposableBean {
   private static final Logger log = LoggerFactory.getLogger(KerberosCredentialsRepository.class);
 
+  public static final String OPERATION_TIMER_NAME = "vdk.kerberos.kadmin.operation.latency";
+
+  private static final int DEFAULT_POOL_SIZE = 4;
+  private static final long DEFAULT_MAX_SESSION_AGE_SECONDS = 300;
+  private static final long DEFAULT_COMMAND_TIMEOUT_SECONDS = 60;
+  private static final int DEFAULT_BATCH_SIZE = 50;
+
   private final String kadminUser;
   private final String kadminPassword;
+  private final String kadminCommand;
+  private final long maxSessionAgeMillis;
+  private final long commandTimeoutMillis;
+  private final int batchSize;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+
+  private final Semaphore sessionPermits;
+  private final Queue<KadminSession> idleSessions = new ConcurrentLinkedQueue<>();
+  private final ScheduledExecutorService watchdog =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("kadmin-watchdog-%d").setDaemon(true).build());
 
+  public KerberosCredentialsRepository(String kadminUser, String kadminPassword) {
+    this(
+        kadminUser,
+        kadminPassword,
+        "kadmin",
+        DEFAULT_POOL_SIZE,
+        DEFAULT_MAX_SESSION_AGE_SECONDS,
+        DEFAULT_COMMAND_TIMEOUT_SECONDS,
+        DEFAULT_BATCH_SIZE,
+        null);
+  }
+
+  /**
+   * @param kadminCommand the kadmin executable
+   * @param poolSize the maximum number of kadmin sessions, i.e. of concurrent kadmin operations
+   * @param maxSessionAgeSeconds the time after which a session is closed and replaced
+   * @param commandTimeoutSeconds the time after which a session which does not respond is killed
+   * @param batchSize the number of principals created in a single kadmin session round trip by
+   *     {@link #createPrincipals(Map)}
+   * @param meterRegistry the registry used to publish the latency of the operations, may be null
+   */
+  @Autowired
   public KerberosCredentialsRepository(
       @Value("${datajobs.kadmin_user}") String kadminUser,
-      @Value("${datajobs.kadmin_password}") String kadminPassword) {
+      @Value("${datajobs.kadmin_password}") String kadminPassword,
+      @Value("${datajobs.kadmin.command:kadmin}") String kadminCommand,
+      @Value("${datajobs.kadmin.sessions.pool.size:4}") int poolSize,
+      @Value("${datajobs.kadmin.sessions.max.age.seconds:300}") long maxSessionAgeSeconds,
+      @Value("${datajobs.kadmin.command.timeout.seconds:60}") long commandTimeoutSeconds,
+      @Value("${datajobs.kadmin.batch.size:50}") int batchSize,
+      MeterRegistry meterRegistry) {
+    Validate.isTrue(poolSize > 0, "The kadmin sessions pool size must be positive");
+    Validate.isTrue(batchSize > 0, "The kadmin batch size must be positive");
     this.kadminUser = kadminUser;
     this.kadminPassword = kadminPassword;
+    this.kadminCommand = kadminCommand;
+    this.maxSessionAgeMillis = TimeUnit.SECONDS.toMillis(maxSessionAgeSeconds);
+    this.commandTimeoutMillis = TimeUnit.SECONDS.toMillis(commandTimeoutSeconds);
+    this.batchSize = batchSize;
+    this.meterRegistry = meterRegistry;
+    this.sessionPermits = new Semaphore(poolSize, true);
     log.info("Credentials repository used will be Kerberos");
     checkDependencies();
   }
@@ -56,7 +132,7 @@ public class KerberosCredentialsRepository implements CredentialsRepository {
     try {
       ProcessExecutor executor = new ProcessExecutor();
       executor.readOutput(true);
-      ProcessResult result = executor.command("/bin/sh", "-c", "which kadmin").execute();
+      ProcessResult result = executor.command("/bin/sh", "-c", "which " + kadminCommand).execute();
       if (result.getExitValue() != 0) {
         log.error(
             "Missing required dependencies. "
@@ -93,43 +169,107 @@ public class KerberosCredentialsRepository implements CredentialsRepository {
    */
   @Override
   public void createPrincipal(String principal, Optional<File> keytabLocation) {
-    Validate.notBlank(principal, "principal must not be blank");
-    if (!principalExists(principal)) {
-      createPrincipal(principal);
+    validatePrincipal(principal);
+    long startNanos = System.nanoTime();
+    boolean success = false;
+    try {
+      List<String> commands = createPrincipalCommands(principal, keytabLocation);
+      keytabLocation.ifPresent(File::delete);
+      checkCreatePrincipalOutput(principal, keytabLocation, execute_kadmin_commands(commands));
+      success = true;
+    } finally {
+      recordLatency("create", success, startNanos);
     }
-    if (keytabLocation.isPresent()) {
-      exportKeytab(principal, keytabLocation.get());
+  }
+
+  /**
+   * Create many principals and their keytabs. Each batch of principals is sent to a single kadmin
+   * session in one round trip. All principals are attempted, even if some of them fail.
+   *
+   * @param keytabLocations the principals mapped to where to export their keytab files
+   * @throws ExternalSystemError listing the principals which failed
+   */
+  @Override
+  public void createPrincipals(Map<String, Optional<File>> keytabLocations) {
+    keytabLocations.keySet().forEach(this::validatePrincipal);
+    List<String> failedPrincipals = new ArrayList<>();
+    for (List<Map.Entry<String, Optional<File>>> batch :
+        Iterables.partition(keytabLocations.entrySet(), batchSize)) {
+      long startNanos = System.nanoTime();
+      int failedBefore = failedPrincipals.size();
+      List<String> commands = new ArrayList<>();
+      batch.forEach(
+          entry -> commands.addAll(createPrincipalCommands(entry.getKey(), entry.getValue())));
+      batch.forEach(entry -> entry.getValue().ifPresent(File::delete));
+      List<String> outputs;
+      try {
+        outputs = execute_kadmin_commands(commands);
+      } catch (ExternalSystemError e) {
+        log.error("Failed to create a batch of {} principals", batch.size(), e);
+        batch.forEach(entry -> failedPrincipals.add(entry.getKey()));
+        recordLatency("create_batch", false, startNanos);
+        continue;
+      }
+
+      int outputIndex = 0;
+      for (Map.Entry<String, Optional<File>> entry : batch) {
+        int commandCount = entry.getValue().isPresent() ? 2 : 1;
+        try {
+          checkCreatePrincipalOutput(
+              entry.getKey(),
+              entry.getValue(),
+              outputs.subList(outputIndex, outputIndex + commandCount));
+        } catch (ExternalSystemError e) {
+          failedPrincipals.add(entry.getKey());
+        }
+        outputIndex += commandCount;
+      }
+      recordLatency("create_batch", failedPrincipals.size() == failedBefore, startNanos);
     }
+    if (!failedPrincipals.isEmpty()) {
+      throw new ExternalSystemError(
+          MainExternalSystem.KERBEROS,
+          String.format(
+              "Failed to create %d of %d principals: %s. Check logs for more details",
+              failedPrincipals.size(), keytabLocations.size(), failedPrincipals));
+    }
+  }
+
+  /**
+   * Returns the commands which create the principal, if it does not exist, and export its keytab.
+   * The commands do not depend on whether the principal exists, so they are sent together. ktadd
+   * appends to an existing keytab file, so the caller deletes any previous one before running them.
+   */
+  private List<String> createPrincipalCommands(String principal, Optional<File> keytabLocation) {
+    List<String> commands = new ArrayList<>(2);
+    commands.add("add_principal -randkey " + principal);
+    keytabLocation.ifPresent(
+        keytab ->
+            commands.add(String.format("ktadd -k %s %s", keytab.getAbsolutePath(), principal)));
+    return commands;
   }
 
-  private void createPrincipal(String principal) {
-    var success = execute_kadmin_command("add_principal -randkey " + principal, "created");
-    if (!success) {
+  private void checkCreatePrincipalOutput(
+      String principal, Optional<File> keytabLocation, List<String> outputs) {
+    String addOutput = outputs.get(0);
+    if (!addOutput.contains("created") && !addOutput.contains("already exists")) {
       String msg =
           String.format(
               "Failed to execute add principal %s. "
                   + "It return error code. Check logs for more details",
               principal);
-      log.error(msg);
+      log.error("{} kadmin output: {}", msg, addOutput);
       throw new ExternalSystemError(MainExternalSystem.KERBEROS, msg);
     }
     log.debug("Created {} successfully", principal);
-  }
 
-  private void exportKeytab(String principal, File keytabLocation) {
-    boolean success;
-    keytabLocation.delete();
-    success =
-        execute_kadmin_command(
-            String.format("ktadd -k %s %s", keytabLocation.getAbsolutePath(), principal),
-            "Entry for principal");
-    if (!success) {
+    if (keytabLocation.isPresent() && !outputs.get(1).contains("Entry for principal")) {
       String msg =
           String.format(
               "Failed to create principal keytab for principal %s. "
                   + "It return error code. Check logs for more details",
               principal);
-      log.error(msg);
+      log.error("{} kadmin output: {}", msg, outputs.get(1));
       throw new ExternalSystemError(MainExternalSystem.KERBEROS, msg);
     }
   }
@@ -141,8 +281,19 @@ public class KerberosCredentialsRepository implements CredentialsRepository {
    */
   @Override
   public boolean principalExists(String principal) {
-    Validate.notBlank(principal, "principal must not be blank");
-    return execute_kadmin_command("get_principal " + principal, "Expiration date");
+    validatePrincipal(principal);
+    long startNanos = System.nanoTime();
+    boolean success = false;
+    try {
+      boolean exists =
+          execute_kadmin_commands(List.of("get_principal " + principal))
+              .get(0)
+              .contains("Expiration date");
+      success = true;
+      return exists;
+    } finally {
+      recordLatency("exists", success, startNanos);
+    }
   }
 
   /**
@@ -152,53 +303,114 @@ public class KerberosCredentialsRepository implements CredentialsRepository {
    * @param principal Kerberos principal is a unique identity in Kerberos (KDC).
    */
   @Override
-  @SneakyThrows
   public void deletePrincipal(String principal) {
-    Validate.notBlank(principal, "principal must not be blank");
-    if (principalExists(principal)) {
-      var success = execute_kadmin_command("delete_principal -force " + principal, "deleted");
-      if (!success) {
+    validatePrincipal(principal);
+    long startNanos = System.nanoTime();
+    boolean success = false;
+    try {
+      String output =
+          execute_kadmin_commands(List.of("delete_principal -force " + principal)).get(0);
+      if (!output.contains("deleted") && !output.contains("does not exist")) {
         String msg =
             String.format(
                 "Failed to delete principal %s. "
                     + "It return error code. Check logs for more details",
                 principal);
-        log.error(msg);
+        log.error("{} kadmin output: {}", msg, output);
         throw new ExternalSystemError(MainExternalSystem.KERBEROS, msg);
       }
+      success = true;
+    } finally {
+      recordLatency("delete", success, startNanos);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    watchdog.shutdownNow();
+    KadminSession session;
+    while ((session = idleSessions.poll()) != null) {
+      session.close();
     }
   }
 
   /**
-   * Execute (kerberos) kadmin command
+   * Execute (kerberos) kadmin commands over one of the pooled kadmin sessions.
    *
-   * @param cmd the kadmin command e.g ktadd, add_principal
-   * @param expectedInOutput kadmin commands always return 0 so exit code cannot be used as usual,
-   *     so we trick it by checking if substring is found in output. TODO: That's brittle so we will
-   *     probably have some maintenance cost for this. In the future we should try some libraries.
-   *     Few that were tried and did not work are apache directory-kerby (hit issue DIRKRB-534) and
-   *     pt.tecnico.dsi:kadmin (was hard to use)
-   * @return true if command is successful otherwise false.
+   * <p>kadmin commands always return 0 so exit code cannot be used as usual, so callers trick it by
+   * checking if substring is found in output. TODO: That's brittle so we will probably have some
+   * maintenance cost for this. In the future we should try some libraries. Few that were tried and
+   * did not work are apache directory-kerby (hit issue DIRKRB-534) and pt.tecnico.dsi:kadmin (was
+   * hard to use)
+   *
+   * @param commands the kadmin commands e.g ktadd, add_principal
+   * @return the output of each command
+   * @throws ExternalSystemError if the kadmin session fails
    */
-  @SneakyThrows
-  private boolean execute_kadmin_command(String cmd, String expectedInOutput) {
-    String full_command =
-        String.format("kadmin -w '%s' -p %s -q '%s'", kadminPassword, kadminUser, cmd);
-    log.debug("Execute kadmin command: {}", cmd);
-    ProcessExecutor processExecutor =
-        new ProcessExecutor()
-            .command("/bin/sh", "-c", full_command)
-            .redirectOutputAlsoTo(Slf4jStream.of(log).asInfo())
-            .redirectErrorAlsoTo(Slf4jStream.of(log).asInfo())
-            .readOutput(true);
-
-    ProcessResult result = processExecutor.start().getFuture().get();
-    if (result.getExitValue() == 0) {
-      if (!expectedInOutput.isBlank()) {
-        String stdout = result.getOutput().getUTF8();
-        return stdout.contains(expectedInOutput);
+  private List<String> execute_kadmin_commands(List<String> commands) {
+    log.debug("Execute kadmin commands: {}", commands);
+    try {
+      if (!sessionPermits.tryAcquire(commandTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new ExternalSystemError(
+            MainExternalSystem.KERBEROS, "Timed out waiting for a free kadmin session");
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExternalSystemError(MainExternalSystem.KERBEROS, e);
+    }
+    try {
+      KadminSession session = borrowSession();
+      try {
+        List<String> outputs = session.execute(commands, commandTimeoutMillis);
+        idleSessions.offer(session);
+        return outputs;
+      } catch (IOException e) {
+        session.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      log.error("kadmin session failed", e);
+      throw new ExternalSystemError(MainExternalSystem.KERBEROS, e);
+    } finally {
+      sessionPermits.release();
+    }
+  }
+
+  private KadminSession borrowSession() throws IOException {
+    KadminSession session;
+    while ((session = idleSessions.poll()) != null) {
+      if (session.isUsable(maxSessionAgeMillis)) {
+        return session;
+      }
+      session.close();
+    }
+    log.debug("Starting a new kadmin session");
+    return new KadminSession(
+        List.of(kadminCommand, "-w", kadminPassword, "-p", kadminUser), watchdog);
+  }
+
+  private void validatePrincipal(String principal) {
+    Validate.notBlank(principal, "principal must not be blank");
+    // The principal is written to the kadmin session as part of a command line.
+    Validate.isTrue(
+        principal.chars().noneMatch(Character::isWhitespace),
+        "principal must not contain whitespace");
+  }
+
+  private void recordLatency(String operation, boolean success, long startNanos) {
+    if (meterRegistry == null) {
+      return;
     }
-    return false;
+    String result = success ? "success" : "failure";
+    operationTimers
+        .computeIfAbsent(
+            operation + "/" + result,
+            key ->
+                Timer.builder(OPERATION_TIMER_NAME)
+                    .description("The time it takes to run a kadmin operation.")
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .register(meterRegistry))
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
   }
 }
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.deploy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.vmware.taurus.datajobs.DeploymentModelConverter;
+import com.vmware.taurus.service.DataJobRedeployRepository;
+import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJobRedeploy;
+import com.vmware.taurus.service.model.DeploymentStatus;
+import com.vmware.taurus.service.model.JobDeployment;
+import com.vmware.taurus.service.model.JobDeploymentStatus;
+import com.vmware.taurus.service.notification.NotificationContent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Redeploys all deployed data jobs, e.g. to roll out a new VDK version.
+ *
+ * <p>The data jobs go through two stages, each with its own bounded thread pool: building the data
+ * job image, which is skipped when the image already exists, and scheduling the cron job. This way
+ * the slow builds do not hold back the schedules of the jobs whose images are ready, and neither
+ * stage can overload Kubernetes or the registry. The build threads do not wait for the builder jobs
+ * to finish, the number of builder jobs running at the same time is limited separately. A data job
+ * which is still being deployed, by a bulk redeployment or by {@link DeploymentService}, is
+ * skipped. The progress of each data job is stored in the database.
+ *
+ * <p>Each service instance stores its id as the owner of the redeployments it runs, and
+ * periodically refreshes their heartbeat while they are in progress. The redeployments whose
+ * heartbeat is older than the configured time, e.g. the ones interrupted by a restart of their
+ * service instance, are marked as failed by any instance, on startup and on each heartbeat.
+ */
+@Slf4j
+@Service
+public class BulkRedeployService implements InitializingBean, DisposableBean {
+
+  public static final String REDEPLOYED_JOBS_COUNTER_NAME = "vdk.deployment.redeploy.jobs.counter";
+  public static final String QUEUE_TIME_TIMER_NAME = "vdk.deployment.redeploy.queue.time";
+  public static final String IN_FLIGHT_GAUGE_NAME = "vdk.deployment.redeploy.in.flight";
+
+  private static final List<DataJobRedeploy.Status> ACTIVE_STATUSES =
+      List.of(
+          DataJobRedeploy.Status.QUEUED,
+          DataJobRedeploy.Status.BUILDING,
+          DataJobRedeploy.Status.SCHEDULING);
+
+  private final JobImageBuilder jobImageBuilder;
+  private final JobImageDeployer jobImageDeployer;
+  private final DockerRegistryService dockerRegistryService;
+  private final DeploymentProgress deploymentProgress;
+  private final JobsRepository jobsRepository;
+  private final DataJobRedeployRepository redeployRepository;
+  private final DataJobDeploymentGuard deploymentGuard;
+  private final ExecutorService buildExecutor;
+  private final ExecutorService scheduleExecutor;
+  private final Timer buildQueueTimer;
+  private final Timer scheduleQueueTimer;
+  private final int maxConcurrentBuilds;
+  private final Duration interruptedAfter;
+  private final String owner;
+  private final Map<DataJobRedeploy.Status, Counter> redeployedJobsCounters =
+      new EnumMap<>(DataJobRedeploy.Status.class);
+
+  // The data jobs waiting for a builder slot, see startBuilds.
+  private final Queue<RedeployTask> pendingBuilds = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger runningBuilds = new AtomicInteger();
+
+  // The redeploy ids of the data jobs being redeployed, by data job name.
+  private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+
+  @Autowired
+  public BulkRedeployService(
+      JobImageBuilder jobImageBuilder,
+      JobImageDeployer jobImageDeployer,
+      DockerRegistryService dockerRegistryService,
+      DeploymentProgress deploymentProgress,
+      JobsRepository jobsRepository,
+      DataJobRedeployRepository redeployRepository,
+      DataJobDeploymentGuard deploymentGuard,
+      MeterRegistry meterRegistry,
+      @Value("${datajobs.deployment.redeploy.build.threads:4}") int buildThreads,
+      @Value("${datajobs.deployment.redeploy.schedule.threads:8}") int scheduleThreads,
+      @Value("${datajobs.deployment.redeploy.concurrent.builds:50}") int maxConcurrentBuilds,
+      @Value("${datajobs.deployment.redeploy.interrupted.after.minutes:5}")
+          long interruptedAfterMinutes) {
+    this(
+        jobImageBuilder,
+        jobImageDeployer,
+        dockerRegistryService,
+        deploymentProgress,
+        jobsRepository,
+        redeployRepository,
+        deploymentGuard,
+        meterRegistry,
+        buildThreads,
+        scheduleThreads,
+        maxConcurrentBuilds,
+        Duration.ofMinutes(interruptedAfterMinutes),
+        getHostName() + "/" + UUID.randomUUID());
+  }
+
+  BulkRedeployService(
+      JobImageBuilder jobImageBuilder,
+      JobImageDeployer jobImageDeployer,
+      DockerRegistryService dockerRegistryService,
+      DeploymentProgress deploymentProgress,
+      JobsRepository jobsRepository,
+      DataJobRedeployRepository redeployRepository,
+      DataJobDeploymentGuard deploymentGuard,
+      MeterRegistry meterRegistry,
+      int buildThreads,
+      int scheduleThreads,
+      int maxConcurrentBuilds,
+      Duration interruptedAfter,
+      String owner) {
+    this.jobImageBuilder = jobImageBuilder;
+    this.jobImageDeployer = jobImageDeployer;
+    this.dockerRegistryService = dockerRegistryService;
+    this.deploymentProgress = deploymentProgress;
+    this.jobsRepository = jobsRepository;
+    this.redeployRepository = redeployRepository;
+    this.deploymentGuard = deploymentGuard;
+    this.maxConcurrentBuilds = maxConcurrentBuilds;
+    this.interruptedAfter = interruptedAfter;
+    this.owner = owner;
+    this.buildExecutor =
+        Executors.newFixedThreadPool(
+            buildThreads,
+            new ThreadFactoryBuilder().setNameFormat("redeploy-build-%d").setDaemon(true).build());
+    this.scheduleExecutor =
+        Executors.newFixedThreadPool(
+            scheduleThreads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("redeploy-schedule-%d")
+                .setDaemon(true)
+                .build());
+
+    Gauge.builder(IN_FLIGHT_GAUGE_NAME, inFlight, Map::size)
+        .description("The number of data jobs being redeployed.")
+        .register(meterRegistry);
+    this.buildQueueTimer = queueTimer(meterRegistry, "build");
+    this.scheduleQueueTimer = queueTimer(meterRegistry, "schedule");
+    for (DataJobRedeploy.Status status : DataJobRedeploy.Status.values()) {
+      redeployedJobsCounters.put(
+          status,
+          Counter.builder(REDEPLOYED_JOBS_COUNTER_NAME)
+              .description("Counts the data jobs whose redeployment has finished.")
+              .tag("status", status.name())
+              .register(meterRegistry));
+    }
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    failInterrupted();
+  }
+
+  /**
+   * Refreshes the heartbeat of the redeployments run by this service instance, then marks the
+   * interrupted redeployments of all instances as failed.
+   */
+  @Scheduled(
+      fixedDelayString = "${datajobs.deployment.redeploy.heartbeat.interval:60000}",
+      initialDelayString = "${datajobs.deployment.redeploy.heartbeat.interval:60000}")
+  public void heartbeat() {
+    try {
+      if (!inFlight.isEmpty()) {
+        redeployRepository.updateHeartbeatAtByOwnerAndStatusIn(owner, ACTIVE_STATUSES, now());
+      }
+      failInterrupted();
+    } catch (RuntimeException e) {
+      log.warn("Failed to update the heartbeat of the data job redeployments", e);
+    }
+  }
+
+  /**
+   * Marks as failed the redeployments of the other service instances whose heartbeat is older than
+   * the configured time, and the ones without an owner.
+   */
+  private void failInterrupted() {
+    OffsetDateTime aliveAfter = now().minus(interruptedAfter);
+    List<DataJobRedeploy> interrupted =
+        redeployRepository.findAllByStatusIn(ACTIVE_STATUSES).stream()
+            .filter(
+                redeploy ->
+                    redeploy.getOwner() == null
+                        || (!redeploy.getOwner().equals(owner)
+                            && lastHeartbeat(redeploy).isBefore(aliveAfter)))
+            .collect(Collectors.toList());
+    if (interrupted.isEmpty()) {
+      return;
+    }
+    interrupted.forEach(
+        redeploy -> {
+          redeploy.setStatus(DataJobRedeploy.Status.FAILED);
+          redeploy.setMessage(
+              "The redeployment was interrupted, e.g. by a restart of the service.");
+          redeploy.setFinishedAt(now());
+        });
+    redeployRepository.saveAll(interrupted);
+    log.info("Marked {} interrupted data job redeployments as failed", interrupted.size());
+  }
+
+  /**
+   * Starts the redeployment of all deployed data jobs. The data jobs are redeployed in the
+   * background, use {@link #getRedeploy(String)} to follow the progress.
+   *
+   * @param vdkVersion the VDK version to deploy the data jobs with, or null to keep their current
+   *     VDK version
+   * @param redeployedBy the name of the user that requested the redeployment
+   * @return the id of the redeployment
+   */
+  public String redeployAll(String vdkVersion, String redeployedBy) {
+    String redeployId = UUID.randomUUID().toString();
+    List<JobDeploymentStatus> deployments = jobImageDeployer.readScheduledJobs();
+    Map<String, DataJob> dataJobs = new HashMap<>();
+    jobsRepository
+        .findAllById(
+            deployments.stream()
+                .map(JobDeploymentStatus::getDataJobName)
+                .collect(Collectors.toList()))
+        .forEach(dataJob -> dataJobs.put(dataJob.getName(), dataJob));
+
+    List<DataJobRedeploy> redeploys = new ArrayList<>();
+    List<RedeployTask> tasks = new ArrayList<>();
+    for (JobDeploymentStatus deployment : deployments) {
+      DataJob dataJob = dataJobs.get(deployment.getDataJobName());
+      if (dataJob == null) {
+        log.debug("Data job of the cron job {} does not exist", deployment.getCronJobName());
+        continue;
+      }
+      var redeploy =
+          DataJobRedeploy.builder()
+              .id(UUID.randomUUID().toString())
+              .redeployId(redeployId)
+              .jobName(dataJob.getName())
+              .vdkVersion(vdkVersion)
+              .status(DataJobRedeploy.Status.QUEUED)
+              .queuedAt(now())
+              .owner(owner)
+              .heartbeatAt(now())
+              .build();
+      redeploys.add(redeploy);
+      Optional<String> deploymentInProgress =
+          deploymentGuard.tryAcquire(dataJob.getName(), "the redeployment " + redeployId);
+      if (deploymentInProgress.isPresent()) {
+        redeploy.setStatus(DataJobRedeploy.Status.SKIPPED);
+        redeploy.setMessage(
+            "The data job is still being deployed by " + deploymentInProgress.get());
+        redeploy.setFinishedAt(redeploy.getQueuedAt());
+        countRedeployed(redeploy.getStatus());
+      } else {
+        inFlight.put(dataJob.getName(), redeployId);
+        JobDeployment jobDeployment =
+            DeploymentModelConverter.toJobDeployment(
+                dataJob.getJobConfig().getTeam(), dataJob.getName(), deployment);
+        if (StringUtils.isNotBlank(vdkVersion)) {
+          jobDeployment.setVdkVersion(vdkVersion);
+        }
+        tasks.add(new RedeployTask(redeploy, dataJob, jobDeployment, redeployedBy));
+      }
+    }
+
+    try {
+      redeployRepository.saveAll(redeploys);
+    } catch (RuntimeException e) {
+      tasks.forEach(
+          task -> {
+            inFlight.remove(task.dataJob.getName(), redeployId);
+            deploymentGuard.release(task.dataJob.getName());
+          });
+      throw e;
+    }
+    log.info("Redeploying {} data jobs, redeploy id: {}", tasks.size(), redeployId);
+    for (RedeployTask task : tasks) {
+      task.enqueuedNanos = System.nanoTime();
+      pendingBuilds.add(task);
+    }
+    startBuilds();
+    return redeployId;
+  }
+
+  /** Returns the progress of the data jobs of a redeployment, ordered by data job name. */
+  public List<DataJobRedeploy> getRedeploy(String redeployId) {
+    return redeployRepository.findAllByRedeployIdOrderByJobName(redeployId);
+  }
+
+  @Override
+  public void destroy() {
+    buildExecutor.shutdownNow();
+    scheduleExecutor.shutdownNow();
+  }
+
+  /** Starts the builds of the pending data jobs while there are free builder slots. */
+  private void startBuilds() {
+    while (!pendingBuilds.isEmpty()) {
+      int running = runningBuilds.get();
+      if (running >= maxConcurrentBuilds) {
+        return;
+      }
+      if (!runningBuilds.compareAndSet(running, running + 1)) {
+        continue;
+      }
+      RedeployTask task = pendingBuilds.poll();
+      if (task == null) {
+        runningBuilds.decrementAndGet();
+        continue;
+      }
+      try {
+        buildExecutor.execute(() -> build(task));
+      } catch (RejectedExecutionException e) {
+        runningBuilds.decrementAndGet();
+        fail(task, e);
+      }
+    }
+  }
+
+  private void build(RedeployTask task) {
+    buildQueueTimer.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+    String imageName;
+    try {
+      task.redeploy.setStartedAt(now());
+      update(task, DataJobRedeploy.Status.BUILDING, null);
+      deploymentProgress.started(task.dataJob.getJobConfig(), task.jobDeployment);
+
+      imageName =
+          dockerRegistryService.dataJobImage(
+              task.jobDeployment.getDataJobName(), task.jobDeployment.getGitCommitSha());
+    } catch (Exception e) {
+      buildFinished();
+      fail(task, e);
+      return;
+    }
+    jobImageBuilder
+        .buildImageAsync(imageName, task.dataJob, task.jobDeployment, false, buildExecutor)
+        .whenComplete(
+            (built, e) -> {
+              buildFinished();
+              if (e != null) {
+                fail(task, e instanceof CompletionException ? e.getCause() : e);
+              } else if (!built) {
+                finish(
+                    task, DataJobRedeploy.Status.FAILED, "The data job image could not be built.");
+              } else {
+                task.jobDeployment.setImageName(imageName);
+                update(task, DataJobRedeploy.Status.SCHEDULING, null);
+                task.enqueuedNanos = System.nanoTime();
+                try {
+                  scheduleExecutor.execute(() -> schedule(task));
+                } catch (RejectedExecutionException rejected) {
+                  fail(task, rejected);
+                }
+              }
+            });
+  }
+
+  private void buildFinished() {
+    runningBuilds.decrementAndGet();
+    startBuilds();
+  }
+
+  private void schedule(RedeployTask task) {
+    scheduleQueueTimer.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+    try {
+      if (jobImageDeployer.scheduleJob(
+          task.dataJob, task.jobDeployment, false, task.redeployedBy)) {
+        deploymentProgress.completed(task.dataJob.getJobConfig(), task.jobDeployment, false);
+        finish(task, DataJobRedeploy.Status.SUCCEEDED, null);
+      } else {
+        finish(task, DataJobRedeploy.Status.FAILED, "The cron job could not be updated.");
+      }
+    } catch (Exception e) {
+      fail(task, e);
+    }
+  }
+
+  private void fail(RedeployTask task, Throwable e) {
+    log.error("Failed to redeploy data job {}", task.dataJob.getName(), e);
+    try {
+      deploymentProgress.failed(
+          task.dataJob.getJobConfig(),
+          task.jobDeployment,
+          DeploymentStatus.PLATFORM_ERROR,
+          NotificationContent.getPlatformErrorBody(),
+          false);
+    } finally {
+      finish(task, DataJobRedeploy.Status.FAILED, e.getMessage());
+    }
+  }
+
+  private void finish(RedeployTask task, DataJobRedeploy.Status status, String message) {
+    if (inFlight.remove(task.dataJob.getName(), task.redeploy.getRedeployId())) {
+      deploymentGuard.release(task.dataJob.getName());
+    }
+    countRedeployed(status);
+    task.redeploy.setFinishedAt(now());
+    update(task, status, message);
+    log.info("Redeploy of data job {} finished with {}", task.dataJob.getName(), status);
+  }
+
+  private void update(RedeployTask task, DataJobRedeploy.Status status, String message) {
+    task.redeploy.setStatus(status);
+    task.redeploy.setMessage(message);
+    // Saving the whole row must not move back the heartbeat refreshed in bulk.
+    task.redeploy.setHeartbeatAt(now());
+    try {
+      redeployRepository.save(task.redeploy);
+    } catch (Exception e) {
+      // The progress is informational, it must not stop the redeployment.
+      log.warn("Failed to store the redeploy progress of data job {}", task.dataJob.getName(), e);
+    }
+  }
+
+  private void countRedeployed(DataJobRedeploy.Status status) {
+    redeployedJobsCounters.get(status).increment();
+  }
+
+  private static Timer queueTimer(MeterRegistry meterRegistry, String stage) {
+    return Timer.builder(QUEUE_TIME_TIMER_NAME)
+        .description("The time data jobs wait for a free slot of a redeployment stage.")
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private static OffsetDateTime lastHeartbeat(DataJobRedeploy redeploy) {
+    return redeploy.getHeartbeatAt() != null ? redeploy.getHeartbeatAt() : redeploy.getQueuedAt();
+  }
+
+  private static String getHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      log.warn("Failed to get the host name", e);
+      return "unknown-host";
+    }
+  }
+
+  private static OffsetDateTime now() {
+    return OffsetDateTime.now(ZoneOffset.UTC);
+  }
+
+  private static class RedeployTask {
+
+    private final DataJobRedeploy redeploy;
+    private final DataJob dataJob;
+    private final JobDeployment jobDeployment;
+    private final String redeployedBy;
+    private volatile long enqueuedNanos;
+
+    private RedeployTask(
+        DataJobRedeploy redeploy,
+        DataJob dataJob,
+        JobDeployment jobDeployment,
+        String redeployedBy) {
+      this.redeploy = redeploy;
+      this.dataJob = dataJob;
+      this.jobDeployment = jobDeployment;
+      this.redeployedBy = redeployedBy;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.deploy;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lets a data job be deployed by a single deployment at a time within the service instance.
+ *
+ * <p>Each deployment deletes and recreates the builder job of the data job, so two concurrent
+ * deployments of the same data job, e.g. one requested by a user and one of a bulk redeployment,
+ * would interfere with each other. The guard of a data job is released by the deployment which has
+ * acquired it, which may finish on another thread.
+ */
+@Component
+public class DataJobDeploymentGuard {
+
+  private final Map<String, Semaphore> guards = new ConcurrentHashMap<>();
+  private final Map<String, String> holders = new ConcurrentHashMap<>();
+
+  /**
+   * Acquires the guard of the data job if no other deployment holds it.
+   *
+   * @param dataJobName the name of the data job
+   * @param holder a description of the deployment, reported to the other deployments
+   * @return empty if the guard was acquired, otherwise the description of the deployment that holds
+   *     it
+   */
+  public Optional<String> tryAcquire(String dataJobName, String holder) {
+    if (guardOf(dataJobName).tryAcquire()) {
+      holders.put(dataJobName, holder);
+      return Optional.empty();
+    }
+    return Optional.of(holders.getOrDefault(dataJobName, "another deployment"));
+  }
+
+  /**
+   * Acquires the guard of the data job, waiting for the deployment that holds it to finish.
+   *
+   * @param dataJobName the name of the data job
+   * @param holder a description of the deployment, reported to the other deployments
+   */
+  public void acquire(String dataJobName, String holder) throws InterruptedException {
+    guardOf(dataJobName).acquire();
+    holders.put(dataJobName, holder);
+  }
+
+  /** Releases the guard of the data job acquired by the calling deployment. */
+  public void release(String dataJobName) {
+    holders.remove(dataJobName);
+    guardOf(dataJobName).release();
+  }
+
+  /** Returns the number of data jobs being deployed. */
+  public int size() {
+    return holders.size();
+  }
+
+  private Semaphore guardOf(String dataJobName) {
+    return guards.computeIfAbsent(dataJobName, name -> new Semaphore(1));
+  }
+}
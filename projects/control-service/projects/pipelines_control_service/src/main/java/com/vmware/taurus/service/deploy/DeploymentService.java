@@ -44,6 +44,7 @@ public class DeploymentService {
   private final JobImageDeployer jobImageDeployer;
   private final OperationContext operationContext;
   private final JobsRepository jobsRepository;
+  private final DataJobDeploymentGuard deploymentGuard;
 
   public Optional<JobDeploymentStatus> readDeployment(String jobName) {
     return jobImageDeployer.readScheduledJob(jobName);
@@ -108,7 +109,8 @@ public class DeploymentService {
   /**
    * Deploys data jobs on kubernetes as cron jobs. Creates a new deployment if none is present for
    * the data job. Updates an existing deployment if it already exists (behaves same as patch). This
-   * method is will be executed in a separate thread (it is async).
+   * method is will be executed in a separate thread (it is async). It waits for an ongoing
+   * deployment of the same data job, e.g. by a bulk redeployment, to finish first.
    *
    * @param dataJob The data job
    * @param jobDeployment Deployment configuration
@@ -131,6 +133,13 @@ public class DeploymentService {
     // context.
     operationContext.setId(opId);
 
+    try {
+      deploymentGuard.acquire(dataJob.getName(), "the deployment with operation id " + opId);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      handleException(dataJob, jobDeployment, sendNotification, e);
+      return;
+    }
     try {
       log.info("Starting deployment of job {}", jobDeployment.getDataJobName());
       deploymentProgress.started(dataJob.getJobConfig(), jobDeployment);
@@ -171,6 +180,8 @@ public class DeploymentService {
     } catch (Throwable e) {
       handleException(dataJob, jobDeployment, sendNotification, e);
       throw e;
+    } finally {
+      deploymentGuard.release(dataJob.getName());
     }
   }
 
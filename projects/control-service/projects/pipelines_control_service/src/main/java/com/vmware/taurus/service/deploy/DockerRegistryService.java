@@ -5,17 +5,178 @@
 
 package com.vmware.taurus.service.deploy;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Names the data job images and checks whether a data job image has already been pushed, so that
+ * the data job is not built again e.g. when it is redeployed, enabled or disabled, or its resources
+ * are changed.
+ *
+ * <p>The check is a HEAD request of the image manifest to the registry of the data job images (see
+ * the Docker Registry HTTP API V2). Anonymous, basic and token authentication are supported, the
+ * credentials are the ones of the registry the builder pushes to. For ECR registries the password
+ * is requested from the ECR API with the AWS credentials. The images which exist and the ones which
+ * do not are kept in memory for separate TTLs. When the check fails, the image is built.
+ *
+ * <p>The check is disabled by default: the image name is made of the job name and the commit only,
+ * so an image built before the builder image or the data job base image were changed would be
+ * reused.
+ */
+@Slf4j
 @Service
 public class DockerRegistryService {
 
-  @Value("${datajobs.proxy.repositoryUrl}")
-  private String proxyRepositoryURL;
+  public static final String BUILDS_SKIPPED_COUNTER_NAME =
+      "vdk.deployment.image.builds.skipped.counter";
+  public static final String IMAGE_CHECKS_COUNTER_NAME = "vdk.deployment.image.checks.counter";
+
+  private static final String REGISTRY_TYPE_ECR = "ecr";
+  private static final String MANIFEST_MEDIA_TYPES =
+      String.join(
+          ",",
+          "application/vnd.docker.distribution.manifest.v2+json",
+          "application/vnd.docker.distribution.manifest.list.v2+json",
+          "application/vnd.oci.image.manifest.v1+json",
+          "application/vnd.oci.image.index.v1+json");
+  private static final Pattern CHALLENGE_PARAMETER = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final long DEFAULT_BEARER_TOKEN_TTL_SECONDS = 60;
 
-  @Value("${datajobs.builder.image}")
-  private String builderImage;
+  private final String proxyRepositoryURL;
+  private final String builderImage;
+  private final boolean checkEnabled;
+  private final String registryScheme;
+  private final String registryType;
+  private final String registryUsername;
+  private final String registryPassword;
+  private final long existsTtlMillis;
+  private final long missingTtlMillis;
+  private final Duration timeout;
+  private final Clock clock;
+  private final HttpClient client;
+  private final EcrTokenProvider ecrTokenProvider;
+  private final Cache<String, CheckResult> checkResults;
+  private final Map<String, BearerToken> bearerTokens = new ConcurrentHashMap<>();
+  private final Counter buildsSkippedCounter;
+  private final Map<String, Counter> imageChecksCounters = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public DockerRegistryService(
+      @Value("${datajobs.proxy.repositoryUrl}") String proxyRepositoryURL,
+      @Value("${datajobs.builder.image}") String builderImage,
+      @Value("${datajobs.docker.registry.check.enabled:false}") boolean checkEnabled,
+      @Value("${datajobs.docker.registry.check.scheme:https}") String registryScheme,
+      @Value("${datajobs.docker.registry.check.exists.ttl.seconds:3600}") long existsTtlSeconds,
+      @Value("${datajobs.docker.registry.check.missing.ttl.seconds:30}") long missingTtlSeconds,
+      @Value("${datajobs.docker.registry.check.timeout.seconds:10}") long timeoutSeconds,
+      @Value("${datajobs.docker.registryType:}") String registryType,
+      @Value("${datajobs.docker.registryUsername:}") String registryUsername,
+      @Value("${datajobs.docker.registryPassword:}") String registryPassword,
+      @Value("${datajobs.aws.region:}") String awsRegion,
+      @Value("${datajobs.aws.accessKeyId:}") String awsAccessKeyId,
+      @Value("${datajobs.aws.secretAccessKey:}") String awsSecretAccessKey,
+      @Value("${datajobs.aws.sessionToken:}") String awsSessionToken,
+      MeterRegistry meterRegistry) {
+    this(
+        proxyRepositoryURL,
+        builderImage,
+        checkEnabled,
+        registryScheme,
+        TimeUnit.SECONDS.toMillis(existsTtlSeconds),
+        TimeUnit.SECONDS.toMillis(missingTtlSeconds),
+        Duration.ofSeconds(timeoutSeconds),
+        registryType,
+        registryUsername,
+        registryPassword,
+        REGISTRY_TYPE_ECR.equalsIgnoreCase(registryType) && StringUtils.isNotBlank(awsAccessKeyId)
+            ? client ->
+                new EcrTokenProvider(
+                    client,
+                    awsRegion,
+                    awsAccessKeyId,
+                    awsSecretAccessKey,
+                    awsSessionToken,
+                    Duration.ofSeconds(timeoutSeconds))
+            : null,
+        meterRegistry,
+        Clock.systemUTC());
+  }
+
+  DockerRegistryService(
+      String proxyRepositoryURL,
+      String builderImage,
+      boolean checkEnabled,
+      String registryScheme,
+      long existsTtlMillis,
+      long missingTtlMillis,
+      Duration timeout,
+      String registryType,
+      String registryUsername,
+      String registryPassword,
+      Function<HttpClient, EcrTokenProvider> ecrTokenProviderFactory,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.proxyRepositoryURL = proxyRepositoryURL;
+    this.builderImage = builderImage;
+    this.checkEnabled = checkEnabled;
+    this.registryScheme = registryScheme;
+    this.existsTtlMillis = existsTtlMillis;
+    this.missingTtlMillis = missingTtlMillis;
+    this.timeout = timeout;
+    this.registryType = registryType;
+    this.registryUsername = registryUsername;
+    this.registryPassword = registryPassword;
+    this.clock = clock;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    this.ecrTokenProvider =
+        ecrTokenProviderFactory == null ? null : ecrTokenProviderFactory.apply(client);
+    this.checkResults =
+        CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(
+                Math.max(1, Math.max(existsTtlMillis, missingTtlMillis)), TimeUnit.MILLISECONDS)
+            .build();
+    this.meterRegistry = meterRegistry;
+    this.buildsSkippedCounter =
+        Counter.builder(BUILDS_SKIPPED_COUNTER_NAME)
+            .description("Counts the data job image builds skipped because the image exists.")
+            .register(meterRegistry);
+  }
 
   public String dataJobImage(String dataJobName, String gitCommitSha) {
     return String.format("%s/%s:%s", proxyRepositoryURL, dataJobName, gitCommitSha);
@@ -25,8 +186,245 @@ public class DockerRegistryService {
     return builderImage;
   }
 
-  // TODO: Implement
+  /**
+   * Checks whether a data job image has already been pushed to the registry. The result is kept in
+   * memory, concurrent checks of the same image wait for a single request to the registry.
+   *
+   * @param imageName the full image name, see {@link #dataJobImage(String, String)}
+   * @return true if the image exists, false if it does not or if the check failed
+   */
   public boolean dataJobImageExists(String imageName) {
-    return false;
+    if (!checkEnabled) {
+      return false;
+    }
+    CheckResult result = checkResults.getIfPresent(imageName);
+    if (result != null && result.isExpired(clock.millis())) {
+      checkResults.asMap().remove(imageName, result);
+      result = null;
+    }
+    if (result != null) {
+      countCheck(result.exists, true);
+    } else {
+      try {
+        result = checkResults.get(imageName, () -> checkRegistry(imageName));
+        countCheck(result.exists, false);
+      } catch (ExecutionException e) {
+        log.warn(
+            "Could not check whether image {} exists, it will be built; reason: {}",
+            imageName,
+            e.getCause().getMessage());
+        countCheckFailed();
+        return false;
+      }
+    }
+    if (result.exists) {
+      buildsSkippedCounter.increment();
+    }
+    return result.exists;
+  }
+
+  private CheckResult checkRegistry(String imageName) throws IOException, InterruptedException {
+    ImageReference image = ImageReference.parse(imageName);
+    URI manifestUri =
+        URI.create(
+            String.format(
+                "%s://%s/v2/%s/manifests/%s",
+                registryScheme, image.registry, image.repository, image.tag));
+
+    String authorization = bearerAuthorization(image);
+    HttpResponse<Void> response = headManifest(manifestUri, authorization);
+    if (response.statusCode() == 401) {
+      authorization =
+          authorize(image, response.headers().firstValue("WWW-Authenticate").orElse(""));
+      if (authorization != null) {
+        response = headManifest(manifestUri, authorization);
+      }
+    }
+
+    boolean exists;
+    if (response.statusCode() == 200) {
+      exists = true;
+    } else if (response.statusCode() == 404) {
+      exists = false;
+    } else {
+      throw new IOException(
+          String.format(
+              "Registry returned HTTP status %d for %s", response.statusCode(), manifestUri));
+    }
+    log.debug("Image {} exists: {}", imageName, exists);
+    return new CheckResult(exists, clock.millis() + (exists ? existsTtlMillis : missingTtlMillis));
+  }
+
+  private HttpResponse<Void> headManifest(URI manifestUri, String authorization)
+      throws IOException, InterruptedException {
+    var request =
+        HttpRequest.newBuilder(manifestUri)
+            .timeout(timeout)
+            .header("Accept", MANIFEST_MEDIA_TYPES)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody());
+    if (authorization != null) {
+      request.header("Authorization", authorization);
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+  }
+
+  /**
+   * Returns the Authorization header value which answers the authentication challenge of the
+   * registry, or null if there are no credentials for it.
+   */
+  private String authorize(ImageReference image, String challenge)
+      throws IOException, InterruptedException {
+    if (StringUtils.startsWithIgnoreCase(challenge, "Bearer")) {
+      return requestBearerToken(image, challenge);
+    }
+    if (ecrTokenProvider != null) {
+      return "Basic " + ecrTokenProvider.getToken();
+    }
+    return basicAuthorization();
+  }
+
+  private String basicAuthorization() {
+    if (StringUtils.isBlank(registryUsername)) {
+      return null;
+    }
+    return "Basic "
+        + Base64.getEncoder()
+            .encodeToString(
+                (registryUsername + ":" + registryPassword).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String bearerAuthorization(ImageReference image) {
+    BearerToken token = bearerTokens.get(image.registry + "/" + image.repository);
+    return token == null || clock.millis() >= token.expiresAtMillis
+        ? null
+        : "Bearer " + token.value;
+  }
+
+  /**
+   * Requests a pull token from the token service of the registry, see
+   * https://docs.docker.com/registry/spec/auth/token/
+   */
+  private String requestBearerToken(ImageReference image, String challenge)
+      throws IOException, InterruptedException {
+    Map<String, String> parameters = new HashMap<>();
+    Matcher matcher = CHALLENGE_PARAMETER.matcher(challenge);
+    while (matcher.find()) {
+      parameters.put(matcher.group(1), matcher.group(2));
+    }
+    String realm = parameters.get("realm");
+    if (StringUtils.isBlank(realm)) {
+      throw new IOException("Registry returned a token challenge without realm: " + challenge);
+    }
+    StringBuilder tokenUri = new StringBuilder(realm).append(realm.contains("?") ? '&' : '?');
+    if (parameters.containsKey("service")) {
+      tokenUri.append("service=").append(encode(parameters.get("service"))).append('&');
+    }
+    tokenUri
+        .append("scope=")
+        .append(
+            encode(parameters.getOrDefault("scope", "repository:" + image.repository + ":pull")));
+
+    var request = HttpRequest.newBuilder(URI.create(tokenUri.toString())).timeout(timeout).GET();
+    String basicAuthorization = ecrTokenProvider != null ? null : basicAuthorization();
+    if (basicAuthorization != null) {
+      request.header("Authorization", basicAuthorization);
+    }
+    HttpResponse<String> response =
+        client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException(
+          String.format(
+              "Registry token service returned HTTP status %d for %s",
+              response.statusCode(), realm));
+    }
+    JsonNode body = OBJECT_MAPPER.readTree(response.body());
+    String token = body.hasNonNull("token") ? body.get("token").asText() : null;
+    if (token == null && body.hasNonNull("access_token")) {
+      token = body.get("access_token").asText();
+    }
+    if (token == null) {
+      throw new IOException("Registry token service returned no token from " + realm);
+    }
+    long expiresInSeconds = body.path("expires_in").asLong(DEFAULT_BEARER_TOKEN_TTL_SECONDS);
+    bearerTokens.put(
+        image.registry + "/" + image.repository,
+        new BearerToken(token, clock.millis() + TimeUnit.SECONDS.toMillis(expiresInSeconds)));
+    return "Bearer " + token;
+  }
+
+  private void countCheck(boolean exists, boolean cached) {
+    imageChecksCounter(exists ? "exists" : "missing", cached).increment();
+  }
+
+  private void countCheckFailed() {
+    imageChecksCounter("failed", false).increment();
+  }
+
+  private Counter imageChecksCounter(String result, boolean cached) {
+    return imageChecksCounters.computeIfAbsent(
+        result + "/" + cached,
+        key ->
+            Counter.builder(IMAGE_CHECKS_COUNTER_NAME)
+                .description("Counts the checks whether a data job image exists in the registry.")
+                .tag("result", result)
+                .tag("cached", Boolean.toString(cached))
+                .register(meterRegistry));
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  /** A full image name split to the registry, the repository and the tag. */
+  static class ImageReference {
+
+    private final String registry;
+    private final String repository;
+    private final String tag;
+
+    private ImageReference(String registry, String repository, String tag) {
+      this.registry = registry;
+      this.repository = repository;
+      this.tag = tag;
+    }
+
+    static ImageReference parse(String imageName) throws IOException {
+      int registryEnd = imageName.indexOf('/');
+      if (registryEnd <= 0) {
+        throw new IOException("Image name has no registry: " + imageName);
+      }
+      String tag = DockerImageName.getTag(imageName);
+      String repository = imageName.substring(registryEnd + 1);
+      if (repository.endsWith(":" + tag)) {
+        repository = repository.substring(0, repository.length() - tag.length() - 1);
+      }
+      return new ImageReference(imageName.substring(0, registryEnd), repository, tag);
+    }
+  }
+
+  private static class CheckResult {
+
+    private final boolean exists;
+    private final long expiresAtMillis;
+
+    private CheckResult(boolean exists, long expiresAtMillis) {
+      this.exists = exists;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    private boolean isExpired(long nowMillis) {
+      return nowMillis >= expiresAtMillis;
+    }
+  }
+
+  private static class BearerToken {
+
+    private final String value;
+    private final long expiresAtMillis;
+
+    private BearerToken(String value, long expiresAtMillis) {
+      this.value = value;
+      this.expiresAtMillis = expiresAtMillis;
+    }
   }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.deploy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gets the authorization token of the Amazon ECR registries of an AWS account, which is used as the
+ * password of basic authentication to the registries. The token is kept until shortly before it
+ * expires (after 12 hours).
+ *
+ * <p>The GetAuthorizationToken request is signed with AWS Signature Version 4, see
+ * https://docs.aws.amazon.com/general/latest/gr/sigv4_signing.html . The session token of temporary
+ * credentials, if any, is sent and signed as the X-Amz-Security-Token header.
+ */
+@Slf4j
+class EcrTokenProvider {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String SERVICE = "ecr";
+  private static final String TARGET = "AmazonEC2ContainerRegistry_V20150921.GetAuthorizationToken";
+  private static final String CONTENT_TYPE = "application/x-amz-json-1.1";
+  private static final String PAYLOAD = "{}";
+  private static final long RENEW_BEFORE_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(30);
+  private static final DateTimeFormatter AMZ_DATE_FORMAT =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final HttpClient client;
+  private final URI endpoint;
+  private final String region;
+  private final String accessKeyId;
+  private final String secretAccessKey;
+  private final String sessionToken;
+  private final Duration timeout;
+  private final Clock clock;
+
+  // Guarded by this.
+  private String token;
+  private long tokenExpiresAtMillis;
+
+  EcrTokenProvider(
+      HttpClient client,
+      String region,
+      String accessKeyId,
+      String secretAccessKey,
+      String sessionToken,
+      Duration timeout) {
+    this(
+        client,
+        URI.create(String.format("https://api.ecr.%s.amazonaws.com/", region)),
+        region,
+        accessKeyId,
+        secretAccessKey,
+        sessionToken,
+        timeout,
+        Clock.systemUTC());
+  }
+
+  EcrTokenProvider(
+      HttpClient client,
+      URI endpoint,
+      String region,
+      String accessKeyId,
+      String secretAccessKey,
+      String sessionToken,
+      Duration timeout,
+      Clock clock) {
+    this.client = client;
+    this.endpoint = endpoint;
+    this.region = region;
+    this.accessKeyId = accessKeyId;
+    this.secretAccessKey = secretAccessKey;
+    this.sessionToken = StringUtils.trimToNull(sessionToken);
+    this.timeout = timeout;
+    this.clock = clock;
+  }
+
+  /** Returns the base64 encoded {@code AWS:<password>} credentials of the ECR registries. */
+  synchronized String getToken() throws IOException, InterruptedException {
+    if (token == null || clock.millis() >= tokenExpiresAtMillis - RENEW_BEFORE_EXPIRY_MILLIS) {
+      requestToken();
+    }
+    return token;
+  }
+
+  private void requestToken() throws IOException, InterruptedException {
+    log.debug("Requesting ECR authorization token from {}", endpoint);
+    String amzDate = AMZ_DATE_FORMAT.format(clock.instant());
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(endpoint)
+            .timeout(timeout)
+            .header("content-type", CONTENT_TYPE)
+            .header("x-amz-date", amzDate)
+            .header("x-amz-target", TARGET)
+            .header("authorization", authorization(amzDate))
+            .POST(HttpRequest.BodyPublishers.ofString(PAYLOAD));
+    if (sessionToken != null) {
+      request.header("x-amz-security-token", sessionToken);
+    }
+    HttpResponse<String> response =
+        client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException(
+          String.format(
+              "ECR GetAuthorizationToken returned HTTP status %d and content: %s",
+              response.statusCode(), response.body()));
+    }
+    JsonNode authorizationData = OBJECT_MAPPER.readTree(response.body()).path("authorizationData");
+    JsonNode data = authorizationData.path(0);
+    if (!data.hasNonNull("authorizationToken")) {
+      throw new IOException("ECR GetAuthorizationToken returned no authorization token");
+    }
+    token = data.get("authorizationToken").asText();
+    tokenExpiresAtMillis =
+        data.hasNonNull("expiresAt")
+            ? (long) (data.get("expiresAt").asDouble() * 1000)
+            : clock.millis() + TimeUnit.HOURS.toMillis(12);
+  }
+
+  private String authorization(String amzDate) {
+    String date = amzDate.substring(0, 8);
+    String host =
+        endpoint.getPort() == -1
+            ? endpoint.getHost()
+            : endpoint.getHost() + ":" + endpoint.getPort();
+    // The canonical headers are sorted by name.
+    StringBuilder canonicalHeaders =
+        new StringBuilder()
+            .append("content-type:")
+            .append(CONTENT_TYPE)
+            .append("\nhost:")
+            .append(host)
+            .append("\nx-amz-date:")
+            .append(amzDate)
+            .append('\n');
+    if (sessionToken != null) {
+      canonicalHeaders.append("x-amz-security-token:").append(sessionToken).append('\n');
+    }
+    canonicalHeaders.append("x-amz-target:").append(TARGET).append('\n');
+    String signedHeaders =
+        sessionToken != null
+            ? "content-type;host;x-amz-date;x-amz-security-token;x-amz-target"
+            : "content-type;host;x-amz-date;x-amz-target";
+    String canonicalRequest =
+        String.join(
+            "\n",
+            "POST",
+            endpoint.getRawPath().isEmpty() ? "/" : endpoint.getRawPath(),
+            "",
+            canonicalHeaders,
+            signedHeaders,
+            sha256Hex(PAYLOAD));
+    String credentialScope = String.join("/", date, region, SERVICE, "aws4_request");
+    String stringToSign =
+        String.join(
+            "\n", "AWS4-HMAC-SHA256", amzDate, credentialScope, sha256Hex(canonicalRequest));
+
+    byte[] signingKey = hmac(("AWS4" + secretAccessKey).getBytes(StandardCharsets.UTF_8), date);
+    signingKey = hmac(signingKey, region);
+    signingKey = hmac(signingKey, SERVICE);
+    signingKey = hmac(signingKey, "aws4_request");
+    String signature = BaseEncoding.base16().lowerCase().encode(hmac(signingKey, stringToSign));
+
+    return String.format(
+        "AWS4-HMAC-SHA256 Credential=%s/%s, SignedHeaders=%s, Signature=%s",
+        accessKeyId, credentialScope, signedHeaders, signature);
+  }
+
+  private static String sha256Hex(String value) {
+    return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+  }
+
+  private static byte[] hmac(byte[] key, String value) {
+    return Hashing.hmacSha256(key).hashString(value, StandardCharsets.UTF_8).asBytes();
+  }
+}
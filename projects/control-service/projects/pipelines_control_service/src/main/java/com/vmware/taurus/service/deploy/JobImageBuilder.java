@@ -7,6 +7,7 @@ package com.vmware.taurus.service.deploy;
 
 import com.vmware.taurus.exception.ExternalSystemError;
 import com.vmware.taurus.exception.KubernetesException;
+import com.vmware.taurus.service.KubernetesService;
 import com.vmware.taurus.service.kubernetes.ControlKubernetesService;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.JobDeployment;
@@ -20,6 +21,11 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import static java.util.Map.entry;
 
@@ -32,6 +38,7 @@ public class JobImageBuilder {
   private static final Logger log = LoggerFactory.getLogger(JobImageBuilder.class);
 
   private static final int BUILDER_TIMEOUT_SECONDS = 1800;
+  private static final int BUILDER_DELETION_TIMEOUT_SECONDS = 300;
   private static final String REGISTRY_TYPE_ECR = "ecr";
   private static final String REGISTRY_TYPE_GENERIC = "generic";
 
@@ -125,32 +132,170 @@ public class JobImageBuilder {
       throws ApiException, IOException, InterruptedException {
 
     log.info("Build data job image for job {}. Image name: {}", dataJob.getName(), imageName);
-    if (!StringUtils.isBlank(registryType)) {
-      if (unsupportedRegistryType(registryType)) {
-        log.debug(
-            String.format(
-                "Unsupported registry type: %s available options %s/%s",
-                registryType, REGISTRY_TYPE_ECR, REGISTRY_TYPE_GENERIC));
-        return false;
-      }
+    if (unsupportedRegistryTypeConfigured()) {
+      return false;
+    }
+    if (imageExists(imageName)) {
+      return true;
+    }
+
+    String builderJobName = getBuilderJobName(jobDeployment.getDataJobName());
+    boolean oldBuilderJobDeleted = await(deleteOldBuilderJob(builderJobName));
+    startBuilderJob(builderJobName, oldBuilderJobDeleted, dataJob, jobDeployment);
+    var condition =
+        await(controlKubernetesService.awaitJobCompletion(builderJobName, BUILDER_TIMEOUT_SECONDS));
+    return finishBuild(builderJobName, dataJob, jobDeployment, condition, sendNotification);
+  }
+
+  /**
+   * Same as {@link #buildImage(String, DataJob, JobDeployment, Boolean)}, but does not block while
+   * the builder job is running. The calls to the docker registry and to Kubernetes are run on the
+   * given executor, no thread is held while waiting for the old builder job to be deleted or for
+   * the builder job to finish.
+   *
+   * @param executor Runs the steps of the build which call the docker registry or Kubernetes.
+   * @return A future which completes with true if build and push was successful, false otherwise.
+   */
+  public CompletableFuture<Boolean> buildImageAsync(
+      String imageName,
+      DataJob dataJob,
+      JobDeployment jobDeployment,
+      Boolean sendNotification,
+      Executor executor) {
+
+    log.info("Build data job image for job {}. Image name: {}", dataJob.getName(), imageName);
+    if (unsupportedRegistryTypeConfigured()) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    String builderJobName = getBuilderJobName(jobDeployment.getDataJobName());
+    return CompletableFuture.supplyAsync(() -> unchecked(() -> imageExists(imageName)), executor)
+        .thenCompose(
+            exists ->
+                exists
+                    ? CompletableFuture.completedFuture(true)
+                    : runBuilderJobAsync(
+                        builderJobName, dataJob, jobDeployment, sendNotification, executor));
+  }
+
+  /**
+   * If building new deployment of a data job has started (by buildImage), it is canceled/stopped.
+   *
+   * @param dataJobName the name of the data job
+   */
+  public void cancelBuildingJob(String dataJobName) {
+    log.info("Cancel builder job for data job {}", dataJobName);
+    deleteBuilderJob(dataJobName);
+  }
+
+  /**
+   * See if the data job is currently in progress of being built.
+   *
+   * @param dataJobName the name of the data job
+   * @return true if there's builder running for the given data job
+   */
+  public boolean isBuildingJobInProgress(String dataJobName) {
+    try {
+      return controlKubernetesService.listJobs().contains(getBuilderJobName(dataJobName));
+    } catch (ApiException e) {
+      throw new KubernetesException("Cannot determine if deployment is in progress", e);
+    }
+  }
+
+  private Map<String, String> getBuildParameters(DataJob dataJob, JobDeployment jobDeployment) {
+    String jobName = dataJob.getName();
+    String jobVersion = jobDeployment.getGitCommitSha();
+
+    return Map.ofEntries(
+        entry("JOB_NAME", jobName),
+        entry("DATA_JOB_NAME", jobName),
+        entry("GIT_COMMIT", jobVersion),
+        entry("JOB_GITHASH", jobVersion),
+        entry("IMAGE_REGISTRY_PATH", dockerRepositoryUrl),
+        entry("BASE_IMAGE", deploymentDataJobBaseImage),
+        entry("EXTRA_ARGUMENTS", builderJobExtraArgs),
+        entry("GIT_SSL_ENABLED", Boolean.toString(gitDataJobsSslEnabled)));
+  }
+
+  private CompletableFuture<Boolean> runBuilderJobAsync(
+      String builderJobName,
+      DataJob dataJob,
+      JobDeployment jobDeployment,
+      Boolean sendNotification,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(
+            () -> unchecked(() -> deleteOldBuilderJob(builderJobName)), executor)
+        .thenCompose(Function.identity())
+        .thenAcceptAsync(
+            deleted ->
+                unchecked(
+                    () -> {
+                      startBuilderJob(builderJobName, deleted, dataJob, jobDeployment);
+                      return null;
+                    }),
+            executor)
+        .thenCompose(
+            started ->
+                controlKubernetesService.awaitJobCompletion(
+                    builderJobName, BUILDER_TIMEOUT_SECONDS))
+        .thenApplyAsync(
+            condition ->
+                unchecked(
+                    () ->
+                        finishBuild(
+                            builderJobName, dataJob, jobDeployment, condition, sendNotification)),
+            executor);
+  }
+
+  private boolean unsupportedRegistryTypeConfigured() {
+    if (!StringUtils.isBlank(registryType) && unsupportedRegistryType(registryType)) {
+      log.debug(
+          String.format(
+              "Unsupported registry type: %s available options %s/%s",
+              registryType, REGISTRY_TYPE_ECR, REGISTRY_TYPE_GENERIC));
+      return true;
     }
+    return false;
+  }
 
+  private boolean imageExists(String imageName) {
     if (dockerRegistryService.dataJobImageExists(imageName)) {
       log.debug("Data Job image {} already exists and nothing else to do.", imageName);
       return true;
     }
+    return false;
+  }
 
-    String builderJobName = getBuilderJobName(jobDeployment.getDataJobName());
-
+  /**
+   * Deletes the builder job left from a previous build, if any.
+   *
+   * @return A future which completes with true once the old builder job does not exist anymore.
+   */
+  private CompletableFuture<Boolean> deleteOldBuilderJob(String builderJobName)
+      throws ApiException {
     log.debug("Check if old builder job {} exists", builderJobName);
-    if (controlKubernetesService.listJobs().contains(builderJobName)) {
-      log.debug("Delete old builder job {}", builderJobName);
-      controlKubernetesService.deleteJob(builderJobName);
+    if (!controlKubernetesService.listJobs().contains(builderJobName)) {
+      return CompletableFuture.completedFuture(true);
+    }
+    log.debug("Delete old builder job {}", builderJobName);
+    controlKubernetesService.deleteJob(builderJobName);
+    // Wait for the old job to be deleted to avoid conflicts
+    return controlKubernetesService.awaitJobDeletion(
+        builderJobName, BUILDER_DELETION_TIMEOUT_SECONDS);
+  }
 
-      // Wait for the old job to be deleted to avoid conflicts
-      while (controlKubernetesService.listJobs().contains(builderJobName)) {
-        Thread.sleep(1000);
-      }
+  private void startBuilderJob(
+      String builderJobName,
+      boolean oldBuilderJobDeleted,
+      DataJob dataJob,
+      JobDeployment jobDeployment)
+      throws ApiException {
+    if (!oldBuilderJobDeleted) {
+      throw new KubernetesException(
+          String.format(
+              "Old builder job %s was not deleted in %d seconds",
+              builderJobName, BUILDER_DELETION_TIMEOUT_SECONDS),
+          null);
     }
 
     var args =
@@ -192,11 +337,15 @@ public class JobImageBuilder {
         "Waiting for builder job {} for data job version {}",
         builderJobName,
         jobDeployment.getGitCommitSha());
+  }
 
-    var condition =
-        controlKubernetesService.watchJob(
-            builderJobName, BUILDER_TIMEOUT_SECONDS, s -> log.debug("Wait status: {}", s));
-
+  private boolean finishBuild(
+      String builderJobName,
+      DataJob dataJob,
+      JobDeployment jobDeployment,
+      KubernetesService.JobStatusCondition condition,
+      Boolean sendNotification)
+      throws IOException {
     log.debug("Finished watching builder job {}. Condition is: {}", builderJobName, condition);
     String logs = null;
     try {
@@ -224,43 +373,28 @@ public class JobImageBuilder {
     return condition.isSuccess();
   }
 
-  /**
-   * If building new deployment of a data job has started (by buildImage), it is canceled/stopped.
-   *
-   * @param dataJobName the name of the data job
-   */
-  public void cancelBuildingJob(String dataJobName) {
-    log.info("Cancel builder job for data job {}", dataJobName);
-    deleteBuilderJob(dataJobName);
+  private static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw new KubernetesException("Failed to wait for the builder job", e.getCause());
+    }
   }
 
-  /**
-   * See if the data job is currently in progress of being built.
-   *
-   * @param dataJobName the name of the data job
-   * @return true if there's builder running for the given data job
-   */
-  public boolean isBuildingJobInProgress(String dataJobName) {
+  private static <T> T unchecked(BuildStep<T> step) {
     try {
-      return controlKubernetesService.listJobs().contains(getBuilderJobName(dataJobName));
-    } catch (ApiException e) {
-      throw new KubernetesException("Cannot determine if deployment is in progress", e);
+      return step.run();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CompletionException(e);
     }
   }
 
-  private Map<String, String> getBuildParameters(DataJob dataJob, JobDeployment jobDeployment) {
-    String jobName = dataJob.getName();
-    String jobVersion = jobDeployment.getGitCommitSha();
-
-    return Map.ofEntries(
-        entry("JOB_NAME", jobName),
-        entry("DATA_JOB_NAME", jobName),
-        entry("GIT_COMMIT", jobVersion),
-        entry("JOB_GITHASH", jobVersion),
-        entry("IMAGE_REGISTRY_PATH", dockerRepositoryUrl),
-        entry("BASE_IMAGE", deploymentDataJobBaseImage),
-        entry("EXTRA_ARGUMENTS", builderJobExtraArgs),
-        entry("GIT_SSL_ENABLED", Boolean.toString(gitDataJobsSslEnabled)));
+  /** A step of the build which calls the docker registry or Kubernetes. */
+  @FunctionalInterface
+  private interface BuildStep<T> {
+    T run() throws Exception;
   }
 
   private boolean unsupportedRegistryType(String registry) {
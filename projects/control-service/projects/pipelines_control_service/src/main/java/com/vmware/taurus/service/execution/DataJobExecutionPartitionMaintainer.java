@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.service.execution.DataJobExecutionPartitions.Period;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the partitions of the data_job_execution table when it is partitioned, see {@link
+ * DataJobExecutionPartitions}:
+ *
+ * <ul>
+ *   <li>creates the partitions of the current and the next periods ahead of time, so that new
+ *       executions do not land in the default partition;
+ *   <li>drops the partitions whose executions all ended before the executions TTL, which the
+ *       retention would otherwise delete row by row. Only the partitions of the periods which ended
+ *       before the TTL are checked, and the partitions with executions which have not ended or
+ *       ended after the TTL are kept.
+ * </ul>
+ *
+ * The row-based cleanup of {@link JobExecutionCleanupService} still applies to the remaining
+ * executions, e.g. to keep the maximum number of executions per data job.
+ */
+@Slf4j
+@Component
+public class DataJobExecutionPartitionMaintainer {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final Period period;
+  private final int partitionsAhead;
+  private final long executionsTtlSeconds;
+  private final Clock clock;
+
+  private Boolean partitioned;
+
+  @Autowired
+  public DataJobExecutionPartitionMaintainer(
+      JdbcTemplate jdbcTemplate,
+      @Value("${datajobs.executions.partitioning.enabled:false}") boolean enabled,
+      @Value("${datajobs.executions.partitioning.period:MONTH}") Period period,
+      @Value("${datajobs.executions.partitioning.partitionsAhead:2}") int partitionsAhead,
+      @Value("${datajobs.executions.cleanupJob.executionsTtlSeconds:1209600}")
+          long executionsTtlSeconds) {
+    this(
+        jdbcTemplate,
+        enabled,
+        period,
+        partitionsAhead,
+        executionsTtlSeconds,
+        Clock.systemDefaultZone());
+  }
+
+  DataJobExecutionPartitionMaintainer(
+      JdbcTemplate jdbcTemplate,
+      boolean enabled,
+      Period period,
+      int partitionsAhead,
+      long executionsTtlSeconds,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.period = period;
+    this.partitionsAhead = partitionsAhead;
+    this.executionsTtlSeconds = executionsTtlSeconds;
+    this.clock = clock;
+  }
+
+  @SchedulerLock(name = "maintainExecutionPartitionsTask")
+  @Scheduled(cron = "${datajobs.executions.partitioning.maintenanceCron:0 30 0 * * *}")
+  public void maintainPartitions() {
+    if (!enabled || !isPartitioned()) {
+      return;
+    }
+    createPartitions();
+    dropExpiredPartitions();
+  }
+
+  private void createPartitions() {
+    LocalDate start = period.start(LocalDate.now(clock));
+    for (int i = 0; i <= partitionsAhead; i++) {
+      try {
+        jdbcTemplate.execute(DataJobExecutionPartitions.createPartitionSql(period, start));
+      } catch (DataAccessException e) {
+        // E.g. the default partition already has executions in the period.
+        log.warn(
+            "Failed to create partition {}, the executions of the period will be stored in the"
+                + " default partition.",
+            DataJobExecutionPartitions.partitionName(start),
+            e);
+      }
+      start = period.next(start);
+    }
+  }
+
+  private void dropExpiredPartitions() {
+    OffsetDateTime cutOff = OffsetDateTime.now(clock).minusSeconds(executionsTtlSeconds);
+    Map<String, Optional<LocalDate>> upperBounds = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        DataJobExecutionPartitions.LIST_PARTITIONS_SQL,
+        resultSet -> {
+          upperBounds.put(
+              resultSet.getString(1),
+              DataJobExecutionPartitions.upperBound(resultSet.getString(2)));
+        });
+    upperBounds.forEach(
+        (partition, upperBound) -> {
+          if (upperBound.isPresent()
+              && !upperBound.get().atStartOfDay().isAfter(cutOff.toLocalDateTime())) {
+            dropPartition(partition, cutOff);
+          }
+        });
+  }
+
+  private void dropPartition(String partition, OffsetDateTime cutOff) {
+    Integer retained =
+        jdbcTemplate.queryForObject(
+            String.format(
+                "select count(*) from %s where end_time is null or end_time >= ?", partition),
+            Integer.class,
+            cutOff);
+    if (retained != null && retained > 0) {
+      log.info(
+          "Keeping expired partition {} with {} executions which have not ended before the TTL.",
+          partition,
+          retained);
+      return;
+    }
+    try {
+      jdbcTemplate.execute("drop table " + partition);
+      log.info("Dropped expired partition {} of the data job executions.", partition);
+    } catch (DataAccessException e) {
+      log.warn("Failed to drop expired partition {}", partition, e);
+    }
+  }
+
+  private boolean isPartitioned() {
+    if (partitioned == null) {
+      partitioned =
+          jdbcTemplate.execute(
+              (ConnectionCallback<Boolean>)
+                  connection ->
+                      DataJobExecutionPartitions.isPartitioningSupported(connection)
+                          && DataJobExecutionPartitions.isPartitioned(connection));
+    }
+    return partitioned;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.service.execution.DataJobExecutionPartitions.Period;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Converts the data_job_execution table to a table partitioned by start_time when the partitioning
+ * is enabled, see {@link DataJobExecutionPartitions}. Flyway picks up the migration as a Spring
+ * bean. It is a repeatable migration whose checksum depends on the configuration, so Flyway runs it
+ * again when the partitioning is enabled on an existing database.
+ *
+ * <p>Copying the existing executions to the partitioned table rewrites the whole table while the
+ * service starts, so it is an explicit step: a table with executions is converted only when {@code
+ * datajobs.executions.partitioning.copyExisting} is set, e.g. for a start of the service in a
+ * maintenance window. Otherwise the table stays as it is and the conversion is retried when the
+ * setting changes.
+ *
+ * <p>A partitioned table cannot have a primary key or a unique index which does not include the
+ * partition key, so the primary key on id is replaced by a unique index on id and start_time, and
+ * the uniqueness of the id across the partitions is enforced by a trigger. The trigger serializes
+ * the inserts of the same id with a transaction-scoped advisory lock.
+ *
+ * <p>On databases which do not support the partitioning the migration does nothing. Disabling the
+ * partitioning does not convert the table back.
+ */
+@Slf4j
+@Component
+public class DataJobExecutionPartitioningMigration implements JavaMigration {
+
+  private static final String UNPARTITIONED_TABLE =
+      DataJobExecutionPartitions.TABLE + "_unpartitioned";
+
+  static final String UNIQUE_ID_FUNCTION_SQL =
+      "create or replace function data_job_execution_unique_id() returns trigger as $$\n"
+          + "begin\n"
+          + "  perform pg_advisory_xact_lock(hashtext('data_job_execution'), hashtext(new.id));\n"
+          + "  if (select count(*) from data_job_execution where id = new.id) > 1 then\n"
+          + "    raise exception using errcode = 'unique_violation',\n"
+          + "      message = 'duplicate data job execution id ' || new.id;\n"
+          + "  end if;\n"
+          + "  return null;\n"
+          + "end;\n"
+          + "$$ language plpgsql";
+  static final String UNIQUE_ID_TRIGGER_SQL =
+      "create trigger data_job_execution_unique_id after insert or update of id"
+          + " on data_job_execution for each row execute procedure data_job_execution_unique_id()";
+
+  private final boolean enabled;
+  private final Period period;
+  private final int partitionsAhead;
+  private final boolean copyExisting;
+  private final Clock clock;
+
+  @Autowired
+  public DataJobExecutionPartitioningMigration(
+      @Value("${datajobs.executions.partitioning.enabled:false}") boolean enabled,
+      @Value("${datajobs.executions.partitioning.period:MONTH}") Period period,
+      @Value("${datajobs.executions.partitioning.partitionsAhead:2}") int partitionsAhead,
+      @Value("${datajobs.executions.partitioning.copyExisting:false}") boolean copyExisting) {
+    this(enabled, period, partitionsAhead, copyExisting, Clock.systemDefaultZone());
+  }
+
+  DataJobExecutionPartitioningMigration(
+      boolean enabled, Period period, int partitionsAhead, boolean copyExisting, Clock clock) {
+    this.enabled = enabled;
+    this.period = period;
+    this.partitionsAhead = partitionsAhead;
+    this.copyExisting = copyExisting;
+    this.clock = clock;
+  }
+
+  @Override
+  public MigrationVersion getVersion() {
+    // Repeatable migration.
+    return null;
+  }
+
+  @Override
+  public String getDescription() {
+    return "partition table data job execution";
+  }
+
+  @Override
+  public Integer getChecksum() {
+    return (enabled
+            ? "enabled=true,period=" + period.name() + ",copyExisting=" + copyExisting
+            : "enabled=false,period=")
+        .hashCode();
+  }
+
+  @Override
+  public boolean isUndo() {
+    return false;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return true;
+  }
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!enabled) {
+      return;
+    }
+    if (!DataJobExecutionPartitions.isPartitioningSupported(connection)) {
+      log.warn(
+          "The partitioning of the data job executions is enabled but it requires PostgreSQL 11 or"
+              + " later, the table will not be partitioned.");
+      return;
+    }
+    if (DataJobExecutionPartitions.isPartitioned(connection)) {
+      log.info("The data job executions table is already partitioned.");
+      return;
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      boolean hasExecutions = hasExecutions(statement);
+      if (hasExecutions && !copyExisting) {
+        log.warn(
+            "The partitioning of the data job executions is enabled but the table already has"
+                + " executions, which are copied to the partitioned table only when"
+                + " datajobs.executions.partitioning.copyExisting is set. The table will not be"
+                + " partitioned.");
+        return;
+      }
+
+      log.info("Partitioning the data job executions table by start time per {}.", period);
+      statement.execute(
+          String.format(
+              "alter table %s rename to %s",
+              DataJobExecutionPartitions.TABLE, UNPARTITIONED_TABLE));
+      statement.execute(
+          String.format(
+              "create table %s (like %s including defaults including comments)"
+                  + " partition by range (start_time)",
+              DataJobExecutionPartitions.TABLE, UNPARTITIONED_TABLE));
+      statement.execute(
+          String.format(
+              "create table %s partition of %s default",
+              DataJobExecutionPartitions.DEFAULT_PARTITION, DataJobExecutionPartitions.TABLE));
+
+      LocalDate today = LocalDate.now(clock);
+      LocalDate oldest = hasExecutions ? oldestStartDate(statement, today) : today;
+      LocalDate newest = today;
+      for (int i = 0; i < partitionsAhead; i++) {
+        newest = period.next(period.start(newest));
+      }
+      for (LocalDate start : DataJobExecutionPartitions.partitionStarts(period, oldest, newest)) {
+        statement.execute(DataJobExecutionPartitions.createPartitionSql(period, start));
+      }
+
+      int copied = 0;
+      if (hasExecutions) {
+        copied =
+            statement.executeUpdate(
+                String.format(
+                    "insert into %s select * from %s",
+                    DataJobExecutionPartitions.TABLE, UNPARTITIONED_TABLE));
+      }
+      statement.execute("drop table " + UNPARTITIONED_TABLE);
+
+      statement.execute(
+          "alter table data_job_execution add constraint data_job_execution_job_name_fkey"
+              + " foreign key (job_name) references data_job (name) on delete cascade");
+      statement.execute(
+          "create unique index idx_data_job_execution_id_start_time"
+              + " on data_job_execution (id, start_time)");
+      statement.execute(UNIQUE_ID_FUNCTION_SQL);
+      statement.execute(UNIQUE_ID_TRIGGER_SQL);
+      statement.execute(
+          "create index idx_data_job_execution_job_name_start_time"
+              + " on data_job_execution (job_name ASC, start_time DESC)");
+      statement.execute(
+          "create index idx_data_job_execution_job_name_end_time"
+              + " on data_job_execution (job_name ASC, end_time DESC)");
+      log.info("Partitioned the data job executions table, copied {} executions.", copied);
+    }
+  }
+
+  private static boolean hasExecutions(Statement statement) throws SQLException {
+    try (ResultSet exists =
+        statement.executeQuery(
+            "select exists (select 1 from " + DataJobExecutionPartitions.TABLE + ")")) {
+      return exists.next() && exists.getBoolean(1);
+    }
+  }
+
+  private static LocalDate oldestStartDate(Statement statement, LocalDate today)
+      throws SQLException {
+    try (ResultSet oldest =
+        statement.executeQuery(
+            "select cast(min(start_time) as date) from " + UNPARTITIONED_TABLE)) {
+      if (oldest.next() && oldest.getDate(1) != null) {
+        LocalDate date = oldest.getDate(1).toLocalDate();
+        return date.isBefore(today) ? date : today;
+      }
+      return today;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The layout of the optional PostgreSQL range partitioning of the data_job_execution table by
+ * start_time. Each partition holds the executions started in one period (a month or a week) and is
+ * named after the first day of the period, e.g. data_job_execution_p20211101. The executions
+ * without start time, or outside of all partitions, are stored in the default partition.
+ *
+ * <p>The partitioning is supported by PostgreSQL 11 or later. It is not supported by CockroachDB,
+ * which speaks the PostgreSQL protocol, nor by H2.
+ *
+ * <p>See {@link DataJobExecutionPartitioningMigration} and {@link
+ * DataJobExecutionPartitionMaintainer}.
+ */
+final class DataJobExecutionPartitions {
+
+  static final String TABLE = "data_job_execution";
+  static final String DEFAULT_PARTITION = TABLE + "_default";
+
+  static final String IS_PARTITIONED_SQL =
+      "select count(*) from pg_partitioned_table where partrelid = to_regclass('" + TABLE + "')";
+  static final String LIST_PARTITIONS_SQL =
+      "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i"
+          + " join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass('"
+          + TABLE
+          + "')";
+
+  private static final Pattern UPPER_BOUND_PATTERN =
+      Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})");
+  private static final int MIN_POSTGRESQL_VERSION = 11;
+
+  enum Period {
+    MONTH {
+      @Override
+      LocalDate start(LocalDate date) {
+        return date.withDayOfMonth(1);
+      }
+
+      @Override
+      LocalDate next(LocalDate start) {
+        return start.plusMonths(1);
+      }
+    },
+    WEEK {
+      @Override
+      LocalDate start(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      }
+
+      @Override
+      LocalDate next(LocalDate start) {
+        return start.plusWeeks(1);
+      }
+    };
+
+    /** Returns the first day of the period which contains the date. */
+    abstract LocalDate start(LocalDate date);
+
+    /** Returns the first day of the period after the one which starts on the date. */
+    abstract LocalDate next(LocalDate start);
+  }
+
+  private DataJobExecutionPartitions() {}
+
+  static String partitionName(LocalDate start) {
+    return TABLE + "_p" + DateTimeFormatter.BASIC_ISO_DATE.format(start);
+  }
+
+  static String createPartitionSql(Period period, LocalDate start) {
+    return String.format(
+        "create table if not exists %s partition of %s for values from ('%s') to ('%s')",
+        partitionName(start), TABLE, start, period.next(start));
+  }
+
+  /**
+   * Returns the first days of the periods from the one of {@code from} to the one of {@code to}.
+   */
+  static List<LocalDate> partitionStarts(Period period, LocalDate from, LocalDate to) {
+    List<LocalDate> starts = new ArrayList<>();
+    for (LocalDate start = period.start(from); !start.isAfter(to); start = period.next(start)) {
+      starts.add(start);
+    }
+    return starts;
+  }
+
+  /**
+   * Returns the exclusive upper bound of a partition, parsed from its bound expression, e.g. "FOR
+   * VALUES FROM ('2021-11-01 00:00:00') TO ('2021-12-01 00:00:00')". The default partition has no
+   * upper bound.
+   */
+  static Optional<LocalDate> upperBound(String boundExpression) {
+    Matcher matcher = UPPER_BOUND_PATTERN.matcher(boundExpression == null ? "" : boundExpression);
+    return matcher.find() ? Optional.of(LocalDate.parse(matcher.group(1))) : Optional.empty();
+  }
+
+  static boolean isPartitioningSupported(Connection connection) throws SQLException {
+    var metadata = connection.getMetaData();
+    if (!"PostgreSQL".equals(metadata.getDatabaseProductName())
+        || metadata.getDatabaseMajorVersion() < MIN_POSTGRESQL_VERSION) {
+      return false;
+    }
+    try (Statement statement = connection.createStatement();
+        ResultSet version = statement.executeQuery("select version()")) {
+      return version.next() && !version.getString(1).contains("CockroachDB");
+    }
+  }
+
+  static boolean isPartitioned(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet count = statement.executeQuery(IS_PARTITIONED_SQL)) {
+      return count.next() && count.getInt(1) > 0;
+    }
+  }
+}
@@ -7,19 +7,17 @@ package com.vmware.taurus.service.execution;
 
 import com.vmware.taurus.service.JobExecutionRepository;
 import com.vmware.taurus.service.JobsRepository;
-import com.vmware.taurus.service.model.DataJob;
-import com.vmware.taurus.service.model.ExecutionStatus;
 import com.vmware.taurus.service.monitoring.DataJobExecutionCleanupMonitor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -32,6 +30,10 @@ public class JobExecutionCleanupService {
       "${datajobs.executions.cleanupJob.executionsTtlSeconds:1209600}") // default value is 14 days
   private long secondsCutoffAmount;
 
+  // The number of data jobs whose executions are deleted with a single statement.
+  @Value("${datajobs.executions.cleanupJob.jobsPerChunk:100}")
+  private int jobsPerChunk;
+
   private JobExecutionRepository jobExecutionRepository;
   private JobsRepository jobsRepository;
   private DataJobExecutionCleanupMonitor dataJobExecutionCleanupMonitor;
@@ -52,6 +54,12 @@ public class JobExecutionCleanupService {
     this.dataJobExecutionCleanupMonitor = dataJobExecutionCleanupMonitor;
   }
 
+  /**
+   * Deletes the finished executions of all data jobs which are past their retention, i.e. which are
+   * not among the newest {@code maxExecutionsToKeep} executions of their data job or ended before
+   * the TTL. The data jobs are cleaned up in chunks, one delete statement and transaction per
+   * chunk, so that the executions table is not locked for long.
+   */
   @SchedulerLock(name = "cleanupExecutionsTask")
   @Scheduled(
       cron =
@@ -60,76 +68,33 @@ public class JobExecutionCleanupService {
   public void cleanupExecutions() {
     log.info("Starting DataJobExecutionCleanup and incrementing invocations counter.");
     dataJobExecutionCleanupMonitor.countInvocation();
-    var jobs = jobsRepository.findAll();
-    for (var job : jobs) {
+    long startNanos = System.nanoTime();
+    var cutOff = OffsetDateTime.now().minusSeconds(secondsCutoffAmount);
+    long deletedExecutions = 0;
+    for (var jobNames : ListUtils.partition(jobsRepository.findAllNames(), jobsPerChunk)) {
       try {
-        deleteDataJobExecutions(job);
-        dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
+        int deleted =
+            jobExecutionRepository.deleteExecutionsPastRetention(
+                jobNames, maxExecutionsToKeep, cutOff);
+        deletedExecutions += deleted;
+        dataJobExecutionCleanupMonitor.countSuccessfulDeletions(jobNames.size());
+        dataJobExecutionCleanupMonitor.countDeletedExecutions(deleted);
       } catch (Exception e) {
-        dataJobExecutionCleanupMonitor.countFailedDeletion();
+        dataJobExecutionCleanupMonitor.countFailedDeletions(jobNames.size());
         log.warn(
-            "Failed to delete executions for job {} due to {}, message: {}",
-            job.getName(),
+            "Failed to delete executions for jobs {} to {} due to {}, message: {}",
+            jobNames.get(0),
+            jobNames.get(jobNames.size() - 1),
             e.getClass(),
             e.getMessage());
         log.warn("Error:", e);
       }
     }
-  }
-
-  private void deleteDataJobExecutions(DataJob job) {
-
-    var statuses = List.of(ExecutionStatus.RUNNING, ExecutionStatus.SUBMITTED);
-    var jobExecutions =
-        jobExecutionRepository.findByDataJobNameAndStatusNotInOrderByEndTime(
-            job.getName(), statuses);
-    var jobsToDelete = new ArrayList<String>();
-    var cutOff = OffsetDateTime.now().minusSeconds(secondsCutoffAmount);
-
-    for (int i = 0; i < jobExecutions.size(); i++) { // first execution is the oldest
-      var execution = jobExecutions.get(i);
-      // ensure we add jobs for deletion only once
-      if (shouldDeleteJobExecution(i, jobExecutions.size(), cutOff, execution.getEndTime())) {
-        jobsToDelete.add(execution.getId());
-      }
-    }
-
-    if (jobsToDelete.size() == 0) {
-      log.debug("Found 0 job executions to delete for DataJob:'{}'.", job.getName());
-
-    } else {
-
-      log.info(
-          "Found {} job executions to delete for DataJob:'{}'. Deleting...",
-          jobsToDelete.size(),
-          job.getName());
-      jobExecutionRepository.deleteAllByIdInBatch(jobsToDelete);
-    }
-  }
-
-  /**
-   * Helper method which determines if a data job execution should be deleted. Assumes that
-   * executionPos is the position of a dataJobExecution in a sorted execution list by start time
-   * ASC.
-   *
-   * @param executionPos the position of a data job execution in a sorted list.
-   * @param executionsSize the size of the list.
-   * @param cutOff cut off date for deletion.
-   * @param executionEndTime data job execution end time.
-   * @return boolean describing if the data job should be deleted.
-   */
-  private boolean shouldDeleteJobExecution(
-      int executionPos,
-      int executionsSize,
-      OffsetDateTime cutOff,
-      OffsetDateTime executionEndTime) {
-    boolean shouldDelete = false;
-
-    if (executionPos < executionsSize - maxExecutionsToKeep) { // Delete by numbers
-      shouldDelete = true;
-    } else if (executionEndTime != null && executionEndTime.isBefore(cutOff)) { // Delete by date
-      shouldDelete = true;
-    }
-    return shouldDelete;
+    long durationNanos = System.nanoTime() - startNanos;
+    dataJobExecutionCleanupMonitor.recordDuration(durationNanos);
+    log.info(
+        "Finished DataJobExecutionCleanup, deleted {} job executions in {} ms.",
+        deletedExecutions,
+        TimeUnit.NANOSECONDS.toMillis(durationNanos));
   }
 }
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the logs of the completed data job executions on the local disk, so that they are read
+ * from Kubernetes only once and remain available after the pods are deleted.
+ *
+ * <p>The logs are captured in the background when the completion of an execution is stored (see
+ * {@link com.vmware.taurus.service.monitoring.JobExecutionStatusWriter}), which happens on the
+ * instance of the service running the data job watch. The other instances read the logs from
+ * Kubernetes. Each execution is stored in a gzip file named after its id. The files are evicted
+ * when they are older than the configured age or, least recently read first, when the cache exceeds
+ * the configured size.
+ *
+ * <p>The index of the files is held in memory and rebuilt from the directory on start.
+ */
+@Slf4j
+@Component
+public class JobExecutionLogsCache implements InitializingBean, DisposableBean {
+
+  public static final String REQUESTS_COUNTER_NAME = "vdk.execution.logs.cache.requests";
+  public static final String EVICTIONS_COUNTER_NAME = "vdk.execution.logs.cache.evictions";
+  public static final String SIZE_GAUGE_NAME = "vdk.execution.logs.cache.size";
+  public static final String ENTRIES_GAUGE_NAME = "vdk.execution.logs.cache.entries";
+
+  private static final String FILE_SUFFIX = ".log.gz";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  // The execution ids are the names of Kubernetes jobs.
+  private static final Pattern EXECUTION_ID_PATTERN = Pattern.compile("[a-z0-9]([-a-z0-9]*)?");
+
+  @AllArgsConstructor
+  private static final class Entry {
+    private final Path file;
+    private final long sizeBytes;
+    private final Instant capturedAt;
+  }
+
+  private final DataJobsKubernetesService dataJobsKubernetesService;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final Duration maxAge;
+  private final ExecutorService captureExecutor;
+  private final Clock clock;
+
+  // Guarded by this. In access order, so that the least recently read logs come first.
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeBytes;
+  private final Set<String> capturing = ConcurrentHashMap.newKeySet();
+
+  private Counter hitsCounter;
+  private Counter missesCounter;
+  private Counter evictionsCounter;
+
+  @Autowired
+  public JobExecutionLogsCache(
+      DataJobsKubernetesService dataJobsKubernetesService,
+      MeterRegistry meterRegistry,
+      @Value("${datajobs.executions.logs.cache.enabled:false}") boolean enabled,
+      @Value(
+              "${datajobs.executions.logs.cache.directory:${java.io.tmpdir}/data-job-execution-logs}")
+          String directory,
+      @Value("${datajobs.executions.logs.cache.maxSizeBytes:1073741824}") long maxSizeBytes,
+      @Value("${datajobs.executions.logs.cache.maxAgeSeconds:1209600}") long maxAgeSeconds,
+      @Value("${datajobs.executions.logs.cache.captureThreads:2}") int captureThreads) {
+    this(
+        dataJobsKubernetesService,
+        meterRegistry,
+        enabled,
+        Paths.get(directory),
+        maxSizeBytes,
+        Duration.ofSeconds(maxAgeSeconds),
+        Executors.newFixedThreadPool(
+            captureThreads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("execution-logs-capture-%d")
+                .setDaemon(true)
+                .build()),
+        Clock.systemUTC());
+  }
+
+  JobExecutionLogsCache(
+      DataJobsKubernetesService dataJobsKubernetesService,
+      MeterRegistry meterRegistry,
+      boolean enabled,
+      Path directory,
+      long maxSizeBytes,
+      Duration maxAge,
+      ExecutorService captureExecutor,
+      Clock clock) {
+    this.dataJobsKubernetesService = dataJobsKubernetesService;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.directory = directory;
+    this.maxSizeBytes = maxSizeBytes;
+    this.maxAge = maxAge;
+    this.captureExecutor = captureExecutor;
+    this.clock = clock;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws IOException {
+    hitsCounter =
+        Counter.builder(REQUESTS_COUNTER_NAME)
+            .description("The number of reads of the cached data job execution logs.")
+            .tag("result", "hit")
+            .register(meterRegistry);
+    missesCounter =
+        Counter.builder(REQUESTS_COUNTER_NAME)
+            .description("The number of reads of the cached data job execution logs.")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    evictionsCounter =
+        Counter.builder(EVICTIONS_COUNTER_NAME)
+            .description("The number of data job execution logs evicted from the cache.")
+            .register(meterRegistry);
+    Gauge.builder(SIZE_GAUGE_NAME, this, JobExecutionLogsCache::getSizeBytes)
+        .description("The disk space used by the cached data job execution logs.")
+        .baseUnit(BaseUnits.BYTES)
+        .register(meterRegistry);
+    Gauge.builder(ENTRIES_GAUGE_NAME, this, JobExecutionLogsCache::getEntriesCount)
+        .description("The number of data job executions whose logs are cached.")
+        .register(meterRegistry);
+
+    if (enabled) {
+      Files.createDirectories(directory);
+      loadEntries();
+      log.info(
+          "Caching the logs of the completed data job executions in {}, {} executions ({} bytes)"
+              + " cached.",
+          directory,
+          getEntriesCount(),
+          getSizeBytes());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    captureExecutor.shutdownNow();
+  }
+
+  /**
+   * Captures the logs of the completed execution in the background, unless they are already cached.
+   * The logs are read from the pod of the execution, if it still exists.
+   *
+   * @param executionId the id of the data job execution
+   */
+  public void capture(String executionId) {
+    if (!enabled || !isValidExecutionId(executionId) || contains(executionId)) {
+      return;
+    }
+    if (!capturing.add(executionId)) {
+      return;
+    }
+    try {
+      captureExecutor.execute(
+          () -> {
+            try {
+              captureNow(executionId);
+            } finally {
+              capturing.remove(executionId);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      capturing.remove(executionId);
+      log.debug("The logs of data job execution {} will not be cached", executionId, e);
+    }
+  }
+
+  /**
+   * Opens the cached logs of the execution.
+   *
+   * @param executionId the id of the data job execution
+   * @param tailLines if positive, the number of lines from the end of the logs to return
+   * @return the logs, or empty if they are not cached
+   */
+  public Optional<InputStream> open(String executionId, Integer tailLines) throws IOException {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(executionId);
+    }
+    if (entry == null || isExpired(entry)) {
+      missesCounter.increment();
+      return Optional.empty();
+    }
+    try {
+      InputStream in = openFile(entry.file);
+      if (tailLines != null && tailLines > 0) {
+        skipLines(in, countLines(entry.file) - tailLines);
+      }
+      hitsCounter.increment();
+      return Optional.of(in);
+    } catch (NoSuchFileException e) {
+      log.debug("The cached logs of data job execution {} were deleted", executionId);
+      remove(executionId);
+      missesCounter.increment();
+      return Optional.empty();
+    }
+  }
+
+  /** Evicts the logs older than the maximum age of the cache. */
+  @Scheduled(
+      fixedDelayString = "${datajobs.executions.logs.cache.evictionInterval:3600000}",
+      initialDelayString = "${datajobs.executions.logs.cache.evictionInterval:3600000}")
+  public synchronized void evictExpired() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (isExpired(entry)) {
+        iterator.remove();
+        evict(entry);
+      }
+    }
+  }
+
+  synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  synchronized int getEntriesCount() {
+    return entries.size();
+  }
+
+  synchronized boolean contains(String executionId) {
+    // Unlike get, containsKey does not change the access order.
+    return entries.containsKey(executionId);
+  }
+
+  private void captureNow(String executionId) {
+    Path file = directory.resolve(executionId + FILE_SUFFIX);
+    Path tempFile = directory.resolve(executionId + FILE_SUFFIX + TEMP_FILE_SUFFIX);
+    try {
+      Optional<InputStream> logs =
+          dataJobsKubernetesService.streamJobLogs(executionId, null, null, null, false);
+      if (logs.isEmpty()) {
+        log.debug("The pod of data job execution {} does not exist, logs not cached", executionId);
+        return;
+      }
+      try (InputStream in = logs.get();
+          OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+        in.transferTo(out);
+      }
+      Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+      put(executionId, new Entry(file, Files.size(file), clock.instant()));
+      log.debug("Cached the logs of data job execution {}", executionId);
+    } catch (ApiException e) {
+      // E.g. the pod of a skipped execution has not started.
+      log.debug(
+          "Failed to read the logs of data job execution {}, they will not be cached: {} {}",
+          executionId,
+          e.getCode(),
+          e.getMessage());
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to cache the logs of data job execution {}", executionId, e);
+      deleteQuietly(tempFile);
+    }
+  }
+
+  private synchronized void put(String executionId, Entry entry) {
+    Entry previous = entries.put(executionId, entry);
+    if (previous != null) {
+      sizeBytes -= previous.sizeBytes;
+    }
+    sizeBytes += entry.sizeBytes;
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+      Entry eldest = iterator.next();
+      iterator.remove();
+      evict(eldest);
+    }
+  }
+
+  private synchronized void remove(String executionId) {
+    Entry entry = entries.remove(executionId);
+    if (entry != null) {
+      sizeBytes -= entry.sizeBytes;
+    }
+  }
+
+  // Called with the entry already removed from the index.
+  private void evict(Entry entry) {
+    sizeBytes -= entry.sizeBytes;
+    evictionsCounter.increment();
+    deleteQuietly(entry.file);
+  }
+
+  private boolean isExpired(Entry entry) {
+    return entry.capturedAt.plus(maxAge).isBefore(clock.instant());
+  }
+
+  private synchronized void loadEntries() throws IOException {
+    List<Path> files;
+    try (var stream = Files.list(directory)) {
+      files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    var loaded = new LinkedHashMap<String, Entry>();
+    for (Path file : files) {
+      String fileName = file.getFileName().toString();
+      if (fileName.endsWith(FILE_SUFFIX + TEMP_FILE_SUFFIX)) {
+        // Left by a capture which was interrupted.
+        deleteQuietly(file);
+      } else if (fileName.endsWith(FILE_SUFFIX)) {
+        loaded.put(
+            fileName.substring(0, fileName.length() - FILE_SUFFIX.length()),
+            new Entry(file, Files.size(file), Files.getLastModifiedTime(file).toInstant()));
+      }
+    }
+    loaded.entrySet().stream()
+        .sorted(Comparator.comparing(e -> e.getValue().capturedAt))
+        .forEach(e -> put(e.getKey(), e.getValue()));
+    evictExpired();
+  }
+
+  private static boolean isValidExecutionId(String executionId) {
+    return executionId != null && EXECUTION_ID_PATTERN.matcher(executionId).matches();
+  }
+
+  private static InputStream openFile(Path file) throws IOException {
+    return new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)));
+  }
+
+  private static long countLines(Path file) throws IOException {
+    try (InputStream in = openFile(file)) {
+      long lines = 0;
+      int previous = '\n';
+      byte[] buffer = new byte[8192];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        for (int i = 0; i < n; i++) {
+          if (buffer[i] == '\n') {
+            lines++;
+          }
+        }
+        previous = buffer[n - 1];
+      }
+      // The last line may not end with a new line.
+      return previous == '\n' ? lines : lines + 1;
+    }
+  }
+
+  private static void skipLines(InputStream in, long lines) throws IOException {
+    int c;
+    for (long skipped = 0; skipped < lines && (c = in.read()) != -1; ) {
+      if (c == '\n') {
+        skipped++;
+      }
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a {@link JobExecutionLogsResource} into the response body as it is read from Kubernetes.
+ * Unlike the default resource converter it flushes the response whenever no more logs are available
+ * yet, so that the followed logs reach the client as they are written.
+ */
+@Component
+public class JobExecutionLogsHttpMessageConverter
+    extends AbstractHttpMessageConverter<JobExecutionLogsResource> {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  public JobExecutionLogsHttpMessageConverter() {
+    super(StandardCharsets.UTF_8, MediaType.TEXT_PLAIN, MediaType.ALL);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return JobExecutionLogsResource.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected JobExecutionLogsResource readInternal(
+      Class<? extends JobExecutionLogsResource> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Data job execution logs cannot be uploaded.", inputMessage);
+  }
+
+  @Override
+  protected MediaType getDefaultContentType(JobExecutionLogsResource resource) {
+    return new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  protected void writeInternal(JobExecutionLogsResource resource, HttpOutputMessage outputMessage)
+      throws IOException {
+    try (InputStream in = resource.getInputStream()) {
+      OutputStream out = outputMessage.getBody();
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        out.write(buffer, 0, n);
+        if (in.available() == 0) {
+          out.flush();
+        }
+      }
+    }
+  }
+}
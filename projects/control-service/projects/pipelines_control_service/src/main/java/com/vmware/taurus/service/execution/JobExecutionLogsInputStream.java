@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A stream of the logs of a data job execution as returned by Kubernetes, with a timestamp at the
+ * start of each line. It skips the lines written before a given time and the given number of bytes
+ * after them, returns at most a given number of bytes and counts the returned bytes.
+ *
+ * <p>Only the timestamps of the lines are held in memory, the skipped lines are discarded as they
+ * are read. The lines are not filtered after the first line written at or after the given time.
+ */
+class JobExecutionLogsInputStream extends FilterInputStream {
+
+  // RFC 3339 timestamps with nanoseconds are 30 to 35 characters long.
+  private static final int MAX_TIMESTAMP_LENGTH = 64;
+
+  private OffsetDateTime sinceTime;
+  private long bytesToSkip;
+  private long bytesRemaining;
+  private final Counter bytesCounter;
+  private final Runnable onClose;
+
+  private byte[] pending = new byte[0];
+  private int pendingPosition;
+  private boolean closed;
+
+  /**
+   * @param in the logs stream, which is closed with this stream
+   * @param sinceTime if not null, the lines with earlier timestamps are skipped
+   * @param offsetBytes the number of bytes to skip after the skipped lines
+   * @param limitBytes if positive, the maximum number of bytes to return
+   * @param bytesCounter incremented with the number of returned bytes
+   * @param onClose run once when the stream is closed
+   */
+  JobExecutionLogsInputStream(
+      InputStream in,
+      OffsetDateTime sinceTime,
+      long offsetBytes,
+      long limitBytes,
+      Counter bytesCounter,
+      Runnable onClose) {
+    super(new BufferedInputStream(in));
+    this.sinceTime = sinceTime;
+    this.bytesToSkip = Math.max(offsetBytes, 0);
+    this.bytesRemaining = limitBytes > 0 ? limitBytes : Long.MAX_VALUE;
+    this.bytesCounter = bytesCounter;
+    this.onClose = onClose;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    int n = read(b, 0, 1);
+    return n == -1 ? -1 : b[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (bytesRemaining <= 0 || !skipLinesBeforeSinceTime() || !skipOffset()) {
+      return -1;
+    }
+    int n = readSource(b, off, (int) Math.min(len, bytesRemaining));
+    if (n > 0) {
+      bytesRemaining -= n;
+      bytesCounter.increment(n);
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    byte[] buffer = new byte[(int) Math.min(n, 8192)];
+    long skipped = 0;
+    int read;
+    while (skipped < n
+        && (read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length))) != -1) {
+      skipped += read;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    if (bytesToSkip > 0 || sinceTime != null) {
+      return 0;
+    }
+    long available = (pending.length - pendingPosition) + (long) super.available();
+    return (int) Math.min(available, Math.min(bytesRemaining, Integer.MAX_VALUE));
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      super.close();
+    } finally {
+      onClose.run();
+    }
+  }
+
+  /** @return false if the stream ended before a line written at or after sinceTime */
+  private boolean skipLinesBeforeSinceTime() throws IOException {
+    while (sinceTime != null) {
+      var timestamp = new ByteArrayOutputStream();
+      int c;
+      while ((c = in.read()) != -1
+          && c != ' '
+          && c != '\n'
+          && timestamp.size() < MAX_TIMESTAMP_LENGTH) {
+        timestamp.write(c);
+      }
+      if (c == -1 && timestamp.size() == 0) {
+        return false;
+      }
+      if (isBeforeSinceTime(timestamp.toString(StandardCharsets.US_ASCII))) {
+        while (c != '\n') {
+          if (c == -1) {
+            return false;
+          }
+          c = in.read();
+        }
+      } else {
+        if (c != -1) {
+          timestamp.write(c);
+        }
+        pending = timestamp.toByteArray();
+        pendingPosition = 0;
+        sinceTime = null;
+      }
+    }
+    return true;
+  }
+
+  private boolean isBeforeSinceTime(String timestamp) {
+    try {
+      return OffsetDateTime.parse(timestamp).isBefore(sinceTime);
+    } catch (DateTimeParseException e) {
+      // Not a timestamped line, e.g. a line longer than the maximum log line size of the runtime.
+      return false;
+    }
+  }
+
+  /** @return false if the stream ended before the offset */
+  private boolean skipOffset() throws IOException {
+    if (bytesToSkip > 0) {
+      byte[] buffer = new byte[(int) Math.min(bytesToSkip, 8192)];
+      while (bytesToSkip > 0) {
+        int n = readSource(buffer, 0, (int) Math.min(bytesToSkip, buffer.length));
+        if (n == -1) {
+          return false;
+        }
+        bytesToSkip -= n;
+      }
+    }
+    return true;
+  }
+
+  private int readSource(byte[] b, int off, int len) throws IOException {
+    if (pendingPosition < pending.length) {
+      int n = Math.min(len, pending.length - pendingPosition);
+      System.arraycopy(pending, pendingPosition, b, off, n);
+      pendingPosition += n;
+      return n;
+    }
+    return in.read(b, off, len);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The logs of a data job execution read from Kubernetes while the resource is sent, using {@link
+ * JobExecutionLogsHttpMessageConverter}. Like an input stream resource, it can be read only once.
+ * The stream holds one of the limited log streams until it is closed, see {@link #close()}.
+ */
+public class JobExecutionLogsResource extends AbstractResource implements Closeable {
+
+  private final String executionId;
+
+  private final InputStream inputStream;
+
+  private boolean read;
+
+  JobExecutionLogsResource(String executionId, InputStream inputStream) {
+    this.executionId = executionId;
+    this.inputStream = inputStream;
+  }
+
+  @Override
+  public synchronized InputStream getInputStream() {
+    if (read) {
+      throw new IllegalStateException(
+          "The logs of the data job execution " + executionId + " have already been read.");
+    }
+    read = true;
+    return inputStream;
+  }
+
+  /**
+   * Closes the stream of the logs whether it has been read or not. Closing it more than once has no
+   * effect.
+   */
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    // The length is known only after the logs are read.
+    return -1;
+  }
+
+  @Override
+  public String getFilename() {
+    return executionId + ".log";
+  }
+
+  @Override
+  public String getDescription() {
+    return String.format("Data job execution %s logs", executionId);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.exception.DataJobExecutionLogsStreamLimitException;
+import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams the logs of the data job executions from Kubernetes without holding them in memory. The
+ * logs of the completed executions are streamed from {@link JobExecutionLogsCache} when they are
+ * cached. The number of concurrent log streams is limited, since every stream holds a request
+ * thread while it is sent and, unless it is cached, a connection to Kubernetes.
+ *
+ * <p>The resumption of the logs from a given time relies on the timestamps Kubernetes adds to the
+ * lines: Kubernetes is asked for the logs of the last seconds up to the given time, and the lines
+ * written earlier within the same seconds are skipped, see {@link JobExecutionLogsInputStream}.
+ */
+@Slf4j
+@Component
+public class JobExecutionLogsStreamer {
+
+  public static final String BYTES_STREAMED_COUNTER_NAME = "vdk.execution.logs.streamed";
+  public static final String ACTIVE_STREAMS_GAUGE_NAME = "vdk.execution.logs.streams.active";
+  public static final String REJECTED_STREAMS_COUNTER_NAME = "vdk.execution.logs.streams.rejected";
+
+  private final DataJobsKubernetesService dataJobsKubernetesService;
+  private final JobExecutionLogsCache jobExecutionLogsCache;
+  private final int maxConcurrentStreams;
+  private final Semaphore streams;
+  private final Counter bytesStreamedCounter;
+  private final Counter rejectedStreamsCounter;
+  private final Clock clock;
+
+  @Autowired
+  public JobExecutionLogsStreamer(
+      DataJobsKubernetesService dataJobsKubernetesService,
+      JobExecutionLogsCache jobExecutionLogsCache,
+      MeterRegistry meterRegistry,
+      @Value("${datajobs.executions.logs.stream.maxConcurrent:20}") int maxConcurrentStreams) {
+    this(
+        dataJobsKubernetesService,
+        jobExecutionLogsCache,
+        meterRegistry,
+        maxConcurrentStreams,
+        Clock.systemUTC());
+  }
+
+  JobExecutionLogsStreamer(
+      DataJobsKubernetesService dataJobsKubernetesService,
+      JobExecutionLogsCache jobExecutionLogsCache,
+      MeterRegistry meterRegistry,
+      int maxConcurrentStreams,
+      Clock clock) {
+    this.dataJobsKubernetesService = dataJobsKubernetesService;
+    this.jobExecutionLogsCache = jobExecutionLogsCache;
+    this.maxConcurrentStreams = maxConcurrentStreams;
+    this.streams = new Semaphore(maxConcurrentStreams);
+    this.clock = clock;
+    this.bytesStreamedCounter =
+        Counter.builder(BYTES_STREAMED_COUNTER_NAME)
+            .description("The number of bytes of data job execution logs streamed to the clients.")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+    this.rejectedStreamsCounter =
+        Counter.builder(REJECTED_STREAMS_COUNTER_NAME)
+            .description(
+                "Counts the log stream requests rejected because the limit of concurrent streams"
+                    + " was reached.")
+            .register(meterRegistry);
+    Gauge.builder(
+            ACTIVE_STREAMS_GAUGE_NAME, streams, s -> maxConcurrentStreams - s.availablePermits())
+        .description("The number of data job execution logs currently streamed.")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Opens a stream of the logs of the data job execution. The stream holds one of the limited log
+   * streams until the returned resource is closed.
+   *
+   * @param executionId the id of the data job execution, which is the name of its Kubernetes job
+   * @param tailLines if positive, the number of lines from the end of the logs to return
+   * @param limitBytes if positive, the maximum number of bytes to return
+   * @param sinceTime if not null, return only the lines written at or after this time
+   * @param offsetBytes if positive, the number of bytes to skip
+   * @param follow whether to stream the new logs until the execution completes
+   * @return the logs, which are empty if the execution has no pod
+   * @throws DataJobExecutionLogsStreamLimitException if the limit of concurrent streams is reached
+   */
+  public JobExecutionLogsResource streamLogs(
+      String executionId,
+      Integer tailLines,
+      Long limitBytes,
+      OffsetDateTime sinceTime,
+      Long offsetBytes,
+      boolean follow)
+      throws ApiException, IOException {
+    if (!streams.tryAcquire()) {
+      rejectedStreamsCounter.increment();
+      throw new DataJobExecutionLogsStreamLimitException(executionId, maxConcurrentStreams);
+    }
+    try {
+      long limit = limitBytes == null ? 0 : limitBytes;
+      long offset = offsetBytes == null ? 0 : offsetBytes;
+      Optional<InputStream> logs = jobExecutionLogsCache.open(executionId, tailLines);
+      if (logs.isEmpty()) {
+        logs = streamFromKubernetes(executionId, tailLines, limit, sinceTime, offset, follow);
+      }
+      if (logs.isEmpty()) {
+        streams.release();
+        return new JobExecutionLogsResource(executionId, new ByteArrayInputStream(new byte[0]));
+      }
+      return new JobExecutionLogsResource(
+          executionId,
+          new JobExecutionLogsInputStream(
+              logs.get(), sinceTime, offset, limit, bytesStreamedCounter, streams::release));
+    } catch (ApiException | IOException | RuntimeException e) {
+      streams.release();
+      throw e;
+    }
+  }
+
+  private Optional<InputStream> streamFromKubernetes(
+      String executionId,
+      Integer tailLines,
+      long limit,
+      OffsetDateTime sinceTime,
+      long offset,
+      boolean follow)
+      throws ApiException, IOException {
+    return dataJobsKubernetesService.streamJobLogs(
+        executionId,
+        tailLines != null && tailLines > 0 ? tailLines : null,
+        sinceTime == null ? null : toSinceSeconds(sinceTime),
+        // The lines skipped before sinceTime count towards the limit of Kubernetes.
+        sinceTime == null && limit > 0 && offset + limit <= Integer.MAX_VALUE
+            ? (int) (Math.max(offset, 0) + limit)
+            : null,
+        follow);
+  }
+
+  private int toSinceSeconds(OffsetDateTime sinceTime) {
+    // Rounded up with a second to spare for the clock skew between the nodes, the lines written
+    // before sinceTime are skipped by the stream.
+    long seconds = Duration.between(sinceTime.toInstant(), clock.instant()).getSeconds() + 2;
+    return (int) Math.min(Math.max(seconds, 1), Integer.MAX_VALUE);
+  }
+}
@@ -20,6 +20,7 @@ import com.vmware.taurus.service.deploy.JobImageDeployer;
 import com.vmware.taurus.service.diag.OperationContext;
 import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
 import com.vmware.taurus.service.model.*;
+import com.vmware.taurus.service.monitoring.DataJobExecutionStatusSyncMonitor;
 import io.kubernetes.client.openapi.ApiException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -28,6 +29,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -61,8 +66,14 @@ public class JobExecutionService {
 
   private JobExecutionLogsUrlBuilder jobExecutionLogsUrlBuilder;
 
+  private JobExecutionLogsStreamer jobExecutionLogsStreamer;
+
+  private JobExecutionLogsCache jobExecutionLogsCache;
+
   private OperationContext operationContext;
 
+  private DataJobExecutionStatusSyncMonitor dataJobExecutionStatusSyncMonitor;
+
   public String startDataJobExecution(
       String teamName,
       String jobName,
@@ -263,10 +274,33 @@ public class JobExecutionService {
       return Optional.empty();
     }
 
-    final Optional<com.vmware.taurus.service.model.DataJobExecution>
-        dataJobExecutionPersistedOptional =
-            jobExecutionRepository.findById(jobExecution.getExecutionId());
+    return prepareJobExecutionUpdate(
+            dataJob,
+            jobExecution,
+            executionResult,
+            jobExecutionRepository.findById(jobExecution.getExecutionId()))
+        .map(jobExecutionRepository::save);
+  }
 
+  /**
+   * Builds the job execution to be stored in the database without saving it, so that the caller can
+   * store a batch of executions at once. Returns an empty optional when the execution status has
+   * not changed or if the status is not in the correct order (e.g. from FINISHED to RUNNING).
+   *
+   * @param dataJob The data job of the execution.
+   * @param jobExecution The job execution as observed in Kubernetes. Its execution id must not be
+   *     blank.
+   * @param executionResult The result of the job execution.
+   * @param dataJobExecutionPersistedOptional The job execution currently stored in the database, if
+   *     any.
+   * @return The job execution to be saved, or {@link Optional#empty()} if it should not be updated.
+   */
+  public Optional<com.vmware.taurus.service.model.DataJobExecution> prepareJobExecutionUpdate(
+      final DataJob dataJob,
+      final KubernetesService.JobExecution jobExecution,
+      ExecutionResult executionResult,
+      final Optional<com.vmware.taurus.service.model.DataJobExecution>
+          dataJobExecutionPersistedOptional) {
     // This set contains all the statuses that should not be changed to something else if present in
     // the DB.
     // All the elements in this list should therefore be a final status. Meaning non retryable
@@ -329,7 +363,7 @@ public class JobExecutionService {
             .lastDeployedDate(jobExecution.getDeployedDate())
             .lastDeployedBy(jobExecution.getDeployedBy())
             .build();
-    return Optional.of(jobExecutionRepository.save(dataJobExecution));
+    return Optional.of(dataJobExecution);
   }
 
   /**
@@ -357,33 +391,33 @@ public class JobExecutionService {
    * started before now() - 3 minutes.
    *
    * @param runningJobExecutionIds running job identifiers in Kubernetes
+   * @return the identifiers of the synchronized executions
    */
-  public void syncJobExecutionStatuses(List<String> runningJobExecutionIds) {
+  public List<String> syncJobExecutionStatuses(List<String> runningJobExecutionIds) {
     if (runningJobExecutionIds == null) {
-      return;
+      return List.of();
     }
 
-    List<com.vmware.taurus.service.model.DataJobExecution> dataJobExecutionsToBeUpdated =
-        jobExecutionRepository
-            .findDataJobExecutionsByStatusInAndStartTimeBefore(
-                List.of(ExecutionStatus.SUBMITTED, ExecutionStatus.RUNNING),
-                OffsetDateTime.now().minusMinutes(3))
-            .stream()
-            .filter(dataJobExecution -> !runningJobExecutionIds.contains(dataJobExecution.getId()))
-            .map(
-                dataJobExecution -> {
-                  dataJobExecution.setStatus(ExecutionStatus.SUCCEEDED);
-                  dataJobExecution.setMessage("Status is set by VDK Control Service");
-                  dataJobExecution.setEndTime(OffsetDateTime.now());
-                  return dataJobExecution;
-                })
-            .collect(Collectors.toList());
-
-    if (!dataJobExecutionsToBeUpdated.isEmpty()) {
-      jobExecutionRepository.saveAll(dataJobExecutionsToBeUpdated);
-      dataJobExecutionsToBeUpdated.forEach(
-          dataJobExecution -> log.info("Sync Data Job Execution status: {}", dataJobExecution));
+    long startNanos = System.nanoTime();
+    OffsetDateTime now = OffsetDateTime.now();
+    List<String> updatedJobExecutionIds =
+        jobExecutionRepository.updateStatusOfActiveExecutionsNotIn(
+            new HashSet<>(runningJobExecutionIds),
+            now.minusMinutes(3),
+            ExecutionStatus.SUCCEEDED,
+            "Status is set by VDK Control Service",
+            now);
+    dataJobExecutionStatusSyncMonitor.recordReconciledExecutions(updatedJobExecutionIds.size());
+    dataJobExecutionStatusSyncMonitor.recordDuration(System.nanoTime() - startNanos);
+
+    if (!updatedJobExecutionIds.isEmpty()) {
+      log.info(
+          "Sync Data Job Execution status to {} of {} executions: {}",
+          ExecutionStatus.SUCCEEDED,
+          updatedJobExecutionIds.size(),
+          updatedJobExecutionIds);
     }
+    return updatedJobExecutionIds;
   }
 
   public DataJobExecutionLogs getJobExecutionLogs(
@@ -397,17 +431,21 @@ public class JobExecutionService {
     // for example CLI may decide to use logsUrl if it is not empty otherwise it would use Execution
     // Logging API
 
-    // TODO: we need to consider how to throttle memory and api requests ...
-    //  Maybe cache file on disk? Or limit concurrent logging api requests? or limit max lines
-    //  caching logs on disk may help reduce requests toward Kubernetes API as well
-    //  (for example: use logs from disk and max 1 req per minute toward API)
+    // TODO: we need to consider how to throttle memory ...
+    //  The logs are held in memory, the logs stream API (streamJobExecutionLogs) does not hold
+    //  them and limits the concurrent requests. The logs of the completed executions are read
+    //  from JobExecutionLogsCache when they are cached, which reduces the requests toward the
+    //  Kubernetes API.
 
     if (tailLines != null && tailLines <= 0) {
       tailLines = null;
     }
 
     try {
-      var logs = dataJobsKubernetesService.getJobLogs(executionId, tailLines);
+      var logs = readCachedLogs(executionId, tailLines);
+      if (logs.isEmpty()) {
+        logs = dataJobsKubernetesService.getJobLogs(executionId, tailLines);
+      }
       DataJobExecutionLogs executionLogs = new DataJobExecutionLogs();
       executionLogs.setLogs(logs.orElseGet(() -> ""));
       return executionLogs;
@@ -420,6 +458,47 @@ public class JobExecutionService {
     }
   }
 
+  private Optional<String> readCachedLogs(String executionId, Integer tailLines)
+      throws IOException {
+    var cachedLogs = jobExecutionLogsCache.open(executionId, tailLines);
+    if (cachedLogs.isEmpty()) {
+      return Optional.empty();
+    }
+    // Same format as the logs read from Kubernetes.
+    try (BufferedReader br =
+        new BufferedReader(new InputStreamReader(cachedLogs.get(), StandardCharsets.UTF_8))) {
+      return Optional.of(br.lines().collect(Collectors.joining(System.lineSeparator())));
+    }
+  }
+
+  /**
+   * Returns the logs of the data job execution as a stream, see {@link JobExecutionLogsStreamer}.
+   * The caller must close the returned resource.
+   */
+  public JobExecutionLogsResource streamJobExecutionLogs(
+      String teamName,
+      String jobName,
+      String executionId,
+      Integer tailLines,
+      Long limitBytes,
+      OffsetDateTime sinceTime,
+      Long offsetBytes,
+      boolean follow) {
+    // we use readJobExecution to check that execution exists
+    readJobExecution(teamName, jobName, executionId);
+
+    try {
+      return jobExecutionLogsStreamer.streamLogs(
+          executionId, tailLines, limitBytes, sinceTime, offsetBytes, follow);
+    } catch (ApiException | IOException e) {
+      var msg =
+          String.format(
+              "Failed to stream logs for job execution %s (job: %s, team: %s)",
+              executionId, jobName, teamName);
+      throw new KubernetesException(msg, e);
+    }
+  }
+
   /**
    * This method returns a per job name mapping containing statuses count for a given data job and
    * status list. The method is not guaranteed to return a mapping if a data job does not have
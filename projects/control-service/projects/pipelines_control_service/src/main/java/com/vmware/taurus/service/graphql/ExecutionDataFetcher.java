@@ -35,12 +35,15 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -84,25 +87,29 @@ public class ExecutionDataFetcher {
             .getArguments();
     final DataJobExecutionQueryVariables dataJobExecutionQueryVariables =
         fetchDataJobExecutionQueryVariables(arguments);
+
+    Map<String, V2DataJobDeployment> deployments = new LinkedHashMap<>();
     allDataJob.forEach(
         dataJob -> {
           if (dataJob.getDeployments() != null) {
             dataJob.getDeployments().stream()
                 .findFirst()
-                .ifPresent(
-                    deployment ->
-                        deployment.setExecutions(
-                            findAllExecutions(dataJobExecutionQueryVariables, dataJob.getJobName())
-                                .getContent()
-                                .stream()
-                                .map(
-                                    dataJobExecution ->
-                                        ToApiModelConverter.jobExecutionToConvert(
-                                            dataJobExecution,
-                                            jobExecutionLogsUrlBuilder.build(dataJobExecution)))
-                                .collect(Collectors.toList())));
+                .ifPresent(deployment -> deployments.put(dataJob.getJobName(), deployment));
           }
         });
+
+    Map<String, List<DataJobExecution>> executionsByJobName =
+        findExecutionsOfEachDataJob(dataJobExecutionQueryVariables, deployments.keySet());
+    deployments.forEach(
+        (jobName, deployment) ->
+            deployment.setExecutions(
+                executionsByJobName.getOrDefault(jobName, List.of()).stream()
+                    .map(
+                        dataJobExecution ->
+                            ToApiModelConverter.jobExecutionToConvert(
+                                dataJobExecution,
+                                jobExecutionLogsUrlBuilder.build(dataJobExecution)))
+                    .collect(Collectors.toList())));
     return allDataJob;
   }
 
@@ -112,7 +119,7 @@ public class ExecutionDataFetcher {
           fetchDataJobExecutionQueryVariables(environment.getArguments());
 
       Page<DataJobExecution> dataJobExecutionsResult =
-          findAllExecutions(dataJobExecutionQueryVariables, null);
+          findAllExecutions(dataJobExecutionQueryVariables);
       List<com.vmware.taurus.controlplane.model.data.DataJobExecution> dataJobExecutions =
           dataJobExecutionsResult.getContent().stream()
               .map(
@@ -128,21 +135,49 @@ public class ExecutionDataFetcher {
     };
   }
 
+  /**
+   * Finds the executions of the specified data jobs with a single query, instead of a query (and a
+   * count query) per data job. The page requested for the nested executions applies to the
+   * executions of each data job.
+   */
+  private Map<String, List<DataJobExecution>> findExecutionsOfEachDataJob(
+      DataJobExecutionQueryVariables dataJobExecutionQueryVariables,
+      Collection<String> dataJobNames) {
+    DataJobExecutionFilter filter = dataJobExecutionQueryVariables.getFilter();
+    if (filter != null && filter.getJobNameIn() != null) {
+      throw new GraphQLException("The jobNameIn filter is not supported for nested executions");
+    }
+    if (dataJobNames.isEmpty()) {
+      return Map.of();
+    }
+
+    DataJobExecutionOrder order = dataJobExecutionQueryVariables.getOrder();
+    Sort sort =
+        order != null ? Sort.by(order.getDirection(), order.getProperty()) : Sort.unsorted();
+    Pageable pageable =
+        dataJobExecutionQueryVariables.getPageNumber() != null
+                && dataJobExecutionQueryVariables.getPageSize() != null
+            ? PageRequest.of(
+                dataJobExecutionQueryVariables.getPageNumber() - 1,
+                dataJobExecutionQueryVariables.getPageSize())
+            : Pageable.unpaged();
+
+    return jobsExecutionRepository.findPageOfEachDataJob(dataJobNames, filter, sort, pageable)
+        .stream()
+        .collect(
+            Collectors.groupingBy(
+                dataJobExecution -> dataJobExecution.getDataJob().getName(),
+                LinkedHashMap::new,
+                Collectors.toList()));
+  }
+
   private Page<DataJobExecution> findAllExecutions(
-      DataJobExecutionQueryVariables dataJobExecutionQueryVariables, String dataJobName) {
+      DataJobExecutionQueryVariables dataJobExecutionQueryVariables) {
     DataJobExecutionFilter filter =
         dataJobExecutionQueryVariables.getFilter() != null
             ? dataJobExecutionQueryVariables.getFilter()
             : DataJobExecutionFilter.builder().build();
 
-    if (dataJobName != null && filter.getJobNameIn() != null) {
-      throw new GraphQLException("The jobNameIn filter is not supported for nested executions");
-    }
-
-    if (dataJobName != null) {
-      filter.setJobNameIn(List.of(dataJobName));
-    }
-
     Specification<DataJobExecution> filterSpec = new JobExecutionFilterSpec(filter);
     Page<DataJobExecution> result;
     DataJobExecutionOrder order = dataJobExecutionQueryVariables.getOrder();
@@ -226,8 +261,7 @@ public class ExecutionDataFetcher {
 
       builder.statusIn(
           Optional.ofNullable(filterRaw.get(DataJobExecutionFilter.STATUS_IN_FIELD))
-              .map(statusInRaw -> ((List<String>) statusInRaw))
-              .stream()
+              .map(statusInRaw -> ((List<String>) statusInRaw)).stream()
               .flatMap(v1Jobs -> v1Jobs.stream())
               .filter(Objects::nonNull)
               .map(
@@ -17,6 +17,7 @@ import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
 import com.vmware.taurus.service.graphql.strategy.JobFieldStrategyFactory;
 import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyBy;
 import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
 import com.vmware.taurus.service.model.JobDeploymentStatus;
 import graphql.GraphqlErrorException;
 import graphql.schema.DataFetcher;
@@ -24,6 +25,10 @@ import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -36,7 +41,6 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Slf4j
 @Component
@@ -51,18 +55,49 @@ public class GraphQLDataFetchers {
   private final DeploymentService deploymentService;
   private final ExecutionDataFetcher executionDataFetcher;
 
+  /**
+   * When all the filters, the sorting and the search of the query are on fields stored in the
+   * database, only the requested page of data jobs is loaded from the database. Otherwise, the data
+   * jobs matching the filters supported by the database are loaded and the query is evaluated in
+   * memory (e.g. for the fields which are computed or read from Kubernetes, like the next run and
+   * the deployments).
+   */
   public DataFetcher<Object> findAllAndBuildDataJobPage() {
     return dataFetchingEnvironment -> {
       DataJobQueryVariables queryVar = fetchDataJobQueryVariables(dataFetchingEnvironment);
+      final Criteria<V2DataJob> filterCriteria = populateCriteria(queryVar.getFilters());
+
+      List<Optional<Specification<DataJob>>> filterSpecifications =
+          queryVar.getFilters().stream()
+              .map(filter -> findStrategy(filter).computeFilterSpecification(filter))
+              .collect(Collectors.toList());
+      Specification<DataJob> filterSpecification =
+          filterSpecifications.stream()
+              .flatMap(Optional::stream)
+              .reduce(Specification.where(null), Specification::and);
+      Optional<Specification<DataJob>> searchSpecification =
+          computeSearchSpecification(
+              dataFetchingEnvironment.getSelectionSet(), queryVar.getSearch());
+      Optional<Sort> sort = computeSort(queryVar.getFilters());
+
+      if (filterSpecifications.stream().allMatch(Optional::isPresent)
+          && searchSpecification.isPresent()
+          && sort.isPresent()) {
+        return findDataJobPage(
+            dataFetchingEnvironment,
+            queryVar,
+            filterSpecification.and(searchSpecification.get()),
+            sort.get());
+      }
+
       var dataJobs =
-          StreamSupport.stream(jobsRepository.findAll().spliterator(), false)
+          jobsRepository.findAll(filterSpecification.and(searchSpecification.orElse(null))).stream()
               .collect(Collectors.toMap(DataJob::getName, job -> job));
       List<V2DataJob> allDataJob =
           dataJobs.values().stream()
               .map(ToApiModelConverter::toV2DataJob)
               .collect(Collectors.toList());
 
-      final Criteria<V2DataJob> filterCriteria = populateCriteria(queryVar.getFilters());
       List<V2DataJob> dataJobsFiltered =
           populateDataJobsByRequestedFields(dataFetchingEnvironment, allDataJob, dataJobs).stream()
               .filter(filterCriteria.getPredicate())
@@ -86,6 +121,29 @@ public class GraphQLDataFetchers {
     };
   }
 
+  private DataJobPage findDataJobPage(
+      DataFetchingEnvironment dataFetchingEnvironment,
+      DataJobQueryVariables queryVar,
+      Specification<DataJob> specification,
+      Sort sort) {
+    Page<DataJob> page =
+        jobsRepository.findPage(
+            specification,
+            PageRequest.of(queryVar.getPageNumber() - 1, queryVar.getPageSize(), sort));
+    var dataJobs =
+        page.getContent().stream().collect(Collectors.toMap(DataJob::getName, job -> job));
+    List<V2DataJob> dataJobList =
+        page.getContent().stream()
+            .map(ToApiModelConverter::toV2DataJob)
+            .collect(Collectors.toList());
+
+    populateDataJobsByRequestedFields(dataFetchingEnvironment, dataJobList, dataJobs);
+    List<V2DataJob> resultList =
+        populateDataJobsPostPagination(dataJobList, dataFetchingEnvironment);
+
+    return buildResponse(queryVar.getPageSize(), (int) page.getTotalElements(), resultList);
+  }
+
   private List<V2DataJob> populateDataJobsPostPagination(
       List<V2DataJob> allDataJob, DataFetchingEnvironment dataFetchingEnvironment) {
     if (dataFetchingEnvironment
@@ -170,13 +228,7 @@ public class GraphQLDataFetchers {
 
     // populate filter strategies
     final Map<Filter, FieldStrategy<V2DataJob>> filterStrategyMap =
-        filterList.stream()
-            .collect(
-                Collectors.toMap(
-                    f -> f,
-                    filter ->
-                        strategyFactory.findStrategy(
-                            JobFieldStrategyBy.field(filter.getProperty()))));
+        filterList.stream().collect(Collectors.toMap(f -> f, this::findStrategy));
 
     // compute criteria
     filterStrategyMap.forEach(
@@ -184,6 +236,58 @@ public class GraphQLDataFetchers {
     return criteriaResult.get();
   }
 
+  private FieldStrategy<V2DataJob> findStrategy(Filter filter) {
+    return strategyFactory.findStrategy(JobFieldStrategyBy.field(filter.getProperty()));
+  }
+
+  /**
+   * Computes the database equivalent of {@link #computeSearch}
+   *
+   * @return The search specification, or empty if any of the requested fields can only be searched
+   *     in memory
+   */
+  private Optional<Specification<DataJob>> computeSearchSpecification(
+      DataFetchingFieldSelectionSet requestedFields, String search) {
+    Specification<DataJob> specification = null;
+    if (search != null && !search.isBlank()) {
+      for (Map.Entry<JobFieldStrategyBy, FieldStrategy<V2DataJob>> entry :
+          strategyFactory.getStrategies().entrySet()) {
+        if (requestedFields.contains(entry.getKey().getPath())) {
+          var strategySpecification = entry.getValue().computeSearchSpecification(search);
+          if (strategySpecification.isEmpty()) {
+            return Optional.empty();
+          }
+          specification =
+              (specification == null)
+                  ? strategySpecification.get()
+                  : specification.or(strategySpecification.get());
+        }
+      }
+    }
+    return Optional.of(Specification.where(specification));
+  }
+
+  /**
+   * Computes the database sort of the filters, ordered by job name when the sorting fields are
+   * equal
+   *
+   * @return The sort, or empty if any of the sorting fields can only be sorted in memory
+   */
+  private Optional<Sort> computeSort(List<Filter> filterList) {
+    Sort sort = Sort.unsorted();
+    for (Filter filter : filterList) {
+      var strategySort = findStrategy(filter).computeSort(filter);
+      if (strategySort.isEmpty()) {
+        return Optional.empty();
+      }
+      sort = sort.and(strategySort.get());
+    }
+    if (sort.getOrderFor(DataJob_.NAME) == null) {
+      sort = sort.and(Sort.by(DataJob_.NAME));
+    }
+    return Optional.of(sort);
+  }
+
   private Predicate<V2DataJob> computeSearch(
       DataFetchingFieldSelectionSet requestedFields, String search) {
     Predicate<V2DataJob> predicate = null;
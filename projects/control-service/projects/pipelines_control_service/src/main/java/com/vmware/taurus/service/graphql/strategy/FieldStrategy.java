@@ -8,10 +8,16 @@ package com.vmware.taurus.service.graphql.strategy;
 import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyBy;
 import com.vmware.taurus.service.graphql.model.Filter;
+import com.vmware.taurus.service.model.DataJob;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
 import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -26,9 +32,16 @@ import java.util.function.Predicate;
  *
  * <p>Then, Spring will detect automatically that there is new {@link FieldStrategy} instance and it
  * will be included in the field manipulation mechanism
+ *
+ * <p>Strategies of fields which are stored in the database can also provide the database {@link
+ * Specification} and {@link Sort} equivalent to their filtering, searching and sorting. When all
+ * the fields of a query provide them, only the requested page of data jobs is loaded from the
+ * database.
  */
 public abstract class FieldStrategy<T> {
 
+  protected static final char LIKE_ESCAPE_CHAR = '\\';
+
   /**
    * The getter for the strategy name, required to be unique, not duplicated by other impl classes
    *
@@ -68,6 +81,41 @@ public abstract class FieldStrategy<T> {
     // Default empty action
   }
 
+  /**
+   * Computes the database specification which filters the data jobs the same way as {@link
+   * #computeFilterCriteria}
+   *
+   * @param filter Provided filter containing information about needed filtering pattern.
+   * @return The specification, which does not restrict the data jobs if there is no filtering
+   *     pattern, or empty if the field can only be filtered in memory
+   */
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    return Optional.empty();
+  }
+
+  /**
+   * Computes the database specification which searches the data jobs the same way as {@link
+   * #computeSearchCriteria}
+   *
+   * @param searchStr Search string
+   * @return The specification, or empty if the field can only be searched in memory
+   */
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.empty();
+  }
+
+  /**
+   * Computes the database sort which orders the data jobs the same way as the comparator of {@link
+   * #computeFilterCriteria}
+   *
+   * @param filter Provided filter containing information about needed sorting direction.
+   * @return The sort, which is unsorted if there is no sorting direction, or empty if the field can
+   *     only be sorted in memory
+   */
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.empty();
+  }
+
   /**
    * Helper method to detect if there is sorting needed
    *
@@ -119,4 +167,64 @@ public abstract class FieldStrategy<T> {
     }
     return criteria.getComparator();
   }
+
+  /**
+   * Helper method to sort by a single data job property in the provided direction
+   *
+   * @param filter Class which holds filter and sorting field data
+   * @param property The data job property to sort by
+   * @return The sort by the property, or unsorted if there is no sorting direction
+   */
+  protected Sort sortBy(Filter filter, String property) {
+    return sortingProvided(filter) ? Sort.by(filter.getSort(), property) : Sort.unsorted();
+  }
+
+  /**
+   * Helper method to sort by a single nullable data job property in the provided direction. The
+   * nulls are ordered like the comparators, which are reversed for the descending direction, so
+   * they come first in the ascending direction only if nullsFirst is set.
+   *
+   * @param filter Class which holds filter and sorting field data
+   * @param property The data job property to sort by
+   * @param nullsFirst Whether the nulls come first in the ascending direction
+   * @return The sort by the property, or unsorted if there is no sorting direction
+   */
+  protected Sort sortBy(Filter filter, String property, boolean nullsFirst) {
+    if (!sortingProvided(filter)) {
+      return Sort.unsorted();
+    }
+    Sort.Order order = Sort.Order.by(property).with(filter.getSort());
+    return Sort.by(
+        nullsFirst != invertSorting(filter.getSort()) ? order.nullsFirst() : order.nullsLast());
+  }
+
+  /**
+   * Helper method to compute a case-insensitive containment specification, which matches the same
+   * values as {@link org.apache.commons.lang3.StringUtils#containsIgnoreCase}
+   *
+   * @param attribute The data job attribute to search in
+   * @param searchStr The string which the attribute should contain
+   * @return The specification
+   */
+  protected static Specification<DataJob> containsIgnoreCase(
+      Function<Root<DataJob>, Expression<String>> attribute, String searchStr) {
+    return (root, query, builder) ->
+        builder.like(
+            builder.lower(attribute.apply(root)),
+            "%" + escapeLikePattern(searchStr.toLowerCase()) + "%",
+            LIKE_ESCAPE_CHAR);
+  }
+
+  /**
+   * Escapes the wildcards of the SQL LIKE operator in the provided string, so that it is matched
+   * literally
+   *
+   * @param str The string to escape
+   * @return The escaped string
+   */
+  protected static String escapeLikePattern(String str) {
+    return str.replace(String.valueOf(LIKE_ESCAPE_CHAR), "" + LIKE_ESCAPE_CHAR + LIKE_ESCAPE_CHAR)
+        .replace("%", LIKE_ESCAPE_CHAR + "%")
+        .replace("_", LIKE_ESCAPE_CHAR + "_");
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.graphql.strategy.datajob;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the next run of the cron expressions of the data jobs, so that the expressions are not
+ * parsed again on every GraphQL request.
+ *
+ * <p>The parsed expressions are memoised by the expression string, which are shared by many data
+ * jobs. The expressions are also kept in a queue ordered by their next run, and the next run of an
+ * expression is computed again only after it has passed.
+ */
+class CronNextRunIndex {
+
+  static final long NEXT_RUN_INVALID_VALUE = -1L;
+
+  // Bounds the memory used by the index, the distinct expressions are expected to be far fewer.
+  static final int MAX_SIZE = 10_000;
+
+  private static final CronParser CRON_PARSER =
+      new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
+
+  private final Clock clock;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final PriorityQueue<Entry> entriesByNextRun =
+      new PriorityQueue<>(Comparator.comparingLong(entry -> entry.nextRun));
+
+  CronNextRunIndex(Clock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Gets the next run of a cron expression
+   *
+   * @throws IllegalArgumentException when invalid expression is provided
+   * @param scheduleCron a string that represent the expression
+   * @return the next run as unix timestamp (epoch secs), or -1 if there is no next run
+   */
+  long getNextRun(String scheduleCron) {
+    if (StringUtils.isBlank(scheduleCron)) {
+      return NEXT_RUN_INVALID_VALUE;
+    }
+
+    long now = clock.instant().getEpochSecond();
+    Entry entry = entries.get(scheduleCron);
+    if (entry == null) {
+      entry = add(scheduleCron);
+    } else if (entry.nextRun != NEXT_RUN_INVALID_VALUE && entry.nextRun <= now) {
+      refreshPassedRuns(now);
+    }
+
+    if (entry.error != null) {
+      throw entry.error;
+    }
+    return entry.nextRun;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private synchronized Entry add(String scheduleCron) {
+    Entry entry = entries.get(scheduleCron);
+    if (entry != null) {
+      return entry;
+    }
+    if (entries.size() >= MAX_SIZE) {
+      entries.clear();
+      entriesByNextRun.clear();
+    }
+
+    try {
+      entry = new Entry(ExecutionTime.forCron(CRON_PARSER.parse(scheduleCron)), null);
+      entry.nextRun = computeNextRun(entry.executionTime);
+      if (entry.nextRun != NEXT_RUN_INVALID_VALUE) {
+        entriesByNextRun.add(entry);
+      }
+    } catch (IllegalArgumentException e) {
+      entry = new Entry(null, e);
+      entry.nextRun = NEXT_RUN_INVALID_VALUE;
+    }
+    entries.put(scheduleCron, entry);
+    return entry;
+  }
+
+  /** Computes again the next runs that have already passed, earliest first. */
+  private synchronized void refreshPassedRuns(long now) {
+    while (!entriesByNextRun.isEmpty() && entriesByNextRun.peek().nextRun <= now) {
+      Entry entry = entriesByNextRun.poll();
+      entry.nextRun = computeNextRun(entry.executionTime);
+      if (entry.nextRun != NEXT_RUN_INVALID_VALUE) {
+        entriesByNextRun.add(entry);
+      }
+    }
+  }
+
+  private long computeNextRun(ExecutionTime executionTime) {
+    return Math.toIntExact(
+        executionTime
+            .nextExecution(ZonedDateTime.now(clock))
+            .map(ChronoZonedDateTime::toEpochSecond)
+            .orElse(NEXT_RUN_INVALID_VALUE));
+  }
+
+  private static class Entry {
+
+    private final ExecutionTime executionTime;
+    private final IllegalArgumentException error;
+    private volatile long nextRun;
+
+    private Entry(ExecutionTime executionTime, IllegalArgumentException error) {
+      this.executionTime = executionTime;
+      this.error = error;
+    }
+  }
+}
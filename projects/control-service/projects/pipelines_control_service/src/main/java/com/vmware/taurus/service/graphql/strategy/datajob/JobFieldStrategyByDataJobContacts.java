@@ -10,10 +10,14 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
+import com.vmware.taurus.service.model.DataJob;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
@@ -51,4 +55,19 @@ public class JobFieldStrategyByDataJobContacts extends FieldStrategy<V2DataJob>
         || CollectionUtils.isNotEmpty(contacts.getNotifiedOnJobFailureUserError())
         || CollectionUtils.isNotEmpty(contacts.getNotifiedOnJobSuccess());
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(Filter filter) {
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(String searchStr) {
+    return Optional.of((root, query, builder) -> builder.conjunction());
+  }
+
+  @Override
+  public Optional<Sort> computeSort(Filter filter) {
+    return sortingProvided(filter) ? Optional.empty() : Optional.of(Sort.unsorted());
+  }
 }
@@ -9,11 +9,17 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
+import com.vmware.taurus.service.model.JobConfig_;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
@@ -54,4 +60,27 @@ public class JobFieldStrategyByDescription extends FieldStrategy<V2DataJob> {
   public JobFieldStrategyBy getStrategyName() {
     return JobFieldStrategyBy.DESCRIPTION;
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (filterProvided(filter)) {
+      return Optional.of(computeDescriptionSpecification(filter.getPattern()));
+    }
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of(computeDescriptionSpecification(searchStr));
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(sortBy(filter, DataJob_.JOB_CONFIG + "." + JobConfig_.DESCRIPTION, false));
+  }
+
+  private static Specification<DataJob> computeDescriptionSpecification(String searchStr) {
+    return containsIgnoreCase(
+        root -> root.get(DataJob_.jobConfig).get(JobConfig_.description), searchStr);
+  }
 }
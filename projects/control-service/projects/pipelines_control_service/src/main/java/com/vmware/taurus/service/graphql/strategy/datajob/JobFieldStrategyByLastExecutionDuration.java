@@ -9,13 +9,23 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
+/**
+ * The last execution duration of the deployment is stored in the data job, so the filtering, the
+ * search and the sorting are done in the database. Filtering and searching by duration are not
+ * supported and match no data jobs.
+ */
 @Component
 public class JobFieldStrategyByLastExecutionDuration extends FieldStrategy<V2DataJob> {
 
@@ -53,4 +63,22 @@ public class JobFieldStrategyByLastExecutionDuration extends FieldStrategy<V2Dat
     // TODO support for multiple deployments
     return dataJob.getDeployments().stream().findFirst().orElseThrow().getLastExecutionDuration();
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (filterProvided(filter)) {
+      return computeSearchSpecification(filter.getPattern());
+    }
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of((root, query, builder) -> builder.disjunction());
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(sortBy(filter, DataJob_.LAST_EXECUTION_DURATION, true));
+  }
 }
@@ -6,17 +6,29 @@
 package com.vmware.taurus.service.graphql.strategy.datajob;
 
 import com.vmware.taurus.controlplane.model.data.DataJobExecution;
+import com.vmware.taurus.datajobs.ToModelApiConverter;
 import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
+/**
+ * The last execution status of the deployment is read from the data job, which stores the status of
+ * its last execution, so the filtering and the search are done in the database.
+ *
+ * <p>The sorting is done in memory, because the database stores the statuses as numeric codes whose
+ * order differs from the order of the status values of the API.
+ */
 @Component
 public class JobFieldStrategyByLastExecutionStatus extends FieldStrategy<V2DataJob> {
 
@@ -54,6 +66,28 @@ public class JobFieldStrategyByLastExecutionStatus extends FieldStrategy<V2DataJ
     }
   }
 
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (filterProvided(filter)) {
+      return computeSearchSpecification(filter.getPattern());
+    }
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    try {
+      var executionStatus =
+          ToModelApiConverter.toExecutionStatus(DataJobExecution.StatusEnum.fromValue(searchStr));
+      return Optional.of(
+          (root, query, builder) ->
+              builder.equal(root.get(DataJob_.lastExecutionStatus), executionStatus));
+    } catch (IllegalArgumentException e) {
+      // searching with non-compatible for the strategy string, ignoring search
+      return Optional.of((root, query, builder) -> builder.disjunction());
+    }
+  }
+
   private static DataJobExecution.StatusEnum getLastExecutionStatus(V2DataJob dataJob) {
     if (CollectionUtils.isEmpty(dataJob.getDeployments())) {
       return null;
@@ -9,7 +9,11 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
 import graphql.GraphqlErrorException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.util.Pair;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -20,8 +24,13 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
+/**
+ * The last execution time of the deployment is the end time of the last execution, which is stored
+ * in the data job, so the filtering, the search and the sorting are done in the database.
+ */
 @Component
 public class JobFieldStrategyByLastExecutionTime extends FieldStrategy<V2DataJob> {
 
@@ -114,4 +123,33 @@ public class JobFieldStrategyByLastExecutionTime extends FieldStrategy<V2DataJob
     // TODO support for multiple deployments
     return dataJob.getDeployments().stream().findFirst().orElseThrow().getLastExecutionTime();
   }
+
+  /**
+   * Filters the data jobs the same way as {@link #computeFilterCriteria}
+   *
+   * @throws GraphqlErrorException if the filter pattern contains invalid format or if the first
+   *     unix time is after the second one
+   */
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (!filterProvided(filter)) {
+      return Optional.of(Specification.where(null));
+    }
+
+    var range = validateAndExtractDateRange(filter);
+    return Optional.of(
+        (root, query, builder) ->
+            builder.between(
+                root.get(DataJob_.lastExecutionEndTime), range.getFirst(), range.getSecond()));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of((root, query, builder) -> builder.disjunction());
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(sortBy(filter, DataJob_.LAST_EXECUTION_END_TIME, true));
+  }
 }
@@ -9,11 +9,16 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
 import com.vmware.taurus.service.graphql.model.Filter;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
@@ -44,4 +49,26 @@ public class JobFieldStrategyByName extends FieldStrategy<V2DataJob> {
   public Predicate<V2DataJob> computeSearchCriteria(@NonNull String searchStr) {
     return dataJob -> StringUtils.containsIgnoreCase(dataJob.getJobName(), searchStr);
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (filterProvided(filter)) {
+      return Optional.of(computeNameSpecification(filter.getPattern()));
+    }
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of(computeNameSpecification(searchStr));
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(sortBy(filter, DataJob_.NAME));
+  }
+
+  private static Specification<DataJob> computeNameSpecification(String searchStr) {
+    return containsIgnoreCase(root -> root.get(DataJob_.name), searchStr);
+  }
 }
@@ -5,10 +5,6 @@
 
 package com.vmware.taurus.service.graphql.strategy.datajob;
 
-import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinitionBuilder;
-import com.cronutils.model.time.ExecutionTime;
-import com.cronutils.parser.CronParser;
 import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.model.V2DataJobConfig;
@@ -23,24 +19,19 @@ import org.springframework.data.util.Pair;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
 import java.util.Comparator;
-import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
 public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
 
   private final Logger log = LoggerFactory.getLogger(this.getClass());
-  private static final long NEXT_RUN_EPOCH_SECS_INVALID_VALUE = -1L;
+  private static final long NEXT_RUN_EPOCH_SECS_INVALID_VALUE =
+      CronNextRunIndex.NEXT_RUN_INVALID_VALUE;
   private static final String DATE_SEPARATOR = "-";
-  private static final CronParser CRON_PARSER =
-      new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
-  private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
   private static final Comparator<V2DataJob> COMPARATOR_DEFAULT =
       Comparator.comparing(
           V2DataJob::getConfig,
@@ -49,6 +40,16 @@ public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
               Comparator.nullsFirst(
                   Comparator.comparingInt(V2DataJobSchedule::getNextRunEpochSeconds))));
 
+  private final CronNextRunIndex nextRunIndex;
+
+  public JobFieldStrategyByNextRun() {
+    this(new CronNextRunIndex(Clock.systemUTC()));
+  }
+
+  JobFieldStrategyByNextRun(CronNextRunIndex nextRunIndex) {
+    this.nextRunIndex = nextRunIndex;
+  }
+
   @Override
   public JobFieldStrategyBy getStrategyName() {
     return JobFieldStrategyBy.NEXT_RUN_EPOCH_SECS;
@@ -71,11 +72,11 @@ public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
     Predicate<V2DataJob> predicate = criteria.getPredicate();
 
     if (filterProvided(filter)) {
+      Pair<Integer, Integer> range = validateAndExtractDateRange(filter);
       predicate =
           predicate.and(
               dataJob -> {
                 int nextRun = validateAndExtractNextRun(dataJob);
-                Pair<Integer, Integer> range = validateAndExtractDateRange(filter);
 
                 return nextRun > 0 && range.getFirst() <= nextRun && nextRun <= range.getSecond();
               });
@@ -94,7 +95,7 @@ public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
                 searchStr);
   }
 
-  /** Parse cron expression, compute the next run in UTC and alter the data job */
+  /** Look up the next run in UTC of the cron expression and alter the data job */
   @Override
   public void alterFieldData(V2DataJob dataJob) {
     V2DataJobConfig config = dataJob.getConfig();
@@ -108,7 +109,7 @@ public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
     }
 
     try {
-      schedule.setNextRunEpochSeconds(parseNextRun(schedule.getScheduleCron()));
+      schedule.setNextRunEpochSeconds(nextRunIndex.getNextRun(schedule.getScheduleCron()));
     } catch (IllegalArgumentException e) {
       log.warn(
           "Parsing cron expression for job {} with cron expression {} failed: {}",
@@ -166,24 +167,4 @@ public class JobFieldStrategyByNextRun extends FieldStrategy<V2DataJob> {
     }
     return schedule.getNextRunEpochSeconds();
   }
-
-  /**
-   * Gets the next run by a cron expressions
-   *
-   * @throws IllegalArgumentException when invalid string is provided
-   * @param scheduleCron a string that represent the expression
-   * @return a long version of unix timestamp (epoch secs)
-   */
-  private long parseNextRun(String scheduleCron) {
-    if (scheduleCron != null && !StringUtils.isBlank(scheduleCron)) {
-      var executionTime = ExecutionTime.forCron(CRON_PARSER.parse(scheduleCron));
-      Optional<ZonedDateTime> nextExecution =
-          executionTime.nextExecution(ZonedDateTime.now(UTC_ZONE));
-      return Math.toIntExact(
-          nextExecution
-              .map(ChronoZonedDateTime::toEpochSecond)
-              .orElse(NEXT_RUN_EPOCH_SECS_INVALID_VALUE));
-    }
-    return NEXT_RUN_EPOCH_SECS_INVALID_VALUE;
-  }
 }
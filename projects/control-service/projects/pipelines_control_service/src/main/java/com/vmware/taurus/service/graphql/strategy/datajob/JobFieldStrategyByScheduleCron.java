@@ -9,10 +9,16 @@ import com.vmware.taurus.service.graphql.model.Criteria;
 import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
 import com.vmware.taurus.service.graphql.model.Filter;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
+import com.vmware.taurus.service.model.JobConfig_;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
@@ -38,4 +44,21 @@ public class JobFieldStrategyByScheduleCron extends FieldStrategy<V2DataJob> {
             && StringUtils.containsIgnoreCase(
                 dataJob.getConfig().getSchedule().getScheduleCron(), searchStr);
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of(
+        containsIgnoreCase(
+            root -> root.get(DataJob_.jobConfig).get(JobConfig_.schedule), searchStr));
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(Sort.unsorted());
+  }
 }
@@ -11,11 +11,15 @@ import com.vmware.taurus.service.graphql.model.V2DataJobConfig;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
 import com.vmware.taurus.service.graphql.model.Filter;
 import com.vmware.taurus.service.upload.GitWrapper;
+import com.vmware.taurus.service.model.DataJob;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @Component
@@ -71,4 +75,19 @@ public class JobFieldStrategyBySourceUrl extends FieldStrategy<V2DataJob> {
     config.setSourceUrl(sourceUrl);
     dataJob.setConfig(config);
   }
+
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    return Optional.of(Specification.where(null));
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of((root, query, builder) -> builder.disjunction());
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(Sort.unsorted());
+  }
 }
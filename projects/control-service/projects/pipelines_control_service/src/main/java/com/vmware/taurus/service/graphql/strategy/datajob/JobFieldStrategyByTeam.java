@@ -10,12 +10,21 @@ import com.vmware.taurus.service.graphql.model.V2DataJob;
 import com.vmware.taurus.service.graphql.model.V2DataJobConfig;
 import com.vmware.taurus.service.graphql.strategy.FieldStrategy;
 import com.vmware.taurus.service.graphql.model.Filter;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJob_;
+import com.vmware.taurus.service.model.JobConfig_;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
 public class JobFieldStrategyByTeam extends FieldStrategy<V2DataJob> {
@@ -30,6 +39,8 @@ public class JobFieldStrategyByTeam extends FieldStrategy<V2DataJob> {
     Predicate<V2DataJob> predicate = criteria.getPredicate();
 
     if (filterProvided(filter)) {
+      String part = filter.getPattern().trim().toLowerCase();
+      Pattern pattern = toTeamPattern(part);
       predicate =
           predicate.and(
               dataJob -> {
@@ -38,20 +49,28 @@ public class JobFieldStrategyByTeam extends FieldStrategy<V2DataJob> {
                   return false;
                 }
 
-                // Only the team field currently support the 'equals' and 'like' operator
-                String part = filter.getPattern();
-                part = part.replace("%", ".*").trim();
                 var configTeamLower = config.getTeam().toLowerCase();
-                var partLower = part.toLowerCase();
-
-                return configTeamLower.matches(partLower)
-                    || configTeamLower.trim().equals(partLower.trim());
+                return pattern.matcher(configTeamLower).matches()
+                    || configTeamLower.trim().equals(part);
               });
     }
 
     return new Criteria<>(predicate, detectSortingComparator(filter, COMPARATOR_DEFAULT, criteria));
   }
 
+  /**
+   * Only the team field currently supports the 'equals' and 'like' operators. The team matches the
+   * pattern case-insensitively, as the SQL LIKE operator does, with '%' matching any sequence of
+   * characters and all the other characters matched literally.
+   */
+  private static Pattern toTeamPattern(String part) {
+    return Pattern.compile(
+        Arrays.stream(part.split("%", -1))
+            .map(literal -> literal.isEmpty() ? "" : Pattern.quote(literal))
+            .collect(Collectors.joining(".*")),
+        Pattern.DOTALL);
+  }
+
   @Override
   public Predicate<V2DataJob> computeSearchCriteria(@NonNull String searchStr) {
     return dataJob ->
@@ -63,4 +82,36 @@ public class JobFieldStrategyByTeam extends FieldStrategy<V2DataJob> {
   public JobFieldStrategyBy getStrategyName() {
     return JobFieldStrategyBy.TEAM;
   }
+
+  /** Matches the team the same way as the in-memory filter of {@link #computeFilterCriteria}. */
+  @Override
+  public Optional<Specification<DataJob>> computeFilterSpecification(@NonNull Filter filter) {
+    if (!filterProvided(filter)) {
+      return Optional.of(Specification.where(null));
+    }
+
+    String part = filter.getPattern().trim().toLowerCase();
+    String likePattern =
+        Arrays.stream(part.split("%", -1))
+            .map(FieldStrategy::escapeLikePattern)
+            .collect(Collectors.joining("%"));
+    return Optional.of(
+        (root, query, builder) -> {
+          var team = builder.lower(root.get(DataJob_.jobConfig).get(JobConfig_.team));
+          return builder.or(
+              builder.like(team, likePattern, LIKE_ESCAPE_CHAR),
+              builder.equal(builder.trim(team), part));
+        });
+  }
+
+  @Override
+  public Optional<Specification<DataJob>> computeSearchSpecification(@NonNull String searchStr) {
+    return Optional.of(
+        containsIgnoreCase(root -> root.get(DataJob_.jobConfig).get(JobConfig_.team), searchStr));
+  }
+
+  @Override
+  public Optional<Sort> computeSort(@NonNull Filter filter) {
+    return Optional.of(sortBy(filter, DataJob_.JOB_CONFIG + "." + JobConfig_.TEAM, false));
+  }
 }
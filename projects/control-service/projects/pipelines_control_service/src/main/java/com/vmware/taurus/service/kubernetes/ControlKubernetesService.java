@@ -25,4 +25,13 @@ public class ControlKubernetesService extends KubernetesService {
       @Value("${datajobs.control.k8s.k8sSupportsV1CronJob}") boolean k8sSupportsV1CronJob) {
     super(namespace, kubeconfig, k8sSupportsV1CronJob, log);
   }
+
+  /**
+   * The helper jobs are not cron jobs and the role of the Control Service in its namespace does not
+   * grant access to cron jobs, so they are not watched.
+   */
+  @Override
+  protected boolean getCronJobsCached() {
+    return false;
+  }
 }
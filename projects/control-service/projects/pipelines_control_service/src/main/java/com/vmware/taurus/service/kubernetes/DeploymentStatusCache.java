@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.vmware.taurus.service.model.JobDeploymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory view of the deployment statuses of all data jobs, built from their CronJobs.
+ *
+ * <p>The view is loaded once and then kept current per CronJob: the CronJobs which were changed,
+ * either by the Control Service itself or as reported by the CronJob informer, are invalidated and
+ * read again individually on the next read of the view. The whole view is loaded again when it
+ * becomes older than the configured max staleness, which bounds the effect of missed changes.
+ *
+ * <p>When the loaders fail, the view is not changed: the previous statuses are served and the
+ * failed loads are retried on the next read. The first load has no previous view to fall back to,
+ * so its failure is thrown to the caller.
+ */
+@Slf4j
+public class DeploymentStatusCache {
+
+  public static final String CACHE_HITS_COUNTER_NAME = "vdk.deployment.status.cache.hits.counter";
+  public static final String CACHE_MISSES_COUNTER_NAME =
+      "vdk.deployment.status.cache.misses.counter";
+
+  private final Supplier<List<JobDeploymentStatus>> allStatusesLoader;
+  private final Function<String, Optional<JobDeploymentStatus>> statusLoader;
+  private final long maxStalenessMillis;
+  private final Clock clock;
+  private final Counter hitsCounter;
+  private final Counter missesCounter;
+
+  // The deployment statuses by CronJob name.
+  private final Map<String, JobDeploymentStatus> statuses = new ConcurrentHashMap<>();
+  private final Set<String> invalidatedCronJobNames = ConcurrentHashMap.newKeySet();
+  private volatile long loadedAtMillis = -1;
+
+  /**
+   * @param allStatusesLoader loads the deployment statuses of all CronJobs, throws if it cannot
+   * @param statusLoader loads the deployment status of a CronJob by its name, empty if the CronJob
+   *     does not exist, throws if it cannot be read
+   * @param maxStalenessMillis the maximum age of the view before it is loaded again, 0 to load it
+   *     on every read
+   * @param clock the clock used to measure the age of the view
+   * @param meterRegistry the registry of the hit and miss counters, can be null
+   * @param cacheName the name of the cache, used as a tag of its metrics
+   */
+  public DeploymentStatusCache(
+      Supplier<List<JobDeploymentStatus>> allStatusesLoader,
+      Function<String, Optional<JobDeploymentStatus>> statusLoader,
+      long maxStalenessMillis,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      String cacheName) {
+    this.allStatusesLoader = allStatusesLoader;
+    this.statusLoader = statusLoader;
+    this.maxStalenessMillis = maxStalenessMillis;
+    this.clock = clock;
+    this.hitsCounter =
+        meterRegistry == null
+            ? null
+            : Counter.builder(CACHE_HITS_COUNTER_NAME)
+                .description("Counts the reads of the deployment statuses served from memory.")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    this.missesCounter =
+        meterRegistry == null
+            ? null
+            : Counter.builder(CACHE_MISSES_COUNTER_NAME)
+                .description(
+                    "Counts the reads of the deployment statuses which loaded all CronJobs.")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+  }
+
+  /**
+   * Returns the deployment statuses of all data jobs.
+   *
+   * @throws RuntimeException thrown by the loader, if the statuses were never loaded
+   */
+  public List<JobDeploymentStatus> getAll() {
+    if (isStale()) {
+      synchronized (this) {
+        if (isStale()) {
+          try {
+            load();
+            increment(missesCounter);
+            return new ArrayList<>(statuses.values());
+          } catch (RuntimeException e) {
+            if (loadedAtMillis < 0) {
+              throw e;
+            }
+            log.warn("Could not load the deployment statuses, the previous ones are used", e);
+          }
+        }
+      }
+    }
+
+    refreshInvalidated();
+    increment(hitsCounter);
+    return new ArrayList<>(statuses.values());
+  }
+
+  /**
+   * Marks the deployment status of a CronJob as changed, so it is read again on the next read of
+   * the view.
+   */
+  public void invalidate(String cronJobName) {
+    if (cronJobName != null) {
+      invalidatedCronJobNames.add(cronJobName);
+    }
+  }
+
+  private boolean isStale() {
+    return loadedAtMillis < 0 || clock.millis() - loadedAtMillis >= maxStalenessMillis;
+  }
+
+  private void load() {
+    long loadStartMillis = clock.millis();
+    // Changes which arrive during the load are kept and applied on the next read.
+    Set<String> invalidatedBeforeLoad = new HashSet<>(invalidatedCronJobNames);
+    invalidatedCronJobNames.removeAll(invalidatedBeforeLoad);
+    List<JobDeploymentStatus> allStatuses;
+    try {
+      allStatuses = allStatusesLoader.get();
+    } catch (RuntimeException e) {
+      invalidatedCronJobNames.addAll(invalidatedBeforeLoad);
+      throw e;
+    }
+    Map<String, JobDeploymentStatus> loadedStatuses = new ConcurrentHashMap<>();
+    allStatuses.forEach(status -> loadedStatuses.put(status.getCronJobName(), status));
+    statuses.keySet().retainAll(loadedStatuses.keySet());
+    statuses.putAll(loadedStatuses);
+    loadedAtMillis = loadStartMillis;
+    log.debug("Loaded {} deployment statuses", statuses.size());
+  }
+
+  private void refreshInvalidated() {
+    List<String> failedCronJobNames = new ArrayList<>();
+    for (String cronJobName : invalidatedCronJobNames) {
+      if (invalidatedCronJobNames.remove(cronJobName)) {
+        try {
+          statusLoader
+              .apply(cronJobName)
+              .ifPresentOrElse(
+                  status -> statuses.put(cronJobName, status), () -> statuses.remove(cronJobName));
+        } catch (RuntimeException e) {
+          log.warn(
+              "Could not load the deployment status of {}, it will be retried", cronJobName, e);
+          failedCronJobNames.add(cronJobName);
+        }
+      }
+    }
+    invalidatedCronJobNames.addAll(failedCronJobNames);
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+}
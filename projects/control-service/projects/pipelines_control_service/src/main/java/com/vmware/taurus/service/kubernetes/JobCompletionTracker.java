@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.vmware.taurus.service.KubernetesService.JobStatusCondition;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Completes the futures of callers waiting for Kubernetes jobs to finish or to be deleted, so that
+ * the callers do not need to hold a thread while waiting.
+ *
+ * <p>The futures are completed by the events of the shared jobs informer, see {@link
+ * KubernetesInformerCache#addJobEventHandler(ResourceEventHandler)}. In addition, while there are
+ * pending futures, all jobs are listed once per poll period in order to complete the futures when
+ * the informers are disabled or have missed an event. A single list serves all pending futures.
+ *
+ * <p>The futures are completed by the informer or the poll thread, dependent actions which call
+ * Kubernetes should run asynchronously on an executor of their own.
+ */
+@Slf4j
+public class JobCompletionTracker implements ResourceEventHandler<V1Job> {
+
+  public static final String PENDING_GAUGE_NAME = "vdk.k8s.job.completion.pending";
+
+  static final JobStatusCondition TIMED_OUT_CONDITION =
+      new JobStatusCondition(false, null, "Cannot determine job status", "", 0);
+  static final JobStatusCondition DELETED_CONDITION =
+      new JobStatusCondition(false, null, "Job was deleted before it finished", "", 0);
+
+  private final Callable<List<V1Job>> jobsLister;
+  private final Function<V1Job, JobStatusCondition> conditionReader;
+  private final ScheduledExecutorService pollExecutor;
+
+  private final Map<String, PendingCompletion> completions = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Boolean>> deletions = new ConcurrentHashMap<>();
+
+  /**
+   * @param jobsLister lists all jobs of the namespace
+   * @param conditionReader returns the final condition of a job, or null if it has not finished
+   * @param pollPeriodMillis the period of listing the jobs while there are pending futures, 0 to
+   *     list them only when a future is created
+   * @param meterRegistry the registry used to publish the pending futures, may be null
+   * @param serviceName the name used to tag the metrics
+   */
+  public JobCompletionTracker(
+      Callable<List<V1Job>> jobsLister,
+      Function<V1Job, JobStatusCondition> conditionReader,
+      long pollPeriodMillis,
+      MeterRegistry meterRegistry,
+      String serviceName) {
+    this.jobsLister = jobsLister;
+    this.conditionReader = conditionReader;
+    this.pollExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("job-completion-poll-%d")
+                .setDaemon(true)
+                .build());
+    if (pollPeriodMillis > 0) {
+      this.pollExecutor.scheduleWithFixedDelay(
+          this::poll, pollPeriodMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    if (meterRegistry != null) {
+      Gauge.builder(PENDING_GAUGE_NAME, this, JobCompletionTracker::getPendingCount)
+          .description("The number of waits for Kubernetes jobs to finish or to be deleted.")
+          .tag("service", serviceName)
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Returns a future which completes with the final condition of the job once it finishes. If the
+   * job is deleted before it finishes or the timeout passes, the future completes with an
+   * unsuccessful condition. Callers waiting for the same job share the future and its timeout.
+   */
+  public CompletableFuture<JobStatusCondition> awaitCompletion(
+      String jobName, long timeoutSeconds) {
+    PendingCompletion pending =
+        completions.computeIfAbsent(
+            jobName,
+            name -> {
+              var created = new PendingCompletion();
+              created.future.completeOnTimeout(
+                  TIMED_OUT_CONDITION, timeoutSeconds, TimeUnit.SECONDS);
+              created.future.whenComplete((condition, e) -> completions.remove(name, created));
+              return created;
+            });
+    pollExecutor.execute(this::poll);
+    return pending.future;
+  }
+
+  /**
+   * Returns a future which completes with true once the job does not exist anymore, or with false
+   * if the timeout passes first. Callers waiting for the same job share the future and its timeout.
+   */
+  public CompletableFuture<Boolean> awaitDeletion(String jobName, long timeoutSeconds) {
+    CompletableFuture<Boolean> future =
+        deletions.computeIfAbsent(
+            jobName,
+            name -> {
+              var created = new CompletableFuture<Boolean>();
+              created.completeOnTimeout(false, timeoutSeconds, TimeUnit.SECONDS);
+              created.whenComplete((deleted, e) -> deletions.remove(name, created));
+              return created;
+            });
+    pollExecutor.execute(this::poll);
+    return future;
+  }
+
+  public void stop() {
+    pollExecutor.shutdownNow();
+    completions.values().forEach(pending -> pending.future.cancel(false));
+    deletions.values().forEach(future -> future.cancel(false));
+  }
+
+  @Override
+  public void onAdd(V1Job job) {
+    onJob(job);
+  }
+
+  @Override
+  public void onUpdate(V1Job oldJob, V1Job newJob) {
+    onJob(newJob);
+  }
+
+  @Override
+  public void onDelete(V1Job job, boolean deletedFinalStateUnknown) {
+    onDeleted(job.getMetadata().getName());
+  }
+
+  int getPendingCount() {
+    return completions.size() + deletions.size();
+  }
+
+  void poll() {
+    if (completions.isEmpty() && deletions.isEmpty()) {
+      return;
+    }
+    Map<String, V1Job> jobsByName = new HashMap<>();
+    try {
+      jobsLister.call().forEach(job -> jobsByName.put(job.getMetadata().getName(), job));
+    } catch (Exception e) {
+      log.warn("Failed to list the jobs, will try again in the next poll", e);
+      return;
+    }
+    completions.forEach(
+        (jobName, pending) -> {
+          V1Job job = jobsByName.get(jobName);
+          if (job != null) {
+            onJob(job);
+          } else if (pending.seen) {
+            onDeleted(jobName);
+          }
+        });
+    deletions.forEach(
+        (jobName, future) -> {
+          if (!jobsByName.containsKey(jobName)) {
+            future.complete(true);
+          }
+        });
+  }
+
+  private void onJob(V1Job job) {
+    PendingCompletion pending = completions.get(job.getMetadata().getName());
+    if (pending == null) {
+      return;
+    }
+    pending.seen = true;
+    JobStatusCondition condition = conditionReader.apply(job);
+    if (condition != null) {
+      log.debug("Job {} finished with condition {}", job.getMetadata().getName(), condition);
+      pending.future.complete(condition);
+    }
+  }
+
+  private void onDeleted(String jobName) {
+    PendingCompletion pending = completions.get(jobName);
+    if (pending != null && pending.seen) {
+      log.debug("Job {} was deleted before it finished", jobName);
+      pending.future.complete(DELETED_CONDITION);
+    }
+    CompletableFuture<Boolean> deletion = deletions.get(jobName);
+    if (deletion != null) {
+      deletion.complete(true);
+    }
+  }
+
+  private static class PendingCompletion {
+
+    private final CompletableFuture<JobStatusCondition> future = new CompletableFuture<>();
+
+    // Whether the job has been seen, a job which is not seen yet may just not be listed yet.
+    private volatile boolean seen;
+  }
+}
@@ -0,0 +1,558 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.google.gson.reflect.TypeToken;
+import com.vmware.taurus.service.model.JobLabel;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.BatchV1beta1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1CronJob;
+import io.kubernetes.client.openapi.models.V1CronJobList;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1beta1CronJob;
+import io.kubernetes.client.openapi.models.V1beta1CronJobList;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory cache of the Jobs, Pods and CronJobs of a single Kubernetes namespace, kept up to
+ * date by shared informers.
+ *
+ * <p>Each informer performs a single list of its resource type and then watches for changes,
+ * resuming from the last seen resourceVersion when the watch is re-established. A new full list
+ * (relist) is only issued when the API server can no longer serve the watch from that
+ * resourceVersion. Jobs are indexed by the data job name label and Pods by the {@code job-name}
+ * label, so that lookups done by the {@link com.vmware.taurus.service.KubernetesService} become
+ * in-memory operations instead of API server round trips.
+ *
+ * <p>Callers must check {@link #hasSynced()} before reading and fall back to the API server while
+ * the cache is still being populated. The CronJobs are only cached if requested, callers must also
+ * check {@link #hasCronJobs()} before reading them.
+ */
+@Slf4j
+public class KubernetesInformerCache {
+
+  public static final String INFORMER_RELISTS_COUNTER_NAME = "vdk.k8s.informer.relists.counter";
+  public static final String INFORMER_STALENESS_GAUGE_NAME = "vdk.k8s.informer.staleness.seconds";
+
+  static final String JOB_NAME_LABEL = "job-name";
+  static final String DATA_JOB_NAME_INDEX = "data-job-name";
+  static final String JOB_NAME_INDEX = "job-name";
+
+  private final SharedInformerFactory informerFactory;
+  private final SharedIndexInformer<V1Job> jobInformer;
+  private final SharedIndexInformer<V1Pod> podInformer;
+  private final SharedIndexInformer<V1CronJob> v1CronJobInformer;
+  private final SharedIndexInformer<V1beta1CronJob> v1beta1CronJobInformer;
+  private final String namespace;
+
+  /**
+   * @param client the client used by the informers
+   * @param namespace the namespace whose resources are cached
+   * @param cronJobsCached whether to cache the CronJobs, which only the namespace of the data job
+   *     deployments has
+   * @param k8sSupportsV1CronJob whether to cache V1 (true) or V1beta1 (false) CronJobs
+   * @param resyncPeriodMillis the period of the informer resync, 0 to disable
+   * @param meterRegistry the registry used to publish the cache metrics, may be null
+   * @param cacheName the name used to tag the cache metrics
+   */
+  public KubernetesInformerCache(
+      ApiClient client,
+      String namespace,
+      boolean cronJobsCached,
+      boolean k8sSupportsV1CronJob,
+      long resyncPeriodMillis,
+      MeterRegistry meterRegistry,
+      String cacheName) {
+    this(
+        new SharedInformerFactory(client),
+        namespace,
+        jobListerWatcher(client, namespace),
+        podListerWatcher(client, namespace),
+        cronJobsCached && k8sSupportsV1CronJob ? v1CronJobListerWatcher(client, namespace) : null,
+        cronJobsCached && !k8sSupportsV1CronJob
+            ? v1beta1CronJobListerWatcher(client, namespace)
+            : null,
+        resyncPeriodMillis,
+        meterRegistry,
+        cacheName);
+  }
+
+  KubernetesInformerCache(
+      SharedInformerFactory informerFactory,
+      String namespace,
+      ListerWatcher<V1Job, V1JobList> jobListerWatcher,
+      ListerWatcher<V1Pod, V1PodList> podListerWatcher,
+      ListerWatcher<V1CronJob, V1CronJobList> v1CronJobListerWatcher,
+      ListerWatcher<V1beta1CronJob, V1beta1CronJobList> v1beta1CronJobListerWatcher,
+      long resyncPeriodMillis,
+      MeterRegistry meterRegistry,
+      String cacheName) {
+    this.informerFactory = informerFactory;
+    this.namespace = namespace;
+
+    this.jobInformer =
+        informerFactory.sharedIndexInformerFor(
+            new TrackedListerWatcher<>(jobListerWatcher, "jobs", meterRegistry, cacheName),
+            V1Job.class,
+            resyncPeriodMillis,
+            KubernetesInformerCache::logInformerException);
+    this.jobInformer.addIndexers(
+        Map.of(DATA_JOB_NAME_INDEX, job -> labelValue(job, JobLabel.NAME.getValue())));
+
+    this.podInformer =
+        informerFactory.sharedIndexInformerFor(
+            new TrackedListerWatcher<>(podListerWatcher, "pods", meterRegistry, cacheName),
+            V1Pod.class,
+            resyncPeriodMillis,
+            KubernetesInformerCache::logInformerException);
+    this.podInformer.addIndexers(Map.of(JOB_NAME_INDEX, pod -> labelValue(pod, JOB_NAME_LABEL)));
+
+    this.v1CronJobInformer =
+        v1CronJobListerWatcher == null
+            ? null
+            : informerFactory.sharedIndexInformerFor(
+                new TrackedListerWatcher<>(
+                    v1CronJobListerWatcher, "cronjobs", meterRegistry, cacheName),
+                V1CronJob.class,
+                resyncPeriodMillis,
+                KubernetesInformerCache::logInformerException);
+    this.v1beta1CronJobInformer =
+        v1beta1CronJobListerWatcher == null
+            ? null
+            : informerFactory.sharedIndexInformerFor(
+                new TrackedListerWatcher<>(
+                    v1beta1CronJobListerWatcher, "cronjobs", meterRegistry, cacheName),
+                V1beta1CronJob.class,
+                resyncPeriodMillis,
+                KubernetesInformerCache::logInformerException);
+  }
+
+  public void start() {
+    log.info("Starting Kubernetes informers for namespace {}", namespace);
+    informerFactory.startAllRegisteredInformers();
+  }
+
+  public void stop() {
+    log.info("Stopping Kubernetes informers for namespace {}", namespace);
+    informerFactory.stopAllRegisteredInformers();
+  }
+
+  /** Returns true once all informers have completed their initial list. */
+  public boolean hasSynced() {
+    return jobInformer.hasSynced()
+        && podInformer.hasSynced()
+        && (v1CronJobInformer == null || v1CronJobInformer.hasSynced())
+        && (v1beta1CronJobInformer == null || v1beta1CronJobInformer.hasSynced());
+  }
+
+  /** Returns true if the CronJobs are cached, otherwise they must be read from the API server. */
+  public boolean hasCronJobs() {
+    return v1CronJobInformer != null || v1beta1CronJobInformer != null;
+  }
+
+  /** Returns the resourceVersion of the jobs informer's last list or watch event. */
+  public String getJobsResourceVersion() {
+    return jobInformer.lastSyncResourceVersion();
+  }
+
+  public List<V1Job> listJobs() {
+    return jobInformer.getIndexer().list();
+  }
+
+  public List<V1Job> listJobsByDataJobName(String dataJobName) {
+    return jobInformer.getIndexer().byIndex(DATA_JOB_NAME_INDEX, dataJobName);
+  }
+
+  public Optional<V1Job> getJob(String jobName) {
+    return getByName(jobInformer.getIndexer(), jobName);
+  }
+
+  public List<V1Pod> listJobPods(String jobName) {
+    return podInformer.getIndexer().byIndex(JOB_NAME_INDEX, jobName);
+  }
+
+  public List<V1CronJob> listV1CronJobs() {
+    return v1CronJobInformer == null
+        ? Collections.emptyList()
+        : v1CronJobInformer.getIndexer().list();
+  }
+
+  public Optional<V1CronJob> getV1CronJob(String cronJobName) {
+    return v1CronJobInformer == null
+        ? Optional.empty()
+        : getByName(v1CronJobInformer.getIndexer(), cronJobName);
+  }
+
+  public List<V1beta1CronJob> listV1beta1CronJobs() {
+    return v1beta1CronJobInformer == null
+        ? Collections.emptyList()
+        : v1beta1CronJobInformer.getIndexer().list();
+  }
+
+  public Optional<V1beta1CronJob> getV1beta1CronJob(String cronJobName) {
+    return v1beta1CronJobInformer == null
+        ? Optional.empty()
+        : getByName(v1beta1CronJobInformer.getIndexer(), cronJobName);
+  }
+
+  /**
+   * Registers a listener which is called with the name of every CronJob which is added, updated or
+   * deleted, including the CronJobs of the initial list.
+   */
+  public void addCronJobChangeListener(Consumer<String> listener) {
+    if (v1CronJobInformer != null) {
+      v1CronJobInformer.addEventHandler(new NameChangeHandler<>(listener));
+    }
+    if (v1beta1CronJobInformer != null) {
+      v1beta1CronJobInformer.addEventHandler(new NameChangeHandler<>(listener));
+    }
+  }
+
+  /**
+   * Registers a handler of the events of the jobs informer. The handler is called on the informer
+   * thread and must not block.
+   */
+  public void addJobEventHandler(ResourceEventHandler<V1Job> handler) {
+    jobInformer.addEventHandler(handler);
+  }
+
+  private <T> Optional<T> getByName(Indexer<T> indexer, String name) {
+    return Optional.ofNullable(indexer.getByKey(namespace + "/" + name));
+  }
+
+  private static List<String> labelValue(KubernetesObject object, String label) {
+    return Optional.ofNullable(object.getMetadata().getLabels())
+        .map(labels -> labels.get(label))
+        .map(List::of)
+        .orElse(Collections.emptyList());
+  }
+
+  private static <T> void logInformerException(Class<T> type, Throwable t) {
+    log.warn("Kubernetes informer for {} failed, it will be restarted", type.getSimpleName(), t);
+  }
+
+  private static ListerWatcher<V1Job, V1JobList> jobListerWatcher(
+      ApiClient client, String namespace) {
+    var api = new BatchV1Api(client);
+    return new ListerWatcher<>() {
+      @Override
+      public V1JobList list(CallGeneratorParams params) throws ApiException {
+        return api.listNamespacedJob(
+            namespace,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            params.resourceVersion,
+            null,
+            params.timeoutSeconds,
+            false);
+      }
+
+      @Override
+      public Watchable<V1Job> watch(CallGeneratorParams params) throws ApiException {
+        Call call =
+            api.listNamespacedJobCall(
+                namespace,
+                null,
+                true,
+                null,
+                null,
+                null,
+                null,
+                params.resourceVersion,
+                null,
+                params.timeoutSeconds,
+                true,
+                null);
+        return Watch.createWatch(client, call, new TypeToken<Watch.Response<V1Job>>() {}.getType());
+      }
+    };
+  }
+
+  private static ListerWatcher<V1Pod, V1PodList> podListerWatcher(
+      ApiClient client, String namespace) {
+    // Only the pods created by a job are of interest.
+    var api = new CoreV1Api(client);
+    return new ListerWatcher<>() {
+      @Override
+      public V1PodList list(CallGeneratorParams params) throws ApiException {
+        return api.listNamespacedPod(
+            namespace,
+            null,
+            null,
+            null,
+            null,
+            JOB_NAME_LABEL,
+            null,
+            params.resourceVersion,
+            null,
+            params.timeoutSeconds,
+            false);
+      }
+
+      @Override
+      public Watchable<V1Pod> watch(CallGeneratorParams params) throws ApiException {
+        Call call =
+            api.listNamespacedPodCall(
+                namespace,
+                null,
+                true,
+                null,
+                null,
+                JOB_NAME_LABEL,
+                null,
+                params.resourceVersion,
+                null,
+                params.timeoutSeconds,
+                true,
+                null);
+        return Watch.createWatch(client, call, new TypeToken<Watch.Response<V1Pod>>() {}.getType());
+      }
+    };
+  }
+
+  private static ListerWatcher<V1CronJob, V1CronJobList> v1CronJobListerWatcher(
+      ApiClient client, String namespace) {
+    var api = new BatchV1Api(client);
+    return new ListerWatcher<>() {
+      @Override
+      public V1CronJobList list(CallGeneratorParams params) throws ApiException {
+        return api.listNamespacedCronJob(
+            namespace,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            params.resourceVersion,
+            null,
+            params.timeoutSeconds,
+            false);
+      }
+
+      @Override
+      public Watchable<V1CronJob> watch(CallGeneratorParams params) throws ApiException {
+        Call call =
+            api.listNamespacedCronJobCall(
+                namespace,
+                null,
+                true,
+                null,
+                null,
+                null,
+                null,
+                params.resourceVersion,
+                null,
+                params.timeoutSeconds,
+                true,
+                null);
+        return Watch.createWatch(
+            client, call, new TypeToken<Watch.Response<V1CronJob>>() {}.getType());
+      }
+    };
+  }
+
+  private static ListerWatcher<V1beta1CronJob, V1beta1CronJobList> v1beta1CronJobListerWatcher(
+      ApiClient client, String namespace) {
+    var api = new BatchV1beta1Api(client);
+    return new ListerWatcher<>() {
+      @Override
+      public V1beta1CronJobList list(CallGeneratorParams params) throws ApiException {
+        return api.listNamespacedCronJob(
+            namespace,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            params.resourceVersion,
+            null,
+            params.timeoutSeconds,
+            false);
+      }
+
+      @Override
+      public Watchable<V1beta1CronJob> watch(CallGeneratorParams params) throws ApiException {
+        Call call =
+            api.listNamespacedCronJobCall(
+                namespace,
+                null,
+                true,
+                null,
+                null,
+                null,
+                null,
+                params.resourceVersion,
+                null,
+                params.timeoutSeconds,
+                true,
+                null);
+        return Watch.createWatch(
+            client, call, new TypeToken<Watch.Response<V1beta1CronJob>>() {}.getType());
+      }
+    };
+  }
+
+  /** Passes the name of each changed object to a listener. */
+  private static class NameChangeHandler<T extends KubernetesObject>
+      implements ResourceEventHandler<T> {
+
+    private final Consumer<String> listener;
+
+    NameChangeHandler(Consumer<String> listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onAdd(T obj) {
+      listener.accept(obj.getMetadata().getName());
+    }
+
+    @Override
+    public void onUpdate(T oldObj, T newObj) {
+      listener.accept(newObj.getMetadata().getName());
+    }
+
+    @Override
+    public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+      listener.accept(obj.getMetadata().getName());
+    }
+  }
+
+  /**
+   * Decorates a {@link ListerWatcher} in order to count the relists and to track the time of the
+   * last successful interaction with the API server, which is published as the cache staleness.
+   */
+  static class TrackedListerWatcher<T extends KubernetesObject, L extends KubernetesListObject>
+      implements ListerWatcher<T, L> {
+
+    private final ListerWatcher<T, L> delegate;
+    private final AtomicLong lastActivityMillis = new AtomicLong(System.currentTimeMillis());
+    private final Counter relistsCounter;
+
+    TrackedListerWatcher(
+        ListerWatcher<T, L> delegate,
+        String resource,
+        MeterRegistry meterRegistry,
+        String cacheName) {
+      this.delegate = delegate;
+      if (meterRegistry != null) {
+        this.relistsCounter =
+            Counter.builder(INFORMER_RELISTS_COUNTER_NAME)
+                .description(
+                    "Counts the number of times a Kubernetes informer had to list all resources.")
+                .tag("resource", resource)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder(
+                INFORMER_STALENESS_GAUGE_NAME,
+                lastActivityMillis,
+                millis ->
+                    TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - millis.get()))
+            .description(
+                "Seconds since a Kubernetes informer last received data from the API server.")
+            .tag("resource", resource)
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+      } else {
+        this.relistsCounter = null;
+      }
+    }
+
+    @Override
+    public L list(CallGeneratorParams params) throws ApiException {
+      if (relistsCounter != null) {
+        relistsCounter.increment();
+      }
+      L result = delegate.list(params);
+      touch();
+      return result;
+    }
+
+    @Override
+    public Watchable<T> watch(CallGeneratorParams params) throws ApiException {
+      Watchable<T> watchable = delegate.watch(params);
+      touch();
+      return new TrackedWatchable<>(watchable, this::touch);
+    }
+
+    long getLastActivityMillis() {
+      return lastActivityMillis.get();
+    }
+
+    private void touch() {
+      lastActivityMillis.set(System.currentTimeMillis());
+    }
+  }
+
+  private static class TrackedWatchable<T> implements Watchable<T> {
+
+    private final Watchable<T> delegate;
+    private final Runnable onEvent;
+
+    TrackedWatchable(Watchable<T> delegate, Runnable onEvent) {
+      this.delegate = delegate;
+      this.onEvent = onEvent;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public Watch.Response<T> next() {
+      Watch.Response<T> response = delegate.next();
+      onEvent.run();
+      return response;
+    }
+
+    @Override
+    public Iterator<Watch.Response<T>> iterator() {
+      return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
@@ -54,6 +54,15 @@ public class DataJob {
   @Column(name = "last_execution_duration")
   private Integer lastExecutionDuration;
 
+  /**
+   * The time of the last change of the data job, used to find the data jobs changed since a given
+   * time (see {@link com.vmware.taurus.service.monitoring.DataJobMonitorSync}). It is set when the
+   * entity is saved and by the bulk updates of {@link com.vmware.taurus.service.JobsRepository}.
+   */
+  @Column(name = "updated_at")
+  @EqualsAndHashCode.Exclude
+  private OffsetDateTime updatedAt;
+
   public DataJob(String name, JobConfig jobConfig) {
     this.name = name;
     this.jobConfig = jobConfig;
@@ -62,7 +71,7 @@ public class DataJob {
   }
 
   public DataJob(String name, JobConfig jobConfig, DeploymentStatus deploymentStatus) {
-    this(name, jobConfig, deploymentStatus, null, null, null, true, null, null, null);
+    this(name, jobConfig, deploymentStatus, null, null, null, true, null, null, null, null);
   }
 
   public DataJob(
@@ -81,6 +90,13 @@ public class DataJob {
         true,
         null,
         null,
+        null,
         null);
   }
+
+  @PrePersist
+  @PreUpdate
+  void touchUpdatedAt() {
+    this.updatedAt = OffsetDateTime.now();
+  }
 }
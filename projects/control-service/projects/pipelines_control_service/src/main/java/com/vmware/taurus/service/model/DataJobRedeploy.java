@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import java.time.OffsetDateTime;
+
+/**
+ * The progress of the redeployment of a single data job, as part of a bulk redeployment of all
+ * deployed data jobs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder(toBuilder = true)
+@Entity
+public class DataJobRedeploy {
+
+  public enum Status {
+    QUEUED,
+    BUILDING,
+    SCHEDULING,
+    SUCCEEDED,
+    FAILED,
+    /** Skipped because another redeployment of the data job was still in progress. */
+    SKIPPED
+  }
+
+  @Id private String id;
+
+  /** The id of the bulk redeployment, shared by all of its data jobs. */
+  @Column(nullable = false)
+  private String redeployId;
+
+  @Column(nullable = false)
+  private String jobName;
+
+  /** The VDK version to deploy with, or null to keep the current one. */
+  private String vdkVersion;
+
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private Status status;
+
+  private String message;
+
+  @Column(nullable = false)
+  private OffsetDateTime queuedAt;
+
+  private OffsetDateTime startedAt;
+
+  private OffsetDateTime finishedAt;
+
+  /** The id of the service instance which runs the redeployment, its host name and a random id. */
+  private String owner;
+
+  /** The last time the service instance which runs the redeployment reported it as running. */
+  private OffsetDateTime heartbeatAt;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * The position reached by a Kubernetes watch. It is shared by all instances of the service so that
+ * the instance which next acquires the watch lock can resume from where the previous one stopped.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+public class WatchBookmark {
+
+  @Id private String name;
+
+  /** The last resource version processed, or null if the resources must be listed again. */
+  @Column(name = "resource_version")
+  private String resourceVersion;
+
+  /** The time of the last completed watch, expressed in millis since Epoch. */
+  @Column(name = "last_watch_time", nullable = false)
+  private long lastWatchTime;
+}
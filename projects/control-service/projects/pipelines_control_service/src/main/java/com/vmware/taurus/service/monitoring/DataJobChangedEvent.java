@@ -0,0 +1,19 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import lombok.Value;
+
+/**
+ * Published when a data job is created, updated or deleted, or when its deployment or termination
+ * status changes. The gauges of the data job are updated by {@link DataJobMonitorSync}, which reads
+ * the data job again, so the event carries only its name.
+ */
+@Value
+public class DataJobChangedEvent {
+
+  String dataJobName;
+}
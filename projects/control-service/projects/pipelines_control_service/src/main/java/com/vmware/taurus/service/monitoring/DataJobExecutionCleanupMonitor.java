@@ -7,10 +7,13 @@ package com.vmware.taurus.service.monitoring;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
 public class DataJobExecutionCleanupMonitor {
@@ -21,11 +24,16 @@ public class DataJobExecutionCleanupMonitor {
       "vdk.execution.cleanup.task.datajob.failed.deletions.counter";
   public static final String CLEANUP_JOB_INVOCATIONS_COUNTER_NAME =
       "vdk.execution.cleanup.task.datajob.invocations.counter";
+  public static final String DELETED_EXECUTIONS_COUNTER_NAME =
+      "vdk.execution.cleanup.task.deleted.executions.counter";
+  public static final String CLEANUP_DURATION_TIMER_NAME = "vdk.execution.cleanup.task.duration";
 
   private final MeterRegistry meterRegistry;
   private final Counter invocationsCounter;
   private final Counter failedDeletionsCounter;
   private final Counter successfulDeletionsCounter;
+  private final Counter deletedExecutionsCounter;
+  private final Timer durationTimer;
 
   @Autowired(required = true)
   public DataJobExecutionCleanupMonitor(MeterRegistry meterRegistry) {
@@ -49,6 +57,16 @@ public class DataJobExecutionCleanupMonitor {
                 "Counts the total times the data job execution cleanup task was successful for a"
                     + " data job.")
             .register(this.meterRegistry);
+
+    deletedExecutionsCounter =
+        Counter.builder(DELETED_EXECUTIONS_COUNTER_NAME)
+            .description("Counts the data job executions deleted by the cleanup task.")
+            .register(this.meterRegistry);
+
+    durationTimer =
+        Timer.builder(CLEANUP_DURATION_TIMER_NAME)
+            .description("The time it takes the cleanup task to clean up all data jobs.")
+            .register(this.meterRegistry);
   }
 
   /**
@@ -59,21 +77,43 @@ public class DataJobExecutionCleanupMonitor {
     incrementCounter(invocationsCounter);
   }
 
-  /** Counts the number of failed data job execution deletions by the JobExecutionCleanupService */
-  public void countFailedDeletion() {
-    incrementCounter(failedDeletionsCounter);
+  /**
+   * Counts the number of data jobs whose executions were cleaned up successfully by the
+   * JobExecutionCleanupService.
+   */
+  public void countSuccessfulDeletions(int dataJobs) {
+    incrementCounter(successfulDeletionsCounter, dataJobs);
   }
 
   /**
-   * Counts the number of successful data job execution deletions by the JobExecutionCleanupService.
+   * Counts the number of data jobs whose executions the JobExecutionCleanupService failed to clean
+   * up.
    */
-  public void countSuccessfulDeletion() {
-    incrementCounter(successfulDeletionsCounter);
+  public void countFailedDeletions(int dataJobs) {
+    incrementCounter(failedDeletionsCounter, dataJobs);
+  }
+
+  /** Counts the number of data job executions deleted by the JobExecutionCleanupService. */
+  public void countDeletedExecutions(long executions) {
+    incrementCounter(deletedExecutionsCounter, executions);
+  }
+
+  /** Records the time it took the JobExecutionCleanupService to clean up all data jobs. */
+  public void recordDuration(long durationNanos) {
+    try {
+      durationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    } catch (Exception e) {
+      log.warn("Error while trying to record timer.", e);
+    }
   }
 
   private void incrementCounter(Counter counter) {
+    incrementCounter(counter, 1);
+  }
+
+  private void incrementCounter(Counter counter, double amount) {
     try {
-      counter.increment();
+      counter.increment(amount);
     } catch (Exception e) {
       log.warn("Error while trying to increment counter.", e);
     }
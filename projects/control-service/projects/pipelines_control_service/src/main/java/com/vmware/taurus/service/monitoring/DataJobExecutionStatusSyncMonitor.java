@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class DataJobExecutionStatusSyncMonitor {
+
+  public static final String RECONCILED_EXECUTIONS_SUMMARY_NAME =
+      "vdk.execution.status.sync.reconciled.executions";
+  public static final String SYNC_DURATION_TIMER_NAME = "vdk.execution.status.sync.duration";
+
+  private final DistributionSummary reconciledExecutionsSummary;
+  private final Timer durationTimer;
+
+  @Autowired(required = true)
+  public DataJobExecutionStatusSyncMonitor(MeterRegistry meterRegistry) {
+    reconciledExecutionsSummary =
+        DistributionSummary.builder(RECONCILED_EXECUTIONS_SUMMARY_NAME)
+            .description(
+                "The number of data job executions whose status was set by a synchronization with"
+                    + " the running Kubernetes jobs.")
+            .register(meterRegistry);
+
+    durationTimer =
+        Timer.builder(SYNC_DURATION_TIMER_NAME)
+            .description(
+                "The time it takes to synchronize the statuses of the data job executions with the"
+                    + " running Kubernetes jobs.")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Records the number of data job executions whose status was set by a single synchronization of
+   * the JobExecutionService.
+   */
+  public void recordReconciledExecutions(int executions) {
+    try {
+      reconciledExecutionsSummary.record(executions);
+    } catch (Exception e) {
+      log.warn("Error while trying to record distribution summary.", e);
+    }
+  }
+
+  /** Records the time it took the JobExecutionService to synchronize the execution statuses. */
+  public void recordDuration(long durationNanos) {
+    try {
+      durationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    } catch (Exception e) {
+      log.warn("Error while trying to record timer.", e);
+    }
+  }
+}
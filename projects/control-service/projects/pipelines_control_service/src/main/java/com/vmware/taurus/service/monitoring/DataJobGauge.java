@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A gauge with one row per data job, similar to {@link MultiGauge}. The rows are changed in bulk
+ * and exposed by {@link #publish()}, which registers only the rows whose tags have changed and
+ * removes the rows of the deleted data jobs. Unlike {@link MultiGauge#register}, it does not visit
+ * the rows which have not changed, so its cost does not grow with the number of data jobs.
+ *
+ * <p>Each row is an immutable pair of tags and value which is swapped atomically. The registered
+ * gauges read the current value of their row on scrape, so a change of the value alone does not
+ * touch the meter registry. The registry drops the removed gauges, so a scrape costs the same for
+ * the same number of rows however many gauges were registered and removed before it.
+ */
+class DataJobGauge {
+
+  @AllArgsConstructor
+  private static final class Row {
+    private final Tags tags;
+    private final double value;
+  }
+
+  private final String name;
+  private final String description;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Row> rows = new ConcurrentHashMap<>();
+  // A queue rather than a set: the table of a concurrent set does not shrink, so iterating an
+  // emptied set costs as much as iterating the largest batch of changes.
+  private final Queue<String> changedRows = new ConcurrentLinkedQueue<>();
+  // Guarded by this.
+  private final Map<String, Gauge> registeredGauges = new HashMap<>();
+  private final Map<String, Tags> registeredTags = new HashMap<>();
+
+  DataJobGauge(String name, String description, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.description = description;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Sets the row of the specified data job. The row is registered on the next {@link #publish()} if
+   * it is new or its tags have changed.
+   *
+   * @return true if the row is new or its tags have changed
+   */
+  boolean set(String dataJobName, Tags tags, double value) {
+    Row previous = rows.put(dataJobName, new Row(tags, value));
+    if (previous == null || !previous.tags.equals(tags)) {
+      changedRows.add(dataJobName);
+      return true;
+    }
+    return false;
+  }
+
+  /** Removes the row of the specified data job on the next {@link #publish()}. */
+  boolean remove(String dataJobName) {
+    if (rows.remove(dataJobName) != null) {
+      changedRows.add(dataJobName);
+      return true;
+    }
+    return false;
+  }
+
+  /** Removes the rows of the data jobs not present in the specified set on the next publish. */
+  void retainAll(Set<String> dataJobNames) {
+    rows.keySet().stream().filter(n -> !dataJobNames.contains(n)).forEach(this::remove);
+  }
+
+  Optional<Double> getValue(String dataJobName) {
+    return Optional.ofNullable(rows.get(dataJobName)).map(row -> row.value);
+  }
+
+  /** Registers the new and changed rows and removes the deleted rows. */
+  synchronized void publish() {
+    String dataJobName;
+    while ((dataJobName = changedRows.poll()) != null) {
+      publishRow(dataJobName);
+    }
+  }
+
+  private void publishRow(String dataJobName) {
+    Row row = rows.get(dataJobName);
+    Tags tags = registeredTags.get(dataJobName);
+    if (tags != null && (row == null || !tags.equals(row.tags))) {
+      meterRegistry.remove(registeredGauges.remove(dataJobName));
+      registeredTags.remove(dataJobName);
+    }
+    if (row != null && !registeredTags.containsKey(dataJobName)) {
+      registeredGauges.put(
+          dataJobName,
+          Gauge.builder(name, rows, r -> valueOf(r, dataJobName))
+              .tags(row.tags)
+              .description(description)
+              .strongReference(true)
+              .register(meterRegistry));
+      registeredTags.put(dataJobName, row.tags);
+    }
+  }
+
+  private static double valueOf(Map<String, Row> rows, String dataJobName) {
+    Row row = rows.get(dataJobName);
+    return row == null ? Double.NaN : row.value;
+  }
+}
@@ -7,25 +7,30 @@ package com.vmware.taurus.service.monitoring;
 
 import com.vmware.taurus.service.model.DataJob;
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.vmware.taurus.service.Utilities.join;
 
-/** This class manages data job monitoring metrics exposed by the service. */
+/**
+ * This class manages data job monitoring metrics exposed by the service.
+ *
+ * <p>The gauges have one row per data job (see {@link DataJobGauge}), so only the gauges whose tags
+ * change are registered again. The tags listed in the "datajobs.metrics.tags.excluded" property are
+ * dropped from the gauges, e.g. the "execution_id" tag of the termination status gauge, which
+ * changes with every execution, or the email tags of the info gauge.
+ */
 @Slf4j
 @Component
 public class DataJobMetrics {
@@ -47,22 +52,39 @@ public class DataJobMetrics {
   public static final Integer GAUGE_METRIC_VALUE = 1;
   public static final int DEFAULT_NOTIFICATION_DELAY_PERIOD_MINUTES = 240;
 
-  private final MeterRegistry meterRegistry;
   private final Counter watchTaskInvocationsCounter;
-  private final Map<String, Gauge> infoGauges = new ConcurrentHashMap<>();
-  private final Map<String, Gauge> delayGauges = new ConcurrentHashMap<>();
-  private final Map<String, Gauge> statusGauges = new ConcurrentHashMap<>();
-  private final Map<String, Integer> currentDelays = new ConcurrentHashMap<>();
-  private final Map<String, Integer> currentStatuses = new ConcurrentHashMap<>();
+  private final Set<String> excludedTags;
+  private final DataJobGauge infoGauge;
+  private final DataJobGauge delayGauge;
+  private final DataJobGauge statusGauge;
 
   @Autowired
-  public DataJobMetrics(MeterRegistry meterRegistry) {
-    this.meterRegistry = meterRegistry;
-
+  public DataJobMetrics(
+      MeterRegistry meterRegistry,
+      @Value("${datajobs.metrics.tags.excluded:}") Set<String> excludedTags) {
     watchTaskInvocationsCounter =
         Counter.builder(TAURUS_DATAJOB_WATCH_TASK_INVOCATIONS_COUNTER_NAME)
             .description("Counts the number of times the data jobs watching task is called.")
-            .register(this.meterRegistry);
+            .register(meterRegistry);
+
+    this.excludedTags = new HashSet<>(excludedTags);
+    if (this.excludedTags.remove(TAG_DATA_JOB)) {
+      log.warn("The {} tag identifies the data job gauges and cannot be excluded", TAG_DATA_JOB);
+    }
+    infoGauge =
+        new DataJobGauge(TAURUS_DATAJOB_INFO_METRIC_NAME, "Info about data jobs", meterRegistry);
+    delayGauge =
+        new DataJobGauge(
+            TAURUS_DATAJOB_NOTIFICATION_DELAY_METRIC_NAME,
+            "The time (in minutes) a job execution is allowed to be delayed from its schedule"
+                + " before an alert is triggered",
+            meterRegistry);
+    statusGauge =
+        new DataJobGauge(
+            TAURUS_DATAJOB_TERMINATION_STATUS_METRIC_NAME,
+            "Termination status of data job executions (0 - Success, 1 - Platform error, 3 -"
+                + " User error)",
+            meterRegistry);
   }
 
   /**
@@ -88,53 +110,75 @@ public class DataJobMetrics {
   public void updateInfoGauges(final DataJob dataJob) {
     Objects.requireNonNull(dataJob);
 
-    updateInfoGauge(dataJob);
-    updateNotificationDelayGauge(dataJob);
+    setInfoRows(dataJob);
+    publish(infoGauge, delayGauge);
   }
 
   /**
-   * Creates a "taurus.datajob.info" gauge for the specified data job if one does not exist. If a
-   * gauge already exists, but it has different tags, the existing gauge is deleted and a new one is
-   * created. If the data job does not have a configuration, no gauge is created.
+   * Creates a "taurus.datajob.termination.status" gauge for the specified data job if one does not
+   * exist. If a gauge already exists, its value is updated.
    *
    * @param dataJob The data job for which to update the gauge.
    */
-  private void updateInfoGauge(final DataJob dataJob) {
+  public void updateTerminationStatusGauge(final DataJob dataJob) {
     Objects.requireNonNull(dataJob);
 
-    try {
-      var dataJobName = dataJob.getName();
-      if (dataJob.getJobConfig() == null) {
-        log.debug("The data job {} does not have configuration", dataJobName);
-        return;
-      }
+    setTerminationStatusRow(dataJob);
+    publish(statusGauge);
+  }
 
-      var gauge = infoGauges.getOrDefault(dataJobName, null);
-      var newTags = createInfoGaugeTags(dataJob);
-      if (isGaugeChanged(gauge, newTags)) {
-        log.info("The configuration of data job {} has changed", dataJobName);
-        removeInfoGauge(dataJobName);
-      }
+  /**
+   * Updates the info, notification delay and termination status gauges of the specified data jobs
+   * and registers the changed gauges at once. The termination status gauge is updated only for the
+   * data jobs which have a termination status and an execution id.
+   *
+   * @param dataJobs The data jobs for which to update the gauges.
+   */
+  public void updateGauges(final Iterable<DataJob> dataJobs) {
+    Objects.requireNonNull(dataJobs);
+
+    dataJobs.forEach(
+        dataJob -> {
+          setInfoRows(dataJob);
+          if (dataJob.getLatestJobTerminationStatus() != null
+              && StringUtils.isNotEmpty(dataJob.getLatestJobExecutionId())) {
+            setTerminationStatusRow(dataJob);
+          }
+        });
+    publish(infoGauge, delayGauge, statusGauge);
+  }
 
-      infoGauges.computeIfAbsent(dataJobName, name -> createInfoGauge(name, newTags));
-    } catch (Exception e) {
-      log.warn(
-          "An exception occurred while updating the info gauge of data job {}",
-          dataJob.getName(),
-          e);
+  /**
+   * Removes all gauges associated with the specified data job.
+   *
+   * @param dataJobName The name of the data job for which to clear all gauges.
+   */
+  public void clearGauges(final String dataJobName) {
+    if (StringUtils.isBlank(dataJobName)) {
+      log.warn("The gauges cannot be removed: data job name is empty");
+      return;
+    }
+    if (infoGauge.remove(dataJobName)
+        | delayGauge.remove(dataJobName)
+        | statusGauge.remove(dataJobName)) {
+      log.info("The gauges for data job {} were removed", dataJobName);
     }
+    publish(infoGauge, delayGauge, statusGauge);
   }
 
   /**
-   * Creates a "taurus.datajob.notification.delay" gauge for the specified data job if one does not
-   * exist. If a gauge already exists, its value is updated. If the data job does not have a
-   * configuration, no gauge is created.
+   * Removes all gauges associated with data jobs that are not present in the specified iterable.
    *
-   * @param dataJob The data job for which to update the gauge.
+   * @param dataJobNames The names of the data jobs which will still have gauges.
    */
-  private void updateNotificationDelayGauge(final DataJob dataJob) {
-    Objects.requireNonNull(dataJob);
+  public void clearGaugesNotIn(final Set<String> dataJobNames) {
+    infoGauge.retainAll(dataJobNames);
+    delayGauge.retainAll(dataJobNames);
+    statusGauge.retainAll(dataJobNames);
+    publish(infoGauge, delayGauge, statusGauge);
+  }
 
+  private void setInfoRows(final DataJob dataJob) {
     try {
       var dataJobName = dataJob.getName();
       if (dataJob.getJobConfig() == null) {
@@ -142,43 +186,30 @@ public class DataJobMetrics {
         return;
       }
 
-      currentDelays.put(
+      if (infoGauge.set(dataJobName, createInfoGaugeTags(dataJob), GAUGE_METRIC_VALUE)) {
+        log.debug("The configuration of data job {} has changed", dataJobName);
+      }
+      delayGauge.set(
           dataJobName,
+          Tags.of(TAG_DATA_JOB, dataJobName),
           Optional.ofNullable(dataJob.getJobConfig().getNotificationDelayPeriodMinutes())
               .orElse(DEFAULT_NOTIFICATION_DELAY_PERIOD_MINUTES));
-      delayGauges.computeIfAbsent(dataJobName, this::createNotificationDelayGauge);
     } catch (Exception e) {
       log.warn(
-          "An exception occurred while updating the notification delay gauge of data job {}",
+          "An exception occurred while updating the info gauges of data job {}",
           dataJob.getName(),
           e);
     }
   }
 
-  /**
-   * Creates a "taurus.datajob.termination.status" gauge for the specified data job if one does not
-   * exist. If a gauge already exists, its value is updated.
-   *
-   * @param dataJob The data job for which to update the gauge.
-   */
-  public void updateTerminationStatusGauge(final DataJob dataJob) {
-    Objects.requireNonNull(dataJob);
-
+  private void setTerminationStatusRow(final DataJob dataJob) {
     try {
       var dataJobName = dataJob.getName();
-      var gauge = statusGauges.getOrDefault(dataJobName, null);
-      var newTags = createStatusGaugeTags(dataJob);
-      if (isGaugeChanged(gauge, newTags)) {
-        log.info("The last termination status of data job {} has changed", dataJobName);
-        removeTerminationStatusGauge(dataJobName);
-      }
-
-      Integer previousTerminationStatus = currentStatuses.get(dataJobName);
+      var previousTerminationStatus = statusGauge.getValue(dataJobName).orElse(null);
       Integer newTerminationStatus = dataJob.getLatestJobTerminationStatus().getAlertValue();
-      currentStatuses.put(dataJobName, newTerminationStatus);
-      statusGauges.computeIfAbsent(
-          dataJobName, name -> createTerminationStatusGauge(name, newTags));
-      if (!Objects.equals(previousTerminationStatus, newTerminationStatus)) {
+      statusGauge.set(dataJobName, createStatusGaugeTags(dataJob), newTerminationStatus);
+      if (previousTerminationStatus == null
+          || previousTerminationStatus.intValue() != newTerminationStatus) {
         log.debug(
             "The termination status gauge value for data job {} with execution {} was changed from"
                 + " {} to {}",
@@ -195,165 +226,24 @@ public class DataJobMetrics {
     }
   }
 
-  /**
-   * Removes all gauges associated with the specified data job.
-   *
-   * @param dataJobName The name of the data job for which to clear all gauges.
-   */
-  public void clearGauges(final String dataJobName) {
-    removeInfoGauge(dataJobName);
-    removeNotificationDelayGauge(dataJobName);
-    removeTerminationStatusGauge(dataJobName);
-  }
-
-  /**
-   * Removes all gauges associated with data jobs that are not present in the specified iterable.
-   *
-   * @param dataJobNames The names of the data jobs which will still have gauges.
-   */
-  public void clearGaugesNotIn(final Set<String> dataJobNames) {
-    var absentEntries = filterByKeyNotIn(infoGauges, dataJobNames);
-    absentEntries.forEach(e -> removeInfoGauge(e.getKey()));
-
-    absentEntries = filterByKeyNotIn(delayGauges, dataJobNames);
-    absentEntries.forEach(e -> removeNotificationDelayGauge(e.getKey()));
-
-    absentEntries = filterByKeyNotIn(statusGauges, dataJobNames);
-    absentEntries.forEach(e -> removeTerminationStatusGauge(e.getKey()));
-  }
-
-  /**
-   * Returns a list consisting of the entries of the specified map, that do not have their keys in
-   * the specified set.
-   *
-   * @param from The map to filter.
-   * @param set A set containing keys for the elements that should <b>NOT</b> be returned.
-   * @return A list of all Map.Entry objects with keys inside {@code set}.
-   */
-  private <K> List<Map.Entry<K, ?>> filterByKeyNotIn(final Map<K, ?> from, final Set<K> set) {
-    return from.entrySet().stream()
-        .filter(e -> !set.contains(e.getKey()))
-        .collect(Collectors.toList());
-  }
-
-  private Gauge createInfoGauge(final String dataJobName, final Tags tags) {
-    var gauge =
-        Gauge.builder(TAURUS_DATAJOB_INFO_METRIC_NAME, GAUGE_METRIC_VALUE, value -> value)
-            .tags(tags)
-            .description("Info about data jobs")
-            .register(meterRegistry);
-    log.info("The info gauge for data job {} was created", dataJobName);
-    return gauge;
-  }
-
-  private void removeInfoGauge(final String dataJobName) {
-    try {
-      if (StringUtils.isNotBlank(dataJobName)) {
-        var gauge = infoGauges.getOrDefault(dataJobName, null);
-        if (gauge != null) {
-          meterRegistry.remove(gauge);
-          infoGauges.remove(dataJobName);
-          log.info("The info gauge for data job {} was removed", dataJobName);
-        } else {
-          log.info(
-              "The info gauge for data job {} cannot be removed: gauge not found", dataJobName);
-        }
-      } else {
-        log.warn("The info gauge cannot be removed: data job name is empty");
-      }
-    } catch (Exception e) {
-      log.warn(
-          "An exception occurred while removing the info gauge of data job {}", dataJobName, e);
-    }
-  }
-
-  private Gauge createNotificationDelayGauge(final String dataJobName) {
-    var gauge =
-        Gauge.builder(
-                TAURUS_DATAJOB_NOTIFICATION_DELAY_METRIC_NAME,
-                currentDelays,
-                map -> map.getOrDefault(dataJobName, 0))
-            .tags(Tags.of(TAG_DATA_JOB, dataJobName))
-            .description(
-                "The time (in minutes) a job execution is allowed to be delayed from its schedule"
-                    + " before an alert is triggered")
-            .register(meterRegistry);
-    log.info("The notification delay gauge for data job {} was created", dataJobName);
-    return gauge;
-  }
-
-  private void removeNotificationDelayGauge(final String dataJobName) {
-    try {
-      if (StringUtils.isNotBlank(dataJobName)) {
-        var gauge = delayGauges.getOrDefault(dataJobName, null);
-        if (gauge != null) {
-          meterRegistry.remove(gauge);
-          delayGauges.remove(dataJobName);
-          currentDelays.remove(dataJobName);
-          log.info("The notification delay gauge for data job {} was removed", dataJobName);
-        } else {
-          log.info(
-              "The notification delay gauge for data job {} cannot be removed: gauge not found",
-              dataJobName);
-        }
-      } else {
-        log.warn("The notification delay gauge cannot be removed: data job name is empty");
-      }
-    } catch (Exception e) {
-      log.warn(
-          "An exception occurred while removing the notification delay gauge of data job {}",
-          dataJobName,
-          e);
-    }
-  }
-
-  private Gauge createTerminationStatusGauge(final String dataJobName, final Tags tags) {
-    var gauge =
-        Gauge.builder(
-                TAURUS_DATAJOB_TERMINATION_STATUS_METRIC_NAME,
-                currentStatuses,
-                map -> map.getOrDefault(dataJobName, -1))
-            .tags(tags)
-            .description(
-                "Termination status of data job executions (0 - Success, 1 - Platform error, 3 -"
-                    + " User error)")
-            .register(meterRegistry);
-    log.info("The termination status gauge for data job {} was created", dataJobName);
-    return gauge;
-  }
-
-  private void removeTerminationStatusGauge(final String dataJobName) {
-    try {
-      if (StringUtils.isNotBlank(dataJobName)) {
-        var gauge = statusGauges.getOrDefault(dataJobName, null);
-        if (gauge != null) {
-          meterRegistry.remove(gauge);
-          statusGauges.remove(dataJobName);
-          currentStatuses.remove(dataJobName);
-          log.info("The termination status gauge for data job {} was removed", dataJobName);
-        } else {
-          log.info(
-              "The termination status gauge for data job {} cannot be removed: gauge not found",
-              dataJobName);
-        }
-      } else {
-        log.warn("The termination status gauge cannot be removed: data job name is empty");
+  private void publish(final DataJobGauge... gauges) {
+    for (DataJobGauge gauge : gauges) {
+      try {
+        gauge.publish();
+      } catch (Exception e) {
+        log.warn("An exception occurred while registering the data job gauges", e);
       }
-    } catch (Exception e) {
-      log.warn(
-          "An exception occurred while removing the termination status gauge of data job {}",
-          dataJobName,
-          e);
     }
   }
 
-  private boolean isGaugeChanged(final Gauge gauge, final Tags newTags) {
-    if (gauge == null) {
-      return false;
+  private Tags withoutExcludedTags(final Tags tags) {
+    if (excludedTags.isEmpty()) {
+      return tags;
     }
-
-    var existingTags = gauge.getId().getTags();
-    return !newTags.stream().allMatch(existingTags::contains);
+    return Tags.of(
+        tags.stream()
+            .filter(tag -> !excludedTags.contains(tag.getKey()))
+            .collect(Collectors.toList()));
   }
 
   private Tags createInfoGaugeTags(final DataJob dataJob) {
@@ -363,24 +253,28 @@ public class DataJobMetrics {
     boolean enableExecutionNotifications =
         jobConfig.getEnableExecutionNotifications() == null
             || jobConfig.getEnableExecutionNotifications();
-    return Tags.of(
-        TAG_DATA_JOB, dataJob.getName(),
-        TAG_TEAM, StringUtils.defaultString(jobConfig.getTeam()),
-        TAG_EMAIL_NOTIFIED_ON_SUCCESS,
-            enableExecutionNotifications ? join(jobConfig.getNotifiedOnJobSuccess()) : "",
-        TAG_EMAIL_NOTIFIED_ON_USER_ERROR,
-            enableExecutionNotifications ? join(jobConfig.getNotifiedOnJobFailureUserError()) : "",
-        TAG_EMAIL_NOTIFIED_ON_PLATFORM_ERROR,
-            enableExecutionNotifications
-                ? join(jobConfig.getNotifiedOnJobFailurePlatformError())
-                : "");
+    return withoutExcludedTags(
+        Tags.of(
+            TAG_DATA_JOB, dataJob.getName(),
+            TAG_TEAM, StringUtils.defaultString(jobConfig.getTeam()),
+            TAG_EMAIL_NOTIFIED_ON_SUCCESS,
+                enableExecutionNotifications ? join(jobConfig.getNotifiedOnJobSuccess()) : "",
+            TAG_EMAIL_NOTIFIED_ON_USER_ERROR,
+                enableExecutionNotifications
+                    ? join(jobConfig.getNotifiedOnJobFailureUserError())
+                    : "",
+            TAG_EMAIL_NOTIFIED_ON_PLATFORM_ERROR,
+                enableExecutionNotifications
+                    ? join(jobConfig.getNotifiedOnJobFailurePlatformError())
+                    : ""));
   }
 
   private Tags createStatusGaugeTags(final DataJob dataJob) {
     Objects.requireNonNull(dataJob);
 
-    return Tags.of(
-        TAG_DATA_JOB, dataJob.getName(),
-        TAG_EXECUTION_ID, dataJob.getLatestJobExecutionId());
+    return withoutExcludedTags(
+        Tags.of(
+            TAG_DATA_JOB, dataJob.getName(),
+            TAG_EXECUTION_ID, dataJob.getLatestJobExecutionId()));
   }
 }
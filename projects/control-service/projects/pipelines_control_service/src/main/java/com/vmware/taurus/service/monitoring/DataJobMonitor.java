@@ -6,16 +6,13 @@
 package com.vmware.taurus.service.monitoring;
 
 import com.google.common.collect.Streams;
-import com.vmware.taurus.service.JobsRepository;
-import com.vmware.taurus.service.JobsService;
 import com.vmware.taurus.service.KubernetesService;
-import com.vmware.taurus.service.diag.methodintercept.Measurable;
-import com.vmware.taurus.service.execution.JobExecutionResultManager;
+import com.vmware.taurus.service.WatchBookmarkRepository;
 import com.vmware.taurus.service.execution.JobExecutionService;
 import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
 import com.vmware.taurus.service.model.DataJob;
-import com.vmware.taurus.service.model.ExecutionResult;
 import com.vmware.taurus.service.model.JobLabel;
+import com.vmware.taurus.service.model.WatchBookmark;
 import com.vmware.taurus.service.threads.ThreadPoolConf;
 import io.kubernetes.client.openapi.ApiException;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +22,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import javax.transaction.Transactional;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -40,31 +35,31 @@ import java.util.stream.Collectors;
 public class DataJobMonitor {
 
   private static final long ONE_MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final long THIRTY_MINUTES_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+  static final String WATCH_JOBS_BOOKMARK_NAME = "watchJobs";
 
   private final Map<String, String> labelsToWatch =
       Collections.singletonMap(JobLabel.TYPE.getValue(), "DataJob");
 
-  private final JobsRepository jobsRepository;
   private final DataJobsKubernetesService dataJobsKubernetesService;
-  private final JobsService jobsService;
   private final JobExecutionService jobExecutionService;
   private final DataJobMetrics dataJobMetrics;
-
-  private long lastWatchTime =
-      Instant.now().minusMillis(TimeUnit.MINUTES.toMillis(30)).toEpochMilli();
+  private final WatchBookmarkRepository watchBookmarkRepository;
+  private final JobExecutionStatusWriter jobExecutionStatusWriter;
 
   @Autowired
   public DataJobMonitor(
-      JobsRepository jobsRepository,
       DataJobsKubernetesService dataJobsKubernetesService,
-      JobsService jobsService,
       JobExecutionService jobExecutionService,
-      DataJobMetrics dataJobMetrics) {
+      DataJobMetrics dataJobMetrics,
+      WatchBookmarkRepository watchBookmarkRepository,
+      JobExecutionStatusWriter jobExecutionStatusWriter) {
     this.dataJobsKubernetesService = dataJobsKubernetesService;
-    this.jobsRepository = jobsRepository;
-    this.jobsService = jobsService;
     this.jobExecutionService = jobExecutionService;
     this.dataJobMetrics = dataJobMetrics;
+    this.watchBookmarkRepository = watchBookmarkRepository;
+    this.jobExecutionStatusWriter = jobExecutionStatusWriter;
   }
 
   /**
@@ -84,9 +79,14 @@ public class DataJobMonitor {
    *   <li>When a termination status of a job is updated by the node holding the lock, the other
    *       nodes will be eventually consistent within 5 seconds (by default) due to the continuous
    *       updates done here: {@link DataJobMonitorSync#updateDataJobStatus}.
-   *   <li>Subsequently, when one of the other nodes acquires the lock, it will detect all changes
-   *       since its own last run (see {@code lastWatchTime}) and rewrite them. We can potentially
-   *       improve on this by sharing the lastWatchTime amongst the nodes.
+   *   <li>The execution statuses received by the watch are stored in batches by {@link
+   *       JobExecutionStatusWriter}. The writer is flushed before the reached resource version is
+   *       stored, so that a resumed watch does not skip statuses that were not stored yet.
+   *   <li>The resource version reached by the watch and the time of the last completed watch are
+   *       stored in the database (see {@link WatchBookmark}). Subsequently, whichever node acquires
+   *       the lock resumes the watch from the stored resource version without listing the jobs
+   *       again. The jobs are listed (and the changes since the last completed watch replayed) only
+   *       when the resource version is no longer available on the Kubernetes API server.
    * </ol>
    *
    * @see <a href="https://github.com/lukas-krecan/ShedLock">ShedLock</a>
@@ -97,29 +97,80 @@ public class DataJobMonitor {
   @SchedulerLock(name = "watchJobs_schedulerLock")
   public void watchJobs() {
     dataJobMetrics.incrementWatchTaskInvocations();
+    var bookmark =
+        watchBookmarkRepository
+            .findById(WATCH_JOBS_BOOKMARK_NAME)
+            .orElseGet(
+                () ->
+                    new WatchBookmark(
+                        WATCH_JOBS_BOOKMARK_NAME,
+                        null,
+                        Instant.now().minusMillis(THIRTY_MINUTES_MILLIS).toEpochMilli()));
     try {
-      dataJobsKubernetesService.watchJobs(
-          labelsToWatch,
-          s -> {
-            log.info(
-                "Termination message of Data Job {} with execution {}: {}",
-                s.getJobName(),
-                s.getExecutionId(),
-                s.getPodTerminationMessage());
-            recordJobExecutionStatus(s);
-          },
-          runningJobExecutionIds -> {
-            jobExecutionService.syncJobExecutionStatuses(runningJobExecutionIds);
-          },
-          lastWatchTime);
+      String resourceVersion =
+          dataJobsKubernetesService.watchJobs(
+              labelsToWatch,
+              s -> {
+                log.info(
+                    "Termination message of Data Job {} with execution {}: {}",
+                    s.getJobName(),
+                    s.getExecutionId(),
+                    s.getPodTerminationMessage());
+                jobExecutionStatusWriter.enqueue(s);
+              },
+              runningJobExecutionIds -> {
+                jobExecutionService.syncJobExecutionStatuses(runningJobExecutionIds);
+              },
+              bookmark.getLastWatchTime(),
+              bookmark.getResourceVersion(),
+              reachedResourceVersion ->
+                  flushAndSaveBookmark(
+                      bookmark, reachedResourceVersion, bookmark.getLastWatchTime()),
+              KubernetesService.WATCH_JOBS_TIMEOUT_SECONDS);
       // Move the lastWatchTime one minute into the past to account for events that
       // could have happened after the watch has completed until now
-      lastWatchTime = Instant.now().minusMillis(ONE_MINUTE_MILLIS).toEpochMilli();
-    } catch (IOException | ApiException e) {
+      flushAndSaveBookmark(
+          bookmark,
+          resourceVersion,
+          resourceVersion != null
+              ? Instant.now().minusMillis(ONE_MINUTE_MILLIS).toEpochMilli()
+              : bookmark.getLastWatchTime());
+    } catch (IOException | ApiException | RuntimeException e) {
       log.info("Failed to watch jobs. Error was: {}", e.getMessage());
     }
   }
 
+  /**
+   * Stores the enqueued execution statuses and then the bookmark, so that the bookmark never moves
+   * past statuses which are not stored. If the statuses or the bookmark cannot be stored, the
+   * failure is logged and the stored bookmark stays where it was. The statuses are kept by {@link
+   * JobExecutionStatusWriter} and stored by one of its next flushes.
+   */
+  private void flushAndSaveBookmark(
+      WatchBookmark bookmark, String resourceVersion, long lastWatchTime) {
+    try {
+      jobExecutionStatusWriter.flush();
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to store the data job execution statuses, the watch bookmark is not moved to"
+              + " resource version {}. Error was: {}",
+          resourceVersion,
+          e.getMessage());
+      return;
+    }
+    try {
+      watchBookmarkRepository.save(
+          new WatchBookmark(bookmark.getName(), resourceVersion, lastWatchTime));
+      bookmark.setResourceVersion(resourceVersion);
+      bookmark.setLastWatchTime(lastWatchTime);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to store the watch bookmark at resource version {}. Error was: {}",
+          resourceVersion,
+          e.getMessage());
+    }
+  }
+
   /**
    * Creates gauges that expose configuration information and termination status for the specified
    * data jobs. If the gauges already exist for a particular data job, they are updated if
@@ -130,11 +181,7 @@ public class DataJobMonitor {
   public void updateDataJobsGauges(final Iterable<DataJob> dataJobs) {
     Objects.requireNonNull(dataJobs);
 
-    dataJobs.forEach(
-        job -> {
-          updateDataJobInfoGauges(job);
-          updateDataJobTerminationStatusGauge(job);
-        });
+    dataJobMetrics.updateGauges(dataJobs);
   }
 
   /**
@@ -175,49 +222,4 @@ public class DataJobMonitor {
 
     dataJobMetrics.updateInfoGauges(dataJob);
   }
-
-  /**
-   * Record Data Job execution status. It will record when a job has started, finished, failed or
-   * skipped.
-   *
-   * @param jobStatus - the job status of the job. The same information is sent as telemetry by
-   *     Measureable annotation.
-   */
-  @Measurable(includeArg = 0, argName = "execution_status")
-  @Transactional
-  void recordJobExecutionStatus(KubernetesService.JobExecution jobStatus) {
-    log.debug("Storing Data Job execution status: {}", jobStatus);
-    String dataJobName = jobStatus.getJobName();
-    ExecutionResult executionResult = JobExecutionResultManager.getResult(jobStatus);
-
-    if (StringUtils.isBlank(dataJobName)) {
-      log.warn("Data job name is empty");
-      return;
-    }
-
-    Optional<DataJob> dataJobOptional = jobsRepository.findById(dataJobName);
-    if (dataJobOptional.isEmpty()) {
-      log.debug("Data job {} was deleted or hasn't been created", dataJobName);
-      return;
-    }
-
-    final DataJob dataJob = dataJobOptional.get();
-
-    // Update the job execution and the last execution state
-    jobExecutionService
-        .updateJobExecution(dataJob, jobStatus, executionResult)
-        .ifPresent(jobsService::updateLastExecution);
-
-    // Update the termination status from the last execution
-    jobExecutionService
-        .getLastExecution(dataJobName)
-        .ifPresent(
-            e -> {
-              if (jobsService.updateTerminationStatus(e)) {
-                jobsRepository
-                    .findById(dataJobName)
-                    .ifPresent(this::updateDataJobTerminationStatusGauge);
-              }
-            });
-  }
 }
@@ -6,30 +6,150 @@
 package com.vmware.taurus.service.monitoring;
 
 import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.model.DataJob;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the data job gauges of this instance of the service in sync with the database, without
+ * loading all data jobs on every sync:
+ *
+ * <ul>
+ *   <li>The data jobs changed by this instance are collected from the {@link DataJobChangedEvent}s
+ *       and their gauges are updated on the next sync.
+ *   <li>The data jobs changed by the other instances are found by their updated_at column. Each
+ *       sync loads only the data jobs updated since the previous one, looking back a bit further to
+ *       tolerate clock differences and transactions committed after the previous sync. All data
+ *       jobs are loaded only on the first sync.
+ *   <li>The data jobs deleted by the other instances are found by a slower reconciliation, which
+ *       loads only the names of the data jobs.
+ * </ul>
+ */
 @Slf4j
 @Component
 public class DataJobMonitorSync {
 
   private final DataJobMonitor dataJobMonitor;
+  private final DeploymentMonitorSync deploymentMonitorSync;
+  private final DataJobMetrics dataJobMetrics;
   private final JobsRepository jobsRepository;
+  private final Duration lookBack;
+  private final Clock clock;
+
+  private final Set<String> changedDataJobNames = ConcurrentHashMap.newKeySet();
+  private OffsetDateTime lastSyncTime;
 
   @Autowired
-  public DataJobMonitorSync(DataJobMonitor dataJobMonitor, JobsRepository jobsRepository) {
+  public DataJobMonitorSync(
+      DataJobMonitor dataJobMonitor,
+      DeploymentMonitorSync deploymentMonitorSync,
+      DataJobMetrics dataJobMetrics,
+      JobsRepository jobsRepository,
+      @Value("${datajobs.monitoring.sync.lookback:60000}") long lookBackMillis) {
+    this(
+        dataJobMonitor,
+        deploymentMonitorSync,
+        dataJobMetrics,
+        jobsRepository,
+        lookBackMillis,
+        Clock.systemDefaultZone());
+  }
+
+  DataJobMonitorSync(
+      DataJobMonitor dataJobMonitor,
+      DeploymentMonitorSync deploymentMonitorSync,
+      DataJobMetrics dataJobMetrics,
+      JobsRepository jobsRepository,
+      long lookBackMillis,
+      Clock clock) {
     this.dataJobMonitor = dataJobMonitor;
+    this.deploymentMonitorSync = deploymentMonitorSync;
+    this.dataJobMetrics = dataJobMetrics;
     this.jobsRepository = jobsRepository;
+    this.lookBack = Duration.ofMillis(lookBackMillis);
+    this.clock = clock;
+  }
+
+  /** Marks the data job for update on the next sync, once the change is committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDataJobChanged(DataJobChangedEvent event) {
+    changedDataJobNames.add(event.getDataJobName());
   }
 
   @Scheduled(
       fixedDelayString = "${datajobs.monitoring.sync.interval:5000}",
       initialDelayString = "${datajobs.monitoring.sync.initial.delay:10000}")
-  public void updateDataJobStatus() {
-    final var dataJobs = jobsRepository.findAll();
-    dataJobMonitor.updateDataJobsGauges(dataJobs);
-    dataJobMonitor.clearDataJobsGaugesNotIn(dataJobs);
+  public synchronized void updateDataJobStatus() {
+    var syncTime = OffsetDateTime.now(clock);
+    Set<String> dataJobNames = drainChangedDataJobNames();
+
+    Map<String, DataJob> dataJobs = new LinkedHashMap<>();
+    Iterable<DataJob> updatedDataJobs =
+        lastSyncTime == null
+            ? jobsRepository.findAll()
+            : jobsRepository.findAllByUpdatedAtAfter(lastSyncTime.minus(lookBack));
+    updatedDataJobs.forEach(dataJob -> dataJobs.put(dataJob.getName(), dataJob));
+    var missingDataJobNames = new ArrayList<String>();
+    dataJobNames.forEach(
+        name -> {
+          if (!dataJobs.containsKey(name)) {
+            missingDataJobNames.add(name);
+          }
+        });
+    if (!missingDataJobNames.isEmpty()) {
+      jobsRepository
+          .findAllById(missingDataJobNames)
+          .forEach(dataJob -> dataJobs.put(dataJob.getName(), dataJob));
+    }
+
+    List<DataJob> changedDataJobs = new ArrayList<>(dataJobs.values());
+    dataJobMonitor.updateDataJobsGauges(changedDataJobs);
+    deploymentMonitorSync.updateJobDeploymentStatuses(changedDataJobs);
+    if (lastSyncTime == null) {
+      dataJobMonitor.clearDataJobsGaugesNotIn(changedDataJobs);
+    } else {
+      // The changed data jobs which are no longer in the database were deleted.
+      missingDataJobNames.stream()
+          .filter(name -> !dataJobs.containsKey(name))
+          .forEach(dataJobMetrics::clearGauges);
+    }
+    lastSyncTime = syncTime;
+    log.debug("Updated the gauges of {} changed data jobs", changedDataJobs.size());
+  }
+
+  /**
+   * Clears the gauges of the data jobs deleted by the other instances of the service. The deletions
+   * by this instance are handled on the next sync.
+   */
+  @Scheduled(
+      fixedDelayString = "${datajobs.monitoring.reconcile.interval:600000}",
+      initialDelayString = "${datajobs.monitoring.reconcile.interval:600000}")
+  public synchronized void clearDeletedDataJobsGauges() {
+    dataJobMetrics.clearGaugesNotIn(new HashSet<>(jobsRepository.findAllNames()));
+  }
+
+  private Set<String> drainChangedDataJobNames() {
+    var dataJobNames = new HashSet<String>();
+    for (String name : changedDataJobNames) {
+      if (changedDataJobNames.remove(name)) {
+        dataJobNames.add(name);
+      }
+    }
+    return dataJobNames;
   }
 }
@@ -8,13 +8,13 @@ package com.vmware.taurus.service.monitoring;
 import com.vmware.taurus.service.JobsRepository;
 import com.vmware.taurus.service.model.DeploymentStatus;
 import io.micrometer.core.instrument.DistributionSummary;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
@@ -33,12 +33,23 @@ public class DeploymentMonitor {
 
   private final JobsRepository jobsRepository;
 
-  private final Map<String, Integer> currentStatuses = new ConcurrentHashMap<>();
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final DataJobGauge statusGauge;
+
+  // The summaries are cached by data job and status, so that they are not built on every event.
+  private final Map<String, Map<DeploymentStatus, DistributionSummary>> summaries =
+      new ConcurrentHashMap<>();
 
   @Autowired
-  public DeploymentMonitor(MeterRegistry meterRegistry, JobsRepository jobsRepository) {
+  public DeploymentMonitor(
+      MeterRegistry meterRegistry,
+      JobsRepository jobsRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.meterRegistry = meterRegistry;
     this.jobsRepository = jobsRepository;
+    this.eventPublisher = eventPublisher;
+    this.statusGauge = new DataJobGauge(GAUGE_METRIC_NAME, null, meterRegistry);
   }
 
   /**
@@ -48,13 +59,8 @@ public class DeploymentMonitor {
    * @param deploymentStatus
    */
   public void updateDataJobStatus(String dataJob, DeploymentStatus deploymentStatus) {
-    if (!currentStatuses.containsKey(dataJob)) {
-      Tags tags = Tags.of("dataJob", dataJob);
-      Gauge.builder(GAUGE_METRIC_NAME, currentStatuses, map -> map.getOrDefault(dataJob, 0))
-          .tags(tags)
-          .register(meterRegistry);
-    }
-    currentStatuses.put(dataJob, deploymentStatus.getValue());
+    statusGauge.set(dataJob, Tags.of("dataJob", dataJob), deploymentStatus.getValue());
+    statusGauge.publish();
   }
 
   /**
@@ -66,20 +72,32 @@ public class DeploymentMonitor {
   public void recordDeploymentStatus(String dataJobName, DeploymentStatus deploymentStatus) {
     if (StringUtils.isNotBlank(dataJobName)) {
       boolean jobExists = saveDataJobStatus(dataJobName, deploymentStatus);
-      if (jobExists || currentStatuses.containsKey(dataJobName)) {
-        // TODO: Add tag for data job mode
-        DistributionSummary.builder(SUMMARY_METRIC_NAME)
-            .tag("dataJob", dataJobName)
-            .tag("status", deploymentStatus.toString())
-            .register(meterRegistry)
-            .record(1);
+      if (jobExists || statusGauge.getValue(dataJobName).isPresent()) {
+        getSummary(dataJobName, deploymentStatus).record(1);
         updateDataJobStatus(dataJobName, deploymentStatus);
       }
+      if (jobExists) {
+        eventPublisher.publishEvent(new DataJobChangedEvent(dataJobName));
+      }
     } else {
       log.warn("Data job name is empty.");
     }
   }
 
+  private DistributionSummary getSummary(
+      final String dataJobName, final DeploymentStatus deploymentStatus) {
+    return summaries
+        .computeIfAbsent(dataJobName, name -> new ConcurrentHashMap<>())
+        .computeIfAbsent(
+            deploymentStatus,
+            // TODO: Add tag for data job mode
+            status ->
+                DistributionSummary.builder(SUMMARY_METRIC_NAME)
+                    .tag("dataJob", dataJobName)
+                    .tag("status", status.toString())
+                    .register(meterRegistry));
+  }
+
   private boolean saveDataJobStatus(
       final String dataJobName, final DeploymentStatus deploymentStatus) {
     if (jobsRepository.updateDataJobLatestJobDeploymentStatusByName(dataJobName, deploymentStatus)
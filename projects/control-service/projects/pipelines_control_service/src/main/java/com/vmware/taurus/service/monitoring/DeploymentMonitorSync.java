@@ -5,45 +5,36 @@
 
 package com.vmware.taurus.service.monitoring;
 
-import com.vmware.taurus.service.JobsRepository;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DeploymentStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Iterator;
 
+/**
+ * Updates the deployment status gauges of the data jobs changed since the last sync, see {@link
+ * DataJobMonitorSync}.
+ */
 @Component
-@EnableAsync
 public class DeploymentMonitorSync {
 
   static Logger log = LoggerFactory.getLogger(DeploymentMonitorSync.class);
 
-  @Autowired private final DeploymentMonitor deploymentMonitor;
-
-  @Autowired private final JobsRepository jobsRepository;
+  private final DeploymentMonitor deploymentMonitor;
 
   @Autowired
-  public DeploymentMonitorSync(DeploymentMonitor deploymentMonitor, JobsRepository jobsRepository) {
+  public DeploymentMonitorSync(DeploymentMonitor deploymentMonitor) {
     this.deploymentMonitor = deploymentMonitor;
-    this.jobsRepository = jobsRepository;
   }
 
-  @Async
-  @Scheduled(
-      fixedDelayString = "${datajobs.monitoring.sync.interval}",
-      initialDelayString = "${datajobs.monitoring.sync.initial.delay}")
-  public void updateJobDeploymentStatuses() {
-    // TODO: Potentially we can create custom query if this is not optimal.
-    Iterator<DataJob> dataJobs = jobsRepository.findAll().iterator();
+  public void updateJobDeploymentStatuses(Iterable<DataJob> changedDataJobs) {
+    Iterator<DataJob> dataJobs = changedDataJobs.iterator();
 
     if (!dataJobs.hasNext()) {
-      log.debug("There are no data jobs");
+      log.debug("There are no changed data jobs");
     } else {
       while (dataJobs.hasNext()) {
         DataJob dataJob = dataJobs.next();
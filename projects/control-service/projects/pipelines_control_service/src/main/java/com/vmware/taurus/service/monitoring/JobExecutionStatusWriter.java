@@ -0,0 +1,393 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.vmware.taurus.service.JobExecutionRepository;
+import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.JobsService;
+import com.vmware.taurus.service.KubernetesService;
+import com.vmware.taurus.service.diag.methodintercept.Measurable;
+import com.vmware.taurus.service.execution.JobExecutionLogsCache;
+import com.vmware.taurus.service.execution.JobExecutionResultManager;
+import com.vmware.taurus.service.execution.JobExecutionService;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJobExecution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the data job execution statuses received by the data job watch in batches.
+ *
+ * <p>The watch enqueues the statuses on a bounded queue, which is drained periodically by a single
+ * writer thread. The statuses of the same execution within a batch are coalesced in memory, so that
+ * only the latest state of the execution is saved. The executions of a batch are saved at once and
+ * the last execution and the termination status of each affected data job are updated once per
+ * batch, all in a single transaction.
+ *
+ * <p>When the queue is full, the watch thread flushes the queue itself, which slows the watch down
+ * to the pace of the database instead of dropping statuses. The queue is also flushed before the
+ * watch persists the resource version it has reached and when the service shuts down.
+ *
+ * <p>A batch that fails to be stored is retried by the next flush. After the configured number of
+ * attempts, its statuses are stored one by one and the ones that still fail are dropped and
+ * counted, so that a single status which cannot be stored does not block the statuses after it.
+ * Statuses are not dropped while the database is unavailable.
+ */
+@Slf4j
+@Component
+public class JobExecutionStatusWriter implements InitializingBean, DisposableBean {
+
+  public static final String QUEUE_DEPTH_GAUGE_NAME = "vdk.execution.status.writer.queue.depth";
+  public static final String FLUSH_LATENCY_TIMER_NAME = "vdk.execution.status.writer.flush.latency";
+  public static final String BACKPRESSURE_COUNTER_NAME =
+      "vdk.execution.status.writer.backpressure.counter";
+  public static final String DEAD_LETTER_COUNTER_NAME =
+      "vdk.execution.status.writer.dead.letter.counter";
+
+  private final JobsRepository jobsRepository;
+  private final JobExecutionRepository jobExecutionRepository;
+  private final JobsService jobsService;
+  private final JobExecutionService jobExecutionService;
+  private final DataJobMetrics dataJobMetrics;
+  private final JobExecutionLogsCache jobExecutionLogsCache;
+  private final MeterRegistry meterRegistry;
+  private final TransactionTemplate transactionTemplate;
+
+  // The statuses taken off the queue that are not stored yet.
+  private final List<KubernetesService.JobExecution> pending = new ArrayList<>();
+  // The number of times the first batch of the pending statuses failed to be stored.
+  private int failedAttempts;
+
+  @Value("${datajobs.monitoring.status.writer.queue.capacity:1000}")
+  private int queueCapacity;
+
+  @Value("${datajobs.monitoring.status.writer.batch.size:100}")
+  private int batchSize;
+
+  @Value("${datajobs.monitoring.status.writer.flush.interval.millis:500}")
+  private long flushIntervalMillis;
+
+  @Value("${datajobs.monitoring.status.writer.enqueue.timeout.millis:1000}")
+  private long enqueueTimeoutMillis;
+
+  @Value("${datajobs.monitoring.status.writer.max.attempts:3}")
+  private int maxAttempts;
+
+  private BlockingQueue<KubernetesService.JobExecution> queue;
+  private ScheduledExecutorService flushExecutor;
+  private Timer flushLatencyTimer;
+  private Counter backpressureCounter;
+  private Counter deadLetterCounter;
+
+  @Autowired
+  public JobExecutionStatusWriter(
+      JobsRepository jobsRepository,
+      JobExecutionRepository jobExecutionRepository,
+      JobsService jobsService,
+      JobExecutionService jobExecutionService,
+      DataJobMetrics dataJobMetrics,
+      JobExecutionLogsCache jobExecutionLogsCache,
+      MeterRegistry meterRegistry,
+      TransactionTemplate transactionTemplate) {
+    this.jobsRepository = jobsRepository;
+    this.jobExecutionRepository = jobExecutionRepository;
+    this.jobsService = jobsService;
+    this.jobExecutionService = jobExecutionService;
+    this.dataJobMetrics = dataJobMetrics;
+    this.jobExecutionLogsCache = jobExecutionLogsCache;
+    this.meterRegistry = meterRegistry;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    Gauge.builder(QUEUE_DEPTH_GAUGE_NAME, queue, BlockingQueue::size)
+        .description("The number of data job execution statuses waiting to be stored.")
+        .register(meterRegistry);
+    flushLatencyTimer =
+        Timer.builder(FLUSH_LATENCY_TIMER_NAME)
+            .description("The time it takes to store a batch of data job execution statuses.")
+            .register(meterRegistry);
+    backpressureCounter =
+        Counter.builder(BACKPRESSURE_COUNTER_NAME)
+            .description(
+                "Counts the number of times the data job watch had to store the execution statuses"
+                    + " itself because the queue was full.")
+            .register(meterRegistry);
+    deadLetterCounter =
+        Counter.builder(DEAD_LETTER_COUNTER_NAME)
+            .description(
+                "Counts the data job execution statuses dropped because they could not be stored.")
+            .register(meterRegistry);
+
+    flushExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("execution-status-writer-%d")
+                .setDaemon(true)
+                .build());
+    flushExecutor.scheduleWithFixedDelay(
+        this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    flushExecutor.shutdown();
+    if (!flushExecutor.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+      log.warn("The execution status writer did not stop in time");
+    }
+    flush();
+  }
+
+  /**
+   * Enqueues the specified execution status to be stored by the writer thread. If the queue remains
+   * full for longer than the configured timeout, the queue is flushed on the calling thread. It
+   * does not throw if the flush fails, the statuses are kept and the queue is retried.
+   *
+   * <p>It records when a job has started, finished, failed or skipped. The same information is sent
+   * as telemetry by the Measurable annotation.
+   *
+   * @param jobExecution The execution status to store.
+   */
+  @Measurable(includeArg = 0, argName = "execution_status")
+  public void enqueue(KubernetesService.JobExecution jobExecution) {
+    try {
+      while (!queue.offer(jobExecution, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        log.debug("The execution status queue is full, the statuses will be stored by the watch");
+        backpressureCounter.increment();
+        flushQuietly();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      synchronized (this) {
+        // Keep the order of the statuses, so that the latest status of an execution wins.
+        queue.drainTo(pending);
+        pending.add(jobExecution);
+      }
+    }
+  }
+
+  /**
+   * Stores all the enqueued execution statuses on the calling thread. The statuses of a batch that
+   * failed to be stored are kept and retried by the next flush, until the batch has failed the
+   * configured number of times and is stored one status at a time.
+   */
+  public synchronized void flush() {
+    queue.drainTo(pending);
+    while (!pending.isEmpty()) {
+      var batch = pending.subList(0, Math.min(batchSize, pending.size()));
+      try {
+        flushLatencyTimer.record(() -> write(batch));
+      } catch (RuntimeException e) {
+        if (++failedAttempts < maxAttempts || isDatabaseUnavailable(e)) {
+          throw e;
+        }
+        log.warn(
+            "Failed to store a batch of {} data job execution statuses {} times, will store them"
+                + " one by one",
+            batch.size(),
+            failedAttempts,
+            e);
+        writeEachOrDrop(batch);
+      }
+      failedAttempts = 0;
+      batch.clear();
+    }
+  }
+
+  /**
+   * Stores the specified execution statuses in a single transaction and updates the termination
+   * status gauges of the data jobs whose termination status has changed. The logs of the completed
+   * executions are captured by {@link JobExecutionLogsCache}.
+   *
+   * @param jobExecutions The execution statuses to store, in the order they were received.
+   */
+  void write(Collection<KubernetesService.JobExecution> jobExecutions) {
+    var completedExecutionIds = new ArrayList<String>();
+    Set<String> changedDataJobNames =
+        transactionTemplate.execute(
+            status -> persistJobExecutions(jobExecutions, completedExecutionIds));
+    completedExecutionIds.forEach(jobExecutionLogsCache::capture);
+
+    if (changedDataJobNames != null && !changedDataJobNames.isEmpty()) {
+      jobsRepository
+          .findAllById(changedDataJobNames)
+          .forEach(
+              dataJob -> {
+                if (dataJob.getLatestJobTerminationStatus() != null
+                    && StringUtils.isNotEmpty(dataJob.getLatestJobExecutionId())) {
+                  dataJobMetrics.updateTerminationStatusGauge(dataJob);
+                }
+              });
+    }
+  }
+
+  /**
+   * Stores each of the specified statuses in its own transaction. The statuses which fail to be
+   * stored are dropped, unless the database is unavailable.
+   */
+  private void writeEachOrDrop(List<KubernetesService.JobExecution> batch) {
+    while (!batch.isEmpty()) {
+      var jobExecution = batch.get(0);
+      try {
+        write(List.of(jobExecution));
+      } catch (RuntimeException e) {
+        if (isDatabaseUnavailable(e)) {
+          throw e;
+        }
+        log.error(
+            "Dropping data job execution status which could not be stored: {}", jobExecution, e);
+        deadLetterCounter.increment();
+      }
+      batch.remove(0);
+    }
+  }
+
+  private static boolean isDatabaseUnavailable(Exception e) {
+    return e instanceof TransientDataAccessException
+        || e instanceof RecoverableDataAccessException
+        || e instanceof DataAccessResourceFailureException
+        || e instanceof CannotCreateTransactionException;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception e) {
+      log.warn("Failed to store the data job execution statuses, will retry", e);
+    }
+  }
+
+  private Set<String> persistJobExecutions(
+      Collection<KubernetesService.JobExecution> jobExecutions,
+      List<String> completedExecutionIds) {
+    var jobExecutionsById = new LinkedHashMap<String, List<KubernetesService.JobExecution>>();
+    var dataJobNames = new LinkedHashSet<String>();
+    for (var jobExecution : jobExecutions) {
+      log.debug("Storing Data Job execution status: {}", jobExecution);
+      if (StringUtils.isBlank(jobExecution.getJobName())) {
+        log.warn("Data job name is empty");
+        continue;
+      }
+      dataJobNames.add(jobExecution.getJobName());
+
+      if (StringUtils.isBlank(jobExecution.getExecutionId())) {
+        log.warn(
+            "Could not store Data Job execution due to the missing execution id: {}", jobExecution);
+        continue;
+      }
+      jobExecutionsById
+          .computeIfAbsent(jobExecution.getExecutionId(), id -> new ArrayList<>())
+          .add(jobExecution);
+    }
+
+    if (dataJobNames.isEmpty()) {
+      return Set.of();
+    }
+
+    Map<String, DataJob> dataJobs = new HashMap<>();
+    jobsRepository.findAllById(dataJobNames).forEach(job -> dataJobs.put(job.getName(), job));
+    Map<String, DataJobExecution> persistedExecutions = new HashMap<>();
+    jobExecutionRepository
+        .findAllById(jobExecutionsById.keySet())
+        .forEach(execution -> persistedExecutions.put(execution.getId(), execution));
+
+    // Apply the statuses of each execution in order, so that only its latest state is saved.
+    var executionsToSave = new ArrayList<DataJobExecution>();
+    jobExecutionsById.forEach(
+        (executionId, statuses) -> {
+          Optional<DataJobExecution> execution =
+              Optional.ofNullable(persistedExecutions.get(executionId));
+          boolean updated = false;
+          for (var jobExecution : statuses) {
+            DataJob dataJob = dataJobs.get(jobExecution.getJobName());
+            if (dataJob == null) {
+              continue;
+            }
+            var updatedExecution =
+                jobExecutionService.prepareJobExecutionUpdate(
+                    dataJob,
+                    jobExecution,
+                    JobExecutionResultManager.getResult(jobExecution),
+                    execution);
+            if (updatedExecution.isPresent()) {
+              execution = updatedExecution;
+              updated = true;
+            }
+          }
+          if (updated) {
+            executionsToSave.add(execution.get());
+          }
+        });
+
+    var savedExecutions = jobExecutionRepository.saveAllAndFlush(executionsToSave);
+    savedExecutions.stream()
+        .filter(execution -> execution.getEndTime() != null)
+        .map(DataJobExecution::getId)
+        .forEach(completedExecutionIds::add);
+
+    // Update the last execution of each data job once, with its most recently completed execution
+    savedExecutions.stream()
+        .filter(execution -> execution.getEndTime() != null)
+        .collect(
+            Collectors.groupingBy(
+                execution -> execution.getDataJob().getName(),
+                Collectors.maxBy(Comparator.comparing(DataJobExecution::getEndTime))))
+        .values()
+        .forEach(execution -> execution.ifPresent(jobsService::updateLastExecution));
+
+    // Update the termination status from the last execution
+    var changedDataJobNames = new LinkedHashSet<String>();
+    for (String dataJobName : dataJobNames) {
+      if (!dataJobs.containsKey(dataJobName)) {
+        log.debug("Data job {} was deleted or hasn't been created", dataJobName);
+        continue;
+      }
+      jobExecutionService
+          .getLastExecution(dataJobName)
+          .ifPresent(
+              execution -> {
+                if (jobsService.updateTerminationStatus(execution)) {
+                  changedDataJobNames.add(dataJobName);
+                }
+              });
+    }
+    return changedDataJobNames;
+  }
+}
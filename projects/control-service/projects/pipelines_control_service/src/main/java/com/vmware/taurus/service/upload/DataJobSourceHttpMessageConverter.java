@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.upload;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link DataJobSourceResource} straight into the response body, so the zip of the data
+ * job source is streamed to the client as it is written. Spring Boot registers it before the
+ * default resource converter, which would hold the whole zip.
+ */
+@Component
+public class DataJobSourceHttpMessageConverter
+    extends AbstractHttpMessageConverter<DataJobSourceResource> {
+
+  public DataJobSourceHttpMessageConverter() {
+    super(MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return DataJobSourceResource.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected DataJobSourceResource readInternal(
+      Class<? extends DataJobSourceResource> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Data job sources are uploaded as resources.", inputMessage);
+  }
+
+  @Override
+  protected MediaType getDefaultContentType(DataJobSourceResource resource) {
+    return MediaType.APPLICATION_OCTET_STREAM;
+  }
+
+  @Override
+  protected void writeInternal(DataJobSourceResource resource, HttpOutputMessage outputMessage)
+      throws IOException {
+    resource.writeTo(outputMessage.getBody());
+  }
+}
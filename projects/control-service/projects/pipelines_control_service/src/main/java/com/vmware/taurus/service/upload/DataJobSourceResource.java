@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.upload;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The source of a data job in a zip format. The zip is not stored anywhere, it is written from the
+ * git objects of the data job directory while the resource is sent, using {@link
+ * DataJobSourceHttpMessageConverter}.
+ */
+public class DataJobSourceResource extends AbstractResource {
+
+  @FunctionalInterface
+  interface ZipWriter {
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
+
+  private final String jobName;
+
+  private final String version;
+
+  private final ZipWriter zipWriter;
+
+  DataJobSourceResource(String jobName, String version, ZipWriter zipWriter) {
+    this.jobName = jobName;
+    this.version = version;
+    this.zipWriter = zipWriter;
+  }
+
+  /**
+   * @return the id of the git tree of the data job directory, which changes only when the data job
+   *     source changes.
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  /**
+   * Writes the zip into an output stream, which is left open.
+   *
+   * @param outputStream the output stream to write the zip into
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    zipWriter.writeTo(outputStream);
+  }
+
+  /**
+   * Returns the zip held in memory. Prefer {@link #writeTo(OutputStream)}, which does not hold it.
+   */
+  @Override
+  public InputStream getInputStream() throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+    writeTo(outputStream);
+    return new ByteArrayInputStream(outputStream.toByteArray());
+  }
+
+  @Override
+  public long contentLength() {
+    // The length is known only after the zip is written.
+    return -1;
+  }
+
+  @Override
+  public String getFilename() {
+    return jobName + ".zip";
+  }
+
+  @Override
+  public String getDescription() {
+    return String.format("Data job %s source, version %s", jobName, version);
+  }
+}
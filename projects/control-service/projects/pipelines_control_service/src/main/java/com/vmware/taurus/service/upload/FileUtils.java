@@ -6,7 +6,6 @@
 package com.vmware.taurus.service.upload;
 
 import net.lingala.zip4j.ZipFile;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.*;
@@ -25,37 +24,6 @@ import java.util.stream.Collectors;
  */
 public class FileUtils {
 
-  /**
-   * Helper class that will delete the file upon close. Used to return resource hold in temp file
-   * which after it's sent can be deleted.
-   */
-  static class CleanupFileInputStreamResource extends FileSystemResource {
-    public CleanupFileInputStreamResource(File file) {
-      super(file);
-    }
-
-    @Override
-    public InputStream getInputStream() throws IOException {
-      return new DeleteOnCloseFileInputStream(super.getFile());
-    }
-
-    private static final class DeleteOnCloseFileInputStream extends FileInputStream {
-
-      private File file;
-
-      DeleteOnCloseFileInputStream(File file) throws FileNotFoundException {
-        super(file);
-        this.file = file;
-      }
-
-      @Override
-      public void close() throws IOException {
-        super.close();
-        file.delete();
-      }
-    }
-  }
-
   public static Path createTempDir(String prefix) throws IOException {
     return Files.createTempDirectory(prefix);
   }
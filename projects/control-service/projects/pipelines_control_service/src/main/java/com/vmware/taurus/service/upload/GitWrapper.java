@@ -8,27 +8,49 @@ package com.vmware.taurus.service.upload;
 import com.vmware.taurus.exception.Bug;
 import com.vmware.taurus.exception.ExternalSystemError;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.eclipse.jgit.api.*;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Wrapper which eases the usage of JGit and is used in {@link JobUpload} to operate on the
  * repository data jobs repository.
  *
+ * <p>The data jobs repository is cloned once into a local mirror, which is then only fetched
+ * incrementally. The operations which change the repository are serialized through the mirror, in
+ * the order in which they arrive, while the sources of the data jobs are read straight from its
+ * object database. The sources are read under a shared lock, which the operations that close or
+ * clone the mirror again take exclusively, so that the mirror does not go away while a source is
+ * being read from it.
+ *
  * <p>TODO: transform into a full facade by handling git object internally
  */
 @Component
@@ -40,6 +62,11 @@ public class GitWrapper {
     void apply() throws IOException, GitAPIException;
   }
 
+  @FunctionalInterface
+  public interface JobRepositoryOperation<T> {
+    T apply(Git git) throws IOException, GitAPIException;
+  }
+
   private static final String COMMIT_TEMPLATE_SIGNED =
       "Update data job: %s\n\n%s\n\nSigned-off-by: %s";
 
@@ -49,37 +76,126 @@ public class GitWrapper {
 
   private static final String REPOSITORY = "data-jobs";
 
+  private static final String MIRROR_DIRECTORY_PREFIX = "data_jobs_mirror_";
+
   private final String gitDataJobsUrl;
 
   private final String gitDataJobsBranch;
 
   private final String gitDataJobsRemote;
 
+  private final String gitDataJobsMirrorDirectory;
+
+  // Fair, so that the operations on the mirror run in the order in which they arrive.
+  private final ReentrantLock mirrorLock = new ReentrantLock(true);
+
+  // Taken by the sources being written, which may be written on other threads after the
+  // mirrorLock is released, and exclusively when the mirror is closed.
+  private final ReentrantReadWriteLock mirrorReaders = new ReentrantReadWriteLock();
+
+  // Guarded by mirrorLock, and replaced under the write lock of mirrorReaders.
+  private volatile Git mirror;
+
+  // Guarded by mirrorLock.
+  private File mirrorDirectory;
+
+  public GitWrapper(
+      String gitDataJobsUrl,
+      String gitDataJobsBranch,
+      String gitDataJobsRemote,
+      boolean gitDataJobsSslEnabled) {
+    this(gitDataJobsUrl, gitDataJobsBranch, gitDataJobsRemote, gitDataJobsSslEnabled, "");
+  }
+
+  @Autowired
   public GitWrapper(
       @Value("${datajobs.git.url}") String gitDataJobsUrl,
       @Value("${datajobs.git.branch}") String gitDataJobsBranch,
       @Value("${datajobs.git.remote}") String gitDataJobsRemote,
-      @Value("${datajobs.git.ssl.enabled}") boolean gitDataJobsSslEnabled) {
+      @Value("${datajobs.git.ssl.enabled}") boolean gitDataJobsSslEnabled,
+      @Value("${datajobs.git.mirror.directory:}") String gitDataJobsMirrorDirectory) {
 
     this.gitDataJobsUrl = constructCorrectGitUrl(gitDataJobsUrl, gitDataJobsSslEnabled);
     this.gitDataJobsBranch = gitDataJobsBranch;
     this.gitDataJobsRemote = gitDataJobsRemote;
+    this.gitDataJobsMirrorDirectory = gitDataJobsMirrorDirectory;
   }
 
-  public Git cloneJobRepository(File tempDirPath, CredentialsProvider credentialsProvider)
-      throws GitAPIException {
-    // TODO: optimise to not clone the whole repository for every upload endpoint, but rather
-    //  reuse the same repository but updating the a single job file:
-    //
-    // https://stackoverflow.com/questions/600079/how-do-i-clone-a-subdirectory-only-of-a-git-repository/52269934#52269934
-    File jobsRepository = new File(tempDirPath, REPOSITORY);
-    return Git.cloneRepository()
-        .setURI(gitDataJobsUrl)
-        .setBranch(gitDataJobsBranch)
-        .setRemote(gitDataJobsRemote)
-        .setDirectory(jobsRepository)
-        .setCredentialsProvider(credentialsProvider)
-        .call();
+  /**
+   * Runs an operation on the local mirror of the data jobs repository, after fetching the latest
+   * changes and resetting its working tree to the remote branch. The operations are serialized, so
+   * a single operation pushes to the repository at a time.
+   *
+   * @param credentialsProvider the credentials used to fetch from and push to the repository
+   * @param operation the operation, which must not keep the {@link Git} object after it returns
+   * @return the result of the operation
+   */
+  public <T> T withJobRepository(
+      CredentialsProvider credentialsProvider, JobRepositoryOperation<T> operation)
+      throws GitAPIException, IOException {
+    mirrorLock.lock();
+    try {
+      Git git = checkoutRemoteBranch(credentialsProvider);
+      return operation.apply(git);
+    } finally {
+      mirrorLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the source of a data job from the local mirror of the data jobs repository, after fetching
+   * the latest changes. The source is zipped straight from the git objects of the data job
+   * directory when the returned resource is written, without a checkout or temporary files.
+   *
+   * @param jobName the data job whose source it will get
+   * @param credentialsProvider the credentials used to fetch from the repository
+   * @return the data job source, empty if the data job has no source
+   */
+  public Optional<DataJobSourceResource> getDataJobSource(
+      String jobName, CredentialsProvider credentialsProvider) throws GitAPIException, IOException {
+    if (StringUtils.isBlank(jobName)) {
+      throw new Bug(
+          "Trying to get the full repo folder for a single job. " + "That should not be possible.",
+          null);
+    }
+
+    ObjectId treeId;
+    mirrorLock.lock();
+    try {
+      Repository repository = fetchMirror(credentialsProvider).getRepository();
+      ObjectId commitId = repository.resolve(getRemoteBranchRef());
+      if (commitId == null) {
+        return Optional.empty();
+      }
+      try (RevWalk revWalk = new RevWalk(repository);
+          TreeWalk treeWalk =
+              TreeWalk.forPath(repository, jobName, revWalk.parseCommit(commitId).getTree())) {
+        if (treeWalk == null || treeWalk.getFileMode(0) != FileMode.TREE) {
+          return Optional.empty();
+        }
+        treeId = treeWalk.getObjectId(0);
+      }
+    } finally {
+      mirrorLock.unlock();
+    }
+    return Optional.of(
+        new DataJobSourceResource(
+            jobName, treeId.name(), outputStream -> zipDataJobTree(jobName, treeId, outputStream)));
+  }
+
+  @PreDestroy
+  public void close() {
+    mirrorLock.lock();
+    mirrorReaders.writeLock().lock();
+    try {
+      if (mirror != null) {
+        mirror.close();
+        mirror = null;
+      }
+    } finally {
+      mirrorReaders.writeLock().unlock();
+      mirrorLock.unlock();
+    }
   }
 
   public String pushCreateJob(
@@ -143,17 +259,6 @@ public class GitWrapper {
         () -> deleteDataJobFromDirectory(git, jobName));
   }
 
-  public File getDataJobDirectory(Git git, String jobName) {
-    File repositoryLocation = git.getRepository().getDirectory().getParentFile();
-    var jobRepositoryFolderJobPath = new File(repositoryLocation, jobName);
-    if (jobRepositoryFolderJobPath.getAbsolutePath().equals(repositoryLocation.getAbsolutePath())) {
-      throw new Bug(
-          "Trying to get the full repo folder for a single job. " + "That should not be possible.",
-          null);
-    }
-    return jobRepositoryFolderJobPath;
-  }
-
   private boolean tryToPush(PushCommand push) throws GitAPIException {
     log.debug(
         "Try to push: repo: {} remote: {} ref: {} with options {}",
@@ -180,6 +285,153 @@ public class GitWrapper {
     return gitDataJobsUrl;
   }
 
+  /**
+   * Zips the tree of the data job directory from the objects of the current mirror. The objects are
+   * immutable, so the tree is read without the mirrorLock, but it may be missing if the mirror was
+   * cloned again since the tree was resolved.
+   */
+  private void zipDataJobTree(String jobName, ObjectId treeId, OutputStream outputStream)
+      throws IOException {
+    mirrorReaders.readLock().lock();
+    try {
+      Git git = mirror;
+      if (git == null) {
+        throw new IOException("The local mirror of the data jobs repository is closed");
+      }
+      Repository repository = git.getRepository();
+      var zip = new ZipArchiveOutputStream(outputStream);
+      try (TreeWalk treeWalk = new TreeWalk(repository)) {
+        treeWalk.addTree(treeId);
+        treeWalk.setRecursive(true);
+        while (treeWalk.next()) {
+          FileMode fileMode = treeWalk.getFileMode(0);
+          if (fileMode != FileMode.GITLINK) {
+            var entry = new ZipArchiveEntry(jobName + "/" + treeWalk.getPathString());
+            entry.setUnixMode(toUnixMode(fileMode));
+            zip.putArchiveEntry(entry);
+            repository.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).copyTo(zip);
+            zip.closeArchiveEntry();
+          }
+        }
+      }
+      // Leaves the output stream open for its owner to close.
+      zip.finish();
+    } finally {
+      mirrorReaders.readLock().unlock();
+    }
+  }
+
+  /** Keeps the executable bit and the symbolic links of the data job files in the zip. */
+  private static int toUnixMode(FileMode fileMode) {
+    if (fileMode == FileMode.EXECUTABLE_FILE) {
+      return 0100755;
+    }
+    if (fileMode == FileMode.SYMLINK) {
+      return 0120777;
+    }
+    return 0100644;
+  }
+
+  private Git checkoutRemoteBranch(CredentialsProvider credentialsProvider)
+      throws GitAPIException, IOException {
+    Git git = fetchMirror(credentialsProvider);
+    Repository repository = git.getRepository();
+    if (repository.resolve(getRemoteBranchRef()) != null) {
+      // Drops the changes of previous operations which failed to be pushed.
+      git.reset().setRef(getRemoteBranchRef()).setMode(ResetCommand.ResetType.HARD).call();
+    } else if (repository.resolve(Constants.HEAD) != null) {
+      // The remote branch is still empty, so the commits which failed to be pushed can only be
+      // dropped by cloning the repository again.
+      log.info("Clone again the local mirror of {} as its remote branch is empty", gitDataJobsUrl);
+      mirrorReaders.writeLock().lock();
+      try {
+        close();
+        mirror = cloneMirror(credentialsProvider, getMirrorDirectory());
+      } finally {
+        mirrorReaders.writeLock().unlock();
+      }
+      git = mirror;
+    }
+    git.clean().setCleanDirectories(true).setForce(true).call();
+    return git;
+  }
+
+  private Git fetchMirror(CredentialsProvider credentialsProvider)
+      throws GitAPIException, IOException {
+    if (mirror == null) {
+      mirror = openMirror(credentialsProvider);
+    } else {
+      mirror
+          .fetch()
+          .setRemote(gitDataJobsRemote)
+          .setRemoveDeletedRefs(true)
+          .setCredentialsProvider(credentialsProvider)
+          .call();
+    }
+    return mirror;
+  }
+
+  private Git openMirror(CredentialsProvider credentialsProvider)
+      throws GitAPIException, IOException {
+    File directory = getMirrorDirectory();
+    if (new File(directory, Constants.DOT_GIT).isDirectory()) {
+      Git git = null;
+      try {
+        git = Git.open(directory);
+      } catch (IOException e) {
+        log.warn("Unable to open the local mirror in {}, it will be cloned again", directory, e);
+      }
+      if (git != null) {
+        String remoteUrl =
+            git.getRepository().getConfig().getString("remote", gitDataJobsRemote, "url");
+        if (gitDataJobsUrl.equals(remoteUrl)) {
+          try {
+            git.fetch()
+                .setRemote(gitDataJobsRemote)
+                .setRemoveDeletedRefs(true)
+                .setCredentialsProvider(credentialsProvider)
+                .call();
+          } catch (GitAPIException e) {
+            git.close();
+            throw e;
+          }
+          log.info("Reuse the local mirror of {} in {}", gitDataJobsUrl, directory);
+          return git;
+        }
+        git.close();
+      }
+    }
+    return cloneMirror(credentialsProvider, directory);
+  }
+
+  private Git cloneMirror(CredentialsProvider credentialsProvider, File directory)
+      throws GitAPIException, IOException {
+    log.info("Clone {} into the local mirror {}", gitDataJobsUrl, directory);
+    org.apache.commons.io.FileUtils.deleteDirectory(directory);
+    return Git.cloneRepository()
+        .setURI(gitDataJobsUrl)
+        .setBranch(gitDataJobsBranch)
+        .setRemote(gitDataJobsRemote)
+        .setDirectory(directory)
+        .setCredentialsProvider(credentialsProvider)
+        .call();
+  }
+
+  private File getMirrorDirectory() throws IOException {
+    if (mirrorDirectory == null) {
+      File parentDirectory =
+          StringUtils.isBlank(gitDataJobsMirrorDirectory)
+              ? Files.createTempDirectory(MIRROR_DIRECTORY_PREFIX).toFile()
+              : new File(gitDataJobsMirrorDirectory);
+      mirrorDirectory = new File(parentDirectory, REPOSITORY);
+    }
+    return mirrorDirectory;
+  }
+
+  private String getRemoteBranchRef() {
+    return Constants.R_REMOTES + gitDataJobsRemote + "/" + gitDataJobsBranch;
+  }
+
   private void revertAndPullRemote(Git git, CredentialsProvider credentialsProvider)
       throws GitAPIException {
     // This removes the latest commit with the new data job to reset the branch to remote in
@@ -29,7 +29,8 @@ import java.util.Optional;
 /**
  * Class responsible for handling the data job archive coming from the client. The main
  * functionality of the class is to hadnle the archive binary containing the data job using {@link
- * FileUtils} and push the data job to the data jobs repository using {@link GitWrapper}.
+ * FileUtils} and push the data job to the data jobs repository using {@link GitWrapper}, which
+ * keeps a local mirror of the repository across the requests.
  */
 @Service
 @AllArgsConstructor
@@ -51,27 +52,13 @@ public class JobUpload {
    * Get data job source as a zip file.
    *
    * @param jobName the data job whose source it will get
-   * @return resource containing data job content in a zip format.
+   * @return resource containing data job content in a zip format, which is written while it is
+   *     sent.
    */
-  public Optional<Resource> getDataJob(String jobName) {
-    Path tempDirPath = null;
+  public Optional<DataJobSourceResource> getDataJob(String jobName) {
     CredentialsProvider credentialsProvider = gitCredentialsProvider.getProvider();
     try {
-      tempDirPath = FileUtils.createTempDir(TEMPORARY_DIRECTORY_PREFIX);
-
-      Git git =
-          gitWrapper.cloneJobRepository(
-              new File(tempDirPath.toFile(), "repo"), credentialsProvider);
-      File jobDirectory = gitWrapper.getDataJobDirectory(git, jobName);
-      if (jobDirectory.isDirectory()) {
-        File tempFile = File.createTempFile(jobName, "zip");
-        tempFile.delete();
-        FileUtils.zipDataJob(jobDirectory, tempFile);
-        return Optional.of(new FileUtils.CleanupFileInputStreamResource(tempFile));
-      } else {
-        return Optional.empty();
-      }
-
+      return gitWrapper.getDataJobSource(jobName, credentialsProvider);
     } catch (GitAPIException e) {
       // TODO: split into 5xx and 4xx errors depending on exception (e.g too big upload is client
       // error and not server error)
@@ -89,26 +76,6 @@ public class JobUpload {
               "Operations on the file system failed while trying to get data job source: %s",
               jobName),
           e);
-    } finally {
-      if (tempDirPath != null) {
-        try {
-          FileUtils.removeDir(tempDirPath);
-        } catch (IOException e) {
-          log.warn(
-              new ErrorMessage(
-                      String.format(
-                          "Unable to clean up temporary files while tyring to get data job source:"
-                              + " %s",
-                          jobName),
-                      String.format("Error: %s", e.getMessage()),
-                      "Operation may be successful, but temporary files are left on the file"
-                          + " system.",
-                      "Contact the provider to resolve the issue or clean up the temporary files"
-                          + " manually.")
-                  .toString(),
-              e);
-        }
-      }
     }
   }
 
@@ -132,11 +99,10 @@ public class JobUpload {
       File jobFolder =
           FileUtils.unzipDataJob(resource, new File(tempDirPath.toFile(), "job"), jobName);
 
-      Git git =
-          gitWrapper.cloneJobRepository(
-              new File(tempDirPath.toFile(), "repo"), credentialsProvider);
-
-      jobVersion = createRemoteJob(git, jobName, credentialsProvider, reason, jobFolder);
+      jobVersion =
+          gitWrapper.withJobRepository(
+              credentialsProvider,
+              git -> createRemoteJob(git, jobName, credentialsProvider, reason, jobFolder));
     } catch (GitAPIException e) {
       // TODO: split into 5xx and 4xx errors depending on exception (e.g too big upload is client
       // error and not server error)
@@ -186,16 +152,14 @@ public class JobUpload {
    * @param reason reason specified by user for deleting the data job
    */
   public void deleteDataJob(String jobName, String reason) {
-    Path tempDirPath = null;
     CredentialsProvider credentialsProvider = gitCredentialsProvider.getProvider();
     try {
-      tempDirPath = FileUtils.createTempDir(TEMPORARY_DIRECTORY_PREFIX);
-
-      Git git =
-          gitWrapper.cloneJobRepository(
-              new File(tempDirPath.toFile(), "repo"), credentialsProvider);
-
-      removeRemoteJob(git, jobName, credentialsProvider, reason);
+      gitWrapper.withJobRepository(
+          credentialsProvider,
+          git -> {
+            removeRemoteJob(git, jobName, credentialsProvider, reason);
+            return null;
+          });
     } catch (GitAPIException e) {
       // TODO: split into 5xx and 4xx errors depending on exception (e.g too big upload is client
       // error and not server error)
@@ -213,27 +177,6 @@ public class JobUpload {
               "Operations on the file system failed while trying to handle deletion of job: %s",
               jobName),
           e);
-    } finally {
-      if (tempDirPath != null) {
-        try {
-          // TODO: go with try with resources:
-          //
-          // https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html#:~:text=Note%3A%20A%20try%20%2Dwith%2D,resources%20declared%20have%20been%20closed.
-          FileUtils.removeDir(tempDirPath);
-        } catch (IOException e) {
-          log.warn(
-              new ErrorMessage(
-                      String.format(
-                          "Unable to clean up temporary files while tyring to delete: %s", jobName),
-                      String.format("Error: %s", e.getMessage()),
-                      "Job is successfully deleted, but temporary files are left on the file"
-                          + " system.",
-                      "Contact the provider to resolve the issue or clean up the temporary files"
-                          + " manually.")
-                  .toString(),
-              e);
-        }
-      }
     }
   }
 
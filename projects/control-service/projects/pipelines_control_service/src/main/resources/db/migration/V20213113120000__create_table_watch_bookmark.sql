@@ -0,0 +1,5 @@
+create table if not exists watch_bookmark (
+    name varchar primary key,
+    resource_version varchar,
+    last_watch_time bigint not null
+)
@@ -0,0 +1,14 @@
+create table if not exists data_job_redeploy (
+    id varchar primary key,
+    redeploy_id varchar not null,
+    job_name varchar not null,
+    vdk_version varchar,
+    status varchar not null,
+    message varchar,
+    queued_at timestamp not null,
+    started_at timestamp,
+    finished_at timestamp
+);
+
+create index if not exists idx_data_job_redeploy_redeploy_id
+    on data_job_redeploy (redeploy_id);
@@ -0,0 +1,5 @@
+alter table if exists data_job
+    add column if not exists updated_at timestamp;
+
+create index if not exists idx_data_job_updated_at
+    on data_job (updated_at);
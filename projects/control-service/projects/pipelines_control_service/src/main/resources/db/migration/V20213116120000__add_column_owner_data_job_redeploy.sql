@@ -0,0 +1 @@
+alter table data_job_redeploy add column if not exists owner varchar;
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A clock for tests, which stays at the same instant until it is moved. The clocks returned by
+ * {@link #withZone(ZoneId)} share the instant with this clock, so they are moved together.
+ */
+public final class MutableClock extends Clock {
+
+  private final AtomicReference<Instant> instant;
+  private final ZoneId zone;
+
+  public MutableClock(Instant instant) {
+    this(new AtomicReference<>(instant), ZoneOffset.UTC);
+  }
+
+  private MutableClock(AtomicReference<Instant> instant, ZoneId zone) {
+    this.instant = instant;
+    this.zone = zone;
+  }
+
+  public void setInstant(Instant instant) {
+    this.instant.set(instant);
+  }
+
+  public void advance(long millis) {
+    instant.updateAndGet(current -> current.plusMillis(millis));
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public MutableClock withZone(ZoneId zone) {
+    return zone.equals(this.zone) ? this : new MutableClock(instant, zone);
+  }
+
+  @Override
+  public Instant instant() {
+    return instant.get();
+  }
+}
@@ -6,7 +6,7 @@
 package com.vmware.taurus.authorization;
 
 import com.vmware.taurus.authorization.provider.AuthorizationProvider;
-import com.vmware.taurus.authorization.webhook.AuthorizationWebHookProvider;
+import com.vmware.taurus.authorization.webhook.AuthorizationDecisionCache;
 import com.vmware.taurus.base.FeatureFlags;
 import com.vmware.taurus.security.SecurityConfiguration;
 import com.vmware.taurus.service.JobsRepository;
@@ -28,7 +28,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 import java.io.IOException;
-import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthorizationInterceptorTest {
@@ -37,7 +36,7 @@ public class AuthorizationInterceptorTest {
 
   @Mock private FeatureFlags featureFlags;
 
-  @Mock private AuthorizationWebHookProvider webhookProvider;
+  @Mock private AuthorizationDecisionCache decisionCache;
 
   @Mock private JobsRepository jobsRepository;
 
@@ -57,10 +56,9 @@ public class AuthorizationInterceptorTest {
     MockHttpServletRequest request = new MockHttpServletRequest();
     MockHttpServletResponse response = new MockHttpServletResponse();
     request.setMethod("post");
-    Mockito.when(webhookProvider.invokeWebHook(Mockito.any()))
+    Mockito.when(decisionCache.getDecision(Mockito.any()))
         .thenReturn(
-            Optional.of(
-                WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build()));
+            WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build());
     Mockito.when(jwtAuthenticationToken.isAuthenticated()).thenReturn(true);
     SecurityContext securityContext = Mockito.mock(SecurityContext.class);
     Mockito.when(securityContext.getAuthentication()).thenReturn(jwtAuthenticationToken);
@@ -80,10 +78,9 @@ public class AuthorizationInterceptorTest {
     MockHttpServletRequest request = new MockHttpServletRequest();
     MockHttpServletResponse response = new MockHttpServletResponse();
     request.setMethod("get");
-    Mockito.when(webhookProvider.invokeWebHook(Mockito.any()))
+    Mockito.when(decisionCache.getDecision(Mockito.any()))
         .thenReturn(
-            Optional.of(
-                WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build()));
+            WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build());
     Mockito.when(jwtAuthenticationToken.isAuthenticated()).thenReturn(true);
     SecurityContext securityContext = Mockito.mock(SecurityContext.class);
     Mockito.when(securityContext.getAuthentication()).thenReturn(jwtAuthenticationToken);
@@ -105,10 +102,9 @@ public class AuthorizationInterceptorTest {
     request.setMethod("put");
     Mockito.when(jwtAuthenticationToken.isAuthenticated()).thenReturn(true);
     SecurityContext securityContext = Mockito.mock(SecurityContext.class);
-    Mockito.when(webhookProvider.invokeWebHook(Mockito.any()))
+    Mockito.when(decisionCache.getDecision(Mockito.any()))
         .thenReturn(
-            Optional.of(
-                WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build()));
+            WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build());
     Mockito.when(securityContext.getAuthentication()).thenReturn(jwtAuthenticationToken);
     SecurityContextHolder.setContext(securityContext);
 
@@ -128,14 +124,13 @@ public class AuthorizationInterceptorTest {
     request.setMethod("put");
     Mockito.when(jwtAuthenticationToken.isAuthenticated()).thenReturn(true);
     SecurityContext securityContext = Mockito.mock(SecurityContext.class);
-    Mockito.when(webhookProvider.invokeWebHook(Mockito.any()))
+    Mockito.when(decisionCache.getDecision(Mockito.any()))
         .thenReturn(
-            Optional.of(
-                WebHookResult.builder()
-                    .status(HttpStatus.UNAUTHORIZED)
-                    .message("Missing team body")
-                    .success(true)
-                    .build()));
+            WebHookResult.builder()
+                .status(HttpStatus.UNAUTHORIZED)
+                .message("Missing team body")
+                .success(true)
+                .build());
     Mockito.when(securityContext.getAuthentication()).thenReturn(jwtAuthenticationToken);
     SecurityContextHolder.setContext(securityContext);
 
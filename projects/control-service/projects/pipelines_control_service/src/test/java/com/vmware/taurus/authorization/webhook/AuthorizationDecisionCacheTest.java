@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.authorization.webhook;
+
+import com.vmware.taurus.MutableClock;
+import com.vmware.taurus.exception.ExternalSystemError;
+import com.vmware.taurus.service.webhook.WebHookResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthorizationDecisionCacheTest {
+
+  private static final long ALLOW_TTL_MILLIS = 60_000;
+  private static final long DENY_TTL_MILLIS = 10_000;
+
+  private static final WebHookResult ALLOWED =
+      WebHookResult.builder().status(HttpStatus.OK).message("").success(true).build();
+  private static final WebHookResult DENIED =
+      WebHookResult.builder().status(HttpStatus.FORBIDDEN).message("denied").success(false).build();
+
+  @Mock private AuthorizationWebHookProvider webHookProvider;
+
+  private final MutableClock clock = new MutableClock(Instant.ofEpochMilli(1_000_000));
+  private SimpleMeterRegistry meterRegistry;
+  private AuthorizationDecisionCache decisionCache;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    decisionCache =
+        new AuthorizationDecisionCache(
+            webHookProvider, meterRegistry, ALLOW_TTL_MILLIS, DENY_TTL_MILLIS, 100, clock);
+  }
+
+  @Test
+  public void testGetDecision_withIdenticalRequests_shouldCallWebHookOnce() {
+    Mockito.when(webHookProvider.invokeWebHook(Mockito.any())).thenReturn(Optional.of(ALLOWED));
+
+    Assertions.assertSame(ALLOWED, decisionCache.getDecision(body("user", "team")));
+    Assertions.assertSame(ALLOWED, decisionCache.getDecision(body("user", "team")));
+
+    Mockito.verify(webHookProvider, Mockito.times(1)).invokeWebHook(Mockito.any());
+    Assertions.assertEquals(
+        1.0,
+        meterRegistry.get(AuthorizationDecisionCache.CACHE_HITS_COUNTER_NAME).counter().count());
+    Assertions.assertEquals(
+        1.0,
+        meterRegistry.get(AuthorizationDecisionCache.CACHE_MISSES_COUNTER_NAME).counter().count());
+    Assertions.assertEquals(
+        1,
+        meterRegistry.get(AuthorizationDecisionCache.WEBHOOK_LATENCY_TIMER_NAME).timer().count());
+  }
+
+  @Test
+  public void testGetDecision_withDifferentRequests_shouldCallWebHookForEach() {
+    Mockito.when(webHookProvider.invokeWebHook(body("user", "team")))
+        .thenReturn(Optional.of(ALLOWED));
+    Mockito.when(webHookProvider.invokeWebHook(body("other-user", "team")))
+        .thenReturn(Optional.of(DENIED));
+
+    Assertions.assertSame(ALLOWED, decisionCache.getDecision(body("user", "team")));
+    Assertions.assertSame(DENIED, decisionCache.getDecision(body("other-user", "team")));
+
+    Mockito.verify(webHookProvider, Mockito.times(2)).invokeWebHook(Mockito.any());
+  }
+
+  @Test
+  public void testGetDecision_afterTtl_shouldCallWebHookAgain() {
+    Mockito.when(webHookProvider.invokeWebHook(body("user", "team")))
+        .thenReturn(Optional.of(ALLOWED));
+    Mockito.when(webHookProvider.invokeWebHook(body("other-user", "team")))
+        .thenReturn(Optional.of(DENIED));
+    decisionCache.getDecision(body("user", "team"));
+    decisionCache.getDecision(body("other-user", "team"));
+
+    clock.advance(DENY_TTL_MILLIS);
+    decisionCache.getDecision(body("user", "team"));
+    decisionCache.getDecision(body("other-user", "team"));
+
+    Mockito.verify(webHookProvider, Mockito.times(1)).invokeWebHook(body("user", "team"));
+    Mockito.verify(webHookProvider, Mockito.times(2)).invokeWebHook(body("other-user", "team"));
+
+    clock.advance(ALLOW_TTL_MILLIS);
+    decisionCache.getDecision(body("user", "team"));
+
+    Mockito.verify(webHookProvider, Mockito.times(2)).invokeWebHook(body("user", "team"));
+  }
+
+  @Test
+  public void testGetDecision_afterInvalidateUser_shouldCallWebHookAgain() {
+    Mockito.when(webHookProvider.invokeWebHook(Mockito.any())).thenReturn(Optional.of(ALLOWED));
+    decisionCache.getDecision(body("user", "team"));
+    decisionCache.getDecision(body("other-user", "team"));
+
+    decisionCache.invalidateUser("user");
+    decisionCache.getDecision(body("user", "team"));
+    decisionCache.getDecision(body("other-user", "team"));
+
+    Mockito.verify(webHookProvider, Mockito.times(2)).invokeWebHook(body("user", "team"));
+    Mockito.verify(webHookProvider, Mockito.times(1)).invokeWebHook(body("other-user", "team"));
+  }
+
+  @Test
+  public void testGetDecision_whenWebHookFails_shouldNotKeepFailure() {
+    Mockito.when(webHookProvider.invokeWebHook(Mockito.any()))
+        .thenThrow(
+            new ExternalSystemError(
+                ExternalSystemError.MainExternalSystem.AUTHORIZATION_SERVER, "unavailable"))
+        .thenReturn(Optional.of(ALLOWED));
+
+    Assertions.assertThrows(
+        ExternalSystemError.class, () -> decisionCache.getDecision(body("user", "team")));
+    Assertions.assertSame(ALLOWED, decisionCache.getDecision(body("user", "team")));
+  }
+
+  @Test
+  public void testGetDecision_withConcurrentIdenticalRequests_shouldCallWebHookOnce()
+      throws Exception {
+    int threads = 4;
+    CountDownLatch webHookCalled = new CountDownLatch(1);
+    CountDownLatch webHookRelease = new CountDownLatch(1);
+    Mockito.when(webHookProvider.invokeWebHook(Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              webHookCalled.countDown();
+              webHookRelease.await(10, TimeUnit.SECONDS);
+              return Optional.of(ALLOWED);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<WebHookResult>> decisions = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        decisions.add(executor.submit(() -> decisionCache.getDecision(body("user", "team"))));
+      }
+      Assertions.assertTrue(webHookCalled.await(10, TimeUnit.SECONDS));
+      // Gives the other threads the time to join the call in flight.
+      Thread.sleep(200);
+      webHookRelease.countDown();
+
+      for (Future<WebHookResult> decision : decisions) {
+        Assertions.assertSame(ALLOWED, decision.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(webHookProvider, Mockito.times(1)).invokeWebHook(Mockito.any());
+  }
+
+  private static AuthorizationBody body(String userId, String team) {
+    var body = new AuthorizationBody();
+    body.setRequesterUserId(userId);
+    body.setRequestedResourceTeam(team);
+    body.setRequestedResourceName("data-job");
+    body.setRequestedResourceId("job");
+    body.setRequestedPermission("read");
+    body.setRequestedHttpPath("/data-jobs/for-team/" + team + "/jobs/job");
+    body.setRequestedHttpVerb("GET");
+    body.setRequestedResourceNewTeam(team);
+    return body;
+  }
+}
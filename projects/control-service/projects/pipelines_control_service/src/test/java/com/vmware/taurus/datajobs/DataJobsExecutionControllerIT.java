@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles({"MockKubernetes", "MockKerberos", "unittest", "MockTelemetry"})
@@ -31,6 +33,7 @@ public class DataJobsExecutionControllerIT {
 
   private static final String TEST_TEAM_NAME = "test-team";
   private static final String TEST_JOB_NAME = "test-job";
+  private static final int MAX_CONCURRENT_LOG_STREAMS = 20;
 
   @Autowired private MockMvc mockMvc;
 
@@ -62,6 +65,54 @@ public class DataJobsExecutionControllerIT {
     mockMvc.perform(get(url)).andExpect(status().isOk());
   }
 
+  @Test
+  @WithMockUser
+  @DirtiesContext
+  public void testDataJobExecutionLogsStream() throws Exception {
+    TestUtils.createDataJob(mockMvc, TEST_TEAM_NAME, TEST_JOB_NAME);
+    TestUtils.createDeployment(mockMvc, TEST_TEAM_NAME, TEST_JOB_NAME);
+    ResultActions mockExecution =
+        TestUtils.startMockExecution(mockMvc, TEST_TEAM_NAME, TEST_JOB_NAME);
+    var location = mockExecution.andReturn().getResponse().getHeader("Location");
+    String id = location.substring(location.lastIndexOf('/') + 1);
+
+    String url =
+        String.format(
+            "/data-jobs/for-team/%s/jobs/%s/executions/%s/logs/stream",
+            TEST_TEAM_NAME, TEST_JOB_NAME, id);
+    mockMvc
+        .perform(get(url))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+        .andExpect(content().string(MockKubernetes.MOCK_JOB_LOGS));
+    mockMvc
+        .perform(
+            get(url)
+                .param("since_time", "2021-11-17T10:00:01Z")
+                .param("offset_bytes", "5")
+                .param("limit_bytes", "20"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("11-17T10:00:01.00000"));
+    // The streams are released once the logs are sent.
+    for (int i = 0; i <= MAX_CONCURRENT_LOG_STREAMS; i++) {
+      mockMvc.perform(get(url)).andExpect(status().isOk());
+    }
+  }
+
+  @Test
+  @WithMockUser
+  @DirtiesContext
+  public void testDataJobExecutionLogsStreamNoExecution() throws Exception {
+    TestUtils.createDataJob(mockMvc, TEST_TEAM_NAME, TEST_JOB_NAME);
+    TestUtils.createDeployment(mockMvc, TEST_TEAM_NAME, TEST_JOB_NAME);
+
+    String url =
+        String.format(
+            "/data-jobs/for-team/%s/jobs/%s/executions/%s/logs/stream",
+            TEST_TEAM_NAME, TEST_JOB_NAME, "no-exec");
+    mockMvc.perform(get(url)).andExpect(status().isNotFound());
+  }
+
   @Test
   @WithMockUser
   @DirtiesContext
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.datajobs;
+
+import com.vmware.taurus.base.FeatureFlags;
+import com.vmware.taurus.exception.DataJobRedeployForbiddenException;
+import com.vmware.taurus.service.deploy.BulkRedeployService;
+import com.vmware.taurus.service.diag.OperationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+public class DataJobsRedeployControllerTest {
+
+  private final BulkRedeployService bulkRedeployService = Mockito.mock(BulkRedeployService.class);
+  private final FeatureFlags featureFlags = Mockito.mock(FeatureFlags.class);
+
+  @AfterEach
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testRedeploy_withAdminAuthority_shouldStartTheRedeploy() {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(true);
+    Mockito.when(bulkRedeployService.redeployAll(Mockito.eq("1.2.3"), Mockito.any()))
+        .thenReturn("redeploy-id");
+    authenticate("SCOPE_admin");
+
+    var response = newController("SCOPE_other, SCOPE_admin").dataJobsRedeploy("1.2.3");
+
+    Assertions.assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    Assertions.assertEquals("redeploy-id", response.getBody().getRedeployId());
+  }
+
+  @Test
+  public void testRedeploy_withoutAdminAuthority_shouldBeForbidden() {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(true);
+    authenticate("SCOPE_user");
+    var controller = newController("SCOPE_admin");
+
+    Assertions.assertThrows(
+        DataJobRedeployForbiddenException.class, () -> controller.dataJobsRedeploy(null));
+    Assertions.assertThrows(
+        DataJobRedeployForbiddenException.class, () -> controller.dataJobsRedeployRead("id"));
+    Mockito.verifyNoInteractions(bulkRedeployService);
+  }
+
+  @Test
+  public void testRedeploy_withSecurityDisabled_shouldBeForbidden() {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(false);
+    authenticate("SCOPE_admin");
+
+    Assertions.assertThrows(
+        DataJobRedeployForbiddenException.class,
+        () -> newController("SCOPE_admin").dataJobsRedeploy(null));
+    Assertions.assertThrows(
+        DataJobRedeployForbiddenException.class, () -> newController("").dataJobsRedeploy(null));
+  }
+
+  private DataJobsRedeployController newController(String adminAuthorities) {
+    return new DataJobsRedeployController(
+        bulkRedeployService, new OperationContext(), featureFlags, adminAuthorities);
+  }
+
+  private static void authenticate(String authority) {
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                "user", null, List.of(new SimpleGrantedAuthority(authority))));
+  }
+}
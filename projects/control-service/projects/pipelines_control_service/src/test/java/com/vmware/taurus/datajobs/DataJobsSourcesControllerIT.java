@@ -22,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -136,4 +137,39 @@ public class DataJobsSourcesControllerIT {
             new ByteArrayResource(downlaodedJobZipBinary), tempDir.toFile(), TEST_JOB_NAME);
     Assertions.assertTrue(jobDir.isDirectory());
   }
+
+  @Test
+  @WithMockUser
+  public void testDataJobSourcesDownload_withMatchingETag_shouldReturnNotModified()
+      throws Exception {
+    byte[] jobZipBinary =
+        IOUtils.toByteArray(
+            getClass().getClassLoader().getResourceAsStream("file_test/test_job.zip"));
+    mockMvc
+        .perform(
+            post(String.format(
+                    "/data-jobs/for-team/%s/jobs/%s/sources", TEST_TEAM_NAME, TEST_JOB_NAME))
+                .content(jobZipBinary)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM))
+        .andExpect(status().isOk());
+
+    String eTag =
+        mockMvc
+            .perform(
+                get(
+                    String.format(
+                        "/data-jobs/for-team/%s/jobs/%s/sources", TEST_TEAM_NAME, TEST_JOB_NAME)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    Assertions.assertNotNull(eTag);
+
+    mockMvc
+        .perform(
+            get(String.format(
+                    "/data-jobs/for-team/%s/jobs/%s/sources", TEST_TEAM_NAME, TEST_JOB_NAME))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+  }
 }
@@ -18,10 +18,13 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.mockito.AdditionalAnswers.answer;
@@ -39,6 +42,11 @@ import static org.mockito.Mockito.*;
 @Configuration
 public class MockKubernetes {
 
+  public static final String MOCK_JOB_LOGS =
+      "2021-11-17T10:00:00.000000001Z first line\n"
+          + "2021-11-17T10:00:01.000000001Z second line\n"
+          + "2021-11-17T10:00:02.000000001Z third line\n";
+
   @Bean
   @Primary
   public DataJobsKubernetesService mockDataJobsKubernetesService()
@@ -175,17 +183,29 @@ public class MockKubernetes {
               String jobName = inv.getArgument(0);
               if (jobs.containsKey(jobName)) {
                 if (jobName.startsWith("failure-")) {
-                  return new KubernetesService.JobStatusCondition(
-                      false, "Status", "Job name starts with 'failure-'", "", 0);
+                  return CompletableFuture.completedFuture(
+                      new KubernetesService.JobStatusCondition(
+                          false, "Status", "Job name starts with 'failure-'", "", 0));
                 } else {
-                  return new KubernetesService.JobStatusCondition(true, "Status", "", "", 0);
+                  return CompletableFuture.completedFuture(
+                      new KubernetesService.JobStatusCondition(true, "Status", "", "", 0));
                 }
               }
-              return new KubernetesService.JobStatusCondition(false, null, "No such job", "", 0);
+              return CompletableFuture.completedFuture(
+                  new KubernetesService.JobStatusCondition(false, null, "No such job", "", 0));
             })
         .when(mock)
-        .watchJob(anyString(), anyInt(), any());
+        .awaitJobCompletion(anyString(), anyInt());
+    doAnswer(inv -> CompletableFuture.completedFuture(!jobs.containsKey(inv.getArgument(0))))
+        .when(mock)
+        .awaitJobDeletion(anyString(), anyInt());
 
     doAnswer(inv -> "logs").when(mock).getJobLogs(anyString(), anyInt());
+    doAnswer(
+            inv ->
+                Optional.of(
+                    new ByteArrayInputStream(MOCK_JOB_LOGS.getBytes(StandardCharsets.UTF_8))))
+        .when(mock)
+        .streamJobLogs(anyString(), any(), any(), any(), anyBoolean());
   }
 }
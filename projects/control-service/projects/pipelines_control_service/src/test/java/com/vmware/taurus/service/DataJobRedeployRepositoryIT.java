@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import com.vmware.taurus.ControlplaneApplication;
+import com.vmware.taurus.service.model.DataJobRedeploy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@SpringBootTest(classes = ControlplaneApplication.class)
+public class DataJobRedeployRepositoryIT {
+
+  private static final OffsetDateTime QUEUED_AT =
+      OffsetDateTime.now(ZoneOffset.UTC).minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+
+  @Autowired private DataJobRedeployRepository repository;
+
+  @BeforeEach
+  public void setUp() {
+    repository.deleteAll();
+  }
+
+  @Test
+  public void testUpdateHeartbeatAt_shouldUpdateOnlyTheActiveRedeploysOfTheOwner() {
+    repository.saveAll(
+        List.of(
+            redeploy("own-building", DataJobRedeploy.Status.BUILDING, "this-host"),
+            redeploy("own-succeeded", DataJobRedeploy.Status.SUCCEEDED, "this-host"),
+            redeploy("other-building", DataJobRedeploy.Status.BUILDING, "other-host")));
+    var heartbeatAt = QUEUED_AT.plusMinutes(30);
+
+    int updated =
+        repository.updateHeartbeatAtByOwnerAndStatusIn(
+            "this-host",
+            List.of(
+                DataJobRedeploy.Status.QUEUED,
+                DataJobRedeploy.Status.BUILDING,
+                DataJobRedeploy.Status.SCHEDULING),
+            heartbeatAt);
+
+    Assertions.assertEquals(1, updated);
+    Assertions.assertTrue(
+        heartbeatAt.isEqual(repository.findById("own-building").get().getHeartbeatAt()));
+    Assertions.assertTrue(
+        QUEUED_AT.isEqual(repository.findById("own-succeeded").get().getHeartbeatAt()));
+    Assertions.assertTrue(
+        QUEUED_AT.isEqual(repository.findById("other-building").get().getHeartbeatAt()));
+  }
+
+  private static DataJobRedeploy redeploy(
+      String jobName, DataJobRedeploy.Status status, String owner) {
+    return DataJobRedeploy.builder()
+        .id(jobName)
+        .redeployId("redeploy")
+        .jobName(jobName)
+        .status(status)
+        .queuedAt(QUEUED_AT)
+        .owner(owner)
+        .heartbeatAt(QUEUED_AT)
+        .build();
+  }
+}
@@ -7,6 +7,7 @@ package com.vmware.taurus.service;
 
 import com.vmware.taurus.ControlplaneApplication;
 import com.vmware.taurus.RepositoryUtil;
+import com.vmware.taurus.service.graphql.model.DataJobExecutionFilter;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DataJobExecution;
 import com.vmware.taurus.service.model.ExecutionStatus;
@@ -22,6 +23,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /** Integration tests of the setup of Spring Data repository for data job executions */
 @SpringBootTest(classes = ControlplaneApplication.class)
@@ -219,4 +222,145 @@ public class JobExecutionRepositoryIT {
     Assertions.assertTrue(lastExecution.isPresent());
     Assertions.assertEquals("execution2", lastExecution.get().getId());
   }
+
+  @Test
+  void testFindPageOfEachDataJob_shouldReturnTheRequestedPageOfEachDataJob() {
+    DataJob firstDataJob = RepositoryUtil.createDataJob(jobsRepository, "first-job");
+    DataJob secondDataJob = RepositoryUtil.createDataJob(jobsRepository, "second-job");
+    DataJob otherDataJob = RepositoryUtil.createDataJob(jobsRepository, "other-job");
+    OffsetDateTime startTime = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    for (int i = 1; i <= 3; i++) {
+      RepositoryUtil.createDataJobExecution(
+          jobExecutionRepository,
+          "first-execution-" + i,
+          firstDataJob,
+          ExecutionStatus.SUCCEEDED,
+          startTime.plusHours(i),
+          startTime.plusHours(i).plusMinutes(5));
+      RepositoryUtil.createDataJobExecution(
+          jobExecutionRepository,
+          "second-execution-" + i,
+          secondDataJob,
+          ExecutionStatus.SUCCEEDED,
+          startTime.plusHours(i),
+          startTime.plusHours(i).plusMinutes(5));
+      RepositoryUtil.createDataJobExecution(
+          jobExecutionRepository,
+          "other-execution-" + i,
+          otherDataJob,
+          ExecutionStatus.SUCCEEDED,
+          startTime.plusHours(i),
+          startTime.plusHours(i).plusMinutes(5));
+    }
+
+    var actualJobExecutions =
+        jobExecutionRepository.findPageOfEachDataJob(
+            List.of(firstDataJob.getName(), secondDataJob.getName()),
+            null,
+            Sort.unsorted(),
+            PageRequest.of(0, 2));
+
+    Assertions.assertEquals(
+        List.of(
+            "first-execution-3", "first-execution-2", "second-execution-3", "second-execution-2"),
+        actualJobExecutions.stream().map(DataJobExecution::getId).collect(Collectors.toList()));
+    Assertions.assertEquals(
+        firstDataJob.getName(), actualJobExecutions.get(0).getDataJob().getName());
+  }
+
+  @Test
+  void testFindPageOfEachDataJob_withFilterAndSort_shouldReturnMatchingExecutions() {
+    DataJob dataJob = RepositoryUtil.createDataJob(jobsRepository, "test-job", "test-team");
+    OffsetDateTime startTime = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository,
+        "execution1",
+        dataJob,
+        ExecutionStatus.SUCCEEDED,
+        startTime,
+        startTime.plusMinutes(5));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository,
+        "execution2",
+        dataJob,
+        ExecutionStatus.USER_ERROR,
+        startTime.plusHours(1),
+        startTime.plusHours(1).plusMinutes(5));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository,
+        "execution3",
+        dataJob,
+        ExecutionStatus.SUCCEEDED,
+        startTime.plusHours(2),
+        startTime.plusHours(2).plusMinutes(5));
+
+    var actualJobExecutions =
+        jobExecutionRepository.findPageOfEachDataJob(
+            List.of(dataJob.getName()),
+            DataJobExecutionFilter.builder()
+                .statusIn(List.of(ExecutionStatus.SUCCEEDED))
+                .teamNameIn(List.of("test-team"))
+                .startTimeGte(startTime)
+                .build(),
+            Sort.by(Sort.Direction.ASC, "startTime"),
+            Pageable.unpaged());
+
+    Assertions.assertEquals(
+        List.of("execution1", "execution3"),
+        actualJobExecutions.stream().map(DataJobExecution::getId).collect(Collectors.toList()));
+    Assertions.assertTrue(
+        jobExecutionRepository
+            .findPageOfEachDataJob(
+                List.of(dataJob.getName()),
+                DataJobExecutionFilter.builder().teamNameIn(List.of("other-team")).build(),
+                Sort.unsorted(),
+                Pageable.unpaged())
+            .isEmpty());
+  }
+
+  @Test
+  void testUpdateStatusOfActiveExecutionsNotIn_shouldUpdateOnlyStaleExecutions() {
+    DataJob dataJob = RepositoryUtil.createDataJob(jobsRepository);
+    OffsetDateTime now = OffsetDateTime.now();
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository, "running", dataJob, ExecutionStatus.RUNNING, now.minusMinutes(5));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository, "stale1", dataJob, ExecutionStatus.RUNNING, now.minusMinutes(5));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository, "stale2", dataJob, ExecutionStatus.SUBMITTED, now.minusMinutes(5));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository, "recent", dataJob, ExecutionStatus.RUNNING, now.minusMinutes(1));
+    RepositoryUtil.createDataJobExecution(
+        jobExecutionRepository,
+        "platform-error",
+        dataJob,
+        ExecutionStatus.PLATFORM_ERROR,
+        now.minusMinutes(5));
+
+    List<String> updatedIds =
+        jobExecutionRepository.updateStatusOfActiveExecutionsNotIn(
+            Set.of("running"), now.minusMinutes(3), ExecutionStatus.SUCCEEDED, "Synchronized", now);
+
+    Assertions.assertEquals(Set.of("stale1", "stale2"), Set.copyOf(updatedIds));
+    var stale = jobExecutionRepository.findById("stale2").get();
+    Assertions.assertEquals(ExecutionStatus.SUCCEEDED, stale.getStatus());
+    Assertions.assertEquals("Synchronized", stale.getMessage());
+    Assertions.assertNotNull(stale.getEndTime());
+    Assertions.assertEquals(
+        ExecutionStatus.RUNNING, jobExecutionRepository.findById("running").get().getStatus());
+    Assertions.assertEquals(
+        ExecutionStatus.RUNNING, jobExecutionRepository.findById("recent").get().getStatus());
+    Assertions.assertEquals(
+        ExecutionStatus.PLATFORM_ERROR,
+        jobExecutionRepository.findById("platform-error").get().getStatus());
+    Assertions.assertTrue(
+        jobExecutionRepository
+            .updateStatusOfActiveExecutionsNotIn(
+                Set.of("running"),
+                now.minusMinutes(3),
+                ExecutionStatus.SUCCEEDED,
+                "Synchronized",
+                now)
+            .isEmpty());
+  }
 }
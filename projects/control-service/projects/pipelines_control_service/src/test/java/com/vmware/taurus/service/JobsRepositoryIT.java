@@ -6,6 +6,11 @@
 package com.vmware.taurus.service;
 
 import com.vmware.taurus.ControlplaneApplication;
+import com.vmware.taurus.service.graphql.model.Filter;
+import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyByLastExecutionDuration;
+import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyByLastExecutionStatus;
+import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyByLastExecutionTime;
+import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyByTeam;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DeploymentStatus;
 import com.vmware.taurus.service.model.ExecutionStatus;
@@ -15,9 +20,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /** Integration tests of the setup of Spring Data repository for data jobs */
 @SpringBootTest(classes = ControlplaneApplication.class)
@@ -114,4 +124,148 @@ public class JobsRepositoryIT {
         ExecutionStatus.USER_ERROR, persistedEntity.get().getLatestJobTerminationStatus());
     Assertions.assertEquals("new-id", persistedEntity.get().getLatestJobExecutionId());
   }
+
+  @Test
+  void testFindAllByUpdatedAtAfter() {
+    var oldEntity = new DataJob("old", new JobConfig(), DeploymentStatus.NONE);
+    repository.save(oldEntity);
+    repository.save(new DataJob("unchanged", new JobConfig(), DeploymentStatus.NONE));
+    var since = repository.findById("unchanged").get().getUpdatedAt();
+    Assertions.assertNotNull(since);
+
+    repository.save(new DataJob("new", new JobConfig(), DeploymentStatus.NONE));
+    repository.updateDataJobLatestJobDeploymentStatusByName("old", DeploymentStatus.SUCCESS);
+
+    var names =
+        repository.findAllByUpdatedAtAfter(since).stream()
+            .map(DataJob::getName)
+            .collect(Collectors.toSet());
+    Assertions.assertEquals(Set.of("old", "new"), names);
+  }
+
+  @Test
+  void testFindAll_withLastExecutionSpecifications_shouldMatchTheStoredLastExecution() {
+    saveJobWithLastExecution(
+        "job-1",
+        ExecutionStatus.SUCCEEDED,
+        OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    saveJobWithLastExecution(
+        "job-2",
+        ExecutionStatus.PLATFORM_ERROR,
+        OffsetDateTime.of(2000, 1, 3, 0, 0, 0, 0, ZoneOffset.UTC));
+    saveJobWithLastExecution("job-3", null, null);
+
+    var byStatus =
+        new JobFieldStrategyByLastExecutionStatus()
+            .computeFilterSpecification(
+                new Filter("deployments.lastExecutionStatus", "platform_error", null))
+            .orElseThrow();
+    var byTime =
+        new JobFieldStrategyByLastExecutionTime()
+            .computeFilterSpecification(
+                new Filter("deployments.lastExecutionTime", "946684800-946771200", null))
+            .orElseThrow();
+    var byTimeDesc =
+        new JobFieldStrategyByLastExecutionTime()
+            .computeSort(new Filter("deployments.lastExecutionTime", null, Sort.Direction.DESC))
+            .orElseThrow();
+    var byDuration =
+        new JobFieldStrategyByLastExecutionDuration()
+            .computeFilterSpecification(new Filter("deployments.lastExecutionDuration", "1", null))
+            .orElseThrow();
+
+    Assertions.assertEquals(List.of("job-2"), names(repository.findAll(byStatus)));
+    Assertions.assertEquals(List.of("job-1"), names(repository.findAll(byTime)));
+    Assertions.assertEquals(
+        List.of("job-2", "job-1"), names(repository.findAll(byTime.or(byStatus), byTimeDesc)));
+    Assertions.assertEquals(List.of(), names(repository.findAll(byDuration)));
+  }
+
+  @Test
+  void testFindPage_withLastExecutionSort_shouldOrderTheNullsLikeTheComparators() {
+    saveJobWithLastExecution(
+        "job-1",
+        ExecutionStatus.SUCCEEDED,
+        OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    saveJobWithLastExecution("job-2", null, null);
+    saveJobWithLastExecution(
+        "job-3",
+        ExecutionStatus.PLATFORM_ERROR,
+        OffsetDateTime.of(2000, 1, 3, 0, 0, 0, 0, ZoneOffset.UTC));
+    saveJobWithLastExecution("job-4", null, null);
+
+    var strategy = new JobFieldStrategyByLastExecutionTime();
+    var byTimeAsc =
+        strategy
+            .computeSort(new Filter("deployments.lastExecutionTime", null, Sort.Direction.ASC))
+            .orElseThrow()
+            .and(Sort.by("name"));
+    var byTimeDesc =
+        strategy
+            .computeSort(new Filter("deployments.lastExecutionTime", null, Sort.Direction.DESC))
+            .orElseThrow()
+            .and(Sort.by("name"));
+
+    Assertions.assertEquals(
+        List.of("job-2", "job-4", "job-1", "job-3"),
+        names(repository.findPage(null, PageRequest.of(0, 10, byTimeAsc)).getContent()));
+    Assertions.assertEquals(
+        List.of("job-3", "job-1", "job-2", "job-4"),
+        names(repository.findPage(null, PageRequest.of(0, 10, byTimeDesc)).getContent()));
+    Assertions.assertEquals(
+        List.of("job-1", "job-3", "job-2", "job-4"),
+        names(
+            repository
+                .findPage(
+                    null,
+                    PageRequest.of(
+                        0,
+                        10,
+                        Sort.by(
+                            Sort.Order.asc("lastExecutionEndTime").nullsLast(),
+                            Sort.Order.asc("name"))))
+                .getContent()));
+    var secondPage = repository.findPage(null, PageRequest.of(1, 3, byTimeDesc));
+    Assertions.assertEquals(List.of("job-4"), names(secondPage.getContent()));
+    Assertions.assertEquals(4, secondPage.getTotalElements());
+  }
+
+  @Test
+  void testFindAll_withTeamSpecification_shouldMatchPercentAsTheOnlyWildcard() {
+    saveJobWithTeam("job-1", "VIDA (Eco-system)");
+    saveJobWithTeam("job-2", "star_shot");
+    saveJobWithTeam("job-3", "starxshot");
+
+    var strategy = new JobFieldStrategyByTeam();
+    var parentheses =
+        strategy
+            .computeFilterSpecification(new Filter("config.team", "vida (eco-system)", null))
+            .orElseThrow();
+    var underscore =
+        strategy
+            .computeFilterSpecification(new Filter("config.team", "STAR_%", null))
+            .orElseThrow();
+
+    Assertions.assertEquals(List.of("job-1"), names(repository.findAll(parentheses)));
+    Assertions.assertEquals(List.of("job-2"), names(repository.findAll(underscore)));
+  }
+
+  private void saveJobWithLastExecution(
+      String name, ExecutionStatus lastExecutionStatus, OffsetDateTime lastExecutionEndTime) {
+    var entity = new DataJob(name, new JobConfig(), DeploymentStatus.NONE);
+    entity.setLastExecutionStatus(lastExecutionStatus);
+    entity.setLastExecutionEndTime(lastExecutionEndTime);
+    entity.setLastExecutionDuration(lastExecutionStatus != null ? 1 : null);
+    repository.save(entity);
+  }
+
+  private void saveJobWithTeam(String name, String team) {
+    var config = new JobConfig();
+    config.setTeam(team);
+    repository.save(new DataJob(name, config, DeploymentStatus.NONE));
+  }
+
+  private static List<String> names(List<DataJob> dataJobs) {
+    return dataJobs.stream().map(DataJob::getName).collect(Collectors.toList());
+  }
 }
@@ -21,6 +21,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -78,6 +79,7 @@ public class JobsServiceTest {
         mock(WebHookRequestBodyProvider.class),
         mock(PostCreateWebHookProvider.class),
         mock(PostDeleteWebHookProvider.class),
-        mock(DataJobMetrics.class));
+        mock(DataJobMetrics.class),
+        mock(ApplicationEventPublisher.class));
   }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+public class KubernetesServiceListPodsByJobNameTest {
+
+  private KubernetesService kubernetesService;
+  private CoreV1Api coreV1Api;
+  private Counter savedCallsCounter;
+
+  @BeforeEach
+  public void setUp() {
+    kubernetesService = Mockito.mock(KubernetesService.class);
+    coreV1Api = Mockito.mock(CoreV1Api.class);
+    savedCallsCounter = new SimpleMeterRegistry().counter("saved");
+    Mockito.when(kubernetesService.initCoreV1Api()).thenReturn(coreV1Api);
+    ReflectionTestUtils.setField(kubernetesService, "log", Mockito.mock(Logger.class));
+    ReflectionTestUtils.setField(kubernetesService, "namespace", "test-namespace");
+    ReflectionTestUtils.setField(kubernetesService, "podListCallsSavedCounter", savedCallsCounter);
+  }
+
+  @Test
+  public void testListPodsByJobName_shouldGroupPodsByJobNameLabel() throws ApiException {
+    givenPods(
+        pod("first-1", Map.of("job-name", "first")),
+        pod("first-2", Map.of("job-name", "first")),
+        pod("second-1", Map.of("job-name", "second")),
+        pod("unlabeled", null));
+    Mockito.when(kubernetesService.listPodsByJobName()).thenCallRealMethod();
+
+    var podsByJobName = kubernetesService.listPodsByJobName();
+
+    Assertions.assertEquals(2, podsByJobName.size());
+    Assertions.assertEquals(2, podsByJobName.get("first").size());
+    Assertions.assertEquals("second-1", podsByJobName.get("second").get(0).getMetadata().getName());
+  }
+
+  @Test
+  public void testListPodsByJobName_whenListFails_shouldReturnNull() throws ApiException {
+    Mockito.when(
+            coreV1Api.listNamespacedPod(
+                Mockito.eq("test-namespace"),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.eq("job-name"),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull()))
+        .thenThrow(new ApiException(500, "error"));
+    Mockito.when(kubernetesService.listPodsByJobName()).thenCallRealMethod();
+
+    Assertions.assertNull(kubernetesService.listPodsByJobName());
+  }
+
+  @Test
+  public void testCountSavedPodListCalls_shouldCountServedJobsLessTheListCall() {
+    Mockito.doCallRealMethod()
+        .when(kubernetesService)
+        .countSavedPodListCalls(Mockito.anyList(), Mockito.any());
+    var podsByJobName =
+        Map.of(
+            "first", List.of(pod("first-1", null)),
+            "second", List.of(pod("second-1", null)),
+            "third", List.of(pod("third-1", null)));
+
+    kubernetesService.countSavedPodListCalls(
+        List.of(job("first"), job("second"), job("third"), job("missing")), podsByJobName);
+
+    // Three jobs were served by one list call, the missing job used its own call.
+    Assertions.assertEquals(2.0, savedCallsCounter.count());
+  }
+
+  @Test
+  public void testCountSavedPodListCalls_whenAtMostOneJobServed_shouldCountNothing() {
+    Mockito.doCallRealMethod()
+        .when(kubernetesService)
+        .countSavedPodListCalls(Mockito.anyList(), Mockito.any());
+
+    kubernetesService.countSavedPodListCalls(
+        List.of(job("first"), job("missing")), Map.of("first", List.of(pod("first-1", null))));
+    kubernetesService.countSavedPodListCalls(List.of(job("first"), job("second")), Map.of());
+    kubernetesService.countSavedPodListCalls(List.of(job("first"), job("second")), null);
+
+    Assertions.assertEquals(0.0, savedCallsCounter.count());
+  }
+
+  private void givenPods(V1Pod... pods) throws ApiException {
+    Mockito.when(
+            coreV1Api.listNamespacedPod(
+                Mockito.eq("test-namespace"),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.eq("job-name"),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull(),
+                Mockito.isNull()))
+        .thenReturn(new V1PodList().items(List.of(pods)));
+  }
+
+  private static V1Pod pod(String name, Map<String, String> labels) {
+    return new V1Pod().metadata(new V1ObjectMeta().name(name).labels(labels));
+  }
+
+  private static V1Job job(String name) {
+    return new V1Job().metadata(new V1ObjectMeta().name(name));
+  }
+}
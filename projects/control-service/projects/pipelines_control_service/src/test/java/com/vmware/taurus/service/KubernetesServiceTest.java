@@ -15,6 +15,8 @@ import com.vmware.taurus.service.model.JobAnnotation;
 import com.vmware.taurus.service.model.JobLabel;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.models.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -22,6 +24,9 @@ import org.slf4j.Logger;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -444,6 +449,72 @@ public class KubernetesServiceTest {
     testQuantityToMbConversion(64000, sixtyFourG);
   }
 
+  @Test
+  public void testV1CronJobFromTemplate_shouldParseTemplateFileOnlyWhenChanged() throws Exception {
+    KubernetesService mock = mockCronJobFromTemplate();
+    Path templateFile = Files.createTempFile("k8s-data-job-template", ".yaml");
+    writeTemplateFile(templateFile, "1", 1_600_000_000_000L);
+    ReflectionTestUtils.setField(mock, "datajobTemplateFileLocation", templateFile.toString());
+    Counter reloadsCounter = new SimpleMeterRegistry().counter("reloads");
+    ReflectionTestUtils.setField(mock, "datajobTemplateReloadsCounter", reloadsCounter);
+
+    try {
+      V1CronJob first = v1CronJobFromTemplate(mock, "first-job", Map.of("label", "first"));
+      V1CronJob second = v1CronJobFromTemplate(mock, "second-job", Map.of());
+
+      Assertions.assertEquals(1.0, reloadsCounter.count());
+      Assertions.assertEquals("1", second.getMetadata().getAnnotations().get("template-version"));
+      // The entries missing in the template file are taken from the internal template.
+      Assertions.assertNotNull(second.getSpec().getJobTemplate().getSpec().getTemplate());
+      // Each cron job is a separate copy of the template.
+      Assertions.assertEquals("first-job", first.getMetadata().getName());
+      Assertions.assertEquals(
+          Map.of("label", "first"), first.getSpec().getJobTemplate().getMetadata().getLabels());
+      Assertions.assertEquals(
+          Map.of(), second.getSpec().getJobTemplate().getMetadata().getLabels());
+
+      writeTemplateFile(templateFile, "2", 1_600_000_010_000L);
+      V1CronJob third = v1CronJobFromTemplate(mock, "third-job", Map.of());
+
+      Assertions.assertEquals(2.0, reloadsCounter.count());
+      Assertions.assertEquals("2", third.getMetadata().getAnnotations().get("template-version"));
+    } finally {
+      Files.delete(templateFile);
+    }
+  }
+
+  private static void writeTemplateFile(Path templateFile, String version, long lastModified)
+      throws Exception {
+    Files.writeString(
+        templateFile,
+        "apiVersion: batch/v1\n"
+            + "kind: CronJob\n"
+            + "metadata:\n"
+            + "  annotations:\n"
+            + "    template-version: \""
+            + version
+            + "\"\n"
+            + "spec:\n"
+            + "  schedule: \"*/10 * * * *\"\n");
+    Files.setLastModifiedTime(templateFile, FileTime.fromMillis(lastModified));
+  }
+
+  private static V1CronJob v1CronJobFromTemplate(
+      KubernetesService service, String name, Map<String, String> jobLabels) {
+    return service.v1CronJobFromTemplate(
+        name,
+        "*/5 * * * *",
+        false,
+        null,
+        null,
+        null,
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        jobLabels,
+        Collections.emptyList());
+  }
+
   @Test
   public void testV1beta1CronJobFromTemplate_emptyImagePullSecretsList() {
     KubernetesService mock = mockCronJobFromTemplate();
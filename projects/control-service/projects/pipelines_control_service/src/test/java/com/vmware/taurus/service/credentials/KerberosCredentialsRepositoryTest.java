@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.credentials;
+
+import com.vmware.taurus.exception.ExternalSystemError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the repository against a fake kadmin: a shell script which keeps the principals in a file
+ * and answers the kadmin commands with the output of the real kadmin.
+ */
+public class KerberosCredentialsRepositoryTest {
+
+  private static final String FAKE_KADMIN =
+      String.join(
+          "\n",
+          "#!/bin/sh",
+          "dir=$(dirname \"$0\")",
+          "echo \"$@\" >> \"$dir/sessions\"",
+          "touch \"$dir/principals\"",
+          "while IFS= read -r line; do",
+          "  set -- $line",
+          "  printf 'kadmin:  '",
+          "  case \"$1\" in",
+          "    add_principal)",
+          "      if grep -qx \"$3\" \"$dir/principals\"; then",
+          "        echo \"add_principal: Principal or policy already exists while creating \\\"$3@TEST\\\".\" >&2",
+          "      else",
+          "        echo \"$3\" >> \"$dir/principals\"",
+          "        echo \"Principal \\\"$3@TEST\\\" created.\"",
+          "      fi ;;",
+          "    get_principal)",
+          "      if grep -qx \"$2\" \"$dir/principals\"; then",
+          "        echo \"Principal: $2@TEST\"",
+          "        echo \"Expiration date: [never]\"",
+          "      else",
+          "        echo \"get_principal: Principal does not exist while retrieving \\\"$2@TEST\\\".\" >&2",
+          "      fi ;;",
+          "    delete_principal)",
+          "      if grep -qx \"$3\" \"$dir/principals\"; then",
+          "        grep -vx \"$3\" \"$dir/principals\" > \"$dir/principals.new\"",
+          "        mv \"$dir/principals.new\" \"$dir/principals\"",
+          "        echo \"Principal \\\"$3@TEST\\\" deleted.\"",
+          "      else",
+          "        echo \"delete_principal: Principal does not exist while deleting principal \\\"$3@TEST\\\"\" >&2",
+          "      fi ;;",
+          "    ktadd)",
+          "      if grep -qx \"$4\" \"$dir/principals\"; then",
+          "        echo \"keytab of $4\" >> \"$3\"",
+          "        echo \"Entry for principal $4 with kvno 2, encryption type aes256-cts-hmac-sha1-96"
+              + " added to keytab WRFILE:$3.\"",
+          "      else",
+          "        echo \"ktadd: Principal $4 does not exist.\" >&2",
+          "      fi ;;",
+          "    *)",
+          "      echo \"kadmin: Unknown request \\\"$1\\\".  Type \\\"?\\\" for a request list.\" >&2 ;;",
+          "  esac",
+          "done",
+          "");
+
+  @TempDir Path kdcDir;
+
+  private SimpleMeterRegistry meterRegistry;
+  private KerberosCredentialsRepository repository;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    Path kadmin = kdcDir.resolve("kadmin");
+    Files.writeString(kadmin, FAKE_KADMIN);
+    Assertions.assertTrue(kadmin.toFile().setExecutable(true));
+    meterRegistry = new SimpleMeterRegistry();
+    repository =
+        new KerberosCredentialsRepository(
+            "admin/admin", "secret", kadmin.toString(), 2, 300, 10, 3, meterRegistry);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    repository.destroy();
+  }
+
+  @Test
+  public void testCreatePrincipal_shouldCreatePrincipalAndKeytab() throws IOException {
+    File keytab = kdcDir.resolve("job.keytab").toFile();
+
+    repository.createPrincipal("pa__view_job", Optional.of(keytab));
+
+    Assertions.assertTrue(repository.principalExists("pa__view_job"));
+    Assertions.assertEquals("keytab of pa__view_job\n", Files.readString(keytab.toPath()));
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get(KerberosCredentialsRepository.OPERATION_TIMER_NAME)
+            .tag("operation", "create")
+            .tag("result", "success")
+            .timer()
+            .count());
+  }
+
+  @Test
+  public void testCreatePrincipal_whenPrincipalExists_shouldRefreshKeytab() throws IOException {
+    File keytab = kdcDir.resolve("job.keytab").toFile();
+    repository.createPrincipal("pa__view_job", Optional.of(keytab));
+
+    repository.createPrincipal("pa__view_job", Optional.of(keytab));
+
+    // The previous keytab is replaced, not appended to.
+    Assertions.assertEquals("keytab of pa__view_job\n", Files.readString(keytab.toPath()));
+  }
+
+  @Test
+  public void testOperations_shouldReuseKadminSession() throws IOException {
+    repository.createPrincipal("pa__view_job", Optional.empty());
+    Assertions.assertTrue(repository.principalExists("pa__view_job"));
+    repository.deletePrincipal("pa__view_job");
+    Assertions.assertFalse(repository.principalExists("pa__view_job"));
+    // Deleting a missing principal is no op.
+    repository.deletePrincipal("pa__view_job");
+
+    Assertions.assertEquals(
+        "-w secret -p admin/admin", Files.readString(kdcDir.resolve("sessions")).trim());
+  }
+
+  @Test
+  public void testOperations_whenConcurrent_shouldUseAtMostPoolSizeSessions() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      CompletableFuture.allOf(
+              IntStream.range(0, 40)
+                  .mapToObj(
+                      i ->
+                          CompletableFuture.runAsync(
+                              () -> repository.createPrincipal("job-" + i, Optional.empty()),
+                              executor))
+                  .toArray(CompletableFuture[]::new))
+          .get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertEquals(40, Files.readAllLines(kdcDir.resolve("principals")).size());
+    Assertions.assertTrue(Files.readAllLines(kdcDir.resolve("sessions")).size() <= 2);
+  }
+
+  @Test
+  public void testCreatePrincipals_shouldCreateAllPrincipalsInBatches() throws IOException {
+    Map<String, Optional<File>> keytabs =
+        IntStream.range(0, 7)
+            .boxed()
+            .collect(
+                Collectors.toMap(
+                    i -> "job-" + i,
+                    i -> Optional.of(kdcDir.resolve("job-" + i + ".keytab").toFile()),
+                    (a, b) -> a,
+                    LinkedHashMap::new));
+    Files.writeString(kdcDir.resolve("job-0.keytab"), "previous keytab\n");
+
+    repository.createPrincipals(keytabs);
+
+    for (var entry : keytabs.entrySet()) {
+      Assertions.assertTrue(repository.principalExists(entry.getKey()));
+      // The previous keytab is replaced, not appended to.
+      Assertions.assertEquals(
+          "keytab of " + entry.getKey() + "\n", Files.readString(entry.getValue().get().toPath()));
+    }
+    // All batches are run in the same kadmin session.
+    Assertions.assertEquals(1, Files.readAllLines(kdcDir.resolve("sessions")).size());
+    // 7 principals in batches of 3.
+    Assertions.assertEquals(
+        3,
+        meterRegistry
+            .get(KerberosCredentialsRepository.OPERATION_TIMER_NAME)
+            .tag("operation", "create_batch")
+            .timer()
+            .count());
+  }
+
+  @Test
+  public void testCreatePrincipal_whenKadminFails_shouldThrowAndStartNewSession()
+      throws IOException {
+    Path kadmin = kdcDir.resolve("kadmin");
+    Files.writeString(kadmin, "#!/bin/sh\necho 'kadmin: Incorrect password while initializing'\n");
+
+    Assertions.assertThrows(
+        ExternalSystemError.class,
+        () -> repository.createPrincipal("pa__view_job", Optional.empty()));
+
+    Files.writeString(kadmin, FAKE_KADMIN);
+    repository.createPrincipal("pa__view_job", Optional.empty());
+    Assertions.assertTrue(repository.principalExists("pa__view_job"));
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.deploy;
+
+import com.vmware.taurus.service.DataJobRedeployRepository;
+import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.DataJobRedeploy;
+import com.vmware.taurus.service.model.JobConfig;
+import com.vmware.taurus.service.model.JobDeployment;
+import com.vmware.taurus.service.model.JobDeploymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkRedeployServiceTest {
+
+  private final JobImageBuilder jobImageBuilder = mock(JobImageBuilder.class);
+  private final JobImageDeployer jobImageDeployer = mock(JobImageDeployer.class);
+  private final DockerRegistryService dockerRegistryService = mock(DockerRegistryService.class);
+  private final JobsRepository jobsRepository = mock(JobsRepository.class);
+  private final DataJobRedeployRepository redeployRepository =
+      mock(DataJobRedeployRepository.class);
+  private final Map<String, DataJobRedeploy> redeploys = new ConcurrentHashMap<>();
+  private final DataJobDeploymentGuard deploymentGuard = new DataJobDeploymentGuard();
+
+  private SimpleMeterRegistry meterRegistry;
+  private BulkRedeployService bulkRedeployService;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    when(jobImageDeployer.readScheduledJobs())
+        .thenReturn(List.of(deploymentStatus("job-a"), deploymentStatus("job-b")));
+    when(jobsRepository.findAllById(any())).thenReturn(List.of(dataJob("job-a"), dataJob("job-b")));
+    when(dockerRegistryService.dataJobImage(anyString(), anyString()))
+        .thenAnswer(invocation -> "image-" + invocation.getArgument(0));
+    when(jobImageBuilder.buildImageAsync(anyString(), any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(jobImageDeployer.scheduleJob(any(), any(), anyBoolean(), any())).thenReturn(true);
+    when(redeployRepository.saveAll(any()))
+        .thenAnswer(
+            invocation -> {
+              Iterable<DataJobRedeploy> saved = invocation.getArgument(0);
+              saved.forEach(redeploy -> redeploys.put(redeploy.getId(), redeploy));
+              return saved;
+            });
+    when(redeployRepository.findAllByRedeployIdOrderByJobName(anyString()))
+        .thenAnswer(
+            invocation ->
+                redeploys.values().stream()
+                    .filter(redeploy -> redeploy.getRedeployId().equals(invocation.getArgument(0)))
+                    .sorted((a, b) -> a.getJobName().compareTo(b.getJobName()))
+                    .collect(Collectors.toList()));
+
+    meterRegistry = new SimpleMeterRegistry();
+    bulkRedeployService = newBulkRedeployService();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    bulkRedeployService.destroy();
+  }
+
+  @Test
+  public void testRedeployAll_shouldBuildAndScheduleAllJobs() throws Exception {
+    String redeployId = bulkRedeployService.redeployAll("1.2.3", "operator");
+
+    awaitStatuses(
+        redeployId, List.of(DataJobRedeploy.Status.SUCCEEDED, DataJobRedeploy.Status.SUCCEEDED));
+    verify(jobImageDeployer)
+        .scheduleJob(
+            any(), eq(jobDeployment("job-a", "image-job-a", "1.2.3")), eq(false), eq("operator"));
+    verify(jobImageDeployer)
+        .scheduleJob(
+            any(), eq(jobDeployment("job-b", "image-job-b", "1.2.3")), eq(false), eq("operator"));
+    Assertions.assertEquals(
+        2.0,
+        meterRegistry
+            .get(BulkRedeployService.REDEPLOYED_JOBS_COUNTER_NAME)
+            .tag("status", "SUCCEEDED")
+            .counter()
+            .count());
+    Assertions.assertEquals(
+        2,
+        meterRegistry
+            .get(BulkRedeployService.QUEUE_TIME_TIMER_NAME)
+            .tag("stage", "build")
+            .timer()
+            .count());
+  }
+
+  @Test
+  public void testRedeployAll_whileJobIsInFlight_shouldSkipIt() throws Exception {
+    CountDownLatch buildStarted = new CountDownLatch(1);
+    CompletableFuture<Boolean> build = new CompletableFuture<>();
+    when(jobImageBuilder.buildImageAsync(eq("image-job-a"), any(), any(), anyBoolean(), any()))
+        .thenAnswer(
+            invocation -> {
+              buildStarted.countDown();
+              return build;
+            });
+
+    String firstRedeployId = bulkRedeployService.redeployAll(null, "operator");
+    Assertions.assertTrue(buildStarted.await(10, TimeUnit.SECONDS));
+    String secondRedeployId = bulkRedeployService.redeployAll(null, "operator");
+    // The build thread does not wait for the builder job, yet the builder slot is taken.
+    Assertions.assertEquals(
+        List.of(DataJobRedeploy.Status.BUILDING, DataJobRedeploy.Status.QUEUED),
+        bulkRedeployService.getRedeploy(firstRedeployId).stream()
+            .map(DataJobRedeploy::getStatus)
+            .collect(Collectors.toList()));
+    build.complete(true);
+
+    awaitStatuses(
+        firstRedeployId,
+        List.of(DataJobRedeploy.Status.SUCCEEDED, DataJobRedeploy.Status.SUCCEEDED));
+    List<DataJobRedeploy> second = bulkRedeployService.getRedeploy(secondRedeployId);
+    Assertions.assertEquals(DataJobRedeploy.Status.SKIPPED, second.get(0).getStatus());
+  }
+
+  @Test
+  public void testRedeployAll_whenBuildFails_shouldFailTheJobOnly() throws Exception {
+    when(jobImageBuilder.buildImageAsync(eq("image-job-a"), any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(false));
+
+    String redeployId = bulkRedeployService.redeployAll(null, "operator");
+
+    awaitStatuses(
+        redeployId, List.of(DataJobRedeploy.Status.FAILED, DataJobRedeploy.Status.SUCCEEDED));
+    // The failed job is not in flight anymore and is redeployed again.
+    String nextRedeployId = bulkRedeployService.redeployAll(null, "operator");
+    awaitStatuses(
+        nextRedeployId, List.of(DataJobRedeploy.Status.FAILED, DataJobRedeploy.Status.SUCCEEDED));
+  }
+
+  @Test
+  public void testRedeployAll_whileJobIsDeployed_shouldSkipIt() throws Exception {
+    Assertions.assertTrue(
+        deploymentGuard.tryAcquire("job-a", "the deployment with operation id op").isEmpty());
+
+    String redeployId = bulkRedeployService.redeployAll(null, "operator");
+
+    awaitStatuses(
+        redeployId, List.of(DataJobRedeploy.Status.SKIPPED, DataJobRedeploy.Status.SUCCEEDED));
+    Assertions.assertEquals(
+        "The data job is still being deployed by the deployment with operation id op",
+        bulkRedeployService.getRedeploy(redeployId).get(0).getMessage());
+    // The guard of the skipped job is still held by the deployment, the other one is released.
+    Assertions.assertEquals(1, deploymentGuard.size());
+    Assertions.assertTrue(deploymentGuard.tryAcquire("job-b", "test").isEmpty());
+  }
+
+  @Test
+  public void testAfterPropertiesSet_shouldFailTheInterruptedRedeploys() {
+    var now = OffsetDateTime.now();
+    var own = redeploy("own", DataJobRedeploy.Status.BUILDING, "this-host", now.minusDays(2));
+    var stale = redeploy("stale", DataJobRedeploy.Status.QUEUED, "other-host", now.minusDays(2));
+    stale.setHeartbeatAt(now.minusMinutes(10));
+    var alive =
+        redeploy("alive", DataJobRedeploy.Status.SCHEDULING, "other-host", now.minusDays(2));
+    alive.setHeartbeatAt(now.minusMinutes(1));
+    var legacy = redeploy("legacy", DataJobRedeploy.Status.QUEUED, "other-host", now.minusDays(2));
+    var unowned = redeploy("unowned", DataJobRedeploy.Status.QUEUED, null, now);
+    when(redeployRepository.findAllByStatusIn(any()))
+        .thenReturn(List.of(own, stale, alive, legacy, unowned));
+
+    bulkRedeployService.afterPropertiesSet();
+
+    Assertions.assertEquals(DataJobRedeploy.Status.BUILDING, own.getStatus());
+    Assertions.assertEquals(DataJobRedeploy.Status.FAILED, stale.getStatus());
+    Assertions.assertNotNull(stale.getFinishedAt());
+    Assertions.assertEquals(DataJobRedeploy.Status.SCHEDULING, alive.getStatus());
+    Assertions.assertEquals(DataJobRedeploy.Status.FAILED, legacy.getStatus());
+    Assertions.assertEquals(DataJobRedeploy.Status.FAILED, unowned.getStatus());
+    verify(redeployRepository).saveAll(List.of(stale, legacy, unowned));
+  }
+
+  @Test
+  public void testHeartbeat_whileJobsAreInFlight_shouldRefreshTheOwnRedeploys() throws Exception {
+    CountDownLatch buildStarted = new CountDownLatch(1);
+    CompletableFuture<Boolean> build = new CompletableFuture<>();
+    when(jobImageBuilder.buildImageAsync(eq("image-job-a"), any(), any(), anyBoolean(), any()))
+        .thenAnswer(
+            invocation -> {
+              buildStarted.countDown();
+              return build;
+            });
+    bulkRedeployService.heartbeat();
+    verify(redeployRepository, never())
+        .updateHeartbeatAtByOwnerAndStatusIn(anyString(), any(), any());
+
+    String redeployId = bulkRedeployService.redeployAll(null, "operator");
+    Assertions.assertTrue(buildStarted.await(10, TimeUnit.SECONDS));
+    bulkRedeployService.heartbeat();
+
+    verify(redeployRepository)
+        .updateHeartbeatAtByOwnerAndStatusIn(
+            eq("this-host"),
+            eq(
+                List.of(
+                    DataJobRedeploy.Status.QUEUED,
+                    DataJobRedeploy.Status.BUILDING,
+                    DataJobRedeploy.Status.SCHEDULING)),
+            any());
+    build.complete(true);
+    awaitStatuses(
+        redeployId, List.of(DataJobRedeploy.Status.SUCCEEDED, DataJobRedeploy.Status.SUCCEEDED));
+  }
+
+  private BulkRedeployService newBulkRedeployService() {
+    return new BulkRedeployService(
+        jobImageBuilder,
+        jobImageDeployer,
+        dockerRegistryService,
+        mock(DeploymentProgress.class),
+        jobsRepository,
+        redeployRepository,
+        deploymentGuard,
+        meterRegistry,
+        1,
+        1,
+        1,
+        Duration.ofMinutes(5),
+        "this-host");
+  }
+
+  private static DataJobRedeploy redeploy(
+      String jobName, DataJobRedeploy.Status status, String owner, OffsetDateTime queuedAt) {
+    return DataJobRedeploy.builder()
+        .id(jobName)
+        .redeployId("redeploy")
+        .jobName(jobName)
+        .status(status)
+        .owner(owner)
+        .queuedAt(queuedAt)
+        .build();
+  }
+
+  private void awaitStatuses(String redeployId, List<DataJobRedeploy.Status> expected) {
+    await()
+        .atMost(10, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                Assertions.assertEquals(
+                    expected,
+                    bulkRedeployService.getRedeploy(redeployId).stream()
+                        .map(DataJobRedeploy::getStatus)
+                        .collect(Collectors.toList())));
+  }
+
+  private static JobDeploymentStatus deploymentStatus(String jobName) {
+    var status = new JobDeploymentStatus();
+    status.setDataJobName(jobName);
+    status.setCronJobName(jobName);
+    status.setGitCommitSha("commit-" + jobName);
+    status.setVdkVersion("1.0.0");
+    status.setEnabled(true);
+    return status;
+  }
+
+  private static JobDeployment jobDeployment(String jobName, String imageName, String vdkVersion) {
+    var deployment = new JobDeployment();
+    deployment.setDataJobTeam("test-team");
+    deployment.setDataJobName(jobName);
+    deployment.setCronJobName(jobName);
+    deployment.setGitCommitSha("commit-" + jobName);
+    deployment.setVdkVersion(vdkVersion);
+    deployment.setImageName(imageName);
+    deployment.setEnabled(true);
+    return deployment;
+  }
+
+  private static DataJob dataJob(String jobName) {
+    var jobConfig = new JobConfig();
+    jobConfig.setTeam("test-team");
+    var dataJob = new DataJob();
+    dataJob.setName(jobName);
+    dataJob.setJobConfig(jobConfig);
+    return dataJob;
+  }
+}
@@ -110,7 +110,8 @@ public class DeploymentServiceTest {
             jobImageBuilder,
             jobImageDeployer,
             operationContext,
-            jobsRepository);
+            jobsRepository,
+            new DataJobDeploymentGuard());
 
     Mockito.when(vdkOptionsReader.readVdkOptions(TEST_JOB_NAME)).thenReturn(TEST_VDK_OPTS);
     Mockito.when(jobCredentialsService.getJobPrincipalName(TEST_JOB_NAME))
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.deploy;
+
+import com.vmware.taurus.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.verify.VerificationTimes;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/** Checks the data job images against a MockServer standing in for the registry. */
+public class DockerRegistryServiceTest {
+
+  private static final String JOB_NAME = "test-job";
+  private static final String COMMIT = "abc1234";
+  private static final String MANIFEST_PATH = "/v2/data-jobs/test-job/manifests/abc1234";
+  private static final long EXISTS_TTL_MILLIS = 60_000;
+  private static final long MISSING_TTL_MILLIS = 1_000;
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2021-11-01T10:00:00Z"));
+  private ClientAndServer registry;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setUp() {
+    registry = ClientAndServer.startClientAndServer(PortFactory.findFreePort());
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    registry.stop();
+  }
+
+  @Test
+  public void testDataJobImageExists_whenManifestExists_shouldSkipBuildAndCacheResult() {
+    registry.when(manifestRequest()).respond(response().withStatusCode(200));
+    var service = createService("", "", null);
+    String image = service.dataJobImage(JOB_NAME, COMMIT);
+
+    Assertions.assertTrue(service.dataJobImageExists(image));
+    Assertions.assertTrue(service.dataJobImageExists(image));
+
+    registry.verify(manifestRequest(), VerificationTimes.exactly(1));
+    Assertions.assertEquals(
+        2.0,
+        meterRegistry.get(DockerRegistryService.BUILDS_SKIPPED_COUNTER_NAME).counter().count());
+    Assertions.assertEquals(
+        1.0,
+        meterRegistry
+            .get(DockerRegistryService.IMAGE_CHECKS_COUNTER_NAME)
+            .tag("cached", "true")
+            .counter()
+            .count());
+  }
+
+  @Test
+  public void testDataJobImageExists_whenManifestIsMissing_shouldCacheResultForShorterTtl() {
+    registry.when(manifestRequest()).respond(response().withStatusCode(404));
+    var service = createService("", "", null);
+    String image = service.dataJobImage(JOB_NAME, COMMIT);
+
+    Assertions.assertFalse(service.dataJobImageExists(image));
+    Assertions.assertFalse(service.dataJobImageExists(image));
+    registry.verify(manifestRequest(), VerificationTimes.exactly(1));
+
+    clock.advance(MISSING_TTL_MILLIS);
+    Assertions.assertFalse(service.dataJobImageExists(image));
+    registry.verify(manifestRequest(), VerificationTimes.exactly(2));
+    Assertions.assertEquals(
+        0.0,
+        meterRegistry.get(DockerRegistryService.BUILDS_SKIPPED_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  public void testDataJobImageExists_whenRegistryFails_shouldBuildAndNotCacheResult() {
+    registry.when(manifestRequest()).respond(response().withStatusCode(500));
+    var service = createService("", "", null);
+    String image = service.dataJobImage(JOB_NAME, COMMIT);
+
+    Assertions.assertFalse(service.dataJobImageExists(image));
+    Assertions.assertFalse(service.dataJobImageExists(image));
+
+    registry.verify(manifestRequest(), VerificationTimes.exactly(2));
+  }
+
+  @Test
+  public void testDataJobImageExists_whenRegistryRequiresToken_shouldRequestToken() {
+    String basic = "Basic " + base64("user:pass");
+    registry
+        .when(manifestRequest(), Times.once())
+        .respond(
+            response()
+                .withStatusCode(401)
+                .withHeader(
+                    "WWW-Authenticate",
+                    String.format(
+                        "Bearer realm=\"http://localhost:%d/token\",service=\"registry\"",
+                        registry.getPort())));
+    registry
+        .when(
+            request()
+                .withMethod("GET")
+                .withPath("/token")
+                .withQueryStringParameter("service", "registry")
+                .withQueryStringParameter("scope", "repository:data-jobs/test-job:pull")
+                .withHeader("Authorization", basic))
+        .respond(response().withStatusCode(200).withBody("{\"token\": \"pull-token\"}"));
+    registry
+        .when(manifestRequest().withHeader("Authorization", "Bearer pull-token"))
+        .respond(response().withStatusCode(200));
+    var service = createService("user", "pass", null);
+
+    Assertions.assertTrue(service.dataJobImageExists(service.dataJobImage(JOB_NAME, COMMIT)));
+    // The token is reused for the other images of the repository.
+    Assertions.assertFalse(service.dataJobImageExists(service.dataJobImage(JOB_NAME, "def5678")));
+
+    registry.verify(request().withPath("/token"), VerificationTimes.exactly(1));
+  }
+
+  @Test
+  public void testDataJobImageExists_whenRegistryIsEcr_shouldAuthenticateWithEcrToken() {
+    var service = givenEcrRegistry(null);
+
+    Assertions.assertTrue(service.dataJobImageExists(service.dataJobImage(JOB_NAME, COMMIT)));
+
+    HttpRequest[] ecrRequests =
+        registry.retrieveRecordedRequests(request().withMethod("POST").withPath("/ecr/"));
+    Assertions.assertEquals(1, ecrRequests.length);
+    Assertions.assertTrue(
+        ecrRequests[0]
+            .getFirstHeader("authorization")
+            .startsWith(
+                "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20211101/us-west-2/ecr/aws4_request,"
+                    + " SignedHeaders=content-type;host;x-amz-date;x-amz-target,"));
+    Assertions.assertFalse(ecrRequests[0].containsHeader("x-amz-security-token"));
+  }
+
+  @Test
+  public void testDataJobImageExists_whenEcrCredentialsAreTemporary_shouldSignSessionToken() {
+    var service = givenEcrRegistry("session-token");
+
+    Assertions.assertTrue(service.dataJobImageExists(service.dataJobImage(JOB_NAME, COMMIT)));
+
+    HttpRequest[] ecrRequests =
+        registry.retrieveRecordedRequests(request().withMethod("POST").withPath("/ecr/"));
+    Assertions.assertEquals(1, ecrRequests.length);
+    Assertions.assertEquals("session-token", ecrRequests[0].getFirstHeader("x-amz-security-token"));
+    Assertions.assertTrue(
+        ecrRequests[0]
+            .getFirstHeader("authorization")
+            .contains(
+                " SignedHeaders=content-type;host;x-amz-date;x-amz-security-token;x-amz-target,"));
+  }
+
+  @Test
+  public void testDataJobImageExists_whenCheckIsDisabled_shouldNotCallRegistry() {
+    var service =
+        new DockerRegistryService(
+            "localhost:" + registry.getPort() + "/data-jobs",
+            "builder",
+            false,
+            "http",
+            EXISTS_TTL_MILLIS,
+            MISSING_TTL_MILLIS,
+            Duration.ofSeconds(10),
+            "generic",
+            "",
+            "",
+            null,
+            meterRegistry,
+            clock);
+
+    Assertions.assertFalse(service.dataJobImageExists(service.dataJobImage(JOB_NAME, COMMIT)));
+    registry.verifyZeroInteractions();
+  }
+
+  private DockerRegistryService createService(
+      String username,
+      String password,
+      Function<HttpClient, EcrTokenProvider> ecrTokenProviderFactory) {
+    return new DockerRegistryService(
+        "localhost:" + registry.getPort() + "/data-jobs",
+        "builder",
+        true,
+        "http",
+        EXISTS_TTL_MILLIS,
+        MISSING_TTL_MILLIS,
+        Duration.ofSeconds(10),
+        ecrTokenProviderFactory == null ? "generic" : "ecr",
+        username,
+        password,
+        ecrTokenProviderFactory,
+        meterRegistry,
+        clock);
+  }
+
+  private DockerRegistryService givenEcrRegistry(String sessionToken) {
+    String ecrToken = base64("AWS:ecr-password");
+    registry
+        .when(manifestRequest(), Times.once())
+        .respond(
+            response()
+                .withStatusCode(401)
+                .withHeader("WWW-Authenticate", "Basic realm=\"Amazon ECR\""));
+    registry
+        .when(
+            request()
+                .withMethod("POST")
+                .withPath("/ecr/")
+                .withHeader(
+                    "x-amz-target", "AmazonEC2ContainerRegistry_V20150921.GetAuthorizationToken"))
+        .respond(
+            response()
+                .withStatusCode(200)
+                .withBody(
+                    String.format(
+                        "{\"authorizationData\": [{\"authorizationToken\": \"%s\","
+                            + " \"expiresAt\": %d.5}]}",
+                        ecrToken, clock.instant().plus(Duration.ofHours(12)).getEpochSecond())));
+    registry
+        .when(manifestRequest().withHeader("Authorization", "Basic " + ecrToken))
+        .respond(response().withStatusCode(200));
+    return createService(
+        "",
+        "",
+        client ->
+            new EcrTokenProvider(
+                client,
+                URI.create(String.format("http://localhost:%d/ecr/", registry.getPort())),
+                "us-west-2",
+                "AKIDEXAMPLE",
+                "secret",
+                sessionToken,
+                Duration.ofSeconds(10),
+                clock));
+  }
+
+  private static HttpRequest manifestRequest() {
+    return request().withMethod("HEAD").withPath(MANIFEST_PATH);
+  }
+
+  private static String base64(String value) {
+    return Base64.getEncoder().encodeToString(value.getBytes());
+  }
+}
@@ -23,6 +23,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -71,7 +74,8 @@ public class JobImageBuilderTest {
     when(kubernetesService.listJobs()).thenReturn(Collections.emptySet());
     var builderJobResult =
         new KubernetesService.JobStatusCondition(true, "type", "test-reason", "test-message", 0);
-    when(kubernetesService.watchJob(any(), anyInt(), any())).thenReturn(builderJobResult);
+    when(kubernetesService.awaitJobCompletion(TEST_BUILDER_JOB_NAME, 1800))
+        .thenReturn(CompletableFuture.completedFuture(builderJobResult));
 
     JobDeployment jobDeployment = new JobDeployment();
     jobDeployment.setDataJobName(TEST_JOB_NAME);
@@ -106,11 +110,13 @@ public class JobImageBuilderTest {
       throws InterruptedException, ApiException, IOException {
     when(dockerRegistryService.dataJobImageExists(TEST_IMAGE_NAME)).thenReturn(false);
     when(dockerRegistryService.builderImage()).thenReturn(TEST_BUILDER_IMAGE_NAME);
-    when(kubernetesService.listJobs())
-        .thenReturn(Set.of(TEST_BUILDER_IMAGE_NAME), Collections.emptySet());
+    when(kubernetesService.listJobs()).thenReturn(Set.of(TEST_BUILDER_IMAGE_NAME));
+    when(kubernetesService.awaitJobDeletion(eq(TEST_BUILDER_JOB_NAME), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(true));
     var builderJobResult =
         new KubernetesService.JobStatusCondition(true, "type", "test-reason", "test-message", 0);
-    when(kubernetesService.watchJob(any(), anyInt(), any())).thenReturn(builderJobResult);
+    when(kubernetesService.awaitJobCompletion(TEST_BUILDER_JOB_NAME, 1800))
+        .thenReturn(CompletableFuture.completedFuture(builderJobResult));
 
     JobDeployment jobDeployment = new JobDeployment();
     jobDeployment.setDataJobName(TEST_JOB_NAME);
@@ -179,7 +185,8 @@ public class JobImageBuilderTest {
     when(kubernetesService.listJobs()).thenReturn(Collections.emptySet());
     var builderJobResult =
         new KubernetesService.JobStatusCondition(false, "type", "test-reason", "test-message", 0);
-    when(kubernetesService.watchJob(any(), anyInt(), any())).thenReturn(builderJobResult);
+    when(kubernetesService.awaitJobCompletion(TEST_BUILDER_JOB_NAME, 1800))
+        .thenReturn(CompletableFuture.completedFuture(builderJobResult));
     when(kubernetesService.getPodLogs(TEST_BUILDER_JOB_NAME)).thenReturn(TEST_BUILDER_LOGS);
 
     JobDeployment jobDeployment = new JobDeployment();
@@ -217,4 +224,35 @@ public class JobImageBuilderTest {
             true);
     Assertions.assertFalse(result);
   }
+
+  @Test
+  public void buildImageAsync_notExist_completesWhenBuilderJobFinishes() throws Exception {
+    when(dockerRegistryService.builderImage()).thenReturn(TEST_BUILDER_IMAGE_NAME);
+    when(kubernetesService.listJobs()).thenReturn(Collections.emptySet());
+    var builderJob = new CompletableFuture<KubernetesService.JobStatusCondition>();
+    when(kubernetesService.awaitJobCompletion(TEST_BUILDER_JOB_NAME, 1800)).thenReturn(builderJob);
+
+    JobDeployment jobDeployment = new JobDeployment();
+    jobDeployment.setDataJobName(TEST_JOB_NAME);
+    jobDeployment.setGitCommitSha("test-commit");
+    jobDeployment.setEnabled(true);
+
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var result =
+          jobImageBuilder.buildImageAsync("test-image", testDataJob, jobDeployment, true, executor);
+
+      verify(kubernetesService, timeout(10_000)).awaitJobCompletion(TEST_BUILDER_JOB_NAME, 1800);
+      Assertions.assertFalse(result.isDone());
+      verify(kubernetesService, never()).deleteJob(TEST_BUILDER_JOB_NAME);
+
+      builderJob.complete(
+          new KubernetesService.JobStatusCondition(true, "type", "test-reason", "test-message", 0));
+
+      Assertions.assertTrue(result.get(10, TimeUnit.SECONDS));
+      verify(kubernetesService).deleteJob(TEST_BUILDER_JOB_NAME);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
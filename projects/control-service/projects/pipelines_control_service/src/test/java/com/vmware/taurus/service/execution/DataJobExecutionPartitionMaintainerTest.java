@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.service.execution.DataJobExecutionPartitions.Period;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DataJobExecutionPartitionMaintainerTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2021-11-17T10:00:00Z"), ZoneOffset.UTC);
+  private static final long TTL_SECONDS = TimeUnit.DAYS.toSeconds(14);
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private DataJobExecutionPartitionMaintainer maintainer;
+
+  @BeforeEach
+  public void setUp() {
+    maintainer =
+        new DataJobExecutionPartitionMaintainer(
+            jdbcTemplate, true, Period.MONTH, 2, TTL_SECONDS, CLOCK);
+  }
+
+  @Test
+  public void testPeriods_shouldStartOnFirstDayOfMonthAndOnMonday() {
+    LocalDate date = LocalDate.parse("2021-11-17");
+
+    Assertions.assertEquals(LocalDate.parse("2021-11-01"), Period.MONTH.start(date));
+    Assertions.assertEquals(
+        LocalDate.parse("2021-12-01"), Period.MONTH.next(Period.MONTH.start(date)));
+    Assertions.assertEquals(LocalDate.parse("2021-11-15"), Period.WEEK.start(date));
+    Assertions.assertEquals(
+        LocalDate.parse("2021-11-22"), Period.WEEK.next(Period.WEEK.start(date)));
+    Assertions.assertEquals(
+        List.of(LocalDate.parse("2021-10-01"), LocalDate.parse("2021-11-01")),
+        DataJobExecutionPartitions.partitionStarts(
+            Period.MONTH, LocalDate.parse("2021-10-20"), date));
+  }
+
+  @Test
+  public void testUpperBound_shouldParsePartitionBoundExpression() {
+    Assertions.assertEquals(
+        Optional.of(LocalDate.parse("2021-12-01")),
+        DataJobExecutionPartitions.upperBound(
+            "FOR VALUES FROM ('2021-11-01 00:00:00') TO ('2021-12-01 00:00:00')"));
+    Assertions.assertEquals(Optional.empty(), DataJobExecutionPartitions.upperBound("DEFAULT"));
+  }
+
+  @Test
+  public void testMaintainPartitions_shouldCreateCurrentAndNextPartitions() throws Exception {
+    givenPartitions();
+
+    maintainer.maintainPartitions();
+
+    verify(jdbcTemplate)
+        .execute(
+            "create table if not exists data_job_execution_p20211101 partition of"
+                + " data_job_execution for values from ('2021-11-01') to ('2021-12-01')");
+    verify(jdbcTemplate)
+        .execute(
+            "create table if not exists data_job_execution_p20211201 partition of"
+                + " data_job_execution for values from ('2021-12-01') to ('2022-01-01')");
+    verify(jdbcTemplate)
+        .execute(
+            "create table if not exists data_job_execution_p20220101 partition of"
+                + " data_job_execution for values from ('2022-01-01') to ('2022-02-01')");
+  }
+
+  @Test
+  public void testMaintainPartitions_shouldDropOnlyExpiredPartitionsWithExecutionsEndedBeforeTtl()
+      throws Exception {
+    givenPartitions(
+        "data_job_execution_p20210901", "FOR VALUES FROM ('2021-09-01') TO ('2021-10-01')",
+        "data_job_execution_p20211001", "FOR VALUES FROM ('2021-10-01') TO ('2021-11-01')",
+        "data_job_execution_p20211101", "FOR VALUES FROM ('2021-11-01') TO ('2021-12-01')",
+        "data_job_execution_default", "DEFAULT");
+    var cutOff = OffsetDateTime.now(CLOCK).minusSeconds(TTL_SECONDS);
+    when(jdbcTemplate.queryForObject(
+            "select count(*) from data_job_execution_p20210901"
+                + " where end_time is null or end_time >= ?",
+            Integer.class,
+            cutOff))
+        .thenReturn(0);
+    when(jdbcTemplate.queryForObject(
+            "select count(*) from data_job_execution_p20211001"
+                + " where end_time is null or end_time >= ?",
+            Integer.class,
+            cutOff))
+        .thenReturn(1);
+
+    maintainer.maintainPartitions();
+
+    verify(jdbcTemplate).execute("drop table data_job_execution_p20210901");
+    verify(jdbcTemplate, never()).execute("drop table data_job_execution_p20211001");
+    verify(jdbcTemplate, never()).execute("drop table data_job_execution_p20211101");
+    verify(jdbcTemplate, never()).execute("drop table data_job_execution_default");
+  }
+
+  @Test
+  public void testMaintainPartitions_whenDisabled_shouldNotQueryDatabase() {
+    new DataJobExecutionPartitionMaintainer(
+            jdbcTemplate, false, Period.MONTH, 2, TTL_SECONDS, CLOCK)
+        .maintainPartitions();
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  public void testMaintainPartitions_whenTableIsNotPartitioned_shouldDoNothing() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+
+    maintainer.maintainPartitions();
+
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  private void givenPartitions(String... namesAndBounds) throws Exception {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(1);
+              for (int i = 0; i < namesAndBounds.length; i += 2) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getString(1)).thenReturn(namesAndBounds[i]);
+                when(resultSet.getString(2)).thenReturn(namesAndBounds[i + 1]);
+                handler.processRow(resultSet);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(eq(DataJobExecutionPartitions.LIST_PARTITIONS_SQL), any(RowCallbackHandler.class));
+  }
+}
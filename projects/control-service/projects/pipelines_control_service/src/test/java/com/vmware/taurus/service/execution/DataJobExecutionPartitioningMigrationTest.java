@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.service.execution.DataJobExecutionPartitions.Period;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DataJobExecutionPartitioningMigrationTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2021-11-17T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private Context context;
+  @Mock private Connection connection;
+  @Mock private Statement statement;
+
+  @Test
+  public void testMigrate_whenDisabled_shouldNotQueryDatabase() throws Exception {
+    when(context.getConnection()).thenReturn(connection);
+
+    newMigration(false, false).migrate(context);
+
+    verify(connection, never()).createStatement();
+  }
+
+  @Test
+  public void testMigrate_whenDatabaseIsNotPostgreSql_shouldNotPartition() throws Exception {
+    when(context.getConnection()).thenReturn(connection);
+    var metadata = mock(DatabaseMetaData.class);
+    when(connection.getMetaData()).thenReturn(metadata);
+    when(metadata.getDatabaseProductName()).thenReturn("H2");
+
+    newMigration(true, false).migrate(context);
+
+    verify(connection, never()).createStatement();
+  }
+
+  @Test
+  public void testMigrate_withExecutionsAndWithoutCopy_shouldNotPartition() throws Exception {
+    givenPostgreSql(true, null);
+
+    newMigration(true, false).migrate(context);
+
+    verify(statement, never()).execute(anyString());
+    verify(statement, never()).executeUpdate(anyString());
+  }
+
+  @Test
+  public void testMigrate_withoutExecutions_shouldPartitionWithoutCopy() throws Exception {
+    givenPostgreSql(false, null);
+
+    newMigration(true, false).migrate(context);
+
+    var statements = executedStatements();
+    Assertions.assertEquals(
+        "alter table data_job_execution rename to data_job_execution_unpartitioned",
+        statements.get(0));
+    Assertions.assertTrue(
+        statements.contains(
+            "create table if not exists data_job_execution_p20211101 partition of"
+                + " data_job_execution for values from ('2021-11-01') to ('2021-12-01')"));
+    Assertions.assertTrue(
+        statements.contains(
+            "create table if not exists data_job_execution_p20220101 partition of"
+                + " data_job_execution for values from ('2022-01-01') to ('2022-02-01')"));
+    Assertions.assertTrue(
+        statements.contains(
+            "create unique index idx_data_job_execution_id_start_time"
+                + " on data_job_execution (id, start_time)"));
+    Assertions.assertTrue(
+        statements.contains(DataJobExecutionPartitioningMigration.UNIQUE_ID_FUNCTION_SQL));
+    Assertions.assertTrue(
+        statements.contains(DataJobExecutionPartitioningMigration.UNIQUE_ID_TRIGGER_SQL));
+    verify(statement, never()).executeUpdate(anyString());
+  }
+
+  @Test
+  public void testMigrate_withExecutionsAndCopy_shouldCopyToPartitionsFromOldestExecution()
+      throws Exception {
+    givenPostgreSql(true, LocalDate.parse("2021-09-20"));
+
+    newMigration(true, true).migrate(context);
+
+    var statements = executedStatements();
+    Assertions.assertTrue(
+        statements.contains(
+            "create table if not exists data_job_execution_p20210901 partition of"
+                + " data_job_execution for values from ('2021-09-01') to ('2021-10-01')"));
+    verify(statement)
+        .executeUpdate(
+            "insert into data_job_execution select * from data_job_execution_unpartitioned");
+    Assertions.assertTrue(statements.contains("drop table data_job_execution_unpartitioned"));
+  }
+
+  @Test
+  public void testChecksum_shouldChangeWithCopyOnlyWhenEnabled() {
+    Assertions.assertNotEquals(
+        newMigration(true, false).getChecksum(), newMigration(true, true).getChecksum());
+    Assertions.assertEquals(
+        newMigration(false, false).getChecksum(), newMigration(false, true).getChecksum());
+  }
+
+  private DataJobExecutionPartitioningMigration newMigration(boolean enabled, boolean copy) {
+    return new DataJobExecutionPartitioningMigration(enabled, Period.MONTH, 2, copy, CLOCK);
+  }
+
+  private void givenPostgreSql(boolean hasExecutions, LocalDate oldestStartDate) throws Exception {
+    when(context.getConnection()).thenReturn(connection);
+    var metadata = mock(DatabaseMetaData.class);
+    when(connection.getMetaData()).thenReturn(metadata);
+    when(metadata.getDatabaseProductName()).thenReturn("PostgreSQL");
+    when(metadata.getDatabaseMajorVersion()).thenReturn(13);
+    when(connection.createStatement()).thenReturn(statement);
+
+    var version = mock(ResultSet.class);
+    when(version.next()).thenReturn(true);
+    when(version.getString(1)).thenReturn("PostgreSQL 13.4");
+    when(statement.executeQuery("select version()")).thenReturn(version);
+
+    var partitioned = mock(ResultSet.class);
+    when(partitioned.next()).thenReturn(true);
+    when(partitioned.getInt(1)).thenReturn(0);
+    when(statement.executeQuery(DataJobExecutionPartitions.IS_PARTITIONED_SQL))
+        .thenReturn(partitioned);
+
+    var exists = mock(ResultSet.class);
+    when(exists.next()).thenReturn(true);
+    when(exists.getBoolean(1)).thenReturn(hasExecutions);
+    when(statement.executeQuery("select exists (select 1 from data_job_execution)"))
+        .thenReturn(exists);
+
+    if (oldestStartDate != null) {
+      var oldest = mock(ResultSet.class);
+      when(oldest.next()).thenReturn(true);
+      when(oldest.getDate(1)).thenReturn(Date.valueOf(oldestStartDate));
+      when(statement.executeQuery(
+              "select cast(min(start_time) as date) from data_job_execution_unpartitioned"))
+          .thenReturn(oldest);
+    }
+  }
+
+  private List<String> executedStatements() throws Exception {
+    var captor = ArgumentCaptor.forClass(String.class);
+    verify(statement, atLeastOnce()).execute(captor.capture());
+    return captor.getAllValues();
+  }
+}
@@ -12,6 +12,8 @@ import com.vmware.taurus.service.JobsRepository;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.ExecutionStatus;
 import com.vmware.taurus.service.model.JobConfig;
+import com.vmware.taurus.service.monitoring.DataJobExecutionCleanupMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +21,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.OffsetDateTime;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Random;
 import java.util.UUID;
 
@@ -34,6 +37,8 @@ public class JobExecutionCleanupServiceIT {
 
   @Autowired private JobExecutionCleanupService jobExecutionCleanupService;
 
+  @Autowired private MeterRegistry meterRegistry;
+
   @BeforeAll
   public void populateJobsRepository() {
     JobConfig config = new JobConfig();
@@ -88,20 +93,23 @@ public class JobExecutionCleanupServiceIT {
   @Test
   public void testJobExecutionOrdering() {
     Random random = new Random();
-
-    for (int i = 0; i < 20; i++) {
-      addJobExecution(
-          "jobA", OffsetDateTime.now().minusDays(random.nextInt(60)), ExecutionStatus.SUCCEEDED);
+    var now = OffsetDateTime.now();
+    var endTimes = new ArrayList<OffsetDateTime>();
+    for (int i = 0; i < 105; i++) {
+      // Distinct end times within the TTL, saved in random order.
+      endTimes.add(random.nextInt(endTimes.size() + 1), now.minusMinutes(i));
     }
-    var statuses = List.of(ExecutionStatus.RUNNING, ExecutionStatus.SUBMITTED);
-    var jobs =
-        jobExecutionRepository.findByDataJobNameAndStatusNotInOrderByEndTime("jobA", statuses);
-
-    var previous = jobExecutionRepository.findById(jobs.get(0).getId()).get();
-    for (int i = 1; i < jobs.size(); i++) {
-      var current = jobExecutionRepository.findById(jobs.get(i).getId()).get();
-      Assertions.assertTrue(previous.getEndTime().isBefore(current.getEndTime()));
-      previous = current;
+    var executionIds = new HashMap<OffsetDateTime, String>();
+    endTimes.forEach(
+        endTime ->
+            executionIds.put(endTime, addJobExecution("jobA", endTime, ExecutionStatus.SUCCEEDED)));
+
+    jobExecutionCleanupService.cleanupExecutions();
+
+    Assertions.assertEquals(100, jobExecutionRepository.findAll().size());
+    for (int i = 0; i < 105; i++) {
+      Assertions.assertEquals(
+          i < 100, jobExecutionRepository.existsById(executionIds.get(now.minusMinutes(i))));
     }
   }
 
@@ -178,7 +186,46 @@ public class JobExecutionCleanupServiceIT {
     Assertions.assertEquals(100, jobExecutionRepository.findAll().size());
   }
 
-  private void addJobExecution(String jobName, OffsetDateTime time, ExecutionStatus status) {
+  @Test
+  public void testRunningExecutionsDeleteNotExpected() {
+    addExecutions(100, "jobA");
+    addJobExecution("jobA", OffsetDateTime.now().minusDays(20), ExecutionStatus.RUNNING);
+    addJobExecution("jobA", null, ExecutionStatus.SUBMITTED);
+
+    jobExecutionCleanupService.cleanupExecutions();
+
+    Assertions.assertEquals(102, jobExecutionRepository.findAll().size());
+  }
+
+  @Test
+  public void testNewestExecutionsKept() {
+    var oldest =
+        addJobExecution("jobA", OffsetDateTime.now().minusDays(3), ExecutionStatus.USER_ERROR);
+    addExecutions(100, "jobA");
+
+    jobExecutionCleanupService.cleanupExecutions();
+
+    Assertions.assertEquals(100, jobExecutionRepository.findAll().size());
+    Assertions.assertTrue(jobExecutionRepository.findById(oldest).isEmpty());
+  }
+
+  @Test
+  public void testCleanupMetricsRecorded() {
+    addExecutions(103, "jobA");
+    var deletedCounter =
+        meterRegistry.counter(DataJobExecutionCleanupMonitor.DELETED_EXECUTIONS_COUNTER_NAME);
+    var durationTimer =
+        meterRegistry.timer(DataJobExecutionCleanupMonitor.CLEANUP_DURATION_TIMER_NAME);
+    double deletedBefore = deletedCounter.count();
+    long durationCountBefore = durationTimer.count();
+
+    jobExecutionCleanupService.cleanupExecutions();
+
+    Assertions.assertEquals(3.0, deletedCounter.count() - deletedBefore, 0.001);
+    Assertions.assertEquals(1, durationTimer.count() - durationCountBefore);
+  }
+
+  private String addJobExecution(String jobName, OffsetDateTime time, ExecutionStatus status) {
     var excId = UUID.randomUUID().toString();
     var execution =
         RepositoryUtil.createDataJobExecution(
@@ -186,6 +233,7 @@ public class JobExecutionCleanupServiceIT {
     execution.setStartTime(time);
     execution.setEndTime(time);
     jobExecutionRepository.save(execution);
+    return excId;
   }
 
   private void addExecutions(int executionsNumber, String jobName) {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class JobExecutionLogsCacheTest {
+
+  private static final String LOGS = "first line\nsecond line\nthird line\n";
+
+  @Mock private DataJobsKubernetesService dataJobsKubernetesService;
+
+  @TempDir Path directory;
+
+  private SimpleMeterRegistry meterRegistry;
+  private Clock clock;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    // The age of the logs loaded from the disk is the modification time of their files.
+    clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+  }
+
+  @Test
+  public void testCapture_shouldServeTheLogsFromDisk() throws Exception {
+    mockLogs("execution-1", LOGS);
+    var cache = newCache(1024 * 1024);
+
+    cache.capture("execution-1");
+    cache.capture("execution-1");
+
+    Assertions.assertEquals(LOGS, read(cache.open("execution-1", null)));
+    Assertions.assertEquals("third line\n", read(cache.open("execution-1", 1)));
+    Assertions.assertEquals(LOGS, read(cache.open("execution-1", 10)));
+    Assertions.assertTrue(cache.open("execution-2", null).isEmpty());
+    Mockito.verify(dataJobsKubernetesService, Mockito.times(1))
+        .streamJobLogs("execution-1", null, null, null, false);
+    Assertions.assertTrue(Files.exists(directory.resolve("execution-1.log.gz")));
+    Assertions.assertEquals(
+        3,
+        meterRegistry
+            .get(JobExecutionLogsCache.REQUESTS_COUNTER_NAME)
+            .tag("result", "hit")
+            .counter()
+            .count());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get(JobExecutionLogsCache.REQUESTS_COUNTER_NAME)
+            .tag("result", "miss")
+            .counter()
+            .count());
+    Assertions.assertEquals(
+        Files.size(directory.resolve("execution-1.log.gz")),
+        meterRegistry.get(JobExecutionLogsCache.SIZE_GAUGE_NAME).gauge().value());
+  }
+
+  @Test
+  public void testCapture_whenPodIsMissing_shouldNotCache() throws Exception {
+    Mockito.when(dataJobsKubernetesService.streamJobLogs("execution-1", null, null, null, false))
+        .thenReturn(Optional.empty())
+        .thenThrow(new ApiException(400, "container is waiting to start"));
+    var cache = newCache(1024 * 1024);
+
+    cache.capture("execution-1");
+    cache.capture("execution-1");
+    cache.capture("../execution-1");
+
+    Assertions.assertTrue(cache.open("execution-1", null).isEmpty());
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  public void testCapture_whenSizeExceeded_shouldEvictTheLeastRecentlyRead() throws Exception {
+    mockLogs("execution-1", LOGS);
+    mockLogs("execution-2", LOGS);
+    mockLogs("execution-3", LOGS);
+    var cache = newCache(1024 * 1024);
+    cache.capture("execution-1");
+    long fileSize = cache.getSizeBytes();
+    cache = newCache(2 * fileSize);
+    cache.capture("execution-2");
+    read(cache.open("execution-1", null));
+
+    cache.capture("execution-3");
+
+    Assertions.assertTrue(cache.contains("execution-1"));
+    Assertions.assertFalse(cache.contains("execution-2"));
+    Assertions.assertTrue(cache.contains("execution-3"));
+    Assertions.assertFalse(Files.exists(directory.resolve("execution-2.log.gz")));
+    Assertions.assertEquals(2 * fileSize, cache.getSizeBytes());
+    Assertions.assertEquals(
+        1, meterRegistry.get(JobExecutionLogsCache.EVICTIONS_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  public void testEvictExpired_shouldEvictTheLogsOlderThanMaxAge() throws Exception {
+    mockLogs("execution-1", LOGS);
+    var cache = newCache(1024 * 1024);
+    cache.capture("execution-1");
+
+    clock = Clock.offset(clock, Duration.ofDays(2));
+    cache = newCache(1024 * 1024);
+
+    Assertions.assertFalse(cache.contains("execution-1"));
+    Assertions.assertFalse(Files.exists(directory.resolve("execution-1.log.gz")));
+  }
+
+  @Test
+  public void testOpen_whenDisabled_shouldNotReadTheDisk() throws Exception {
+    var cache =
+        new JobExecutionLogsCache(
+            dataJobsKubernetesService,
+            meterRegistry,
+            false,
+            directory.resolve("missing"),
+            1024,
+            Duration.ofDays(1),
+            MoreExecutors.newDirectExecutorService(),
+            clock);
+    cache.afterPropertiesSet();
+
+    cache.capture("execution-1");
+
+    Assertions.assertTrue(cache.open("execution-1", null).isEmpty());
+    Assertions.assertFalse(Files.exists(directory.resolve("missing")));
+    Mockito.verifyNoInteractions(dataJobsKubernetesService);
+  }
+
+  /** A new cache over the same directory, which loads the logs captured by the previous ones. */
+  private JobExecutionLogsCache newCache(long maxSizeBytes) throws IOException {
+    meterRegistry = new SimpleMeterRegistry();
+    var cache =
+        new JobExecutionLogsCache(
+            dataJobsKubernetesService,
+            meterRegistry,
+            true,
+            directory,
+            maxSizeBytes,
+            Duration.ofDays(1),
+            MoreExecutors.newDirectExecutorService(),
+            clock);
+    cache.afterPropertiesSet();
+    return cache;
+  }
+
+  private void mockLogs(String executionId, String logs) throws ApiException, IOException {
+    Mockito.when(dataJobsKubernetesService.streamJobLogs(executionId, null, null, null, false))
+        .thenAnswer(
+            inv -> Optional.of(new ByteArrayInputStream(logs.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private static String read(Optional<InputStream> logs) throws IOException {
+    Assertions.assertTrue(logs.isPresent());
+    try (var in = logs.get()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JobExecutionLogsInputStreamTest {
+
+  private static final String LOGS =
+      "2021-11-17T10:00:00.100000000Z first line\n"
+          + "2021-11-17T10:00:00.900000000Z second line\n"
+          + "2021-11-17T10:00:01.500000000Z third line\n";
+
+  private Counter bytesCounter;
+  private AtomicInteger closeCount;
+
+  @BeforeEach
+  public void setUp() {
+    bytesCounter = new SimpleMeterRegistry().counter("test.bytes");
+    closeCount = new AtomicInteger();
+  }
+
+  @Test
+  public void testRead_withoutOptions_shouldReturnAllLogs() throws IOException {
+    Assertions.assertEquals(LOGS, read(null, 0, 0));
+    Assertions.assertEquals(LOGS.length(), bytesCounter.count());
+  }
+
+  @Test
+  public void testRead_withSinceTime_shouldSkipEarlierLines() throws IOException {
+    Assertions.assertEquals(
+        "2021-11-17T10:00:00.900000000Z second line\n"
+            + "2021-11-17T10:00:01.500000000Z third line\n",
+        read(OffsetDateTime.parse("2021-11-17T10:00:00.900Z"), 0, 0));
+  }
+
+  @Test
+  public void testRead_withSinceTimeAfterAllLines_shouldReturnNothing() throws IOException {
+    Assertions.assertEquals("", read(OffsetDateTime.parse("2021-11-17T11:00:00Z"), 0, 0));
+    Assertions.assertEquals(0, bytesCounter.count());
+  }
+
+  @Test
+  public void testRead_withOffsetAndLimit_shouldReturnTheRange() throws IOException {
+    var offset = "2021-11-17T10:00:00.100000000Z first line\n".length();
+
+    Assertions.assertEquals("2021-11-17T10:00:00.9", read(null, offset, 21));
+    Assertions.assertEquals(21, bytesCounter.count());
+  }
+
+  @Test
+  public void testRead_withUntimestampedLines_shouldStopFilteringAtThem() throws IOException {
+    var logs = "2021-11-17T10:00:00.100000000Z first line\nno timestamp\n";
+    try (var in = newStream(logs, OffsetDateTime.parse("2021-11-17T10:00:01Z"), 0, 0)) {
+      Assertions.assertEquals("no timestamp\n", readAll(in));
+    }
+  }
+
+  @Test
+  public void testClose_shouldRunTheCallbackOnce() throws IOException {
+    var in = newStream(LOGS, null, 0, 0);
+
+    in.close();
+    in.close();
+
+    Assertions.assertEquals(1, closeCount.get());
+  }
+
+  private String read(OffsetDateTime sinceTime, long offsetBytes, long limitBytes)
+      throws IOException {
+    try (var in = newStream(LOGS, sinceTime, offsetBytes, limitBytes)) {
+      return readAll(in);
+    }
+  }
+
+  private JobExecutionLogsInputStream newStream(
+      String logs, OffsetDateTime sinceTime, long offsetBytes, long limitBytes) {
+    return new JobExecutionLogsInputStream(
+        new ByteArrayInputStream(logs.getBytes(StandardCharsets.UTF_8)),
+        sinceTime,
+        offsetBytes,
+        limitBytes,
+        bytesCounter,
+        closeCount::incrementAndGet);
+  }
+
+  private static String readAll(JobExecutionLogsInputStream in) throws IOException {
+    // A small buffer to read across the line boundaries.
+    var result = new StringBuilder();
+    byte[] buffer = new byte[7];
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      result.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.execution;
+
+import com.vmware.taurus.exception.DataJobExecutionLogsStreamLimitException;
+import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class JobExecutionLogsStreamerTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2021-11-17T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private DataJobsKubernetesService dataJobsKubernetesService;
+
+  @Mock private JobExecutionLogsCache jobExecutionLogsCache;
+
+  private SimpleMeterRegistry meterRegistry;
+  private JobExecutionLogsStreamer streamer;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    streamer =
+        new JobExecutionLogsStreamer(
+            dataJobsKubernetesService, jobExecutionLogsCache, meterRegistry, 2, CLOCK);
+  }
+
+  @Test
+  public void testStreamLogs_shouldCountTheStreamedBytes() throws Exception {
+    mockLogs("logs\n");
+
+    try (var logs = streamer.streamLogs("execution", 0, 0L, null, 0L, false)) {
+      Assertions.assertEquals(
+          "logs\n", new String(logs.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    Assertions.assertEquals(
+        5,
+        meterRegistry.get(JobExecutionLogsStreamer.BYTES_STREAMED_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  public void testStreamLogs_shouldPassTheOptionsToKubernetes() throws Exception {
+    mockLogs("");
+
+    streamer.streamLogs("execution", 10, 100L, null, 50L, true).close();
+    streamer
+        .streamLogs(
+            "execution", null, 100L, OffsetDateTime.parse("2021-11-17T09:59:00Z"), 0L, false)
+        .close();
+
+    Mockito.verify(dataJobsKubernetesService).streamJobLogs("execution", 10, null, 150, true);
+    Mockito.verify(dataJobsKubernetesService).streamJobLogs("execution", null, 62, null, false);
+  }
+
+  @Test
+  public void testStreamLogs_whenLimitReached_shouldRejectUntilAStreamIsClosed() throws Exception {
+    mockLogs("logs\n");
+    var first = streamer.streamLogs("execution-1", null, null, null, null, false);
+    var second = streamer.streamLogs("execution-2", null, null, null, null, false);
+
+    Assertions.assertThrows(
+        DataJobExecutionLogsStreamLimitException.class,
+        () -> streamer.streamLogs("execution-3", null, null, null, null, false));
+    Assertions.assertEquals(
+        2, meterRegistry.get(JobExecutionLogsStreamer.ACTIVE_STREAMS_GAUGE_NAME).gauge().value());
+    Assertions.assertEquals(
+        1,
+        meterRegistry
+            .get(JobExecutionLogsStreamer.REJECTED_STREAMS_COUNTER_NAME)
+            .counter()
+            .count());
+
+    first.close();
+    second.close();
+    streamer.streamLogs("execution-3", null, null, null, null, false).close();
+    Assertions.assertEquals(
+        0, meterRegistry.get(JobExecutionLogsStreamer.ACTIVE_STREAMS_GAUGE_NAME).gauge().value());
+  }
+
+  @Test
+  public void testStreamLogs_whenCached_shouldNotCallKubernetes() throws Exception {
+    Mockito.when(jobExecutionLogsCache.open("execution", 1))
+        .thenReturn(
+            Optional.of(
+                new ByteArrayInputStream(
+                    "2021-11-17T09:59:00Z cached\n".getBytes(StandardCharsets.UTF_8))));
+
+    try (var logs =
+        streamer.streamLogs(
+            "execution", 1, 0L, OffsetDateTime.parse("2021-11-17T09:58:00Z"), 0L, true)) {
+      Assertions.assertEquals(
+          "2021-11-17T09:59:00Z cached\n",
+          new String(logs.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    Mockito.verifyNoInteractions(dataJobsKubernetesService);
+  }
+
+  @Test
+  public void testStreamLogs_whenKubernetesFails_shouldReleaseTheStream() throws Exception {
+    Mockito.when(
+            dataJobsKubernetesService.streamJobLogs(
+                Mockito.anyString(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyBoolean()))
+        .thenThrow(new ApiException(500, "failure"))
+        .thenReturn(Optional.empty());
+
+    Assertions.assertThrows(
+        ApiException.class, () -> streamer.streamLogs("execution", null, null, null, null, false));
+
+    try (var logs = streamer.streamLogs("execution", null, null, null, null, false)) {
+      Assertions.assertEquals(0, logs.getInputStream().readAllBytes().length);
+    }
+    Assertions.assertEquals(
+        0, meterRegistry.get(JobExecutionLogsStreamer.ACTIVE_STREAMS_GAUGE_NAME).gauge().value());
+  }
+
+  private void mockLogs(String logs) throws ApiException, IOException {
+    Mockito.when(
+            dataJobsKubernetesService.streamJobLogs(
+                Mockito.anyString(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyBoolean()))
+        .thenAnswer(
+            inv -> Optional.of(new ByteArrayInputStream(logs.getBytes(StandardCharsets.UTF_8))));
+  }
+}
@@ -8,6 +8,7 @@ package com.vmware.taurus.service.execution;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.jupiter.api.AfterEach;
@@ -76,12 +77,15 @@ public class JobExecutionServiceSyncExecutionIT {
         findRunningDataJobExecutions(actualDataJob.getName());
 
     Assert.assertEquals(4, dataJobExecutionsBeforeSync.size());
-    jobExecutionService.syncJobExecutionStatuses(
-        List.of(expectedJobExecution1.getId(), expectedJobExecution3.getId()));
+    List<String> syncedJobExecutionIds =
+        jobExecutionService.syncJobExecutionStatuses(
+            List.of(expectedJobExecution1.getId(), expectedJobExecution3.getId()));
 
     List<com.vmware.taurus.service.model.DataJobExecution> dataJobExecutionsAfterSync =
         findRunningDataJobExecutions(actualDataJob.getName());
 
+    Assert.assertEquals(
+        Set.of("test-execution-id-2", "test-execution-id-4"), Set.copyOf(syncedJobExecutionIds));
     Assert.assertEquals(2, dataJobExecutionsAfterSync.size());
     Assert.assertEquals(expectedJobExecution1.getId(), dataJobExecutionsAfterSync.get(0).getId());
     Assert.assertEquals(expectedJobExecution3.getId(), dataJobExecutionsAfterSync.get(1).getId());
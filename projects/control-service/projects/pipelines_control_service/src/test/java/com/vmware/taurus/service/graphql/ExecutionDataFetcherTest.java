@@ -16,7 +16,11 @@ import com.vmware.taurus.service.graphql.model.V2DataJobConfig;
 import com.vmware.taurus.service.graphql.model.V2DataJobDeployment;
 import com.vmware.taurus.service.graphql.model.V2DataJobSchedule;
 import com.vmware.taurus.service.graphql.strategy.datajob.JobFieldStrategyBy;
+import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DataJobExecution;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.model.ExecutionType;
+import com.vmware.taurus.service.model.JobConfig;
 import graphql.GraphQLException;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
@@ -26,21 +30,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -105,14 +112,28 @@ class ExecutionDataFetcherTest {
     executionArgs.put("pageSize", 25);
     when(selectedField.getArguments()).thenReturn(executionArgs);
     List<V2DataJob> v2DataJobs = mockListOfV2DataJobs();
-    when(jobExecutionRepository.findAll(any(Specification.class), any(Pageable.class)))
-        .thenReturn(new PageImpl<DataJobExecution>(Collections.emptyList()));
+    DataJob dataJob = new DataJob("sample-job-1", new JobConfig());
+    when(jobExecutionRepository.findPageOfEachDataJob(
+            any(Collection.class), any(), any(Sort.class), any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                DataJobExecution.builder()
+                    .id("sample-job-1-execution")
+                    .dataJob(dataJob)
+                    .type(ExecutionType.MANUAL)
+                    .status(ExecutionStatus.SUCCEEDED)
+                    .build()));
 
     List<V2DataJob> result =
         executionDataFetcher.populateExecutions(v2DataJobs, dataFetchingEnvironment);
 
     assertEquals(3, result.size());
-    verify(jobExecutionRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
+    assertEquals(1, result.get(0).getDeployments().get(0).getExecutions().size());
+    assertEquals(0, result.get(1).getDeployments().get(0).getExecutions().size());
+    verify(jobExecutionRepository, times(1))
+        .findPageOfEachDataJob(
+            Set.of("sample-job-1", "sample-job-2"), null, Sort.unsorted(), PageRequest.of(0, 25));
+    verify(jobExecutionRepository, never()).findAll(any(Specification.class), any(Pageable.class));
   }
 
   @Test
@@ -36,23 +36,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -84,7 +95,7 @@ class GraphQLDataFetchersTest {
   void testDataFetcherOfJobs_whenGettingFullList_shouldReturnAllDataJobs() throws Exception {
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(10);
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    mockFindAllPage(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingFieldSelectionSet.contains(
             not(eq(JobFieldStrategyBy.DEPLOYMENT_EXECUTIONS.getPath()))))
@@ -101,7 +112,7 @@ class GraphQLDataFetchersTest {
   void testDataFetcherOfJobs_whenGettingPagedResult_shouldReturnPagedJobs() throws Exception {
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(2);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(2);
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    mockFindAllPage(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingFieldSelectionSet.contains(
             not(eq(JobFieldStrategyBy.DEPLOYMENT_EXECUTIONS.getPath()))))
@@ -122,7 +133,7 @@ class GraphQLDataFetchersTest {
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(10);
     when(dataFetchingEnvironment.getArgument("search")).thenReturn(null);
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    mockFindAllPage(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingEnvironment.getArgument("filter"))
         .thenReturn(constructFilter(Filter.of("jobName", "sample-job", Sort.Direction.DESC)));
@@ -139,7 +150,7 @@ class GraphQLDataFetchersTest {
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(10);
     when(dataFetchingEnvironment.getArgument("search")).thenReturn("sample-job-2");
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    when(jobsRepository.findAll(any(Specification.class))).thenReturn(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingFieldSelectionSet.contains(
             not(eq(JobFieldStrategyBy.DEPLOYMENT_EXECUTIONS.getPath()))))
@@ -159,7 +170,7 @@ class GraphQLDataFetchersTest {
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(10);
     when(dataFetchingEnvironment.getArgument("search")).thenReturn("sample-job-2");
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    when(jobsRepository.findAll(any(Specification.class))).thenReturn(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingFieldSelectionSet.contains(
             not(eq(JobFieldStrategyBy.DEPLOYMENT_EXECUTIONS.getPath()))))
@@ -200,7 +211,7 @@ class GraphQLDataFetchersTest {
 
   @Test
   void testDataFetcherOfJobs_whenValidPageNumberIsProvided_shouldNotThrowException() {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobs());
+    mockFindAllPage(mockListOfDataJobs());
     when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -213,7 +224,7 @@ class GraphQLDataFetchersTest {
 
   @Test
   void testPopulateDeployments() throws Exception {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobsWithLastExecution());
+    mockFindAllPage(mockListOfDataJobsWithLastExecution());
     when(deploymentService.readDeployments()).thenReturn(mockListOfDeployments());
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -240,7 +251,8 @@ class GraphQLDataFetchersTest {
 
   @Test
   void testFilterByLastExecutionStatus() throws Exception {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobsWithLastExecution());
+    when(jobsRepository.findAll(any(Specification.class)))
+        .thenReturn(mockListOfDataJobsWithLastExecution());
     when(deploymentService.readDeployments()).thenReturn(mockListOfDeployments());
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -263,7 +275,8 @@ class GraphQLDataFetchersTest {
 
   @Test
   void testSortingByLastExecutionStatus() throws Exception {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobsWithLastExecution());
+    when(jobsRepository.findAll(any(Specification.class)))
+        .thenReturn(mockListOfDataJobsWithLastExecution());
     when(deploymentService.readDeployments()).thenReturn(mockListOfDeployments());
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -296,7 +309,6 @@ class GraphQLDataFetchersTest {
 
   @Test
   void testSortingByLastExecutionTime() throws Exception {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobsWithLastExecution());
     when(deploymentService.readDeployments()).thenReturn(mockListOfDeployments());
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -307,6 +319,7 @@ class GraphQLDataFetchersTest {
     when(dataFetchingEnvironment.getArgument("filter"))
         .thenReturn(
             constructFilter(Filter.of("deployments.lastExecutionTime", null, Sort.Direction.ASC)));
+    mockFindAllPage(mockListOfDataJobsWithLastExecution());
 
     DataJobPage dataJobPage = (DataJobPage) findDataJobs.get(dataFetchingEnvironment);
 
@@ -323,11 +336,20 @@ class GraphQLDataFetchersTest {
         .isEqualTo(OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
     assertThat(lastExecutionTimes.get(4))
         .isEqualTo(OffsetDateTime.of(2000, 1, 3, 0, 0, 0, 0, ZoneOffset.UTC));
+    verify(jobsRepository)
+        .findPage(
+            any(Specification.class),
+            eq(
+                PageRequest.of(
+                    0,
+                    100,
+                    Sort.by(Sort.Order.asc("lastExecutionEndTime").nullsFirst())
+                        .and(Sort.by(Sort.Direction.ASC, "name")))));
+    verify(jobsRepository, never()).findAll(any(Specification.class));
   }
 
   @Test
   void testSortingByLastExecutionDuration() throws Exception {
-    when(jobsRepository.findAll()).thenReturn(mockListOfDataJobsWithLastExecution());
     when(deploymentService.readDeployments()).thenReturn(mockListOfDeployments());
     when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
     when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
@@ -339,19 +361,147 @@ class GraphQLDataFetchersTest {
         .thenReturn(
             constructFilter(
                 Filter.of("deployments.lastExecutionDuration", null, Sort.Direction.DESC)));
+    mockFindAllPage(mockListOfDataJobsWithLastExecution());
 
     DataJobPage dataJobPage = (DataJobPage) findDataJobs.get(dataFetchingEnvironment);
 
-    var lastExecutionTimes =
+    var lastExecutionDurations =
         dataJobPage.getContent().stream()
             .map(job -> ((V2DataJob) job).getDeployments().get(0).getLastExecutionDuration())
             .collect(Collectors.toList());
-    assertThat(lastExecutionTimes).hasSize(5);
-    assertThat(lastExecutionTimes.get(0)).isEqualTo(1000);
-    assertThat(lastExecutionTimes.get(1)).isEqualTo(1000);
-    assertThat(lastExecutionTimes.get(2)).isEqualTo(0);
-    assertThat(lastExecutionTimes.get(3)).isNull();
-    assertThat(lastExecutionTimes.get(4)).isNull();
+    assertThat(lastExecutionDurations).hasSize(5);
+    assertThat(lastExecutionDurations.get(0)).isEqualTo(1000);
+    assertThat(lastExecutionDurations.get(1)).isEqualTo(1000);
+    assertThat(lastExecutionDurations.get(2)).isEqualTo(0);
+    assertThat(lastExecutionDurations.get(3)).isNull();
+    assertThat(lastExecutionDurations.get(4)).isNull();
+    verify(jobsRepository)
+        .findPage(
+            any(Specification.class),
+            eq(
+                PageRequest.of(
+                    0,
+                    100,
+                    Sort.by(Sort.Order.desc("lastExecutionDuration").nullsLast())
+                        .and(Sort.by(Sort.Direction.ASC, "name")))));
+    verify(jobsRepository, never()).findAll(any(Specification.class));
+  }
+
+  @Test
+  void testFilterByLastExecutionTime_withSortingByName_shouldLoadOnlyRequestedPage()
+      throws Exception {
+    when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
+    when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(100);
+    when(dataFetchingEnvironment.getArgument("search")).thenReturn(null);
+    when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
+    when(dataFetchingEnvironment.getArgument("filter"))
+        .thenReturn(
+            constructFilter(
+                Filter.of("deployments.lastExecutionTime", "946684800-946771200", null),
+                Filter.of("jobName", null, Sort.Direction.DESC)));
+    mockFindAllPage(mockListOfDataJobsWithLastExecution());
+
+    findDataJobs.get(dataFetchingEnvironment);
+
+    verify(jobsRepository)
+        .findPage(
+            any(Specification.class),
+            eq(PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "name"))));
+    verify(jobsRepository, never()).findAll(any(Specification.class));
+  }
+
+  @Test
+  void testDataFetcherOfJobs_whenFieldsAreStoredInDatabase_shouldLoadOnlyRequestedPage()
+      throws Exception {
+    when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(2);
+    when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(2);
+    when(dataFetchingEnvironment.getArgument("search")).thenReturn("sample");
+    when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
+    when(dataFetchingFieldSelectionSet.contains(anyString())).thenReturn(false);
+    when(dataFetchingFieldSelectionSet.contains(JobFieldStrategyBy.JOB_NAME.getPath()))
+        .thenReturn(true);
+    when(dataFetchingEnvironment.getArgument("filter"))
+        .thenReturn(
+            constructFilter(
+                Filter.of("config.team", "my-team", null),
+                Filter.of("config.description", null, Sort.Direction.DESC)));
+    mockFindAllPage(mockListOfDataJobs());
+
+    DataJobPage dataJobPage = (DataJobPage) findDataJobs.get(dataFetchingEnvironment);
+
+    assertThat(dataJobPage.getContent()).hasSize(1);
+    assertThat(dataJobPage.getTotalItems()).isEqualTo(3);
+    assertThat(dataJobPage.getTotalPages()).isEqualTo(2);
+    verify(jobsRepository)
+        .findPage(
+            any(Specification.class),
+            eq(
+                PageRequest.of(
+                    1,
+                    2,
+                    Sort.by(Sort.Order.desc("jobConfig.description").nullsFirst())
+                        .and(Sort.by(Sort.Direction.ASC, "name")))));
+    verify(jobsRepository, never()).findAll(any(Specification.class));
+  }
+
+  @Test
+  void testDataFetcherOfJobs_whenFilteringByComputedField_shouldFilterInMemory() throws Exception {
+    when(dataFetchingEnvironment.getArgument("pageNumber")).thenReturn(1);
+    when(dataFetchingEnvironment.getArgument("pageSize")).thenReturn(10);
+    when(dataFetchingEnvironment.getArgument("search")).thenReturn(null);
+    when(dataFetchingEnvironment.getSelectionSet()).thenReturn(dataFetchingFieldSelectionSet);
+    when(dataFetchingFieldSelectionSet.contains(anyString())).thenReturn(true);
+    when(dataFetchingFieldSelectionSet.contains(JobFieldStrategyBy.DEPLOYMENT_EXECUTIONS.getPath()))
+        .thenReturn(false);
+    when(dataFetchingEnvironment.getArgument("filter"))
+        .thenReturn(
+            constructFilter(
+                Filter.of("jobName", "sample-job", null),
+                Filter.of("config.schedule.nextRunEpochSeconds", null, Sort.Direction.ASC)));
+    when(jobsRepository.findAll(any(Specification.class))).thenReturn(mockListOfDataJobs());
+
+    DataJobPage dataJobPage = (DataJobPage) findDataJobs.get(dataFetchingEnvironment);
+
+    assertThat(dataJobPage.getContent()).hasSize(3);
+    verify(jobsRepository, never()).findPage(any(Specification.class), any(Pageable.class));
+  }
+
+  private void mockFindAllPage(List<DataJob> dataJobs) {
+    when(jobsRepository.findPage(any(Specification.class), any(Pageable.class)))
+        .thenAnswer(
+            invocation -> {
+              Pageable pageable = invocation.getArgument(1);
+              var content =
+                  dataJobs.stream()
+                      .sorted(toComparator(pageable.getSort()))
+                      .skip(pageable.getOffset())
+                      .limit(pageable.getPageSize())
+                      .collect(Collectors.toList());
+              return new PageImpl<>(content, pageable, dataJobs.size());
+            });
+  }
+
+  /** Orders the data jobs like the database would order them by the sort. */
+  private static Comparator<DataJob> toComparator(Sort sort) {
+    Map<String, Function<DataJob, Comparable>> properties =
+        Map.of(
+            "name", DataJob::getName,
+            "jobConfig.description", job -> job.getJobConfig().getDescription(),
+            "lastExecutionEndTime", DataJob::getLastExecutionEndTime,
+            "lastExecutionDuration", DataJob::getLastExecutionDuration);
+    Comparator<DataJob> comparator = (left, right) -> 0;
+    for (Sort.Order order : sort) {
+      Comparator<Comparable> values = Comparator.naturalOrder();
+      if (order.isDescending()) {
+        values = values.reversed();
+      }
+      values =
+          order.getNullHandling() == Sort.NullHandling.NULLS_LAST
+              ? Comparator.nullsLast(values)
+              : Comparator.nullsFirst(values);
+      comparator = comparator.thenComparing(properties.get(order.getProperty()), values);
+    }
+    return comparator;
   }
 
   private List<JobDeploymentStatus> mockListOfDeployments() {
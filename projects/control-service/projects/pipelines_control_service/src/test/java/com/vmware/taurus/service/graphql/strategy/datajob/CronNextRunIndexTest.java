@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.graphql.strategy.datajob;
+
+import com.vmware.taurus.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CronNextRunIndexTest {
+
+  // 2021-06-01T10:00:00Z
+  private static final Instant NOW = Instant.ofEpochSecond(1622541600L);
+
+  private final MutableClock clock = new MutableClock(NOW);
+  private final CronNextRunIndex nextRunIndex = new CronNextRunIndex(clock);
+
+  @Test
+  void testGetNextRun_whenSameExpressionIsRequested_shouldParseItOnce() {
+    long nextRun = nextRunIndex.getNextRun("30 * * * *");
+
+    assertThat(nextRun).isEqualTo(NOW.plusSeconds(30 * 60).getEpochSecond());
+    assertThat(nextRunIndex.getNextRun("30 * * * *")).isEqualTo(nextRun);
+    assertThat(nextRunIndex.getNextRun("0 12 * * *"))
+        .isEqualTo(NOW.plusSeconds(2 * 60 * 60).getEpochSecond());
+    assertThat(nextRunIndex.size()).isEqualTo(2);
+  }
+
+  @Test
+  void testGetNextRun_whenNextRunHasPassed_shouldComputeTheFollowingRun() {
+    nextRunIndex.getNextRun("30 * * * *");
+    nextRunIndex.getNextRun("0 12 * * *");
+
+    clock.setInstant(NOW.plusSeconds(45 * 60));
+
+    assertThat(nextRunIndex.getNextRun("30 * * * *"))
+        .isEqualTo(NOW.plusSeconds(90 * 60).getEpochSecond());
+    assertThat(nextRunIndex.getNextRun("0 12 * * *"))
+        .isEqualTo(NOW.plusSeconds(2 * 60 * 60).getEpochSecond());
+  }
+
+  @Test
+  void testGetNextRun_whenClockHasOtherZone_shouldComputeInThatZoneAndFollowTheInstant() {
+    // 13:00 in Sofia, which is 3 hours ahead of UTC in June.
+    var zonedIndex = new CronNextRunIndex(clock.withZone(ZoneId.of("Europe/Sofia")));
+
+    assertThat(zonedIndex.getNextRun("0 12 * * *"))
+        .isEqualTo(NOW.plusSeconds(23 * 60 * 60).getEpochSecond());
+    assertThat(zonedIndex.getNextRun("30 * * * *"))
+        .isEqualTo(NOW.plusSeconds(30 * 60).getEpochSecond());
+
+    clock.setInstant(NOW.plusSeconds(45 * 60));
+
+    assertThat(zonedIndex.getNextRun("30 * * * *"))
+        .isEqualTo(NOW.plusSeconds(90 * 60).getEpochSecond());
+  }
+
+  @Test
+  void testGetNextRun_whenExpressionIsInvalid_shouldThrowEveryTime() {
+    assertThatThrownBy(() -> nextRunIndex.getNextRun("* * "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> nextRunIndex.getNextRun("* * "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(nextRunIndex.getNextRun(" ")).isEqualTo(CronNextRunIndex.NEXT_RUN_INVALID_VALUE);
+  }
+}
@@ -68,6 +68,26 @@ class JobFieldStrategyByTeamTest {
     assertThat(v2DataJobCriteria.getComparator().compare(a, b)).isNegative();
   }
 
+  @Test
+  void testJobTeamStrategy_whenComputingCriteriaWithLikePattern_shouldMatchLikeTheDatabase() {
+    Criteria<V2DataJob> baseCriteria =
+        new Criteria<>(Objects::nonNull, Comparator.comparing(V2DataJob::getJobName));
+
+    Predicate<V2DataJob> wildcard =
+        strategyByTeam
+            .computeFilterCriteria(baseCriteria, new Filter("config.team", "%SHOT", null))
+            .getPredicate();
+    Predicate<V2DataJob> literal =
+        strategyByTeam
+            .computeFilterCriteria(baseCriteria, new Filter("config.team", "star.*", null))
+            .getPredicate();
+
+    assertThat(wildcard.test(createDummyJob("Starshot"))).isTrue();
+    assertThat(wildcard.test(createDummyJob("starshot-2"))).isFalse();
+    assertThat(literal.test(createDummyJob("star.*"))).isTrue();
+    assertThat(literal.test(createDummyJob("starshot"))).isFalse();
+  }
+
   @Test
   void testJobTeamStrategy_whenComputingValidSearchProvided_shouldReturnValidPredicate() {
     Predicate<V2DataJob> predicate = strategyByTeam.computeSearchCriteria("starshot");
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.vmware.taurus.MutableClock;
+import com.vmware.taurus.service.model.JobDeploymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class DeploymentStatusCacheTest {
+
+  private static final long MAX_STALENESS_MILLIS = 30_000;
+
+  private final Map<String, JobDeploymentStatus> cronJobs = new ConcurrentHashMap<>();
+  private final AtomicInteger allStatusesLoads = new AtomicInteger();
+  private final AtomicInteger statusLoads = new AtomicInteger();
+  private final AtomicBoolean loadsFail = new AtomicBoolean();
+  private final MutableClock clock = new MutableClock(Instant.ofEpochMilli(1_000_000));
+
+  private SimpleMeterRegistry meterRegistry;
+  private DeploymentStatusCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cronJobs.put("data-job-a", deploymentStatus("data-job-a", true));
+    cronJobs.put("data-job-b", deploymentStatus("data-job-b", true));
+    meterRegistry = new SimpleMeterRegistry();
+    cache = createCache(MAX_STALENESS_MILLIS);
+  }
+
+  @Test
+  public void testGetAll_withinMaxStaleness_shouldLoadAllCronJobsOnce() {
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(cache.getAll()));
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(cache.getAll()));
+
+    Assertions.assertEquals(1, allStatusesLoads.get());
+    Assertions.assertEquals(0, statusLoads.get());
+    Assertions.assertEquals(1.0, counter(DeploymentStatusCache.CACHE_MISSES_COUNTER_NAME));
+    Assertions.assertEquals(1.0, counter(DeploymentStatusCache.CACHE_HITS_COUNTER_NAME));
+  }
+
+  @Test
+  public void testGetAll_afterInvalidate_shouldReadOnlyTheChangedCronJobs() {
+    cache.getAll();
+
+    cronJobs.put("data-job-a", deploymentStatus("data-job-a", false));
+    cronJobs.remove("data-job-b");
+    cronJobs.put("data-job-c", deploymentStatus("data-job-c", true));
+    cache.invalidate("data-job-a");
+    cache.invalidate("data-job-b");
+    cache.invalidate("data-job-c");
+    var statuses = cache.getAll();
+
+    Assertions.assertEquals(List.of("data-job-a", "data-job-c"), cronJobNames(statuses));
+    Assertions.assertFalse(
+        statuses.stream()
+            .filter(status -> status.getCronJobName().equals("data-job-a"))
+            .findFirst()
+            .get()
+            .getEnabled());
+    Assertions.assertEquals(1, allStatusesLoads.get());
+    Assertions.assertEquals(3, statusLoads.get());
+  }
+
+  @Test
+  public void testGetAll_afterMaxStaleness_shouldLoadAllCronJobsAgain() {
+    cache.getAll();
+    cronJobs.remove("data-job-b");
+
+    clock.advance(MAX_STALENESS_MILLIS);
+
+    Assertions.assertEquals(List.of("data-job-a"), cronJobNames(cache.getAll()));
+    Assertions.assertEquals(2, allStatusesLoads.get());
+    Assertions.assertEquals(2.0, counter(DeploymentStatusCache.CACHE_MISSES_COUNTER_NAME));
+  }
+
+  @Test
+  public void testGetAll_withZeroMaxStaleness_shouldLoadAllCronJobsOnEveryRead() {
+    cache = createCache(0);
+
+    cache.getAll();
+    cache.getAll();
+
+    Assertions.assertEquals(2, allStatusesLoads.get());
+  }
+
+  @Test
+  public void testGetAll_whenFirstLoadFails_shouldThrowAndLoadAgainOnNextRead() {
+    loadsFail.set(true);
+
+    Assertions.assertThrows(IllegalStateException.class, () -> cache.getAll());
+
+    loadsFail.set(false);
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(cache.getAll()));
+    Assertions.assertEquals(2, allStatusesLoads.get());
+  }
+
+  @Test
+  public void testGetAll_whenLoadAgainFails_shouldKeepThePreviousViewAndRetry() {
+    cache.getAll();
+    cronJobs.put("data-job-a", deploymentStatus("data-job-a", false));
+    cache.invalidate("data-job-a");
+    clock.advance(MAX_STALENESS_MILLIS);
+    loadsFail.set(true);
+
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(cache.getAll()));
+    Assertions.assertEquals(2, allStatusesLoads.get());
+
+    loadsFail.set(false);
+    var statuses = cache.getAll();
+
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(statuses));
+    Assertions.assertFalse(
+        statuses.stream()
+            .filter(status -> status.getCronJobName().equals("data-job-a"))
+            .findFirst()
+            .get()
+            .getEnabled());
+    Assertions.assertEquals(3, allStatusesLoads.get());
+  }
+
+  @Test
+  public void testGetAll_whenChangedCronJobCannotBeRead_shouldKeepItsStatusAndRetry() {
+    cache.getAll();
+    cronJobs.remove("data-job-b");
+    cache.invalidate("data-job-b");
+    loadsFail.set(true);
+
+    Assertions.assertEquals(List.of("data-job-a", "data-job-b"), cronJobNames(cache.getAll()));
+
+    loadsFail.set(false);
+    Assertions.assertEquals(List.of("data-job-a"), cronJobNames(cache.getAll()));
+    Assertions.assertEquals(2, statusLoads.get());
+    Assertions.assertEquals(1, allStatusesLoads.get());
+  }
+
+  private DeploymentStatusCache createCache(long maxStalenessMillis) {
+    return new DeploymentStatusCache(
+        () -> {
+          allStatusesLoads.incrementAndGet();
+          checkLoadsFail();
+          return new ArrayList<>(cronJobs.values());
+        },
+        cronJobName -> {
+          statusLoads.incrementAndGet();
+          checkLoadsFail();
+          return Optional.ofNullable(cronJobs.get(cronJobName));
+        },
+        maxStalenessMillis,
+        clock,
+        meterRegistry,
+        "test");
+  }
+
+  private void checkLoadsFail() {
+    if (loadsFail.get()) {
+      throw new IllegalStateException("Cannot read the CronJobs");
+    }
+  }
+
+  private double counter(String name) {
+    return meterRegistry.get(name).tag("cache", "test").counter().count();
+  }
+
+  private static List<String> cronJobNames(List<JobDeploymentStatus> statuses) {
+    return statuses.stream()
+        .map(JobDeploymentStatus::getCronJobName)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static JobDeploymentStatus deploymentStatus(String cronJobName, boolean enabled) {
+    var status = new JobDeploymentStatus();
+    status.setCronJobName(cronJobName);
+    status.setDataJobName(cronJobName);
+    status.setEnabled(enabled);
+    return status;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.vmware.taurus.service.KubernetesService.JobStatusCondition;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobStatus;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JobCompletionTrackerTest {
+
+  private static final JobStatusCondition COMPLETE_CONDITION =
+      new JobStatusCondition(true, "Complete", "", "", 0);
+
+  // The jobs returned by the list, by name, with their conditions (null while running).
+  private final Map<String, V1Job> jobs = new ConcurrentHashMap<>();
+  private final AtomicInteger listCalls = new AtomicInteger();
+
+  private SimpleMeterRegistry meterRegistry;
+  private JobCompletionTracker tracker;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    tracker =
+        new JobCompletionTracker(
+            () -> {
+              listCalls.incrementAndGet();
+              return List.copyOf(jobs.values());
+            },
+            job -> job.getStatus() == null ? null : COMPLETE_CONDITION,
+            TimeUnit.MINUTES.toMillis(10),
+            meterRegistry,
+            "test");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    tracker.stop();
+  }
+
+  @Test
+  public void testAwaitCompletion_onJobEvent_shouldCompleteWithCondition() throws Exception {
+    var future = tracker.awaitCompletion("job-a", 60);
+
+    tracker.onAdd(job("job-a", false));
+    Assertions.assertFalse(future.isDone());
+    Assertions.assertEquals(
+        1.0, meterRegistry.get(JobCompletionTracker.PENDING_GAUGE_NAME).gauge().value());
+
+    tracker.onUpdate(job("job-a", false), job("job-a", true));
+    Assertions.assertEquals(COMPLETE_CONDITION, future.get(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(0, tracker.getPendingCount());
+  }
+
+  @Test
+  public void testAwaitCompletion_onPoll_shouldCompleteAllPendingWithSingleList() throws Exception {
+    jobs.put("job-a", job("job-a", true));
+    jobs.put("job-b", job("job-b", true));
+    var futureA = tracker.awaitCompletion("job-a", 60);
+    var futureB = tracker.awaitCompletion("job-b", 60);
+
+    Assertions.assertEquals(COMPLETE_CONDITION, futureA.get(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(COMPLETE_CONDITION, futureB.get(10, TimeUnit.SECONDS));
+    // One list per awaiting call at most, the periodic poll has not run yet.
+    Assertions.assertTrue(listCalls.get() <= 2);
+  }
+
+  @Test
+  public void testAwaitCompletion_whenJobIsDeleted_shouldCompleteUnsuccessfully() throws Exception {
+    var future = tracker.awaitCompletion("job-a", 60);
+
+    tracker.onAdd(job("job-a", false));
+    tracker.onDelete(job("job-a", false), false);
+
+    Assertions.assertEquals(
+        JobCompletionTracker.DELETED_CONDITION, future.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testAwaitCompletion_whenTimeoutPasses_shouldCompleteUnsuccessfully()
+      throws Exception {
+    var future = tracker.awaitCompletion("job-a", 1);
+
+    Assertions.assertEquals(
+        JobCompletionTracker.TIMED_OUT_CONDITION, future.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testAwaitDeletion_shouldCompleteOnceTheJobIsNotListed() throws Exception {
+    jobs.put("job-a", job("job-a", false));
+    var future = tracker.awaitDeletion("job-a", 60);
+
+    tracker.poll();
+    Assertions.assertFalse(future.isDone());
+
+    jobs.remove("job-a");
+    tracker.poll();
+    Assertions.assertTrue(future.get(10, TimeUnit.SECONDS));
+  }
+
+  private static V1Job job(String name, boolean complete) {
+    return new V1Job()
+        .metadata(new V1ObjectMeta().name(name))
+        .status(complete ? new V1JobStatus() : null);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.kubernetes;
+
+import com.vmware.taurus.service.model.JobLabel;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobList;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1beta1CronJob;
+import io.kubernetes.client.openapi.models.V1beta1CronJobList;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+public class KubernetesInformerCacheTest {
+
+  private static final String NAMESPACE = "test-namespace";
+
+  private SimpleMeterRegistry meterRegistry;
+  private KubernetesInformerCache cache;
+
+  @BeforeEach
+  public void setUp() throws InterruptedException {
+    meterRegistry = new SimpleMeterRegistry();
+
+    var jobs =
+        new V1JobList()
+            .metadata(new V1ListMeta().resourceVersion("10"))
+            .addItemsItem(
+                new V1Job()
+                    .metadata(metadata("job-1", Map.of(JobLabel.NAME.getValue(), "data-job-a"))))
+            .addItemsItem(
+                new V1Job()
+                    .metadata(metadata("job-2", Map.of(JobLabel.NAME.getValue(), "data-job-b"))))
+            .addItemsItem(
+                new V1Job()
+                    .metadata(metadata("job-3", Map.of(JobLabel.NAME.getValue(), "data-job-a"))));
+    var pods =
+        new V1PodList()
+            .metadata(new V1ListMeta().resourceVersion("11"))
+            .addItemsItem(
+                new V1Pod().metadata(metadata("job-1-abcde", Map.of("job-name", "job-1"))))
+            .addItemsItem(
+                new V1Pod().metadata(metadata("job-1-fghij", Map.of("job-name", "job-1"))))
+            .addItemsItem(
+                new V1Pod().metadata(metadata("job-2-abcde", Map.of("job-name", "job-2"))));
+    var cronJobs =
+        new V1beta1CronJobList()
+            .metadata(new V1ListMeta().resourceVersion("12"))
+            .addItemsItem(new V1beta1CronJob().metadata(metadata("data-job-a", Map.of())));
+
+    cache =
+        new KubernetesInformerCache(
+            new SharedInformerFactory(),
+            NAMESPACE,
+            new StaticListerWatcher<>(jobs),
+            new StaticListerWatcher<>(pods),
+            null,
+            new StaticListerWatcher<>(cronJobs),
+            0,
+            meterRegistry,
+            "test");
+    cache.start();
+
+    for (int i = 0; i < 100 && !cache.hasSynced(); i++) {
+      Thread.sleep(100);
+    }
+    Assertions.assertTrue(cache.hasSynced());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cache.stop();
+  }
+
+  @Test
+  public void testLookups_afterSync_shouldBeServedFromCache() {
+    Assertions.assertEquals(3, cache.listJobs().size());
+    Assertions.assertTrue(cache.getJob("job-2").isPresent());
+    Assertions.assertTrue(cache.getJob("missing-job").isEmpty());
+    Assertions.assertEquals(2, cache.listJobsByDataJobName("data-job-a").size());
+    Assertions.assertTrue(cache.listJobsByDataJobName("missing-data-job").isEmpty());
+    Assertions.assertEquals(2, cache.listJobPods("job-1").size());
+    Assertions.assertEquals(1, cache.listJobPods("job-2").size());
+    Assertions.assertTrue(cache.getV1beta1CronJob("data-job-a").isPresent());
+    Assertions.assertEquals(1, cache.listV1beta1CronJobs().size());
+    Assertions.assertTrue(cache.getV1CronJob("data-job-a").isEmpty());
+    Assertions.assertTrue(cache.listV1CronJobs().isEmpty());
+    Assertions.assertEquals("10", cache.getJobsResourceVersion());
+  }
+
+  @Test
+  public void testMetrics_afterSync_shouldCountSingleList() {
+    for (String resource : List.of("jobs", "pods", "cronjobs")) {
+      Assertions.assertEquals(
+          1.0,
+          meterRegistry
+              .get(KubernetesInformerCache.INFORMER_RELISTS_COUNTER_NAME)
+              .tag("resource", resource)
+              .tag("cache", "test")
+              .counter()
+              .count());
+      Assertions.assertTrue(
+          meterRegistry
+                  .get(KubernetesInformerCache.INFORMER_STALENESS_GAUGE_NAME)
+                  .tag("resource", resource)
+                  .gauge()
+                  .value()
+              < 5);
+    }
+  }
+
+  @Test
+  public void testSync_withoutCronJobs_shouldSyncWithoutWatchingCronJobs()
+      throws InterruptedException {
+    var registry = new SimpleMeterRegistry();
+    var controlCache =
+        new KubernetesInformerCache(
+            new SharedInformerFactory(),
+            NAMESPACE,
+            new StaticListerWatcher<>(new V1JobList().metadata(new V1ListMeta())),
+            new StaticListerWatcher<>(new V1PodList().metadata(new V1ListMeta())),
+            null,
+            null,
+            0,
+            registry,
+            "control");
+    try {
+      controlCache.start();
+      for (int i = 0; i < 100 && !controlCache.hasSynced(); i++) {
+        Thread.sleep(100);
+      }
+
+      Assertions.assertTrue(controlCache.hasSynced());
+      Assertions.assertFalse(controlCache.hasCronJobs());
+      Assertions.assertTrue(cache.hasCronJobs());
+      Assertions.assertNull(
+          registry
+              .find(KubernetesInformerCache.INFORMER_RELISTS_COUNTER_NAME)
+              .tag("resource", "cronjobs")
+              .counter());
+    } finally {
+      controlCache.stop();
+    }
+  }
+
+  private static V1ObjectMeta metadata(String name, Map<String, String> labels) {
+    return new V1ObjectMeta().namespace(NAMESPACE).name(name).labels(labels);
+  }
+
+  /** Lists the given resources and then serves a watch without events until it is closed. */
+  private static class StaticListerWatcher<
+          T extends KubernetesObject, L extends KubernetesListObject>
+      implements ListerWatcher<T, L> {
+
+    private final L list;
+
+    StaticListerWatcher(L list) {
+      this.list = list;
+    }
+
+    @Override
+    public L list(CallGeneratorParams params) {
+      return list;
+    }
+
+    @Override
+    public Watchable<T> watch(CallGeneratorParams params) {
+      return new Watchable<>() {
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public boolean hasNext() {
+          try {
+            closed.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return false;
+        }
+
+        @Override
+        public Watch.Response<T> next() {
+          throw new IllegalStateException("No events expected");
+        }
+
+        @Override
+        public Iterator<Watch.Response<T>> iterator() {
+          return this;
+        }
+
+        @Override
+        public void close() {
+          closed.countDown();
+        }
+      };
+    }
+  }
+}
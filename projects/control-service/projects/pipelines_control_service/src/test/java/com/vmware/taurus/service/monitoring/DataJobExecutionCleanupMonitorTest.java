@@ -58,15 +58,12 @@ public class DataJobExecutionCleanupMonitorTest {
             + " job.",
         counter.getId().getDescription());
 
-    dataJobExecutionCleanupMonitor.countFailedDeletion();
+    dataJobExecutionCleanupMonitor.countFailedDeletions(1);
 
     counter = meterRegistry.counter(DataJobExecutionCleanupMonitor.FAILED_DELETIONS_COUNTER_NAME);
     Assertions.assertEquals(1.0, counter.count(), 0.001);
 
-    dataJobExecutionCleanupMonitor.countFailedDeletion();
-    dataJobExecutionCleanupMonitor.countFailedDeletion();
-    dataJobExecutionCleanupMonitor.countFailedDeletion();
-    dataJobExecutionCleanupMonitor.countFailedDeletion();
+    dataJobExecutionCleanupMonitor.countFailedDeletions(4);
 
     counter = meterRegistry.counter(DataJobExecutionCleanupMonitor.FAILED_DELETIONS_COUNTER_NAME);
     Assertions.assertEquals(5.0, counter.count(), 0.001);
@@ -81,16 +78,13 @@ public class DataJobExecutionCleanupMonitorTest {
         "Counts the total times the data job execution cleanup task was successful for a data job.",
         counter.getId().getDescription());
 
-    dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
+    dataJobExecutionCleanupMonitor.countSuccessfulDeletions(1);
 
     counter =
         meterRegistry.counter(DataJobExecutionCleanupMonitor.SUCCESSFUL_DELETIONS_COUNTER_NAME);
     Assertions.assertEquals(1.0, counter.count(), 0.001);
 
-    dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
-    dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
-    dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
-    dataJobExecutionCleanupMonitor.countSuccessfulDeletion();
+    dataJobExecutionCleanupMonitor.countSuccessfulDeletions(4);
 
     counter =
         meterRegistry.counter(DataJobExecutionCleanupMonitor.SUCCESSFUL_DELETIONS_COUNTER_NAME);
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.model.JobConfig;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class DataJobGaugeTest {
+
+  private static final String GAUGE_NAME = "test.gauge";
+
+  private SimpleMeterRegistry meterRegistry;
+  private DataJobGauge gauge;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    gauge = new DataJobGauge(GAUGE_NAME, "Test gauge", meterRegistry);
+  }
+
+  @Test
+  public void testPublish_shouldRegisterOneGaugePerRow() {
+    gauge.set("job-a", Tags.of("data_job", "job-a"), 1);
+    gauge.set("job-b", Tags.of("data_job", "job-b"), 2);
+
+    Assertions.assertTrue(meterRegistry.find(GAUGE_NAME).gauges().isEmpty());
+
+    gauge.publish();
+
+    Assertions.assertEquals(2, meterRegistry.find(GAUGE_NAME).gauges().size());
+    Assertions.assertEquals(
+        1, meterRegistry.get(GAUGE_NAME).tag("data_job", "job-a").gauge().value());
+    Assertions.assertEquals(
+        2, meterRegistry.get(GAUGE_NAME).tag("data_job", "job-b").gauge().value());
+  }
+
+  @Test
+  public void testSet_withSameTags_shouldUpdateValueWithoutRegistration() {
+    gauge.set("job-a", Tags.of("data_job", "job-a"), 1);
+    gauge.publish();
+    var registered = meterRegistry.get(GAUGE_NAME).gauge();
+
+    Assertions.assertFalse(gauge.set("job-a", Tags.of("data_job", "job-a"), 3));
+
+    Assertions.assertSame(registered, meterRegistry.get(GAUGE_NAME).gauge());
+    Assertions.assertEquals(3, registered.value());
+  }
+
+  @Test
+  public void testSet_withNewTags_shouldReplaceTheRow() {
+    gauge.set("job-a", Tags.of("data_job", "job-a", "execution_id", "old"), 1);
+    gauge.publish();
+
+    Assertions.assertTrue(
+        gauge.set("job-a", Tags.of("data_job", "job-a", "execution_id", "new"), 0));
+    gauge.publish();
+
+    var gauges = meterRegistry.find(GAUGE_NAME).gauges();
+    Assertions.assertEquals(1, gauges.size());
+    var registered = gauges.iterator().next();
+    Assertions.assertTrue(registered.getId().getTags().contains(Tag.of("execution_id", "new")));
+    Assertions.assertEquals(0, registered.value());
+  }
+
+  @Test
+  public void testRemove_shouldRemoveTheRowOnPublish() {
+    gauge.set("job-a", Tags.of("data_job", "job-a"), 1);
+    gauge.set("job-b", Tags.of("data_job", "job-b"), 1);
+    gauge.publish();
+
+    gauge.remove("job-a");
+    gauge.retainAll(Set.of("job-a"));
+    gauge.publish();
+
+    Assertions.assertTrue(meterRegistry.find(GAUGE_NAME).gauges().isEmpty());
+    Assertions.assertTrue(gauge.getValue("job-a").isEmpty());
+  }
+
+  @Test
+  public void testDataJobMetrics_withExcludedTags_shouldNotReRegisterOnNewExecution() {
+    var dataJobMetrics = new DataJobMetrics(meterRegistry, Set.of("execution_id", "data_job"));
+    var dataJob = new DataJob("data-job", new JobConfig());
+    dataJob.setLatestJobTerminationStatus(ExecutionStatus.SUCCEEDED);
+    dataJob.setLatestJobExecutionId("execution-1");
+    dataJobMetrics.updateTerminationStatusGauge(dataJob);
+    var registered =
+        meterRegistry.get(DataJobMetrics.TAURUS_DATAJOB_TERMINATION_STATUS_METRIC_NAME).gauge();
+
+    dataJob.setLatestJobTerminationStatus(ExecutionStatus.USER_ERROR);
+    dataJob.setLatestJobExecutionId("execution-2");
+    dataJobMetrics.updateTerminationStatusGauge(dataJob);
+
+    var gauges =
+        meterRegistry.find(DataJobMetrics.TAURUS_DATAJOB_TERMINATION_STATUS_METRIC_NAME).gauges();
+    Assertions.assertEquals(1, gauges.size());
+    Assertions.assertSame(registered, gauges.iterator().next());
+    Assertions.assertEquals(
+        Tags.of(DataJobMetrics.TAG_DATA_JOB, "data-job"), Tags.of(registered.getId().getTags()));
+    Assertions.assertEquals(
+        ExecutionStatus.USER_ERROR.getAlertValue().doubleValue(), registered.value());
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.model.JobConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time of a Prometheus scrape of the data job gauges and of the gauge updates after
+ * new executions, with and without the execution_id tag. The scrape is measured again after more
+ * rounds of new executions, to check that its time depends on the number of data jobs and not on
+ * the number of gauges registered and removed before it.
+ *
+ * <p>Run with: -Dbenchmark=true -Dtest=DataJobMetricsScrapeBenchmarkTest
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class DataJobMetricsScrapeBenchmarkTest {
+
+  private static final int SCRAPES = 10;
+  private static final int EXECUTION_ROUNDS = 10;
+
+  @BeforeAll
+  public static void setUp() {
+    // Measure the metrics, not the debug logs printed with the default logging configuration.
+    ((Logger) LoggerFactory.getLogger(DataJobMetrics.class)).setLevel(Level.INFO);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {10_000, 50_000})
+  public void benchmarkScrape(int dataJobCount) {
+    runBenchmark(dataJobCount, Set.of());
+    runBenchmark(dataJobCount, Set.of(DataJobMetrics.TAG_EXECUTION_ID));
+  }
+
+  private void runBenchmark(int dataJobCount, Set<String> excludedTags) {
+    var meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    var dataJobMetrics = new DataJobMetrics(meterRegistry, excludedTags);
+    var dataJobs = createDataJobs(dataJobCount);
+
+    long start = System.nanoTime();
+    dataJobMetrics.updateGauges(dataJobs);
+    long registerMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    start = System.nanoTime();
+    startNewExecutions(dataJobMetrics, dataJobs, 2);
+    long updateMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    int length = meterRegistry.scrape().length();
+    long scrapeMillis = measureScrape(meterRegistry, length);
+
+    for (int round = 0; round < EXECUTION_ROUNDS; round++) {
+      // The execution ids keep the same length, so the scrape output does too.
+      startNewExecutions(dataJobMetrics, dataJobs, 3 + round % 2);
+    }
+    long scrapeAfterExecutionsMillis = measureScrape(meterRegistry, length);
+
+    log.info(
+        "{} data jobs, excluded tags {}: initial registration {} ms, {} new executions {} ms,"
+            + " scrape {} ms ({} KB), scrape after {} more rounds of new executions {} ms",
+        dataJobCount,
+        excludedTags,
+        registerMillis,
+        dataJobCount,
+        updateMillis,
+        scrapeMillis,
+        length / 1024,
+        EXECUTION_ROUNDS,
+        scrapeAfterExecutionsMillis);
+  }
+
+  private static void startNewExecutions(
+      DataJobMetrics dataJobMetrics, List<DataJob> dataJobs, int execution) {
+    for (DataJob dataJob : dataJobs) {
+      dataJob.setLatestJobExecutionId(dataJob.getName() + "-execution-" + execution);
+      dataJob.setLatestJobTerminationStatus(ExecutionStatus.USER_ERROR);
+      dataJobMetrics.updateTerminationStatusGauge(dataJob);
+    }
+  }
+
+  private static long measureScrape(PrometheusMeterRegistry meterRegistry, int length) {
+    long start = System.nanoTime();
+    for (int i = 0; i < SCRAPES; i++) {
+      Assertions.assertEquals(length, meterRegistry.scrape().length());
+    }
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / SCRAPES;
+  }
+
+  private static List<DataJob> createDataJobs(int count) {
+    var dataJobs = new ArrayList<DataJob>(count);
+    for (int i = 0; i < count; i++) {
+      var config = new JobConfig();
+      config.setTeam("team-" + (i % 100));
+      config.setNotifiedOnJobSuccess(List.of("someone@example.com"));
+      var dataJob = new DataJob("data-job-" + i, config);
+      dataJob.setLatestJobTerminationStatus(ExecutionStatus.SUCCEEDED);
+      dataJob.setLatestJobExecutionId("data-job-" + i + "-execution-1");
+      dataJobs.add(dataJob);
+    }
+    return dataJobs;
+  }
+}
@@ -7,26 +7,46 @@ package com.vmware.taurus.service.monitoring;
 
 import com.vmware.taurus.service.JobsRepository;
 import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.JobConfig;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class DataJobMonitorSyncTest {
 
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2021-11-17T10:00:00Z"), ZoneOffset.UTC);
+
   @Mock private JobsRepository jobsRepository;
 
   @Mock private DataJobMonitor dataJobMonitor;
 
-  @InjectMocks private DataJobMonitorSync dataJobMonitorSync;
+  @Mock private DeploymentMonitorSync deploymentMonitorSync;
+
+  @Mock private DataJobMetrics dataJobMetrics;
+
+  private DataJobMonitorSync dataJobMonitorSync;
+
+  @BeforeEach
+  public void setUp() {
+    dataJobMonitorSync =
+        new DataJobMonitorSync(
+            dataJobMonitor, deploymentMonitorSync, dataJobMetrics, jobsRepository, 60000, CLOCK);
+  }
 
   @Test
   public void testUpdateDataJobStatus() {
@@ -40,4 +60,50 @@ public class DataJobMonitorSyncTest {
 
     Assertions.assertEquals(dataJobsCaptor.getValue(), mockJobs);
   }
+
+  @Test
+  public void testUpdateDataJobStatus_afterFirstSync_shouldLoadOnlyChangedDataJobs() {
+    var updatedJob = new DataJob("updated-job", new JobConfig());
+    var changedJob = new DataJob("changed-job", new JobConfig());
+    Mockito.when(jobsRepository.findAll()).thenReturn(List.of());
+    dataJobMonitorSync.updateDataJobStatus();
+    Mockito.when(
+            jobsRepository.findAllByUpdatedAtAfter(OffsetDateTime.parse("2021-11-17T09:59:00Z")))
+        .thenReturn(List.of(updatedJob));
+    Mockito.when(jobsRepository.findAllById(List.of("changed-job")))
+        .thenReturn(List.of(changedJob));
+
+    dataJobMonitorSync.onDataJobChanged(new DataJobChangedEvent("changed-job"));
+    dataJobMonitorSync.onDataJobChanged(new DataJobChangedEvent("updated-job"));
+    dataJobMonitorSync.updateDataJobStatus();
+
+    Mockito.verify(jobsRepository, Mockito.times(1)).findAll();
+    Mockito.verify(dataJobMonitor).updateDataJobsGauges(List.of(updatedJob, changedJob));
+    Mockito.verify(deploymentMonitorSync)
+        .updateJobDeploymentStatuses(List.of(updatedJob, changedJob));
+    Mockito.verify(dataJobMetrics, Mockito.never()).clearGauges(Mockito.anyString());
+  }
+
+  @Test
+  public void testUpdateDataJobStatus_whenChangedDataJobIsDeleted_shouldClearItsGauges() {
+    Mockito.when(jobsRepository.findAll()).thenReturn(List.of());
+    dataJobMonitorSync.updateDataJobStatus();
+    Mockito.when(jobsRepository.findAllByUpdatedAtAfter(Mockito.any())).thenReturn(List.of());
+    Mockito.when(jobsRepository.findAllById(List.of("deleted-job"))).thenReturn(List.of());
+
+    dataJobMonitorSync.onDataJobChanged(new DataJobChangedEvent("deleted-job"));
+    dataJobMonitorSync.updateDataJobStatus();
+    dataJobMonitorSync.updateDataJobStatus();
+
+    Mockito.verify(dataJobMetrics, Mockito.times(1)).clearGauges("deleted-job");
+  }
+
+  @Test
+  public void testClearDeletedDataJobsGauges_shouldKeepGaugesOfExistingDataJobsOnly() {
+    Mockito.when(jobsRepository.findAllNames()).thenReturn(List.of("job-a", "job-b"));
+
+    dataJobMonitorSync.clearDeletedDataJobsGauges();
+
+    Mockito.verify(dataJobMetrics).clearGaugesNotIn(Set.of("job-a", "job-b"));
+  }
 }
@@ -8,8 +8,10 @@ package com.vmware.taurus.service.monitoring;
 import com.vmware.taurus.ControlplaneApplication;
 import com.vmware.taurus.service.JobExecutionRepository;
 import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.WatchBookmarkRepository;
 import com.vmware.taurus.service.KubernetesService.JobExecution;
 import com.vmware.taurus.service.execution.JobExecutionResultManager;
+import com.vmware.taurus.service.execution.JobExecutionService;
 import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
 import com.vmware.taurus.service.model.*;
 import io.kubernetes.client.openapi.ApiException;
@@ -18,13 +20,16 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.text.IsEqualIgnoringCase;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
@@ -32,12 +37,17 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(
@@ -56,6 +66,10 @@ public class DataJobMonitorTest {
 
   @Autowired private DataJobMonitor dataJobMonitor;
 
+  @Autowired private WatchBookmarkRepository watchBookmarkRepository;
+
+  @Autowired private JobExecutionStatusWriter jobExecutionStatusWriter;
+
   @Test
   @Order(1)
   public void testUpdateDataJobTerminationStatusSuccess() {
@@ -195,7 +209,7 @@ public class DataJobMonitorTest {
               return null;
             })
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
     jobStatuses.forEach(s -> jobsRepository.save(new DataJob(s.getJobName(), new JobConfig())));
 
     dataJobMonitor.watchJobs();
@@ -231,7 +245,7 @@ public class DataJobMonitorTest {
               return null;
             })
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
 
     dataJobMonitor.watchJobs();
 
@@ -251,7 +265,7 @@ public class DataJobMonitorTest {
               return null;
             })
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
 
     dataJobMonitor.watchJobs();
 
@@ -274,7 +288,7 @@ public class DataJobMonitorTest {
               return null;
             })
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
     jobStatuses.forEach(
         s ->
             jobsRepository.save(
@@ -310,7 +324,7 @@ public class DataJobMonitorTest {
               return null;
             })
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
     jobStatuses.forEach(
         s ->
             jobsRepository.save(
@@ -352,7 +366,7 @@ public class DataJobMonitorTest {
   public void testWatchJobsWhenExceptionIsThrown() throws IOException, ApiException {
     doThrow(new ApiException())
         .when(dataJobsKubernetesService)
-        .watchJobs(anyMap(), any(), any(), anyLong());
+        .watchJobs(anyMap(), any(), any(), anyLong(), any(), any(), any());
 
     Assertions.assertDoesNotThrow(() -> dataJobMonitor.watchJobs());
   }
@@ -362,7 +376,7 @@ public class DataJobMonitorTest {
   public void testRecordJobExecutionStatus_nullDataJobName_shouldNotRecordExecution() {
     JobExecution jobExecution =
         buildJobExecutionStatus(null, randomId("job-"), ExecutionStatus.SUCCEEDED.getPodStatus());
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(jobExecution.getExecutionId());
 
@@ -374,7 +388,7 @@ public class DataJobMonitorTest {
   public void testRecordJobExecutionStatus_emptyDataJobName_shouldNotRecordExecution() {
     JobExecution jobExecution =
         buildJobExecutionStatus("", randomId("job-"), ExecutionStatus.SUCCEEDED.getPodStatus());
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(jobExecution.getExecutionId());
 
@@ -388,7 +402,7 @@ public class DataJobMonitorTest {
     JobExecution expectedJobExecution =
         buildJobExecutionStatus(
             "data-job", "execution-id", ExecutionStatus.SUCCEEDED.getPodStatus(), true);
-    dataJobMonitor.recordJobExecutionStatus(expectedJobExecution);
+    jobExecutionStatusWriter.write(List.of(expectedJobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(expectedJobExecution.getExecutionId());
 
@@ -421,7 +435,7 @@ public class DataJobMonitorTest {
             .succeeded(true)
             .build();
 
-    dataJobMonitor.recordJobExecutionStatus(expectedJobExecution);
+    jobExecutionStatusWriter.write(List.of(expectedJobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(expectedJobExecution.getExecutionId());
 
@@ -435,7 +449,7 @@ public class DataJobMonitorTest {
     JobExecution expectedJobExecution =
         buildJobExecutionStatus(
             "data-job", "different-execution-id", ExecutionStatus.RUNNING.getPodStatus(), null);
-    dataJobMonitor.recordJobExecutionStatus(expectedJobExecution);
+    jobExecutionStatusWriter.write(List.of(expectedJobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(expectedJobExecution.getExecutionId());
 
@@ -453,7 +467,7 @@ public class DataJobMonitorTest {
             "data-job", "different-execution-id", ExecutionStatus.SKIPPED.getPodStatus(), true);
     Optional<DataJobExecution> jobExecutionBeforeUpdate =
         jobExecutionRepository.findById(expectedJobExecution.getExecutionId());
-    dataJobMonitor.recordJobExecutionStatus(expectedJobExecution);
+    jobExecutionStatusWriter.write(List.of(expectedJobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(expectedJobExecution.getExecutionId());
 
@@ -471,7 +485,7 @@ public class DataJobMonitorTest {
     JobExecution jobExecution =
         buildJobExecutionStatus(
             randomId("data-job-"), randomId("job-"), ExecutionStatus.SUCCEEDED.getPodStatus());
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     Optional<DataJobExecution> actualJobExecution =
         jobExecutionRepository.findById(jobExecution.getExecutionId());
 
@@ -573,7 +587,7 @@ public class DataJobMonitorTest {
     JobExecution jobExecution =
         buildJobExecutionStatus(
             "new-job", "new-execution-id", ExecutionStatus.SKIPPED.getPodStatus(), true);
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     Optional<DataJob> actualJob = jobsRepository.findById(dataJob.getName());
 
     Assertions.assertTrue(actualJob.isPresent());
@@ -600,7 +614,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "old-execution-id", ExecutionStatus.SUCCEEDED.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(dataJob.getName());
     Assertions.assertTrue(actualJob.isPresent());
@@ -624,7 +638,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "new-execution-id", ExecutionStatus.USER_ERROR.getPodStatus(), true);
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(dataJob.getName());
     Assertions.assertTrue(actualJob.isPresent());
@@ -656,7 +670,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "old-execution-id", ExecutionStatus.PLATFORM_ERROR.getPodStatus(), false);
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -670,7 +684,7 @@ public class DataJobMonitorTest {
     JobExecution jobExecution =
         buildJobExecutionStatus("new-job", null, ExecutionStatus.SUCCEEDED.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -684,7 +698,7 @@ public class DataJobMonitorTest {
     JobExecution jobExecution =
         buildJobExecutionStatus("new-job", "", ExecutionStatus.SUCCEEDED.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -700,7 +714,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "old-execution-id", ExecutionStatus.SUCCEEDED.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -714,7 +728,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "new-execution-id", ExecutionStatus.SUCCEEDED.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -730,7 +744,7 @@ public class DataJobMonitorTest {
         buildJobExecutionStatus(
             "new-job", "new-execution-id", ExecutionStatus.USER_ERROR.getPodStatus());
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -752,7 +766,7 @@ public class DataJobMonitorTest {
             OffsetDateTime.now().minus(Duration.ofDays(2)),
             OffsetDateTime.now().minus(Duration.ofDays(1)));
 
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
 
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -786,7 +800,7 @@ public class DataJobMonitorTest {
             false,
             OffsetDateTime.now().minus(Duration.ofDays(2)),
             OffsetDateTime.now().minus(Duration.ofDays(1)));
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     // Check status is saved OK.
     Optional<DataJob> actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -809,7 +823,7 @@ public class DataJobMonitorTest {
             false,
             OffsetDateTime.now().minus(Duration.ofDays(2)),
             OffsetDateTime.now().minus(Duration.ofDays(1)));
-    dataJobMonitor.recordJobExecutionStatus(jobExecution);
+    jobExecutionStatusWriter.write(List.of(jobExecution));
     // Check status is saved OK.
     actualJob = jobsRepository.findById(jobExecution.getJobName());
     Assertions.assertFalse(actualJob.isEmpty());
@@ -823,6 +837,94 @@ public class DataJobMonitorTest {
         gauges.stream().findFirst().get().value());
   }
 
+  @Test
+  @Order(34)
+  void testWatchJobs_withReachedResourceVersion_shouldPersistBookmark()
+      throws IOException, ApiException {
+    watchBookmarkRepository.deleteAll();
+    doAnswer(
+            inv -> {
+              Consumer<String> resourceVersionConsumer = inv.getArgument(5);
+              resourceVersionConsumer.accept("100");
+              Assertions.assertEquals(
+                  "100",
+                  watchBookmarkRepository
+                      .findById(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME)
+                      .get()
+                      .getResourceVersion());
+              return "200";
+            })
+        .when(dataJobsKubernetesService)
+        .watchJobs(anyMap(), any(), any(), anyLong(), isNull(), any(), any());
+
+    dataJobMonitor.watchJobs();
+
+    var bookmark = watchBookmarkRepository.findById(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME);
+    Assertions.assertTrue(bookmark.isPresent());
+    Assertions.assertEquals("200", bookmark.get().getResourceVersion());
+    Assertions.assertTrue(
+        bookmark.get().getLastWatchTime()
+            > Instant.now().minus(Duration.ofMinutes(2)).toEpochMilli());
+  }
+
+  @Test
+  @Order(35)
+  void testWatchJobs_withPersistedBookmark_shouldResumeWatch() throws IOException, ApiException {
+    long lastWatchTime = Instant.now().minus(Duration.ofMinutes(10)).toEpochMilli();
+    watchBookmarkRepository.save(
+        new WatchBookmark(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME, "300", lastWatchTime));
+    // The resource version is gone, the watch requests a relist.
+    doReturn(null)
+        .when(dataJobsKubernetesService)
+        .watchJobs(anyMap(), any(), any(), eq(lastWatchTime), eq("300"), any(), any());
+
+    dataJobMonitor.watchJobs();
+
+    verify(dataJobsKubernetesService)
+        .watchJobs(anyMap(), any(), any(), eq(lastWatchTime), eq("300"), any(), any());
+    var bookmark = watchBookmarkRepository.findById(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME);
+    Assertions.assertTrue(bookmark.isPresent());
+    Assertions.assertNull(bookmark.get().getResourceVersion());
+    // The changes since the last completed watch are replayed when relisting.
+    Assertions.assertEquals(lastWatchTime, bookmark.get().getLastWatchTime());
+  }
+
+  @Test
+  @Order(36)
+  void testWatchJobs_whenStatusesCannotBeStored_shouldNotMoveBookmark()
+      throws IOException, ApiException {
+    long lastWatchTime = Instant.now().minus(Duration.ofMinutes(10)).toEpochMilli();
+    watchBookmarkRepository.save(
+        new WatchBookmark(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME, "400", lastWatchTime));
+    var failingStatusWriter = Mockito.mock(JobExecutionStatusWriter.class);
+    doThrow(new DataAccessResourceFailureException("The database is unavailable"))
+        .when(failingStatusWriter)
+        .flush();
+    doAnswer(
+            inv -> {
+              Consumer<String> resourceVersionConsumer = inv.getArgument(5);
+              resourceVersionConsumer.accept("500");
+              return "600";
+            })
+        .when(dataJobsKubernetesService)
+        .watchJobs(anyMap(), any(), any(), eq(lastWatchTime), eq("400"), any(), any());
+    var monitor =
+        new DataJobMonitor(
+            dataJobsKubernetesService,
+            Mockito.mock(JobExecutionService.class),
+            Mockito.mock(DataJobMetrics.class),
+            watchBookmarkRepository,
+            failingStatusWriter);
+
+    Assertions.assertDoesNotThrow(monitor::watchJobs);
+
+    verify(failingStatusWriter, Mockito.times(2)).flush();
+    var bookmark = watchBookmarkRepository.findById(DataJobMonitor.WATCH_JOBS_BOOKMARK_NAME);
+    Assertions.assertTrue(bookmark.isPresent());
+    Assertions.assertEquals("400", bookmark.get().getResourceVersion());
+    Assertions.assertEquals(lastWatchTime, bookmark.get().getLastWatchTime());
+  }
+
   private static String randomId(String prefix) {
     return prefix + UUID.randomUUID();
   }
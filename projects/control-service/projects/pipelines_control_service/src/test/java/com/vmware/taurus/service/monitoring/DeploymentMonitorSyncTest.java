@@ -5,7 +5,6 @@
 
 package com.vmware.taurus.service.monitoring;
 
-import com.vmware.taurus.service.JobsRepository;
 import com.vmware.taurus.service.model.DataJob;
 import com.vmware.taurus.service.model.DeploymentStatus;
 import com.vmware.taurus.service.model.JobConfig;
@@ -22,8 +21,6 @@ import java.util.List;
 @ExtendWith(MockitoExtension.class)
 public class DeploymentMonitorSyncTest {
 
-  @Mock private JobsRepository jobsRepository;
-
   @Mock private DeploymentMonitor deploymentMonitor;
 
   @InjectMocks private DeploymentMonitorSync deploymentMonitorSync;
@@ -31,9 +28,7 @@ public class DeploymentMonitorSyncTest {
   @Test
   public void testEmptyRepository() throws InterruptedException {
     Iterable<DataJob> mockJobs = new ArrayList<DataJob>();
-    Mockito.when(jobsRepository.findAll()).thenReturn(mockJobs);
-
-    deploymentMonitorSync.updateJobDeploymentStatuses();
+    deploymentMonitorSync.updateJobDeploymentStatuses(mockJobs);
 
     Mockito.verify(deploymentMonitor, Mockito.times(0))
         .updateDataJobStatus(Mockito.any(), Mockito.any());
@@ -43,9 +38,7 @@ public class DeploymentMonitorSyncTest {
   public void testOneJobInRepository() throws InterruptedException {
     List<DataJob> mockJobs = new ArrayList<DataJob>();
     mockJobs.add(new DataJob("test-job", new JobConfig(), DeploymentStatus.SUCCESS));
-    Mockito.when(jobsRepository.findAll()).thenReturn(mockJobs);
-
-    deploymentMonitorSync.updateJobDeploymentStatuses();
+    deploymentMonitorSync.updateJobDeploymentStatuses(mockJobs);
 
     Mockito.verify(deploymentMonitor, Mockito.times(1))
         .updateDataJobStatus("test-job", DeploymentStatus.SUCCESS);
@@ -56,9 +49,7 @@ public class DeploymentMonitorSyncTest {
     List<DataJob> mockJobs = new ArrayList<DataJob>();
     mockJobs.add(new DataJob("test-job", new JobConfig()));
     mockJobs.add(new DataJob("test-job-2", new JobConfig(), DeploymentStatus.PLATFORM_ERROR));
-    Mockito.when(jobsRepository.findAll()).thenReturn(mockJobs);
-
-    deploymentMonitorSync.updateJobDeploymentStatuses();
+    deploymentMonitorSync.updateJobDeploymentStatuses(mockJobs);
 
     Mockito.verify(deploymentMonitor, Mockito.times(0))
         .updateDataJobStatus("test-job", DeploymentStatus.NONE);
@@ -71,9 +62,7 @@ public class DeploymentMonitorSyncTest {
   public void testJobWithNoneStatusSkipped() throws InterruptedException {
     List<DataJob> mockJobs = new ArrayList<DataJob>();
     mockJobs.add(new DataJob("test-job", new JobConfig()));
-    Mockito.when(jobsRepository.findAll()).thenReturn(mockJobs);
-
-    deploymentMonitorSync.updateJobDeploymentStatuses();
+    deploymentMonitorSync.updateJobDeploymentStatuses(mockJobs);
 
     Mockito.verify(deploymentMonitor, Mockito.times(0))
         .updateDataJobStatus(Mockito.any(), Mockito.any());
@@ -83,9 +72,7 @@ public class DeploymentMonitorSyncTest {
   public void testJobWithNullStatusHandled() throws InterruptedException {
     List<DataJob> mockJobs = new ArrayList<DataJob>();
     mockJobs.add(new DataJob("test-job", new JobConfig(), null));
-    Mockito.when(jobsRepository.findAll()).thenReturn(mockJobs);
-
-    deploymentMonitorSync.updateJobDeploymentStatuses();
+    deploymentMonitorSync.updateJobDeploymentStatuses(mockJobs);
 
     Mockito.verify(deploymentMonitor, Mockito.times(0))
         .updateDataJobStatus(Mockito.any(), Mockito.any());
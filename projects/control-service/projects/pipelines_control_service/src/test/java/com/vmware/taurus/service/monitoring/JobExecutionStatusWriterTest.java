@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 VMware, Inc.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.vmware.taurus.service.monitoring;
+
+import com.vmware.taurus.ControlplaneApplication;
+import com.vmware.taurus.service.JobExecutionRepository;
+import com.vmware.taurus.service.JobsRepository;
+import com.vmware.taurus.service.KubernetesService.JobExecution;
+import com.vmware.taurus.service.execution.JobExecutionLogsCache;
+import com.vmware.taurus.service.kubernetes.DataJobsKubernetesService;
+import com.vmware.taurus.service.model.DataJob;
+import com.vmware.taurus.service.model.ExecutionStatus;
+import com.vmware.taurus.service.model.JobConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = ControlplaneApplication.class)
+public class JobExecutionStatusWriterTest {
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired private JobsRepository jobsRepository;
+
+  @Autowired private JobExecutionRepository jobExecutionRepository;
+
+  @Autowired private JobExecutionStatusWriter jobExecutionStatusWriter;
+
+  @MockBean private DataJobsKubernetesService dataJobsKubernetesService;
+
+  @MockBean private JobExecutionLogsCache jobExecutionLogsCache;
+
+  @Test
+  public void testFlush_withSeveralStatusesOfAnExecution_shouldStoreTheLatestStatus() {
+    var dataJob = jobsRepository.save(new DataJob(randomId("data-job-"), new JobConfig()));
+    var executionId = randomId("execution-");
+    var olderExecutionId = randomId("execution-");
+    var startTime = OffsetDateTime.now().minusMinutes(10);
+
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            dataJob.getName(),
+            olderExecutionId,
+            true,
+            startTime.minusMinutes(10),
+            startTime.minusMinutes(5)));
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(dataJob.getName(), executionId, null, startTime, null));
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            dataJob.getName(), executionId, false, startTime, startTime.plusMinutes(5)));
+    jobExecutionStatusWriter.flush();
+
+    var execution = jobExecutionRepository.findById(executionId);
+    Assertions.assertTrue(execution.isPresent());
+    Assertions.assertEquals(ExecutionStatus.PLATFORM_ERROR, execution.get().getStatus());
+    Assertions.assertTrue(jobExecutionRepository.findById(olderExecutionId).isPresent());
+
+    var actualDataJob = jobsRepository.findById(dataJob.getName());
+    Assertions.assertTrue(actualDataJob.isPresent());
+    Assertions.assertEquals(
+        ExecutionStatus.PLATFORM_ERROR, actualDataJob.get().getLastExecutionStatus());
+    Assertions.assertEquals(
+        ExecutionStatus.PLATFORM_ERROR, actualDataJob.get().getLatestJobTerminationStatus());
+    Assertions.assertEquals(executionId, actualDataJob.get().getLatestJobExecutionId());
+  }
+
+  @Test
+  public void testFlush_withCompletedExecution_shouldCaptureItsLogs() {
+    var dataJob = jobsRepository.save(new DataJob(randomId("data-job-"), new JobConfig()));
+    var runningExecutionId = randomId("execution-");
+    var completedExecutionId = randomId("execution-");
+    var startTime = OffsetDateTime.now().minusMinutes(10);
+
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(dataJob.getName(), runningExecutionId, null, startTime, null));
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            dataJob.getName(), completedExecutionId, true, startTime, startTime.plusMinutes(5)));
+    jobExecutionStatusWriter.flush();
+
+    Mockito.verify(jobExecutionLogsCache).capture(completedExecutionId);
+    Mockito.verify(jobExecutionLogsCache, Mockito.never()).capture(runningExecutionId);
+  }
+
+  @Test
+  public void testFlush_withMissingDataJob_shouldNotStoreExecution() {
+    var executionId = randomId("execution-");
+
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            randomId("missing-data-job-"),
+            executionId,
+            true,
+            OffsetDateTime.now(),
+            OffsetDateTime.now()));
+    jobExecutionStatusWriter.flush();
+
+    Assertions.assertTrue(jobExecutionRepository.findById(executionId).isEmpty());
+  }
+
+  @Test
+  public void testFlush_shouldExposeQueueDepthAndFlushLatency() {
+    var dataJob = jobsRepository.save(new DataJob(randomId("data-job-"), new JobConfig()));
+
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            dataJob.getName(),
+            randomId("execution-"),
+            true,
+            OffsetDateTime.now(),
+            OffsetDateTime.now()));
+    jobExecutionStatusWriter.flush();
+
+    Assertions.assertEquals(
+        0.0, meterRegistry.get(JobExecutionStatusWriter.QUEUE_DEPTH_GAUGE_NAME).gauge().value());
+    Assertions.assertTrue(
+        meterRegistry.get(JobExecutionStatusWriter.FLUSH_LATENCY_TIMER_NAME).timer().count() > 0);
+  }
+
+  @Test
+  public void testFlush_withStatusThatCannotBeStored_shouldDropItAfterMaxAttempts() {
+    var dataJob = jobsRepository.save(new DataJob(randomId("data-job-"), new JobConfig()));
+    var invalidExecutionId = randomId("execution-");
+    var executionId = randomId("execution-");
+    var invalidJobExecution =
+        JobExecution.builder()
+            .jobName(dataJob.getName())
+            .executionId(invalidExecutionId)
+            .executionType("scheduled")
+            .startTime(OffsetDateTime.now())
+            .endTime(OffsetDateTime.now())
+            .succeeded(true)
+            .build();
+    double deadLetters =
+        meterRegistry.get(JobExecutionStatusWriter.DEAD_LETTER_COUNTER_NAME).counter().count();
+
+    jobExecutionStatusWriter.enqueue(invalidJobExecution);
+    jobExecutionStatusWriter.enqueue(
+        buildJobExecution(
+            dataJob.getName(), executionId, true, OffsetDateTime.now(), OffsetDateTime.now()));
+    for (int i = 0; i < 3; i++) {
+      try {
+        jobExecutionStatusWriter.flush();
+      } catch (RuntimeException e) {
+        // Retried by the next flush.
+      }
+    }
+
+    Assertions.assertTrue(jobExecutionRepository.findById(invalidExecutionId).isEmpty());
+    Assertions.assertTrue(jobExecutionRepository.findById(executionId).isPresent());
+    Assertions.assertEquals(
+        deadLetters + 1,
+        meterRegistry.get(JobExecutionStatusWriter.DEAD_LETTER_COUNTER_NAME).counter().count());
+  }
+
+  private static JobExecution buildJobExecution(
+      String jobName,
+      String executionId,
+      Boolean succeeded,
+      OffsetDateTime startTime,
+      OffsetDateTime endTime) {
+    return JobExecution.builder()
+        .jobName(jobName)
+        .executionId(executionId)
+        .executionType("scheduled")
+        .opId("opId")
+        .startTime(startTime)
+        .endTime(endTime)
+        .succeeded(succeeded)
+        .build();
+  }
+
+  private static String randomId(String prefix) {
+    return prefix + UUID.randomUUID();
+  }
+}
@@ -6,6 +6,8 @@
 package com.vmware.taurus.service.upload;
 
 import com.google.common.io.Files;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.api.Git;
@@ -18,12 +20,15 @@ import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -268,4 +273,61 @@ public class GitWrapperTest {
     ;
     Assertions.assertEquals(5, remoteCommits.size());
   }
+
+  @Test
+  public void testGetDataJobSource_shouldKeepExecutableBitInZip(@TempDir Path mirrorDir)
+      throws Exception {
+    File jobDir = new File(remoteRepositoryMock, "example-job");
+    jobDir.mkdir();
+    FileUtils.writeStringToFile(new File(jobDir, "10_query.sql"), "select 1", "UTF-8");
+    File script = new File(jobDir, "run.sh");
+    FileUtils.writeStringToFile(script, "#!/bin/sh", "UTF-8");
+    Assertions.assertTrue(script.setExecutable(true));
+    remoteGit.add().addFilepattern(".").call();
+    remoteGit.commit().setMessage("Add example-job").call();
+    var sourceGitWrapper = newSourceGitWrapper(mirrorDir);
+
+    var source = sourceGitWrapper.getDataJobSource("example-job", credentialsProvider);
+
+    Assertions.assertTrue(source.isPresent());
+    var unixModes = readUnixModes(source.get());
+    Assertions.assertEquals(0100755, unixModes.get("example-job/run.sh"));
+    Assertions.assertEquals(0100644, unixModes.get("example-job/10_query.sql"));
+    sourceGitWrapper.close();
+  }
+
+  @Test
+  public void testGetDataJobSource_whenMirrorIsClosedBeforeWriting_shouldFailToWrite(
+      @TempDir Path mirrorDir) throws Exception {
+    File jobDir = new File(remoteRepositoryMock, "example-job");
+    jobDir.mkdir();
+    FileUtils.writeStringToFile(new File(jobDir, "10_query.sql"), "select 1", "UTF-8");
+    remoteGit.add().addFilepattern(".").call();
+    remoteGit.commit().setMessage("Add example-job").call();
+    var sourceGitWrapper = newSourceGitWrapper(mirrorDir);
+
+    var source = sourceGitWrapper.getDataJobSource("example-job", credentialsProvider).get();
+    sourceGitWrapper.close();
+
+    Assertions.assertThrows(IOException.class, () -> source.writeTo(new ByteArrayOutputStream()));
+  }
+
+  private GitWrapper newSourceGitWrapper(Path mirrorDir) throws IOException {
+    return new GitWrapper(
+        remoteRepositoryMock.toURI().toString(),
+        remoteGit.getRepository().getBranch(),
+        "origin",
+        false,
+        mirrorDir.toString());
+  }
+
+  private static Map<String, Integer> readUnixModes(DataJobSourceResource source)
+      throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+    source.writeTo(outputStream);
+    try (var zipFile = new ZipFile(new SeekableInMemoryByteChannel(outputStream.toByteArray()))) {
+      return Collections.list(zipFile.getEntries()).stream()
+          .collect(Collectors.toMap(entry -> entry.getName(), entry -> entry.getUnixMode()));
+    }
+  }
 }
@@ -32,6 +32,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -243,7 +244,7 @@ public class JobUploadTest {
     jobUpload.publishDataJob("example", jobResource, "example-reason");
     refreshRemoteGitDirectoryWithLatestChanges();
 
-    Optional<Resource> zippedDataJob = jobUpload.getDataJob("example");
+    Optional<DataJobSourceResource> zippedDataJob = jobUpload.getDataJob("example");
 
     Assertions.assertTrue(zippedDataJob.isPresent());
     Assertions.assertTrue(zippedDataJob.get().exists());
@@ -255,6 +256,106 @@ public class JobUploadTest {
     Assertions.assertArrayEquals(zipSignature, Arrays.copyOfRange(zippedDataJobBytes, 0, 4));
   }
 
+  @Test
+  public void testGetDataJob_afterRemoteChange_shouldReadLatestSource(@TempDir Path tempDir)
+      throws Exception {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(false);
+
+    File jobDir = mkdir(tempDir.toFile(), "job_dir");
+    writeToFile(jobDir, "file.txt", "11");
+    File zipFile = createZipFromDir(jobDir, new File(tempDir.toFile(), "job.zip"));
+    jobUpload.publishDataJob("job-name", new FileSystemResource(zipFile), "commit 1");
+    refreshRemoteGitDirectoryWithLatestChanges();
+
+    // change the job source bypassing the local mirror of the job upload
+    File otherClone = new File(tempDir.toFile(), "other_clone");
+    try (Git otherGit =
+        Git.cloneRepository()
+            .setURI("file://" + remoteRepositoryDir.getAbsolutePath())
+            .setDirectory(otherClone)
+            .call()) {
+      writeToFile(new File(otherClone, "job-name"), "file.txt", "22");
+      otherGit.add().addFilepattern(".").call();
+      otherGit.commit().setMessage("commit 2").call();
+      otherGit.push().call();
+    }
+
+    Optional<DataJobSourceResource> zippedDataJob = jobUpload.getDataJob("job-name");
+
+    Assertions.assertTrue(zippedDataJob.isPresent());
+    File zippedDataJobFile = new File(tempDir.toFile(), "downloaded.zip");
+    try (var outputStream = new FileOutputStream(zippedDataJobFile)) {
+      zippedDataJob.get().writeTo(outputStream);
+    }
+    File extractedDir = new File(tempDir.toFile(), "extracted");
+    new ZipFile(zippedDataJobFile).extractAll(extractedDir.getAbsolutePath());
+    Assertions.assertEquals(
+        "22",
+        FileUtils.readFileToString(
+            new File(extractedDir, "job-name/file.txt"), Charset.defaultCharset()));
+  }
+
+  @Test
+  public void testGetDataJob_afterUnrelatedChange_shouldKeepVersion(@TempDir Path tempDir)
+      throws Exception {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(false);
+
+    File jobDir = mkdir(tempDir.toFile(), "job_dir");
+    writeToFile(jobDir, "file.txt", "11");
+    File zipFile = createZipFromDir(jobDir, new File(tempDir.toFile(), "job.zip"));
+    jobUpload.publishDataJob("job-name", new FileSystemResource(zipFile), "commit 1");
+    String firstVersion = jobUpload.getDataJob("job-name").get().getVersion();
+
+    jobUpload.publishDataJob("other-job", new FileSystemResource(zipFile), "commit 2");
+    Assertions.assertEquals(firstVersion, jobUpload.getDataJob("job-name").get().getVersion());
+
+    writeToFile(jobDir, "file.txt", "22");
+    zipFile.delete();
+    zipFile = createZipFromDir(jobDir, new File(tempDir.toFile(), "job.zip"));
+    jobUpload.publishDataJob("job-name", new FileSystemResource(zipFile), "commit 3");
+    Assertions.assertNotEquals(firstVersion, jobUpload.getDataJob("job-name").get().getVersion());
+  }
+
+  @Test
+  public void testGetDataJob_whenJobDoesNotExist_shouldReturnEmpty() {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(false);
+
+    Resource jobResource = new ClassPathResource("/file_test/test_job.zip");
+    jobUpload.publishDataJob("example", jobResource, "example-reason");
+
+    Assertions.assertTrue(jobUpload.getDataJob("missing-job").isEmpty());
+  }
+
+  @Test
+  public void testPublishDataJob_withMirrorDirectory_shouldReuseMirror(@TempDir Path tempDir)
+      throws Exception {
+    Mockito.when(featureFlags.isSecurityEnabled()).thenReturn(false);
+    String remoteUrl = "file://" + remoteRepositoryDir.getAbsolutePath();
+    Resource jobResource = new ClassPathResource("/file_test/test_job.zip");
+
+    var firstGitWrapper =
+        new GitWrapper(remoteUrl, gitDataJobsBranch, gitDataJobsRemote, true, tempDir.toString());
+    new JobUpload(gitCredentialsProvider, firstGitWrapper, featureFlags, authorizationProvider)
+        .publishDataJob("first-job", jobResource, "example-reason");
+    firstGitWrapper.close();
+    File mirrorGitDir = new File(tempDir.toFile(), "data-jobs/.git");
+    Assertions.assertTrue(mirrorGitDir.isDirectory());
+    // the marker is lost if the mirror is cloned again
+    File mirrorMarker = writeToFile(mirrorGitDir, "marker", "1");
+
+    var secondGitWrapper =
+        new GitWrapper(remoteUrl, gitDataJobsBranch, gitDataJobsRemote, true, tempDir.toString());
+    new JobUpload(gitCredentialsProvider, secondGitWrapper, featureFlags, authorizationProvider)
+        .publishDataJob("second-job", jobResource, "example-reason");
+    secondGitWrapper.close();
+
+    refreshRemoteGitDirectoryWithLatestChanges();
+    Assertions.assertTrue(new File(remoteRepositoryDir, "first-job").isDirectory());
+    Assertions.assertTrue(new File(remoteRepositoryDir, "second-job").isDirectory());
+    Assertions.assertEquals(2, Iterables.size(remoteGit.log().call()));
+    Assertions.assertTrue(mirrorMarker.exists());
+  }
+
   private File createZipFromDir(File directory, File zipFile) throws ZipException {
     ZipFile zip = new ZipFile(zipFile);
     zip.createSplitZipFileFromFolder(directory, new ZipParameters(), false, 0);